@@ -0,0 +1,127 @@
+package org.infinispan.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.util.Arrays;
+
+import org.infinispan.client.hotrod.impl.transport.AbstractTransport;
+import org.infinispan.commons.io.ExposedByteArrayOutputStream;
+import org.infinispan.commons.io.UnsignedNumeric;
+
+/**
+ * Hot Rod client {@link org.infinispan.client.hotrod.impl.transport.Transport} writing to and reading from memory,
+ * so that the client codec can be measured without any network I/O.
+ *
+ * @since 7.0
+ */
+class ByteArrayTransport extends AbstractTransport {
+
+   private final ExposedByteArrayOutputStream out = new ExposedByteArrayOutputStream(256);
+   private ByteArrayInputStream in;
+
+   ByteArrayTransport() {
+      super(null);
+   }
+
+   /**
+    * Discards the bytes written so far.
+    */
+   void resetOutput() {
+      out.reset();
+   }
+
+   /**
+    * @return a copy of the bytes written since the last {@link #resetOutput()}
+    */
+   byte[] toByteArray() {
+      return Arrays.copyOf(out.getRawBuffer(), out.size());
+   }
+
+   /**
+    * Sets the bytes the next read operations return.
+    */
+   void resetInput(byte[] bytes) {
+      in = new ByteArrayInputStream(bytes);
+   }
+
+   @Override
+   protected void writeBytes(byte[] toAppend) {
+      out.write(toAppend, 0, toAppend.length);
+   }
+
+   @Override
+   public void writeByte(short toWrite) {
+      out.write(toWrite);
+   }
+
+   @Override
+   public void writeVInt(int vint) {
+      try {
+         UnsignedNumeric.writeUnsignedInt(out, vint);
+      } catch (IOException e) {
+         throw new IllegalStateException(e);
+      }
+   }
+
+   @Override
+   public void writeVLong(long l) {
+      try {
+         UnsignedNumeric.writeUnsignedLong(out, l);
+      } catch (IOException e) {
+         throw new IllegalStateException(e);
+      }
+   }
+
+   @Override
+   public long readVLong() {
+      try {
+         return UnsignedNumeric.readUnsignedLong(in);
+      } catch (IOException e) {
+         throw new IllegalStateException(e);
+      }
+   }
+
+   @Override
+   public int readVInt() {
+      try {
+         return UnsignedNumeric.readUnsignedInt(in);
+      } catch (IOException e) {
+         throw new IllegalStateException(e);
+      }
+   }
+
+   @Override
+   public short readByte() {
+      return (short) in.read();
+   }
+
+   @Override
+   public byte[] readByteArray(int size) {
+      byte[] bytes = new byte[size];
+      in.read(bytes, 0, size);
+      return bytes;
+   }
+
+   @Override
+   public void flush() {
+   }
+
+   @Override
+   public void release() {
+   }
+
+   @Override
+   public byte[] dumpStream() {
+      return new byte[0];
+   }
+
+   @Override
+   public SocketAddress getRemoteSocketAddress() {
+      return null;
+   }
+
+   @Override
+   public void invalidate() {
+   }
+}
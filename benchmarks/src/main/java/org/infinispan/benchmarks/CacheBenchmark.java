@@ -0,0 +1,110 @@
+package org.infinispan.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.eviction.EvictionStrategy;
+import org.infinispan.manager.DefaultCacheManager;
+import org.infinispan.transaction.TransactionMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Local put and get operations going through {@link org.infinispan.cache.impl.CacheImpl} and the whole interceptor chain, with
+ * the most common cache configurations.
+ *
+ * @since 7.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CacheBenchmark {
+
+   @Param({"local", "tx", "eviction", "expiration", "store"})
+   public String configuration;
+
+   @Param({"100000"})
+   public int keySpace;
+
+   private DefaultCacheManager cacheManager;
+   private Cache<String, String> cache;
+   private String[] keys;
+   private File storeLocation;
+
+   @Setup
+   public void setUp() throws IOException {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      if ("tx".equals(configuration)) {
+         builder.transaction().transactionMode(TransactionMode.TRANSACTIONAL);
+      } else if ("eviction".equals(configuration)) {
+         // Half of the keys fit, so that both hits and evictions are exercised
+         builder.eviction().strategy(EvictionStrategy.LRU).maxEntries(keySpace / 2);
+      } else if ("expiration".equals(configuration)) {
+         builder.expiration().lifespan(10, TimeUnit.MINUTES).maxIdle(5, TimeUnit.MINUTES);
+      } else if ("store".equals(configuration)) {
+         storeLocation = Files.createTempDirectory("infinispan-benchmark").toFile();
+         builder.persistence().addSingleFileStore().location(storeLocation.getAbsolutePath());
+      } else if (!"local".equals(configuration)) {
+         throw new IllegalArgumentException("Unknown configuration " + configuration);
+      }
+      cacheManager = new DefaultCacheManager(builder.build());
+      cache = cacheManager.getCache();
+
+      keys = new String[keySpace];
+      for (int i = 0; i < keySpace; i++) {
+         keys[i] = "key" + i;
+         cache.put(keys[i], "value" + i);
+      }
+   }
+
+   @TearDown
+   public void tearDown() {
+      cacheManager.stop();
+      if (storeLocation != null) {
+         File[] files = storeLocation.listFiles();
+         if (files != null) {
+            for (File f : files) {
+               f.delete();
+            }
+         }
+         storeLocation.delete();
+      }
+   }
+
+   @Benchmark
+   public String get() {
+      return cache.get(randomKey());
+   }
+
+   @Benchmark
+   public String put() {
+      return cache.put(randomKey(), "value");
+   }
+
+   @Benchmark
+   public String getMiss() {
+      return cache.get("missing");
+   }
+
+   private String randomKey() {
+      return keys[ThreadLocalRandom.current().nextInt(keys.length)];
+   }
+}
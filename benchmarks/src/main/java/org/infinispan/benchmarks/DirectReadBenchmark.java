@@ -0,0 +1,93 @@
+package org.infinispan.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.interceptors.CallInterceptor;
+import org.infinispan.interceptors.base.CommandInterceptor;
+import org.infinispan.manager.DefaultCacheManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Local hits, read straight from the data container or through the interceptor chain. A pass-through custom
+ * interceptor is enough to force every read through the chain, see {@link
+ * org.infinispan.interceptors.InterceptorChain#allowsDirectReads()}.
+ *
+ * @since 7.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class DirectReadBenchmark {
+
+   @Param({"direct", "chain"})
+   public String readPath;
+
+   @Param({"local", "statistics", "expiration"})
+   public String configuration;
+
+   @Param({"100000"})
+   public int keySpace;
+
+   private DefaultCacheManager cacheManager;
+   private Cache<String, String> cache;
+   private String[] keys;
+
+   @Setup
+   public void setUp() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      if ("statistics".equals(configuration)) {
+         builder.jmxStatistics().enable();
+      } else if ("expiration".equals(configuration)) {
+         builder.expiration().lifespan(10, TimeUnit.MINUTES).maxIdle(5, TimeUnit.MINUTES);
+      } else if (!"local".equals(configuration)) {
+         throw new IllegalArgumentException("Unknown configuration " + configuration);
+      }
+      if ("chain".equals(readPath)) {
+         builder.customInterceptors().addInterceptor().interceptor(new PassThroughInterceptor())
+               .before(CallInterceptor.class);
+      } else if (!"direct".equals(readPath)) {
+         throw new IllegalArgumentException("Unknown read path " + readPath);
+      }
+      cacheManager = new DefaultCacheManager(builder.build());
+      cache = cacheManager.getCache();
+
+      keys = new String[keySpace];
+      for (int i = 0; i < keySpace; i++) {
+         keys[i] = "key" + i;
+         cache.put(keys[i], "value" + i);
+      }
+   }
+
+   @TearDown
+   public void tearDown() {
+      cacheManager.stop();
+   }
+
+   @Benchmark
+   public String get() {
+      return cache.get(keys[ThreadLocalRandom.current().nextInt(keys.length)]);
+   }
+
+   /**
+    * Does nothing, except disabling the direct reads.
+    */
+   public static class PassThroughInterceptor extends CommandInterceptor {
+   }
+}
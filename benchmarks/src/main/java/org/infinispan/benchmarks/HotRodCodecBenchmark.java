@@ -0,0 +1,142 @@
+package org.infinispan.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.infinispan.client.hotrod.impl.operations.GetOperation;
+import org.infinispan.client.hotrod.impl.operations.PutOperation;
+import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.protocol.Codec20;
+import org.infinispan.client.hotrod.impl.protocol.HeaderParams;
+import org.infinispan.server.core.RequestParameters;
+import org.infinispan.server.core.transport.ExtendedByteBuf;
+import org.infinispan.server.hotrod.Decoder2x;
+import org.infinispan.server.hotrod.Encoder2x;
+import org.infinispan.server.hotrod.GetResponse;
+import org.infinispan.server.hotrod.HotRodHeader;
+import org.infinispan.server.hotrod.OperationResponse;
+import org.infinispan.server.hotrod.OperationStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encoding and decoding of Hot Rod 2.x messages, on both sides of the connection: the client side goes through the
+ * operations and {@link Codec20} using an in-memory transport, the server side through {@link Decoder2x} and {@link
+ * Encoder2x} using Netty buffers. No cache is involved.
+ *
+ * @since 7.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class HotRodCodecBenchmark {
+
+   private static final byte[] CACHE_NAME = new byte[0];
+
+   @Param({"100", "10000"})
+   public int valueSize;
+
+   private final Codec codec = new Codec20();
+   private final ByteArrayTransport transport = new ByteArrayTransport();
+   private byte[] key;
+   private byte[] value;
+   private PutOperation putOperation;
+   private GetOperation getOperation;
+   private HeaderParams getParams;
+   private byte[] putRequest;
+   private GetResponse getResponse;
+   private byte[] getResponseBytes;
+   private ByteBuf serverBuffer;
+
+   @Setup
+   public void setUp() {
+      key = "key".getBytes(StandardCharsets.UTF_8);
+      value = new byte[valueSize];
+      AtomicInteger topologyId = new AtomicInteger();
+      putOperation = new PutOperation(codec, null, key, CACHE_NAME, topologyId, null, value, -1, -1);
+      getOperation = new GetOperation(codec, null, key, CACHE_NAME, topologyId, null);
+
+      putRequest = encodePutRequest();
+
+      transport.resetOutput();
+      getParams = getOperation.writeRequest(transport);
+      serverBuffer = Unpooled.buffer(valueSize + 256);
+      HotRodHeader header = decodeHeader(Unpooled.wrappedBuffer(transport.toByteArray()));
+      getResponse = new GetResponse(header.version(), header.messageId(), header.cacheName(), header.clientIntel(),
+            OperationResponse.GetResponse(), OperationStatus.Success(), header.topologyId(),
+            scala.Option.apply(value));
+      ByteBuf buffer = encodeGetResponse();
+      getResponseBytes = new byte[buffer.readableBytes()];
+      buffer.readBytes(getResponseBytes);
+   }
+
+   /**
+    * Client side: writes a put request.
+    */
+   @Benchmark
+   public byte[] encodePutRequest() {
+      transport.resetOutput();
+      putOperation.writeRequest(transport);
+      return transport.toByteArray();
+   }
+
+   /**
+    * Server side: reads a put request, up to its value.
+    */
+   @Benchmark
+   public byte[] decodePutRequest() {
+      ByteBuf buffer = Unpooled.wrappedBuffer(putRequest);
+      HotRodHeader header = decodeHeader(buffer);
+      Decoder2x.readKey(header, buffer);
+      RequestParameters params = Decoder2x.readParameters(header, buffer)._1();
+      byte[] rawValue = new byte[params.valueLength()];
+      buffer.readBytes(rawValue);
+      return rawValue;
+   }
+
+   /**
+    * Server side: writes the response to a get request, which found a value.
+    */
+   @Benchmark
+   public ByteBuf encodeGetResponse() {
+      serverBuffer.clear();
+      Encoder2x.writeHeader(getResponse, serverBuffer, null, null);
+      Encoder2x.writeResponse(getResponse, serverBuffer, null, null);
+      return serverBuffer;
+   }
+
+   /**
+    * Client side: reads the response to a get request.
+    */
+   @Benchmark
+   public byte[] decodeGetResponse() {
+      transport.resetInput(getResponseBytes);
+      short status = codec.readHeader(transport, getParams);
+      return getOperation.readResponse(transport, status);
+   }
+
+   private HotRodHeader decodeHeader(ByteBuf buffer) {
+      // Done by HotRodDecoder before delegating to the version specific decoder
+      buffer.readUnsignedByte();
+      long messageId = ExtendedByteBuf.readUnsignedLong(buffer);
+      byte version = (byte) buffer.readUnsignedByte();
+      HotRodHeader header = new HotRodHeader();
+      Decoder2x.readHeader(buffer, version, messageId, header);
+      return header;
+   }
+}
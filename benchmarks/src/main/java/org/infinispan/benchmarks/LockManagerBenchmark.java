@@ -0,0 +1,92 @@
+package org.infinispan.benchmarks;
+
+import java.util.Collections;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.context.InvocationContext;
+import org.infinispan.context.InvocationContextFactory;
+import org.infinispan.manager.DefaultCacheManager;
+import org.infinispan.util.concurrent.locks.LockManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Lock acquisition and release through {@link org.infinispan.util.concurrent.locks.LockManagerImpl}, with several
+ * threads competing for a configurable number of keys. Use a single key to measure the contended path, many keys to
+ * measure the uncontended one.
+ *
+ * @since 7.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@Threads(4)
+public class LockManagerBenchmark {
+
+   @Param({"1", "64", "4096"})
+   public int keySpace;
+
+   @Param({"false", "true"})
+   public boolean lockStriping;
+
+   private DefaultCacheManager cacheManager;
+   private LockManager lockManager;
+   private InvocationContextFactory contextFactory;
+   private String[] keys;
+
+   @Setup
+   public void setUp() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.locking().useLockStriping(lockStriping).lockAcquisitionTimeout(1, TimeUnit.MINUTES);
+      cacheManager = new DefaultCacheManager(builder.build());
+      AdvancedCache<Object, Object> cache = cacheManager.getCache().getAdvancedCache();
+      lockManager = cache.getLockManager();
+      contextFactory = cache.getComponentRegistry().getComponent(InvocationContextFactory.class);
+      keys = new String[keySpace];
+      for (int i = 0; i < keySpace; i++) {
+         keys[i] = "key" + i;
+      }
+   }
+
+   @TearDown
+   public void tearDown() {
+      cacheManager.stop();
+   }
+
+   @State(Scope.Thread)
+   public static class ThreadState {
+      InvocationContext context;
+
+      @Setup
+      public void setUp(LockManagerBenchmark benchmark) {
+         context = benchmark.contextFactory.createSingleKeyNonTxInvocationContext();
+      }
+   }
+
+   @Benchmark
+   public boolean lockAndUnlock(ThreadState state) throws InterruptedException {
+      Object key = keys[ThreadLocalRandom.current().nextInt(keys.length)];
+      boolean locked = lockManager.lockAndRecord(key, state.context, TimeUnit.MINUTES.toMillis(1));
+      if (locked) {
+         lockManager.unlock(Collections.singleton(key), state.context.getLockOwner());
+      }
+      return locked;
+   }
+}
@@ -0,0 +1,110 @@
+package org.infinispan.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.commands.CommandsFactory;
+import org.infinispan.commands.ReplicableCommand;
+import org.infinispan.commons.marshall.StreamingMarshaller;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.context.Flag;
+import org.infinispan.factories.KnownComponentNames;
+import org.infinispan.manager.DefaultCacheManager;
+import org.infinispan.metadata.EmbeddedMetadata;
+import org.infinispan.metadata.Metadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Round-trips of the commands most commonly sent between nodes through the global marshaller, i.e. the one used by
+ * the JGroups transport.
+ *
+ * @since 7.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class MarshallerBenchmark {
+
+   @Param({"put", "putMap", "remove", "clusteredGet", "clusteredGetAll"})
+   public String command;
+
+   @Param({"100"})
+   public int valueSize;
+
+   private DefaultCacheManager cacheManager;
+   private StreamingMarshaller marshaller;
+   private ReplicableCommand replicableCommand;
+   private byte[] bytes;
+
+   @Setup
+   public void setUp() throws Exception {
+      cacheManager = new DefaultCacheManager(new ConfigurationBuilder().build());
+      Cache<Object, Object> cache = cacheManager.getCache();
+      marshaller = cacheManager.getGlobalComponentRegistry().getComponent(
+            StreamingMarshaller.class, KnownComponentNames.GLOBAL_MARSHALLER);
+      CommandsFactory commandsFactory = cache.getAdvancedCache().getComponentRegistry()
+            .getComponent(CommandsFactory.class);
+
+      byte[] value = new byte[valueSize];
+      Metadata metadata = new EmbeddedMetadata.Builder().lifespan(1, TimeUnit.MINUTES).build();
+      if ("put".equals(command)) {
+         replicableCommand = commandsFactory.buildSingleRpcCommand(
+               commandsFactory.buildPutKeyValueCommand("key", value, metadata, Collections.<Flag>emptySet()));
+      } else if ("putMap".equals(command)) {
+         Map<String, byte[]> map = new HashMap<String, byte[]>();
+         for (int i = 0; i < 10; i++) {
+            map.put("key" + i, value);
+         }
+         replicableCommand = commandsFactory.buildSingleRpcCommand(
+               commandsFactory.buildPutMapCommand(map, metadata, Collections.<Flag>emptySet()));
+      } else if ("remove".equals(command)) {
+         replicableCommand = commandsFactory.buildSingleRpcCommand(
+               commandsFactory.buildRemoveCommand("key", null, Collections.<Flag>emptySet()));
+      } else if ("clusteredGet".equals(command)) {
+         replicableCommand = commandsFactory.buildClusteredGetCommand("key", Collections.<Flag>emptySet(), false, null);
+      } else if ("clusteredGetAll".equals(command)) {
+         List<String> keys = new ArrayList<String>();
+         for (int i = 0; i < 10; i++) {
+            keys.add("key" + i);
+         }
+         replicableCommand = commandsFactory.buildClusteredGetAllCommand(keys, Collections.<Flag>emptySet());
+      } else {
+         throw new IllegalArgumentException("Unknown command " + command);
+      }
+      bytes = marshaller.objectToByteBuffer(replicableCommand);
+   }
+
+   @TearDown
+   public void tearDown() {
+      cacheManager.stop();
+   }
+
+   @Benchmark
+   public byte[] marshall() throws Exception {
+      return marshaller.objectToByteBuffer(replicableCommand);
+   }
+
+   @Benchmark
+   public Object unmarshall() throws Exception {
+      return marshaller.objectFromByteBuffer(bytes);
+   }
+}
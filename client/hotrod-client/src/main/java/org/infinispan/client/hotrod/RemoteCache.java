@@ -23,10 +23,10 @@
  * is returned instead. E.g. {@link java.util.Map#put(Object, Object)} returns the previous value associated to the
  * supplied key. In case of RemoteCache, this returns null.
  * <p/>
- * <b>Synthetic operations</b>: aggregate operations are being implemented based on other Hot Rod operations. E.g. all
- * the {@link java.util.Map#putAll(java.util.Map)} is implemented through multiple individual puts. This means that the
- * these operations are not atomic and that they are costly, e.g. as the number of network round-trips is not one, but
- * the size of the added map. All these synthetic operations are documented as such.
+ * <b>Synthetic operations</b>: aggregate operations are being implemented based on other Hot Rod operations. E.g. the
+ * {@link java.util.Map#putAll(java.util.Map)} is implemented through one request for each server owning some of the
+ * keys. This means that the these operations are not atomic and that they are costly, e.g. as the number of network
+ * round-trips is not one, but the number of servers involved. All these synthetic operations are documented as such.
  * <p/>
  * <b>changing default behavior through {@link org.infinispan.client.hotrod.Flag}s</b>: it is possible to change the
  * default cache behaviour by using flags on an per invocation basis. E.g.
@@ -188,9 +188,9 @@
    Set<Entry<K, V>> entrySet();
 
    /**
-    * Synthetic operation. The client iterates over the set of keys and calls put for each one of them. This results in
-    * operation not being atomic (if a failure happens after few puts it is not rolled back) and costly (for each key in
-    * the parameter map a remote call is performed).
+    * Synthetic operation. The client groups the entries by the server owning their keys and sends a single request to
+    * each of these servers, all of them in parallel. This results in operation not being atomic (if a failure happens
+    * after some of the servers stored their entries, these are not rolled back).
     */
    @Override
    void putAll(Map<? extends K, ? extends V> map, long lifespan, TimeUnit unit);
@@ -270,6 +270,15 @@
     */
    Map<K, V> getBulk(int size);
 
+   /**
+    * Retrieves the values of the given keys. The client groups the keys by the server owning them and sends a single
+    * request to each of these servers, all of them in parallel.
+    *
+    * @return the key/value pairs found in the remote cache. Keys not mapped to any value are not present in the
+    *         returned Map, which is unmodifiable.
+    */
+   Map<K, V> getAll(Set<? extends K> keys);
+
 
    /**
     * Returns the HotRod protocol version supported by this RemoteCache implementation
@@ -79,6 +79,7 @@
  * <li><tt>infinispan.client.hotrod.protocol_version</tt>, default = 1.1 .This property defines the protocol version that this client should use. Other valid values include 1.0.</li>
  * <li><tt>infinispan.client.hotrod.connect_timeout</tt>, default = 60000 (60 seconds).  This property defines the maximum socket connect timeout before giving up connecting to the server.</li>
  * <li><tt>infinispan.client.hotrod.max_retries</tt>, default = 10.  This property defines the maximum number of retries in case of a recoverable error. A valid value should be greater or equals to 0 (zero). Zero mean no retry.</li>
+ * <li><tt>infinispan.client.hotrod.pipelined_connections</tt>, default = 0.  This property defines the number of connections to each server over which the requests of the asynchronous operations are pipelined, without waiting for the previous responses. Zero means the asynchronous operations are executed by the async executor using pooled connections.</li>
  * </ul>
  * <br/>
  * <i>The following properties are related to connection pooling</i>:
@@ -324,6 +325,7 @@ public Properties getProperties() {
       properties.setProperty(ConfigurationProperties.TRANSPORT_FACTORY, configuration.transportFactory().getName());
       properties.setProperty(ConfigurationProperties.VALUE_SIZE_ESTIMATE, Integer.toString(configuration.valueSizeEstimate()));
       properties.setProperty(ConfigurationProperties.MAX_RETRIES, Integer.toString(configuration.maxRetries()));
+      properties.setProperty(ConfigurationProperties.PIPELINED_CONNECTIONS, Integer.toString(configuration.pipelinedConnections()));
 
       properties.setProperty("exhaustedAction", Integer.toString(configuration.connectionPool().exhaustedAction().ordinal()));
       properties.setProperty("maxActive", Integer.toString(configuration.connectionPool().maxActive()));
@@ -574,7 +576,7 @@ public void start() {
       }
 
       listenerNotifier = new ClientListenerNotifier(asyncExecutorService, codec, marshaller);
-      transportFactory.start(codec, configuration, defaultCacheTopologyId, listenerNotifier);
+      transportFactory.start(codec, configuration, defaultCacheTopologyId, listenerNotifier, asyncExecutorService);
 
       synchronized (cacheName2RemoteCache) {
          for (RemoteCacheHolder rcc : cacheName2RemoteCache.values()) {
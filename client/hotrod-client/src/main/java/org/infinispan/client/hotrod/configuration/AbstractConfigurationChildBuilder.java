@@ -145,6 +145,11 @@ public ConfigurationBuilder maxRetries(int retriesPerServer) {
       return builder.maxRetries(retriesPerServer);
    }
 
+   @Override
+   public ConfigurationBuilder pipelinedConnections(int pipelinedConnections) {
+      return builder.pipelinedConnections(pipelinedConnections);
+   }
+
    @Override
    public ConfigurationBuilder withProperties(Properties properties) {
       return builder.withProperties(properties);
@@ -63,6 +63,7 @@ public class ConfigurationBuilder implements ConfigurationChildBuilder, Builder<
    private Class<? extends TransportFactory> transportFactory = TcpTransportFactory.class;
    private int valueSizeEstimate = ConfigurationProperties.DEFAULT_VALUE_SIZE;
    private int maxRetries = ConfigurationProperties.DEFAULT_MAX_RETRIES;
+   private int pipelinedConnections = ConfigurationProperties.DEFAULT_PIPELINED_CONNECTIONS;
 
 
    public ConfigurationBuilder() {
@@ -247,6 +248,12 @@ public ConfigurationBuilder maxRetries(int maxRetries) {
       return this;
    }
 
+   @Override
+   public ConfigurationBuilder pipelinedConnections(int pipelinedConnections) {
+      this.pipelinedConnections = pipelinedConnections;
+      return this;
+   }
+
    @Override
    public ConfigurationBuilder withProperties(Properties properties) {
       TypedProperties typed = TypedProperties.toTypedProperties(properties);
@@ -278,6 +285,7 @@ public ConfigurationBuilder withProperties(Properties properties) {
       }
       this.valueSizeEstimate(typed.getIntProperty(ConfigurationProperties.VALUE_SIZE_ESTIMATE, valueSizeEstimate));
       this.maxRetries(typed.getIntProperty(ConfigurationProperties.MAX_RETRIES, maxRetries));
+      this.pipelinedConnections(typed.getIntProperty(ConfigurationProperties.PIPELINED_CONNECTIONS, pipelinedConnections));
       return this;
    }
 
@@ -289,6 +297,9 @@ public void validate() {
       if (maxRetries < 0) {
          throw log.invalidMaxRetries(maxRetries);
       }
+      if (pipelinedConnections < 0) {
+         throw log.invalidPipelinedConnections(pipelinedConnections);
+      }
    }
 
    @Override
@@ -304,11 +315,11 @@ public Configuration create() {
       if (marshaller == null) {
          return new Configuration(asyncExecutorFactory.create(), balancingStrategy, classLoader == null ? null : classLoader.get(), connectionPool.create(), connectionTimeout,
                consistentHashImpl, forceReturnValues, keySizeEstimate, marshallerClass, pingOnStartup, protocolVersion, servers, socketTimeout, security.create(), tcpNoDelay, tcpKeepAlive, transportFactory,
-               valueSizeEstimate, maxRetries);
+               valueSizeEstimate, maxRetries, pipelinedConnections);
       } else {
          return new Configuration(asyncExecutorFactory.create(), balancingStrategy, classLoader == null ? null : classLoader.get(), connectionPool.create(), connectionTimeout,
                consistentHashImpl, forceReturnValues, keySizeEstimate, marshaller, pingOnStartup, protocolVersion, servers, socketTimeout, security.create(), tcpNoDelay, tcpKeepAlive, transportFactory,
-               valueSizeEstimate, maxRetries);
+               valueSizeEstimate, maxRetries, pipelinedConnections);
       }
    }
 
@@ -351,6 +362,7 @@ public ConfigurationBuilder read(Configuration template) {
       this.transportFactory = template.transportFactory();
       this.valueSizeEstimate = template.valueSizeEstimate();
       this.maxRetries = template.maxRetries();
+      this.pipelinedConnections = template.pipelinedConnections();
       return this;
    }
 }
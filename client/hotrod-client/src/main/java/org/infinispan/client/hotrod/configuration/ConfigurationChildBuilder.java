@@ -156,6 +156,14 @@ public interface ConfigurationChildBuilder {
     */
    ConfigurationBuilder maxRetries(int maxRetries);
 
+   /**
+    * Number of connections to each server shared by the asynchronous operations (e.g. {@link
+    * org.infinispan.client.hotrod.RemoteCache#getAsync(Object)}). Their requests are pipelined over these connections
+    * instead of being executed by the async executor on pooled connections. Zero disables pipelining. It defaults to
+    * 0.
+    */
+   ConfigurationBuilder pipelinedConnections(int pipelinedConnections);
+
    /**
     * Configures this builder using the specified properties
     */
@@ -42,6 +42,7 @@ public class ConfigurationProperties {
    public static final String TRUST_STORE_FILE_NAME = "infinispan.client.hotrod.trust_store_file_name";
    public static final String TRUST_STORE_PASSWORD = "infinispan.client.hotrod.trust_store_password";
    public static final String MAX_RETRIES = "infinispan.client.hotrod.max_retries";
+   public static final String PIPELINED_CONNECTIONS = "infinispan.client.hotrod.pipelined_connections";
 
    // defaults
 
@@ -51,6 +52,7 @@ public class ConfigurationProperties {
    public static final int DEFAULT_SO_TIMEOUT = 60000;
    public static final int DEFAULT_CONNECT_TIMEOUT = 60000;
    public static final int DEFAULT_MAX_RETRIES = 10;
+   public static final int DEFAULT_PIPELINED_CONNECTIONS = 0;
    public static final String PROTOCOL_VERSION_20 = "2.0";
    public static final String PROTOCOL_VERSION_13 = "1.3";
    public static final String PROTOCOL_VERSION_12 = "1.2";
@@ -178,4 +180,8 @@ public int getMaxRetries() {
       return props.getIntProperty(MAX_RETRIES, DEFAULT_MAX_RETRIES);
    }
 
+   public int getPipelinedConnections() {
+      return props.getIntProperty(PIPELINED_CONNECTIONS, DEFAULT_PIPELINED_CONNECTIONS);
+   }
+
 }
@@ -3,12 +3,15 @@
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -23,7 +26,11 @@
 import org.infinispan.client.hotrod.event.ClientListenerNotifier;
 import org.infinispan.client.hotrod.exceptions.HotRodClientException;
 import org.infinispan.client.hotrod.exceptions.RemoteCacheManagerNotStartedException;
+import org.infinispan.client.hotrod.exceptions.TransportException;
 import org.infinispan.client.hotrod.impl.operations.*;
+import org.infinispan.client.hotrod.impl.protocol.HeaderParams;
+import org.infinispan.client.hotrod.impl.transport.PipelinedTransport;
+import org.infinispan.client.hotrod.impl.transport.Transport;
 import org.infinispan.client.hotrod.logging.Log;
 import org.infinispan.client.hotrod.logging.LogFactory;
 import org.infinispan.client.hotrod.marshall.MarshallerUtil;
@@ -165,9 +172,26 @@ public MetadataValue<V> getWithMetadata(K key) {
    @Override
    public void putAll(Map<? extends K, ? extends V> map, long lifespan, TimeUnit lifespanUnit, long maxIdleTime, TimeUnit maxIdleTimeUnit) {
       assertRemoteCacheManagerIsStarted();
+      if (map.isEmpty()) {
+         return;
+      }
+      if (!isBulkOperationSupported()) {
+         for (Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            put(entry.getKey(), entry.getValue(), lifespan, lifespanUnit, maxIdleTime, maxIdleTimeUnit);
+         }
+         return;
+      }
+      int lifespanSecs = toSeconds(lifespan, lifespanUnit);
+      int maxIdleSecs = toSeconds(maxIdleTime, maxIdleTimeUnit);
+      applyDefaultExpirationFlags(lifespan, maxIdleTime);
+      if (log.isTraceEnabled()) {
+         log.tracef("About to putAll %d entries, lifespanSecs:%d, maxIdleSecs:%d", map.size(), lifespanSecs, maxIdleSecs);
+      }
+      Map<byte[], byte[]> entries = new HashMap<byte[], byte[]>(map.size());
       for (Entry<? extends K, ? extends V> entry : map.entrySet()) {
-         put(entry.getKey(), entry.getValue(), lifespan, lifespanUnit, maxIdleTime, maxIdleTimeUnit);
+         entries.put(obj2bytes(entry.getKey(), true), obj2bytes(entry.getValue(), false));
       }
+      executeInParallel(operationsFactory.newPutAllOperations(entries, lifespanSecs, maxIdleSecs));
    }
 
    @Override
@@ -264,30 +288,12 @@ public V replace(K key, V value, long lifespan, TimeUnit lifespanUnit, long maxI
    @Override
    public NotifyingFuture<V> putAsync(final K key, final V value, final long lifespan, final TimeUnit lifespanUnit, final long maxIdle, final TimeUnit maxIdleUnit) {
       assertRemoteCacheManagerIsStarted();
-      final NotifyingFutureImpl<V> result = new NotifyingFutureImpl<V>();
-      Future<V> future = executorService.submit(new Callable<V>() {
-         @Override
-         public V call() throws Exception {
-            try {
-               V prevValue = put(key, value, lifespan, lifespanUnit, maxIdle, maxIdleUnit);
-               try {
-                  result.notifyDone(prevValue);
-               } catch (Throwable t) {
-                  log.trace("Error when notifying", t);
-               }
-               return prevValue;
-            } catch (Exception e) {
-               try {
-                  result.notifyException(e);
-               } catch (Throwable t) {
-                  log.trace("Error when notifying", t);
-               }
-               throw e;
-            }
-         }
-      });
-      result.setFuture(future);
-      return result;
+      int lifespanSecs = toSeconds(lifespan, lifespanUnit);
+      int maxIdleSecs = toSeconds(maxIdle, maxIdleUnit);
+      applyDefaultExpirationFlags(lifespan, maxIdle);
+      byte[] keyBytes = obj2bytes(key, true);
+      PutOperation op = operationsFactory.newPutKeyValueOperation(keyBytes, obj2bytes(value, false), lifespanSecs, maxIdleSecs);
+      return executeAsync(keyBytes, op);
    }
 
    @Override
@@ -322,88 +328,30 @@ public Void call() throws Exception {
    @Override
    public NotifyingFuture<V> putIfAbsentAsync(final K key,final V value,final long lifespan,final TimeUnit lifespanUnit,final long maxIdle,final TimeUnit maxIdleUnit) {
       assertRemoteCacheManagerIsStarted();
-      final NotifyingFutureImpl<V> result = new NotifyingFutureImpl<V>();
-      Future<V> future = executorService.submit(new Callable<V>() {
-         @Override
-         public V call() throws Exception {
-            try {
-               V prevValue = putIfAbsent(key, value, lifespan, lifespanUnit, maxIdle, maxIdleUnit);
-               try {
-                  result.notifyDone(prevValue);
-               } catch (Throwable t) {
-                  log.trace("Error when notifying", t);
-               }
-               return prevValue;
-            } catch (Exception e) {
-               try {
-                  result.notifyException(e);
-               } catch (Throwable t) {
-                  log.trace("Error when notifying", t);
-               }
-               throw e;
-            }
-         }
-      });
-      result.setFuture(future);
-      return result;
+      int lifespanSecs = toSeconds(lifespan, lifespanUnit);
+      int maxIdleSecs = toSeconds(maxIdle, maxIdleUnit);
+      applyDefaultExpirationFlags(lifespan, maxIdle);
+      byte[] keyBytes = obj2bytes(key, true);
+      PutIfAbsentOperation op = operationsFactory.newPutIfAbsentOperation(keyBytes, obj2bytes(value, false), lifespanSecs, maxIdleSecs);
+      return executeAsync(keyBytes, op);
    }
 
    @Override
    public NotifyingFuture<V> removeAsync(final Object key) {
       assertRemoteCacheManagerIsStarted();
-      final NotifyingFutureImpl<V> result = new NotifyingFutureImpl<V>();
-      Future<V> future = executorService.submit(new Callable<V>() {
-         @Override
-         public V call() throws Exception {
-            try {
-               V toReturn = remove(key);
-               try {
-                  result.notifyDone(toReturn);
-               } catch (Throwable t) {
-                  log.trace("Error when notifying", t);
-               }
-               return toReturn;
-            } catch (Exception e) {
-               try {
-                  result.notifyException(e);
-               } catch (Throwable t) {
-                  log.trace("Error when notifying", t);
-               }
-               throw e;
-            }
-         }
-      });
-      result.setFuture(future);
-      return result;
+      byte[] keyBytes = obj2bytes(key, true);
+      return executeAsync(keyBytes, operationsFactory.newRemoveOperation(keyBytes));
    }
 
    @Override
    public NotifyingFuture<V> replaceAsync(final K key,final V value,final long lifespan,final TimeUnit lifespanUnit,final long maxIdle,final TimeUnit maxIdleUnit) {
       assertRemoteCacheManagerIsStarted();
-      final NotifyingFutureImpl<V> result = new NotifyingFutureImpl<V>();
-      Future<V> future = executorService.submit(new Callable<V>() {
-         @Override
-         public V call() throws Exception {
-            try {
-               V old = replace(key, value, lifespan, lifespanUnit, maxIdle, maxIdleUnit);
-               try {
-                  result.notifyDone(old);
-               } catch (Throwable t) {
-                  log.trace("Error when notifying", t);
-               }
-               return old;
-            } catch (Exception e) {
-               try {
-                  result.notifyException(e);
-               } catch (Throwable t) {
-                  log.trace("Error when notifying", t);
-               }
-               throw e;
-            }
-         }
-      });
-      result.setFuture(future);
-      return result;
+      int lifespanSecs = toSeconds(lifespan, lifespanUnit);
+      int maxIdleSecs = toSeconds(maxIdle, maxIdleUnit);
+      applyDefaultExpirationFlags(lifespan, maxIdle);
+      byte[] keyBytes = obj2bytes(key, true);
+      ReplaceOperation op = operationsFactory.newReplaceOperation(keyBytes, obj2bytes(value, false), lifespanSecs, maxIdleSecs);
+      return executeAsync(keyBytes, op);
    }
 
    @Override
@@ -445,6 +393,138 @@ public Map<K, V> getBulk(int size) {
       return Collections.unmodifiableMap(toReturn);
    }
 
+   @Override
+   public Map<K, V> getAll(Set<? extends K> keys) {
+      assertRemoteCacheManagerIsStarted();
+      if (keys.isEmpty()) {
+         return Collections.emptyMap();
+      }
+      if (!isBulkOperationSupported()) {
+         Map<K, V> toReturn = new HashMap<K, V>();
+         for (K key : keys) {
+            V value = get(key);
+            if (value != null) {
+               toReturn.put(key, value);
+            }
+         }
+         return Collections.unmodifiableMap(toReturn);
+      }
+      List<byte[]> keyBytes = new ArrayList<byte[]>(keys.size());
+      for (K key : keys) {
+         keyBytes.add(obj2bytes(key, true));
+      }
+      Map<K, V> toReturn = new HashMap<K, V>();
+      for (Map<byte[], byte[]> result : executeInParallel(operationsFactory.newGetAllOperations(keyBytes))) {
+         for (Map.Entry<byte[], byte[]> entry : result.entrySet()) {
+            V value = MarshallerUtil.bytes2obj(marshaller, entry.getValue());
+            K key = MarshallerUtil.bytes2obj(marshaller, entry.getKey());
+            toReturn.put(key, value);
+         }
+      }
+      return Collections.unmodifiableMap(toReturn);
+   }
+
+   /**
+    * The get all and put all requests were added in version 2.0 of the protocol, so older servers only get single
+    * gets and puts.
+    */
+   private boolean isBulkOperationSupported() {
+      String protocolVersion = remoteCacheManager.getConfiguration().protocolVersion();
+      return !protocolVersion.startsWith("1.");
+   }
+
+   /**
+    * Executes a key based operation asynchronously. When pipelining is enabled, the request is sent over a connection
+    * shared with other operations and the calling thread never blocks waiting for the response. Otherwise the
+    * operation is executed by the async executor.
+    */
+   private NotifyingFuture<V> executeAsync(byte[] keyBytes, final PipelinedOperation<byte[]> operation) {
+      final PipelinedOperation<V> unmarshallingOperation = new PipelinedOperation<V>() {
+         @Override
+         public HeaderParams writeRequest(Transport transport) {
+            return operation.writeRequest(transport);
+         }
+
+         @Override
+         public V readResponse(Transport transport, short status) {
+            return MarshallerUtil.bytes2obj(marshaller, operation.readResponse(transport, status));
+         }
+
+         @Override
+         public V execute() {
+            return MarshallerUtil.bytes2obj(marshaller, operation.execute());
+         }
+      };
+      PipelinedTransport transport = null;
+      try {
+         transport = operationsFactory.getPipelinedTransport(keyBytes);
+      } catch (TransportException e) {
+         log.tracef(e, "Could not get a pipelined transport, using the async executor");
+      }
+      if (transport != null) {
+         return transport.send(unmarshallingOperation);
+      }
+
+      final NotifyingFutureImpl<V> result = new NotifyingFutureImpl<V>();
+      Future<V> future = executorService.submit(new Callable<V>() {
+         @Override
+         public V call() throws Exception {
+            try {
+               V toReturn = unmarshallingOperation.execute();
+               try {
+                  result.notifyDone(toReturn);
+               } catch (Throwable t) {
+                  log.trace("Error when notifying", t);
+               }
+               return toReturn;
+            } catch (Exception e) {
+               try {
+                  result.notifyException(e);
+               } catch (Throwable t) {
+                  log.trace("Error when notifying", t);
+               }
+               throw e;
+            }
+         }
+      });
+      result.setFuture(future);
+      return result;
+   }
+
+   /**
+    * Executes operations targeting different servers in parallel: all of them but the last one are submitted to the
+    * executor service, while the last one is executed by the caller thread.
+    */
+   private <T> List<T> executeInParallel(List<? extends RetryOnFailureOperation<T>> operations) {
+      int last = operations.size() - 1;
+      List<Future<T>> futures = new ArrayList<Future<T>>(last);
+      for (int i = 0; i < last; i++) {
+         final RetryOnFailureOperation<T> op = operations.get(i);
+         futures.add(executorService.submit(new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+               return op.execute();
+            }
+         }));
+      }
+      List<T> results = new ArrayList<T>(operations.size());
+      results.add(operations.get(last).execute());
+      for (Future<T> future : futures) {
+         try {
+            results.add(future.get());
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HotRodClientException(e);
+         } catch (ExecutionException e) {
+            if (e.getCause() instanceof HotRodClientException) {
+               throw (HotRodClientException) e.getCause();
+            }
+            throw new HotRodClientException(e.getCause());
+         }
+      }
+      return results;
+   }
+
    @Override
    public V remove(Object key) {
       assertRemoteCacheManagerIsStarted();
@@ -543,30 +623,8 @@ public RemoteCache<K, V> withFlags(Flag... flags) {
    @Override
    public NotifyingFuture<V> getAsync(final K key) {
       assertRemoteCacheManagerIsStarted();
-      final NotifyingFutureImpl<V> result = new NotifyingFutureImpl<V>();
-      Future<V> future = executorService.submit(new Callable<V>() {
-         @Override
-         public V call() throws Exception {
-            try {
-               V toReturn = get(key);
-               try {
-                  result.notifyDone(toReturn);
-               } catch (Throwable t) {
-                  log.trace("Error when notifying", t);
-               }
-               return toReturn;
-            } catch (Exception e) {
-               try {
-                  result.notifyException(e);
-               } catch (Throwable t) {
-                  log.trace("Error when notifying", t);
-               }
-               throw e;
-            }
-         }
-      });
-      result.setFuture(future);
-      return result;
+      byte[] keyBytes = obj2bytes(key, true);
+      return executeAsync(keyBytes, operationsFactory.newGetKeyOperation(keyBytes));
    }
 
    public PingOperation.PingResult ping() {
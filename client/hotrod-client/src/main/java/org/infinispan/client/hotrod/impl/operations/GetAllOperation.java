@@ -0,0 +1,61 @@
+package org.infinispan.client.hotrod.impl.operations;
+
+import net.jcip.annotations.Immutable;
+import org.infinispan.client.hotrod.Flag;
+import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.protocol.HeaderParams;
+import org.infinispan.client.hotrod.impl.transport.Transport;
+import org.infinispan.client.hotrod.impl.transport.TransportFactory;
+
+import java.net.SocketAddress;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Retrieves the values of several keys with a single request. The keys are expected to be owned by the same server,
+ * which is located through the first key.
+ *
+ * @since 7.0
+ */
+@Immutable
+public class GetAllOperation extends RetryOnFailureOperation<Map<byte[], byte[]>> {
+
+   private final Collection<byte[]> keys;
+
+   public GetAllOperation(Codec codec, TransportFactory transportFactory, Collection<byte[]> keys, byte[] cacheName,
+                          AtomicInteger topologyId, Flag[] flags) {
+      super(codec, transportFactory, cacheName, topologyId, flags);
+      this.keys = keys;
+   }
+
+   @Override
+   protected Transport getTransport(int retryCount, Set<SocketAddress> failedServers) {
+      if (retryCount == 0) {
+         return transportFactory.getTransport(keys.iterator().next(), failedServers, cacheName);
+      } else {
+         return transportFactory.getTransport(failedServers, cacheName);
+      }
+   }
+
+   //[header][key count][key 1]...[key n]
+   @Override
+   protected Map<byte[], byte[]> executeOperation(Transport transport) {
+      HeaderParams params = writeHeader(transport, GET_ALL_REQUEST);
+      transport.writeVInt(keys.size());
+      for (byte[] key : keys) {
+         transport.writeArray(key);
+      }
+      transport.flush();
+
+      readHeaderAndValidate(transport, params);
+      int count = transport.readVInt();
+      Map<byte[], byte[]> result = new HashMap<byte[], byte[]>(count);
+      for (int i = 0; i < count; i++) {
+         result.put(transport.readArray(), transport.readArray());
+      }
+      return result;
+   }
+}
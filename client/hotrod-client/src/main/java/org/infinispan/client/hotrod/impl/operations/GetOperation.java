@@ -3,6 +3,7 @@
 import net.jcip.annotations.Immutable;
 import org.infinispan.client.hotrod.Flag;
 import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.protocol.HeaderParams;
 import org.infinispan.client.hotrod.impl.transport.Transport;
 import org.infinispan.client.hotrod.impl.transport.TransportFactory;
 
@@ -15,7 +16,7 @@
  * @since 4.1
  */
 @Immutable
-public class GetOperation extends AbstractKeyOperation<byte[]> {
+public class GetOperation extends AbstractKeyOperation<byte[]> implements PipelinedOperation<byte[]> {
 
    public GetOperation(Codec codec, TransportFactory transportFactory,
          byte[] key, byte[] cacheName, AtomicInteger topologyId, Flag[] flags) {
@@ -24,8 +25,18 @@ public GetOperation(Codec codec, TransportFactory transportFactory,
 
    @Override
    public byte[] executeOperation(Transport transport) {
-      byte[] result = null;
       short status = sendKeyOperation(key, transport, GET_REQUEST, GET_RESPONSE);
+      return readResponse(transport, status);
+   }
+
+   @Override
+   public HeaderParams writeRequest(Transport transport) {
+      return writeKeyRequest(key, transport, GET_REQUEST);
+   }
+
+   @Override
+   public byte[] readResponse(Transport transport, short status) {
+      byte[] result = null;
       if (status == KEY_DOES_NOT_EXIST_STATUS) {
          result = null;
       } else {
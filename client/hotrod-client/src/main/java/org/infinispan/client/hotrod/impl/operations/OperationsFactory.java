@@ -8,6 +8,7 @@
 import org.infinispan.client.hotrod.impl.protocol.Codec;
 import org.infinispan.client.hotrod.impl.protocol.HotRodConstants;
 import org.infinispan.client.hotrod.impl.query.RemoteQuery;
+import org.infinispan.client.hotrod.impl.transport.PipelinedTransport;
 import org.infinispan.client.hotrod.impl.transport.Transport;
 import org.infinispan.client.hotrod.impl.transport.TransportFactory;
 import org.infinispan.commons.util.InfinispanCollections;
@@ -15,8 +16,11 @@
 import java.net.SocketAddress;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -64,6 +68,13 @@ public byte[] getCacheName() {
       return cacheNameBytes;
    }
 
+   /**
+    * @return the connection shared by the operations on the given key, or {@code null} if pipelining is disabled
+    */
+   public PipelinedTransport getPipelinedTransport(byte[] key) {
+      return transportFactory.getPipelinedTransport(key, cacheNameBytes);
+   }
+
    public GetOperation newGetKeyOperation(byte[] key) {
       return new GetOperation(
             codec, transportFactory, key, cacheNameBytes, topologyId, flags());
@@ -137,6 +148,48 @@ public BulkGetOperation newBulkGetOperation(int size) {
             codec, transportFactory, cacheNameBytes, topologyId, flags(), size);
    }
 
+   /**
+    * Creates the operations retrieving the given keys, one for each server owning some of the keys, so that they can
+    * be executed in parallel. If the owners of the keys are not known a single operation is returned.
+    */
+   public List<GetAllOperation> newGetAllOperations(Collection<byte[]> keys) {
+      Flag[] flags = flags();
+      Map<SocketAddress, List<byte[]>> keysByServer = transportFactory.getKeysByServer(keys, cacheNameBytes);
+      if (keysByServer == null) {
+         return Collections.singletonList(new GetAllOperation(
+               codec, transportFactory, keys, cacheNameBytes, topologyId, flags));
+      }
+      List<GetAllOperation> operations = new ArrayList<GetAllOperation>(keysByServer.size());
+      for (List<byte[]> serverKeys : keysByServer.values()) {
+         operations.add(new GetAllOperation(
+               codec, transportFactory, serverKeys, cacheNameBytes, topologyId, flags));
+      }
+      return operations;
+   }
+
+   /**
+    * Creates the operations storing the given entries, one for each server owning some of the keys, so that they can
+    * be executed in parallel. If the owners of the keys are not known a single operation is returned.
+    */
+   public List<PutAllOperation> newPutAllOperations(Map<byte[], byte[]> entries, int lifespanSecs, int maxIdleSecs) {
+      Flag[] flags = flags();
+      Map<SocketAddress, List<byte[]>> keysByServer = transportFactory.getKeysByServer(entries.keySet(), cacheNameBytes);
+      if (keysByServer == null) {
+         return Collections.singletonList(new PutAllOperation(
+               codec, transportFactory, entries, cacheNameBytes, topologyId, flags, lifespanSecs, maxIdleSecs));
+      }
+      List<PutAllOperation> operations = new ArrayList<PutAllOperation>(keysByServer.size());
+      for (List<byte[]> serverKeys : keysByServer.values()) {
+         Map<byte[], byte[]> serverEntries = new HashMap<byte[], byte[]>(serverKeys.size());
+         for (byte[] key : serverKeys) {
+            serverEntries.put(key, entries.get(key));
+         }
+         operations.add(new PutAllOperation(
+               codec, transportFactory, serverEntries, cacheNameBytes, topologyId, flags, lifespanSecs, maxIdleSecs));
+      }
+      return operations;
+   }
+
    public BulkGetKeysOperation newBulkGetKeysOperation(int scope) {
       return new BulkGetKeysOperation(
          codec, transportFactory, cacheNameBytes, topologyId, flags(), scope);
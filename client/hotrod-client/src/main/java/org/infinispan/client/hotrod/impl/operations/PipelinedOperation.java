@@ -0,0 +1,33 @@
+package org.infinispan.client.hotrod.impl.operations;
+
+import org.infinispan.client.hotrod.impl.protocol.HeaderParams;
+import org.infinispan.client.hotrod.impl.transport.Transport;
+
+/**
+ * An operation whose request and response can be handled separately, so that it can share a connection with other
+ * operations awaiting their responses. See {@link org.infinispan.client.hotrod.impl.transport.PipelinedTransport}.
+ *
+ * @since 7.0
+ */
+public interface PipelinedOperation<T> {
+
+   /**
+    * Writes the request to the transport, without flushing it.
+    *
+    * @return the header parameters of the request, holding the message id the response will be correlated with
+    */
+   HeaderParams writeRequest(Transport transport);
+
+   /**
+    * Reads the body of the response, once its header has been read from the transport.
+    *
+    * @param status the status of the response, as read from its header
+    */
+   T readResponse(Transport transport, short status);
+
+   /**
+    * Executes the operation on a dedicated connection, retrying on failure. Used when the shared connection fails
+    * before the response is received.
+    */
+   T execute();
+}
@@ -7,6 +7,7 @@
 import org.infinispan.client.hotrod.Flag;
 import org.infinispan.client.hotrod.exceptions.InvalidResponseException;
 import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.protocol.HeaderParams;
 import org.infinispan.client.hotrod.impl.transport.Transport;
 import org.infinispan.client.hotrod.impl.transport.TransportFactory;
 
@@ -17,7 +18,7 @@
  * @since 4.1
  */
 @Immutable
-public class PutOperation extends AbstractKeyValueOperation<byte[]> {
+public class PutOperation extends AbstractKeyValueOperation<byte[]> implements PipelinedOperation<byte[]> {
 
    public PutOperation(Codec codec, TransportFactory transportFactory,
                        byte[] key, byte[] cacheName, AtomicInteger topologyId,
@@ -28,6 +29,16 @@ public PutOperation(Codec codec, TransportFactory transportFactory,
    @Override
    protected byte[] executeOperation(Transport transport) {
       short status = sendPutOperation(transport, PUT_REQUEST, PUT_RESPONSE);
+      return readResponse(transport, status);
+   }
+
+   @Override
+   public HeaderParams writeRequest(Transport transport) {
+      return writePutRequest(transport, PUT_REQUEST);
+   }
+
+   @Override
+   public byte[] readResponse(Transport transport, short status) {
       if (status != NO_ERROR_STATUS) {
          throw new InvalidResponseException("Unexpected response status: " + Integer.toHexString(status));
       }
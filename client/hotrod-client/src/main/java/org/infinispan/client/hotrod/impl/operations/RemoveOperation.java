@@ -3,6 +3,7 @@
 import net.jcip.annotations.Immutable;
 import org.infinispan.client.hotrod.Flag;
 import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.protocol.HeaderParams;
 import org.infinispan.client.hotrod.impl.transport.Transport;
 import org.infinispan.client.hotrod.impl.transport.TransportFactory;
 
@@ -16,7 +17,7 @@
  * @since 4.1
  */
 @Immutable
-public class RemoveOperation extends AbstractKeyOperation<byte[]> {
+public class RemoveOperation extends AbstractKeyOperation<byte[]> implements PipelinedOperation<byte[]> {
 
    public RemoveOperation(Codec codec, TransportFactory transportFactory,
             byte[] key, byte[] cacheName, AtomicInteger topologyId, Flag[] flags) {
@@ -26,6 +27,16 @@ public RemoveOperation(Codec codec, TransportFactory transportFactory,
    @Override
    public byte[] executeOperation(Transport transport) {
       short status = sendKeyOperation(key, transport, REMOVE_REQUEST, REMOVE_RESPONSE);
+      return readResponse(transport, status);
+   }
+
+   @Override
+   public HeaderParams writeRequest(Transport transport) {
+      return writeKeyRequest(key, transport, REMOVE_REQUEST);
+   }
+
+   @Override
+   public byte[] readResponse(Transport transport, short status) {
       byte[] result = returnPossiblePrevValue(transport);
       if (status == KEY_DOES_NOT_EXIST_STATUS)
          return null;
@@ -26,6 +26,18 @@ public interface Codec {
     */
    short readHeader(Transport transport, HeaderParams params);
 
+   /**
+    * Reads the beginning of a response header, up to and including the message id, and returns the message id.
+    * Allows matching a response to its request when several requests are pending on the same transport.
+    */
+   long readMessageId(Transport transport);
+
+   /**
+    * Reads the rest of a response header, after {@link #readMessageId(Transport)}, and returns the status of the
+    * response.
+    */
+   short readPartialHeader(Transport transport, HeaderParams params);
+
    ClientEvent readEvent(Transport transport, byte[] expectedListenerId, Marshaller marshaller);
 
    Either<Short, ClientEvent> readHeaderOrEvent(Transport transport, HeaderParams params, byte[] expectedListenerId, Marshaller marshaller);
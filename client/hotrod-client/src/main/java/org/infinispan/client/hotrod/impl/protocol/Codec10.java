@@ -66,28 +66,33 @@ protected HeaderParams writeHeader(
 
    @Override
    public short readHeader(Transport transport, HeaderParams params) {
-      short magic = transport.readByte();
-      final Log localLog = getLog();
-      boolean isTrace = localLog.isTraceEnabled();
-      if (magic != HotRodConstants.RESPONSE_MAGIC) {
-         String message = "Invalid magic number. Expected %#x and received %#x";
-         localLog.invalidMagicNumber(HotRodConstants.RESPONSE_MAGIC, magic);
-         if (isTrace)
-            localLog.tracef("Socket dump: %s", hexDump(transport.dumpStream()));
-         throw new InvalidResponseException(String.format(message, HotRodConstants.RESPONSE_MAGIC, magic));
-      }
+      readMagic(transport);
       long receivedMessageId = transport.readVLong();
+      final Log localLog = getLog();
       // If received id is 0, it could be that a failure was noted before the
       // message id was detected, so don't consider it to a message id error
       if (receivedMessageId != params.messageId && receivedMessageId != 0) {
          String message = "Invalid message id. Expected %d and received %d";
          localLog.invalidMessageId(params.messageId, receivedMessageId);
-         if (isTrace)
+         if (localLog.isTraceEnabled())
             localLog.tracef("Socket dump: %s", hexDump(transport.dumpStream()));
          throw new InvalidResponseException(String.format(message, params.messageId, receivedMessageId));
       }
       localLog.tracef("Received response for message id: %d", receivedMessageId);
 
+      return readPartialHeader(transport, params);
+   }
+
+   @Override
+   public long readMessageId(Transport transport) {
+      readMagic(transport);
+      long receivedMessageId = transport.readVLong();
+      getLog().tracef("Received response for message id: %d", receivedMessageId);
+      return receivedMessageId;
+   }
+
+   @Override
+   public short readPartialHeader(Transport transport, HeaderParams params) {
       short receivedOpCode = transport.readByte();
       // Read both the status and new topology (if present),
       // before deciding how to react to error situations.
@@ -105,11 +110,23 @@ public short readHeader(Transport transport, HeaderParams params) {
                "Invalid response operation. Expected %#x and received %#x",
                params.opRespCode, receivedOpCode));
       }
-      localLog.tracef("Received operation code is: %#04x", receivedOpCode);
+      getLog().tracef("Received operation code is: %#04x", receivedOpCode);
 
       return status;
    }
 
+   private void readMagic(Transport transport) {
+      short magic = transport.readByte();
+      if (magic != HotRodConstants.RESPONSE_MAGIC) {
+         final Log localLog = getLog();
+         String message = "Invalid magic number. Expected %#x and received %#x";
+         localLog.invalidMagicNumber(HotRodConstants.RESPONSE_MAGIC, magic);
+         if (localLog.isTraceEnabled())
+            localLog.tracef("Socket dump: %s", hexDump(transport.dumpStream()));
+         throw new InvalidResponseException(String.format(message, HotRodConstants.RESPONSE_MAGIC, magic));
+      }
+   }
+
    @Override
    public ClientEvent readEvent(Transport transport, byte[] expectedListenerId, Marshaller marshaller) {
       return null;  // No events sent in Hot Rod 1.x protocol
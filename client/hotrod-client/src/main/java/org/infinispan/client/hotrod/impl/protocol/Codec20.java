@@ -71,6 +71,18 @@ public short readHeader(Transport transport, HeaderParams params) {
       return readPartialHeader(transport, params, receivedOpCode);
    }
 
+   @Override
+   public long readMessageId(Transport transport) {
+      readMagic(transport);
+      return readMessageId(transport, null);
+   }
+
+   @Override
+   public short readPartialHeader(Transport transport, HeaderParams params) {
+      short receivedOpCode = transport.readByte();
+      return readPartialHeader(transport, params, receivedOpCode);
+   }
+
    private short readPartialHeader(Transport transport, HeaderParams params, short receivedOpCode) {
       // Read both the status and new topology (if present),
       // before deciding how to react to error situations.
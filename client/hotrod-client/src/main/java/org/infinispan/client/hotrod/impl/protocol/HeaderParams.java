@@ -57,6 +57,10 @@ public HeaderParams messageId(long messageId) {
       return this;
    }
 
+   public long getMessageId() {
+      return messageId;
+   }
+
    private short toOpRespCode(short opCode) {
       switch (opCode) {
          case HotRodConstants.PUT_REQUEST:
@@ -99,6 +103,10 @@ private short toOpRespCode(short opCode) {
             return HotRodConstants.ADD_CLIENT_LISTENER_RESPONSE;
          case HotRodConstants.REMOVE_CLIENT_LISTENER_REQUEST:
             return HotRodConstants.REMOVE_CLIENT_LISTENER_RESPONSE;
+         case HotRodConstants.GET_ALL_REQUEST:
+            return HotRodConstants.GET_ALL_RESPONSE;
+         case HotRodConstants.PUT_ALL_REQUEST:
+            return HotRodConstants.PUT_ALL_RESPONSE;
          default:
             throw new IllegalStateException("Unknown operation code: " + opCode);
       }
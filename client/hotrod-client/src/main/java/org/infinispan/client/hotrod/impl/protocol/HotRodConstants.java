@@ -40,6 +40,8 @@ public interface HotRodConstants {
    static final byte AUTH_REQUEST = 0x23;
    static final byte ADD_CLIENT_LISTENER_REQUEST = 0x25;
    static final byte REMOVE_CLIENT_LISTENER_REQUEST = 0x27;
+   static final byte GET_ALL_REQUEST = 0x29;
+   static final byte PUT_ALL_REQUEST = 0x2B;
 
    //responses
    static final byte PUT_RESPONSE = 0x02;
@@ -62,6 +64,8 @@ public interface HotRodConstants {
    static final byte AUTH_RESPONSE = 0x24;
    static final byte ADD_CLIENT_LISTENER_RESPONSE = 0x26;
    static final byte REMOVE_CLIENT_LISTENER_RESPONSE = 0x28;
+   static final byte GET_ALL_RESPONSE = 0x2A;
+   static final byte PUT_ALL_RESPONSE = 0x2C;
    static final byte ERROR_RESPONSE = 0x50;
    static final byte CACHE_ENTRY_CREATED_EVENT_RESPONSE = 0x60;
    static final byte CACHE_ENTRY_MODIFIED_EVENT_RESPONSE = 0x61;
@@ -0,0 +1,36 @@
+package org.infinispan.client.hotrod.impl.transport;
+
+import java.net.SocketAddress;
+
+import org.infinispan.client.hotrod.impl.operations.PipelinedOperation;
+import org.infinispan.commons.util.concurrent.NotifyingFuture;
+
+/**
+ * A connection to a server shared by concurrent operations. Each request is sent as soon as it is submitted, without
+ * waiting for the responses to the previous ones, and the responses are matched to their requests by message id.
+ *
+ * @since 7.0
+ */
+public interface PipelinedTransport {
+
+   /**
+    * Sends the request of the given operation, without blocking for its response.
+    *
+    * @return a future completed with the result of the operation once its response is received. If the connection
+    *         fails before that, the operation is executed again with {@link PipelinedOperation#execute()}.
+    */
+   <T> NotifyingFuture<T> send(PipelinedOperation<T> operation);
+
+   SocketAddress getServerAddress();
+
+   /**
+    * @return {@code false} once the connection has failed or has been closed
+    */
+   boolean isValid();
+
+   /**
+    * Closes the connection. The operations still awaiting a response are executed again with {@link
+    * PipelinedOperation#execute()}.
+    */
+   void close();
+}
@@ -2,8 +2,10 @@
 
 import java.net.SocketAddress;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
 import javax.net.ssl.SSLContext;
 
@@ -26,7 +28,11 @@ public interface TransportFactory {
 
    void releaseTransport(Transport transport);
 
-   void start(Codec codec, Configuration configuration, AtomicInteger topologyId, ClientListenerNotifier listenerNotifier);
+   /**
+    * @param asyncExecutor executes the callbacks and the retries of the operations sent over pipelined transports
+    */
+   void start(Codec codec, Configuration configuration, AtomicInteger topologyId, ClientListenerNotifier listenerNotifier,
+              ExecutorService asyncExecutor);
 
    void updateServers(Collection<SocketAddress> newServers, byte[] cacheName);
 
@@ -44,6 +50,22 @@ public interface TransportFactory {
 
    Transport getTransport(byte[] key, Set<SocketAddress> failedServers, byte[] cacheName);
 
+   /**
+    * Groups the given keys by the server owning them according to the consistent hash of the cache.
+    *
+    * @return the keys owned by each server, or {@code null} if no consistent hash is available for the cache, e.g.
+    *         because the client is not distribution aware
+    */
+   Map<SocketAddress, List<byte[]>> getKeysByServer(Collection<byte[]> keys, byte[] cacheName);
+
+   /**
+    * Returns a connection to the server owning the given key, shared with other concurrent operations.
+    *
+    * @return the shared connection, or {@code null} if pipelining is disabled
+    * @see org.infinispan.client.hotrod.configuration.ConfigurationBuilder#pipelinedConnections(int)
+    */
+   PipelinedTransport getPipelinedTransport(byte[] key, byte[] cacheName);
+
    boolean isTcpNoDelay();
 
    boolean isTcpKeepAlive();
@@ -0,0 +1,332 @@
+package org.infinispan.client.hotrod.impl.transport.tcp;
+
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import net.jcip.annotations.ThreadSafe;
+
+import org.infinispan.client.hotrod.exceptions.HotRodClientException;
+import org.infinispan.client.hotrod.exceptions.InvalidResponseException;
+import org.infinispan.client.hotrod.exceptions.RemoteNodeSuspectException;
+import org.infinispan.client.hotrod.exceptions.TransportException;
+import org.infinispan.client.hotrod.impl.operations.PipelinedOperation;
+import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.protocol.HeaderParams;
+import org.infinispan.client.hotrod.impl.transport.PipelinedTransport;
+import org.infinispan.client.hotrod.logging.Log;
+import org.infinispan.client.hotrod.logging.LogFactory;
+import org.infinispan.commons.util.CollectionFactory;
+import org.infinispan.commons.util.concurrent.FutureListener;
+import org.infinispan.commons.util.concurrent.NotifyingFuture;
+
+/**
+ * {@link PipelinedTransport} implementation based on a {@link TcpTransport}. The requests are written by the calling
+ * threads, while a dedicated thread reads the responses and completes the futures of the matching requests.
+ * <p/>
+ * The listeners of the futures are notified by the client's asynchronous executor, so that a listener can block,
+ * e.g. waiting for another operation sent over the same connection, without stalling the reader. When the connection
+ * fails, the operations still awaiting a response are executed again by the asynchronous executor too. They go through
+ * the pooled transports and their usual retry logic, so they can fail over to other servers.
+ *
+ * @since 7.0
+ */
+@ThreadSafe
+public class TcpPipelinedTransport implements PipelinedTransport {
+
+   private static final Log log = LogFactory.getLog(TcpPipelinedTransport.class, Log.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   private final TcpTransport transport;
+   private final Codec codec;
+   private final Executor asyncExecutor;
+   private final ConcurrentMap<Long, Request<?>> pending = CollectionFactory.makeConcurrentMap();
+   // One permit per request sent, so that the reader only blocks on the socket when a response is expected
+   private final Semaphore expectedResponses = new Semaphore(0);
+   private final Object writeLock = new Object();
+   private final AtomicBoolean destroyed = new AtomicBoolean();
+   private volatile boolean closed;
+
+   public TcpPipelinedTransport(TcpTransport transport, Codec codec, Executor asyncExecutor) {
+      this.transport = transport;
+      this.codec = codec;
+      this.asyncExecutor = asyncExecutor;
+      Thread reader = new Thread(new Runnable() {
+         @Override
+         public void run() {
+            readResponses();
+         }
+      }, "HotRod-pipeline-" + transport.getServerAddress());
+      reader.setDaemon(true);
+      reader.start();
+   }
+
+   @Override
+   public <T> NotifyingFuture<T> send(PipelinedOperation<T> operation) {
+      Request<T> request = new Request<T>(operation);
+      boolean sent = false;
+      synchronized (writeLock) {
+         if (!closed) {
+            try {
+               request.params = operation.writeRequest(transport);
+               // Register the request before flushing, so that it is known by the time its response is read
+               pending.put(request.params.getMessageId(), request);
+               transport.flush();
+               sent = true;
+            } catch (TransportException e) {
+               log.tracef(e, "Could not send request to %s", getServerAddress());
+               if (request.params != null) {
+                  pending.remove(request.params.getMessageId());
+               }
+            }
+         }
+      }
+      if (sent) {
+         expectedResponses.release();
+      } else {
+         close();
+         request.scheduleRetry();
+      }
+      return request;
+   }
+
+   @Override
+   public SocketAddress getServerAddress() {
+      return transport.getServerAddress();
+   }
+
+   @Override
+   public boolean isValid() {
+      return !closed;
+   }
+
+   @Override
+   public void close() {
+      synchronized (writeLock) {
+         if (closed) return;
+         closed = true;
+      }
+      // Wake up the reader, whether it is waiting for a request or blocked reading from the socket
+      expectedResponses.release();
+      destroyTransport();
+   }
+
+   private void readResponses() {
+      Request<?> current = null;
+      try {
+         while (!closed) {
+            expectedResponses.acquire();
+            if (closed) break;
+
+            long messageId = codec.readMessageId(transport);
+            current = pending.remove(messageId);
+            if (current == null) {
+               throw new InvalidResponseException(String.format(
+                     "Received a response for message id %d, which has no pending request", messageId));
+            }
+            current.readResponse();
+            current = null;
+            // The codec invalidates the transport when the server reports a protocol error
+            if (!transport.isValid()) break;
+         }
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+      } catch (Throwable t) {
+         if (!closed) {
+            log.debugf(t, "Pipelined connection to %s failed", getServerAddress());
+         }
+      } finally {
+         synchronized (writeLock) {
+            closed = true;
+         }
+         destroyTransport();
+         retryPendingRequests(current);
+      }
+   }
+
+   private void retryPendingRequests(Request<?> current) {
+      List<Request<?>> requests = new ArrayList<Request<?>>(pending.values());
+      if (current != null) {
+         requests.add(current);
+      }
+      pending.clear();
+      if (trace && !requests.isEmpty()) {
+         log.tracef("Retrying %d requests pending on %s", requests.size(), getServerAddress());
+      }
+      for (Request<?> request : requests) {
+         request.scheduleRetry();
+      }
+   }
+
+   private void destroyTransport() {
+      if (destroyed.compareAndSet(false, true)) {
+         transport.invalidate();
+         transport.destroy();
+      }
+   }
+
+   @Override
+   public String toString() {
+      return "TcpPipelinedTransport{transport=" + transport + ", pending=" + pending.size() + ", closed=" + closed + "}";
+   }
+
+   private final class Request<T> implements NotifyingFuture<T> {
+      private final PipelinedOperation<T> operation;
+      private final CountDownLatch latch = new CountDownLatch(1);
+      // guarded by this
+      private final List<FutureListener<T>> listeners = new ArrayList<FutureListener<T>>(1);
+      private boolean done;
+      private T result;
+      private Throwable exception;
+      HeaderParams params;
+
+      Request(PipelinedOperation<T> operation) {
+         this.operation = operation;
+      }
+
+      void readResponse() {
+         T response;
+         try {
+            short status = codec.readPartialHeader(transport, params);
+            response = operation.readResponse(transport, status);
+         } catch (TransportException e) {
+            throw e;
+         } catch (InvalidResponseException e) {
+            throw e;
+         } catch (RemoteNodeSuspectException e) {
+            // Same as RetryOnFailureOperation, the server is still fine but the operation must be retried
+            scheduleRetry();
+            return;
+         } catch (HotRodClientException e) {
+            // Error reported by the server, the rest of the stream can still be read
+            complete(null, e);
+            return;
+         }
+         complete(response, null);
+      }
+
+      void scheduleRetry() {
+         try {
+            asyncExecutor.execute(new Runnable() {
+               @Override
+               public void run() {
+                  retry();
+               }
+            });
+         } catch (RejectedExecutionException e) {
+            // The client is being stopped
+            complete(null, new TransportException("Could not retry the operation", e, getServerAddress()));
+         }
+      }
+
+      private void retry() {
+         T response;
+         try {
+            response = operation.execute();
+         } catch (Throwable t) {
+            complete(null, t);
+            return;
+         }
+         complete(response, null);
+      }
+
+      private void complete(T response, Throwable throwable) {
+         List<FutureListener<T>> toNotify;
+         synchronized (this) {
+            if (done) return;
+            result = response;
+            exception = throwable;
+            done = true;
+            toNotify = new ArrayList<FutureListener<T>>(listeners);
+            listeners.clear();
+         }
+         latch.countDown();
+         if (!toNotify.isEmpty()) {
+            notifyListeners(toNotify);
+         }
+      }
+
+      private void notifyListeners(final List<FutureListener<T>> toNotify) {
+         Runnable notification = new Runnable() {
+            @Override
+            public void run() {
+               for (FutureListener<T> listener : toNotify) {
+                  notifyListener(listener);
+               }
+            }
+         };
+         try {
+            asyncExecutor.execute(notification);
+         } catch (RejectedExecutionException e) {
+            // The client is being stopped, the listeners are still owed a notification
+            notification.run();
+         }
+      }
+
+      private void notifyListener(FutureListener<T> listener) {
+         try {
+            listener.futureDone(this);
+         } catch (Throwable t) {
+            log.trace("Error when notifying", t);
+         }
+      }
+
+      @Override
+      public NotifyingFuture<T> attachListener(FutureListener<T> listener) {
+         synchronized (this) {
+            if (!done) {
+               listeners.add(listener);
+               return this;
+            }
+         }
+         notifyListener(listener);
+         return this;
+      }
+
+      @Override
+      public boolean cancel(boolean mayInterruptIfRunning) {
+         // The request has already been sent
+         return false;
+      }
+
+      @Override
+      public boolean isCancelled() {
+         return false;
+      }
+
+      @Override
+      public boolean isDone() {
+         return latch.getCount() == 0;
+      }
+
+      @Override
+      public T get() throws InterruptedException, ExecutionException {
+         latch.await();
+         return getResult();
+      }
+
+      @Override
+      public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+         if (!latch.await(timeout, unit)) {
+            throw new TimeoutException();
+         }
+         return getResult();
+      }
+
+      private synchronized T getResult() throws ExecutionException {
+         if (exception != null) {
+            throw new ExecutionException(exception);
+         }
+         return result;
+      }
+   }
+}
@@ -5,9 +5,13 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.net.ssl.SSLContext;
@@ -26,6 +30,7 @@
 import org.infinispan.client.hotrod.impl.consistenthash.ConsistentHashFactory;
 import org.infinispan.client.hotrod.impl.consistenthash.SegmentConsistentHash;
 import org.infinispan.client.hotrod.impl.protocol.Codec;
+import org.infinispan.client.hotrod.impl.transport.PipelinedTransport;
 import org.infinispan.client.hotrod.impl.transport.Transport;
 import org.infinispan.client.hotrod.impl.transport.TransportFactory;
 import org.infinispan.client.hotrod.logging.Log;
@@ -46,7 +51,7 @@ public class TcpTransportFactory implements TransportFactory {
    private static final Log log = LogFactory.getLog(TcpTransportFactory.class, Log.class);
 
    /**
-    * We need synchronization as the thread that calls {@link TransportFactory#start(org.infinispan.client.hotrod.impl.protocol.Codec, org.infinispan.client.hotrod.configuration.Configuration, java.util.concurrent.atomic.AtomicInteger, org.infinispan.client.hotrod.event.ClientListenerNotifier)}
+    * We need synchronization as the thread that calls {@link TransportFactory#start(org.infinispan.client.hotrod.impl.protocol.Codec, org.infinispan.client.hotrod.configuration.Configuration, java.util.concurrent.atomic.AtomicInteger, org.infinispan.client.hotrod.event.ClientListenerNotifier, java.util.concurrent.ExecutorService)}
     * might(and likely will) be different from the thread(s) that calls {@link TransportFactory#getTransport(byte[], java.util.Set, byte[])} or other methods
     */
    private final Object lock = new Object();
@@ -59,6 +64,9 @@ public class TcpTransportFactory implements TransportFactory {
    private Configuration configuration;
    private Collection<SocketAddress> servers;
    private final ConsistentHashFactory hashFactory = new ConsistentHashFactory();
+   // Connections shared by the asynchronous operations, created lazily
+   private final ConcurrentMap<SocketAddress, PipelinedTransport[]> pipelinedTransports = CollectionFactory.makeConcurrentMap();
+   private final AtomicInteger pipelinedIndex = new AtomicInteger();
 
    // the primitive fields are often accessed separately from the rest so it makes sense not to require synchronization for them
    private volatile boolean tcpNoDelay;
@@ -69,11 +77,17 @@ public class TcpTransportFactory implements TransportFactory {
    private volatile SSLContext sslContext;
    private volatile ClientListenerNotifier listenerNotifier;
    private volatile AtomicInteger topologyId;
+   private volatile int pipelinedConnections;
+   private volatile Codec codec;
+   private volatile ExecutorService asyncExecutor;
+   private volatile TransportObjectFactory connectionFactory;
 
    @Override
-   public void start(Codec codec, Configuration configuration, AtomicInteger defaultCacheTopologyId, ClientListenerNotifier listenerNotifier) {
+   public void start(Codec codec, Configuration configuration, AtomicInteger defaultCacheTopologyId, ClientListenerNotifier listenerNotifier,
+                     ExecutorService asyncExecutor) {
       synchronized (lock) {
          this.listenerNotifier = listenerNotifier;
+         this.asyncExecutor = asyncExecutor;
          this.configuration = configuration;
          hashFactory.init(configuration);
          boolean pingOnStartup = configuration.pingOnStartup();
@@ -87,6 +101,8 @@ public void start(Codec codec, Configuration configuration, AtomicInteger defaul
          soTimeout = configuration.socketTimeout();
          connectTimeout = configuration.connectionTimeout();
          maxRetries = configuration.maxRetries();
+         pipelinedConnections = configuration.pipelinedConnections();
+         this.codec = codec;
          this.topologyId = topologyId;
 
          if (configuration.security().ssl().enabled()) {
@@ -110,6 +126,7 @@ public void start(Codec codec, Configuration configuration, AtomicInteger defaul
          } else {
             connectionFactory = new TransportObjectFactory(codec, this, defaultCacheTopologyId, pingOnStartup);
          }
+         this.connectionFactory = connectionFactory;
          PropsKeyedObjectPoolFactory<SocketAddress, TcpTransport> poolFactory =
                new PropsKeyedObjectPoolFactory<SocketAddress, TcpTransport>(
                      connectionFactory,
@@ -168,6 +185,7 @@ private void createAndPreparePool(PropsKeyedObjectPoolFactory<SocketAddress, Tcp
 
    @Override
    public void destroy() {
+      closePipelinedTransports(pipelinedTransports.keySet());
       synchronized (lock) {
          connectionPool.clear();
          try {
@@ -239,17 +257,103 @@ public Transport getAddressTransport(SocketAddress server) {
    public Transport getTransport(byte[] key, Set<SocketAddress> failedServers, byte[] cacheName) {
       SocketAddress server;
       synchronized (lock) {
-         ConsistentHash consistentHash = consistentHashes.get(cacheName);
-         if (consistentHash != null) {
-            server = consistentHash.getServer(key);
+         server = getKeyServer(key, failedServers, cacheName);
+      }
+      return borrowTransportFromPool(server);
+   }
+
+   // To be called from within `lock` synchronized block
+   private SocketAddress getKeyServer(byte[] key, Set<SocketAddress> failedServers, byte[] cacheName) {
+      SocketAddress server;
+      ConsistentHash consistentHash = consistentHashes.get(cacheName);
+      if (consistentHash != null) {
+         server = consistentHash.getServer(key);
+         if (log.isTraceEnabled()) {
+            log.tracef("Using consistent hash for determining the server: " + server);
+         }
+      } else {
+         server = getNextServer(failedServers, cacheName);
+      }
+      return server;
+   }
+
+   @Override
+   public PipelinedTransport getPipelinedTransport(byte[] key, byte[] cacheName) {
+      int connections = pipelinedConnections;
+      if (connections <= 0) {
+         return null;
+      }
+      SocketAddress server;
+      synchronized (lock) {
+         server = getKeyServer(key, null, cacheName);
+      }
+      PipelinedTransport[] transports = pipelinedTransports.get(server);
+      if (transports == null) {
+         transports = new PipelinedTransport[connections];
+         PipelinedTransport[] existing = pipelinedTransports.putIfAbsent(server, transports);
+         if (existing != null) {
+            transports = existing;
+         }
+      }
+      int index = (pipelinedIndex.getAndIncrement() & Integer.MAX_VALUE) % transports.length;
+      // Only blocks while a connection is being (re-)established
+      synchronized (transports) {
+         PipelinedTransport transport = transports[index];
+         if (transport == null || !transport.isValid()) {
+            transport = new TcpPipelinedTransport(createTransport(server), codec, asyncExecutor);
+            transports[index] = transport;
             if (log.isTraceEnabled()) {
-               log.tracef("Using consistent hash for determining the server: " + server);
+               log.tracef("Created pipelined transport: %s", transport);
             }
-         } else {
-            server = getNextServer(failedServers, cacheName);
          }
+         return transport;
+      }
+   }
+
+   private TcpTransport createTransport(SocketAddress server) {
+      try {
+         return connectionFactory.makeObject(server);
+      } catch (TransportException e) {
+         throw e;
+      } catch (Exception e) {
+         String message = "Could not create transport";
+         log.debug(message, e);
+         throw new TransportException(message, e, server);
+      }
+   }
+
+   private void closePipelinedTransports(Collection<SocketAddress> servers) {
+      for (SocketAddress server : servers) {
+         PipelinedTransport[] transports = pipelinedTransports.remove(server);
+         if (transports != null) {
+            synchronized (transports) {
+               for (PipelinedTransport transport : transports) {
+                  if (transport != null) transport.close();
+               }
+            }
+         }
+      }
+   }
+
+   @Override
+   public Map<SocketAddress, List<byte[]>> getKeysByServer(Collection<byte[]> keys, byte[] cacheName) {
+      synchronized (lock) {
+         ConsistentHash consistentHash = consistentHashes.get(cacheName);
+         if (consistentHash == null) {
+            return null;
+         }
+         Map<SocketAddress, List<byte[]>> keysByServer = new HashMap<SocketAddress, List<byte[]>>();
+         for (byte[] key : keys) {
+            SocketAddress server = consistentHash.getServer(key);
+            List<byte[]> serverKeys = keysByServer.get(server);
+            if (serverKeys == null) {
+               serverKeys = new ArrayList<byte[]>();
+               keysByServer.put(server, serverKeys);
+            }
+            serverKeys.add(key);
+         }
+         return keysByServer;
       }
-      return borrowTransportFromPool(server);
    }
 
    @Override
@@ -323,6 +427,7 @@ public void updateServers(Collection<SocketAddress> newServers, byte[] cacheName
             log.removingServer(server);
             connectionPool.clear(server);
          }
+         closePipelinedTransports(failedServers);
 
          servers = Collections.unmodifiableList(new ArrayList(newServers));
 
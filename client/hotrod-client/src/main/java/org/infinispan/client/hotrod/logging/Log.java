@@ -176,4 +176,7 @@ public interface Log extends BasicLogger {
    @Message(value = "Unable to set method %s accessible", id = 4042)
    void unableToSetAccesible(Method m, @Cause Exception e);
 
+   @Message(value = "Invalid pipelined_connections (value=%s). Value should be greater or equal than zero.", id = 4043)
+   CacheConfigurationException invalidPipelinedConnections(int pipelinedConnections);
+
 }
@@ -0,0 +1,83 @@
+package org.infinispan.client.hotrod;
+
+import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.server.hotrod.HotRodServer;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.infinispan.client.hotrod.test.HotRodClientTestingUtil.killRemoteCacheManager;
+import static org.infinispan.client.hotrod.test.HotRodClientTestingUtil.killServers;
+import static org.infinispan.server.hotrod.test.HotRodTestingUtil.hotRodCacheConfiguration;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+/**
+ * Tests the getAll and putAll operations, which send the keys owned by each server in a single request.
+ *
+ * @since 7.0
+ */
+@Test(testName = "client.hotrod.GetAllDistTest", groups = "functional")
+public class GetAllDistTest extends MultipleCacheManagersTest {
+
+   private static final int NUM_SERVERS = 3;
+
+   private HotRodServer[] hotrodServers;
+   private RemoteCacheManager remoteCacheManager;
+   private RemoteCache<Object, Object> remoteCache;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      hotrodServers = new HotRodServer[NUM_SERVERS];
+      createCluster(hotRodCacheConfiguration(getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, false)), NUM_SERVERS);
+      for (int i = 0; i < NUM_SERVERS; i++) {
+         EmbeddedCacheManager cm = cacheManagers.get(i);
+         hotrodServers[i] = TestHelper.startHotRodServer(cm);
+      }
+      ConfigurationBuilder clientBuilder = new ConfigurationBuilder();
+      clientBuilder.addServers(TestHelper.getServersString(hotrodServers));
+      configureClient(clientBuilder);
+      remoteCacheManager = new RemoteCacheManager(clientBuilder.build());
+      remoteCache = remoteCacheManager.getCache();
+   }
+
+   protected void configureClient(ConfigurationBuilder clientBuilder) {
+   }
+
+   @AfterClass
+   public void release() {
+      killRemoteCacheManager(remoteCacheManager);
+      killServers(hotrodServers);
+   }
+
+   public void testPutAllAndGetAll() {
+      Map<Object, Object> data = new HashMap<Object, Object>();
+      for (int i = 0; i < 100; i++) {
+         data.put("k" + i, "v" + i);
+      }
+      remoteCache.putAll(data);
+
+      for (int i = 0; i < 100; i++) {
+         assertEquals("v" + i, remoteCache.get("k" + i));
+         // entries stored by putAll are versioned like the ones stored by put
+         assertNotNull(remoteCache.getVersioned("k" + i));
+      }
+
+      Set<Object> keys = new HashSet<Object>(data.keySet());
+      keys.add("missing");
+      Map<Object, Object> result = remoteCache.getAll(keys);
+      assertEquals(data, result);
+   }
+
+   public void testGetAllNoKeys() {
+      assertTrue(remoteCache.getAll(new HashSet<Object>()).isEmpty());
+   }
+}
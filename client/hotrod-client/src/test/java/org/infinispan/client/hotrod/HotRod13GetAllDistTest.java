@@ -0,0 +1,19 @@
+package org.infinispan.client.hotrod;
+
+import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that getAll and putAll fall back to single gets and puts with Hot Rod's 1.3 protocol, which has no bulk get
+ * and put requests.
+ *
+ * @since 7.0
+ */
+@Test(testName = "client.hotrod.HotRod13GetAllDistTest", groups = "functional")
+public class HotRod13GetAllDistTest extends GetAllDistTest {
+
+   @Override
+   protected void configureClient(ConfigurationBuilder clientBuilder) {
+      clientBuilder.protocolVersion("1.3");
+   }
+}
@@ -0,0 +1,84 @@
+package org.infinispan.client.hotrod;
+
+import org.infinispan.client.hotrod.impl.ConfigurationProperties;
+import org.infinispan.commons.util.concurrent.FutureListener;
+import org.infinispan.commons.util.concurrent.NotifyingFuture;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+/**
+ * Runs the asynchronous API tests with the requests pipelined over shared connections.
+ *
+ * @since 7.0
+ */
+@Test(groups = "functional", testName = "client.hotrod.PipelinedRemoteAsyncAPITest")
+public class PipelinedRemoteAsyncAPITest extends RemoteAsyncAPITest {
+
+   @Override
+   protected Properties clientProperties() {
+      Properties props = super.clientProperties();
+      props.put(ConfigurationProperties.PIPELINED_CONNECTIONS, "2");
+      return props;
+   }
+
+   public void testManyRequestsInFlight() throws Exception {
+      int count = 1000;
+      List<NotifyingFuture<String>> puts = new ArrayList<NotifyingFuture<String>>(count);
+      for (int i = 0; i < count; i++) {
+         puts.add(c.putAsync("pipelined-" + i, "v" + i));
+      }
+      for (NotifyingFuture<String> put : puts) {
+         assertNull(put.get());
+      }
+
+      List<NotifyingFuture<String>> gets = new ArrayList<NotifyingFuture<String>>(count);
+      for (int i = 0; i < count; i++) {
+         gets.add(c.getAsync("pipelined-" + i));
+      }
+      for (int i = 0; i < count; i++) {
+         assertEquals("v" + i, gets.get(i).get());
+      }
+
+      List<NotifyingFuture<String>> removes = new ArrayList<NotifyingFuture<String>>(count);
+      for (int i = 0; i < count; i++) {
+         removes.add(c.removeAsync("pipelined-" + i));
+      }
+      for (int i = 0; i < count; i++) {
+         assertEquals("v" + i, removes.get(i).get());
+         assertNull(c.get("pipelined-" + i));
+      }
+   }
+
+   public void testBlockingOperationsInListener() throws Exception {
+      final AtomicReference<Object> result = new AtomicReference<Object>();
+      final CountDownLatch latch = new CountDownLatch(1);
+      c.putAsync("listener-k", "v1").attachListener(new FutureListener<String>() {
+         @Override
+         public void futureDone(Future<String> future) {
+            try {
+               // The response to this get is read by the same connections as the put
+               c.getAsync("listener-k").get(10, TimeUnit.SECONDS);
+               c.put("listener-k", "v2");
+               result.set(c.getAsync("listener-k").get(10, TimeUnit.SECONDS));
+            } catch (Throwable t) {
+               result.set(t);
+            } finally {
+               latch.countDown();
+            }
+         }
+      });
+      assertTrue(latch.await(30, TimeUnit.SECONDS));
+      assertEquals("v2", result.get());
+   }
+}
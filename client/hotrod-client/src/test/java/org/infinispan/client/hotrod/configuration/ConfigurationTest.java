@@ -56,6 +56,7 @@ public void testConfiguration() {
          .keySizeEstimate(128)
          .valueSizeEstimate(1024)
          .maxRetries(0)
+         .pipelinedConnections(2)
          .tcpKeepAlive(true)
          .transportFactory(SomeTransportfactory.class);
 
@@ -94,6 +95,15 @@ public void testNegativeRetriesPerServer() {
       builder.build();
    }
 
+   @Test(expectedExceptions = CacheConfigurationException.class,
+         expectedExceptionsMessageRegExp = "ISPN(\\d)*: Invalid pipelined_connections \\(value=-1\\). " +
+               "Value should be greater or equal than zero.")
+   public void testNegativePipelinedConnections() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.pipelinedConnections(-1);
+      builder.build();
+   }
+
    @Test(expectedExceptions = CacheConfigurationException.class)
    public void testInvalidAuthenticationConfig() {
       ConfigurationBuilder builder = new ConfigurationBuilder();
@@ -144,6 +154,7 @@ private void validateConfiguration(Configuration configuration) {
       assertEquals(128, configuration.keySizeEstimate());
       assertEquals(1024, configuration.valueSizeEstimate());
       assertEquals(0, configuration.maxRetries());
+      assertEquals(2, configuration.pipelinedConnections());
    }
 
 }
@@ -0,0 +1,80 @@
+package org.infinispan.commons.io;
+
+import java.util.Arrays;
+
+import net.jcip.annotations.ThreadSafe;
+
+/**
+ * Per-thread pool of {@link ExposedByteArrayOutputStream}s used as scratch space when marshalling an object to a byte
+ * array.
+ * <p/>
+ * Marshalling directly into a new array requires guessing its size up front: a guess too small means the array is
+ * copied every time it grows, a guess too large wastes memory for as long as the marshalled bytes are referenced,
+ * e.g. until all the recipients of a remote command acknowledged it. Instead, the object is marshalled into a buffer
+ * that is reused by all the invocations on the same thread, and then copied once into an array of the exact size.
+ * <p/>
+ * Each thread retains at most one buffer, and only if it is not larger than the configured maximum size, so that the
+ * occasional big object doesn't pin a big buffer. Marshalling reentrantly, e.g. from an externalizer, gets a new
+ * buffer while the outer invocation holds the pooled one.
+ *
+ * @since 7.0
+ */
+@ThreadSafe
+public final class OutputBufferPool {
+
+   /**
+    * Default maximum size of the buffers kept by the pool
+    */
+   public static final int DEFAULT_MAX_RETAINED_SIZE = 64 * 1024;
+
+   private static final int MIN_BUFFER_SIZE = 128;
+
+   private final int maxRetainedSize;
+   private final ThreadLocal<ExposedByteArrayOutputStream> buffers = new ThreadLocal<ExposedByteArrayOutputStream>();
+
+   public OutputBufferPool() {
+      this(DEFAULT_MAX_RETAINED_SIZE);
+   }
+
+   /**
+    * @param maxRetainedSize the size after which a buffer is discarded instead of being returned to the pool
+    */
+   public OutputBufferPool(int maxRetainedSize) {
+      this.maxRetainedSize = maxRetainedSize;
+   }
+
+   /**
+    * Takes the buffer of the current thread out of the pool, or creates a new one if the pool of the current thread is
+    * empty. The buffer must be given back with {@link #release(ExposedByteArrayOutputStream)} once its contents have
+    * been copied.
+    *
+    * @param estimatedSize the expected number of bytes to be written, used only when creating a new buffer
+    * @return an empty buffer
+    */
+   public ExposedByteArrayOutputStream acquire(int estimatedSize) {
+      ExposedByteArrayOutputStream buffer = buffers.get();
+      if (buffer == null) {
+         return new ExposedByteArrayOutputStream(Math.max(estimatedSize, MIN_BUFFER_SIZE));
+      }
+      buffers.set(null);
+      buffer.reset();
+      return buffer;
+   }
+
+   /**
+    * Puts the buffer back into the pool of the current thread, unless it grew larger than the maximum retained size.
+    */
+   public void release(ExposedByteArrayOutputStream buffer) {
+      if (buffer.getRawBuffer().length <= maxRetainedSize) {
+         buffers.set(buffer);
+      }
+   }
+
+   /**
+    * @return a {@link ByteBuffer} backed by a copy of the bytes written to the buffer, of the exact size
+    */
+   public static ByteBuffer copyOf(ExposedByteArrayOutputStream buffer) {
+      byte[] bytes = Arrays.copyOf(buffer.getRawBuffer(), buffer.size());
+      return new ByteBufferImpl(bytes, 0, bytes.length);
+   }
+}
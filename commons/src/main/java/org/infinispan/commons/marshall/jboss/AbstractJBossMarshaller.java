@@ -1,8 +1,8 @@
 package org.infinispan.commons.marshall.jboss;
 
 import org.infinispan.commons.io.ByteBuffer;
-import org.infinispan.commons.io.ByteBufferImpl;
 import org.infinispan.commons.io.ExposedByteArrayOutputStream;
+import org.infinispan.commons.io.OutputBufferPool;
 import org.infinispan.commons.logging.BasicLogFactory;
 import org.infinispan.commons.marshall.AbstractMarshaller;
 import org.infinispan.commons.marshall.StreamingMarshaller;
@@ -58,6 +58,8 @@ public abstract class AbstractJBossMarshaller extends AbstractMarshaller impleme
    private final ConcurrentWeakKeyHashMap<Thread, PerThreadInstanceHolder> marshallerTL =
          new ConcurrentWeakKeyHashMap<Thread, PerThreadInstanceHolder>();
 
+   private final OutputBufferPool outputBuffers = new OutputBufferPool();
+
    public AbstractJBossMarshaller() {
       // Class resolver now set when marshaller/unmarshaller will be created
       baseCfg = new MarshallingConfiguration();
@@ -75,14 +77,18 @@ final public void objectToObjectStream(final Object obj, final ObjectOutput out)
 
    @Override
    final protected ByteBuffer objectToBuffer(final Object o, final int estimatedSize) throws IOException {
-      ExposedByteArrayOutputStream baos = new ExposedByteArrayOutputStream(estimatedSize);
-      ObjectOutput marshaller = startObjectOutput(baos, false, estimatedSize);
+      ExposedByteArrayOutputStream baos = outputBuffers.acquire(estimatedSize);
       try {
-         objectToObjectStream(o, marshaller);
+         ObjectOutput marshaller = startObjectOutput(baos, false, estimatedSize);
+         try {
+            objectToObjectStream(o, marshaller);
+         } finally {
+            finishObjectOutput(marshaller);
+         }
+         return OutputBufferPool.copyOf(baos);
       } finally {
-         finishObjectOutput(marshaller);
+         outputBuffers.release(baos);
       }
-      return new ByteBufferImpl(baos.getRawBuffer(), 0, baos.size());
    }
 
    @Override
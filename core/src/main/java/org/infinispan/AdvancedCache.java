@@ -26,6 +26,7 @@
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * An advanced interface that exposes additional methods not available on {@link Cache}.
@@ -356,6 +357,17 @@
     */
    V putIfAbsent(K key, V value, Metadata metadata);
 
+   /**
+    * An overloaded form of {@link #putAll(java.util.Map)}, which takes in an instance of
+    * {@link org.infinispan.metadata.Metadata} which is stored alongside each of the values.
+    *
+    * @param map      the entries to store
+    * @param metadata information to store alongside the values
+    *
+    * @since 7.0
+    */
+   void putAll(Map<? extends K, ? extends V> map, Metadata metadata);
+
    /**
     * Asynchronous version of {@link #put(Object, Object, Metadata)} which stores
     * metadata alongside the value.  This method does not block on remote calls,
@@ -429,6 +441,18 @@
     */
    Map<K, V> getGroup(String groupName);
 
+   /**
+    * Retrieves the values associated to several keys with a single invocation, which is considerably faster than
+    * invoking {@link #get(Object)} for each key: in clustered caches the keys are grouped by their primary owner and a
+    * single remote call is issued to each owner, all of them in parallel.
+    * <p/>
+    * Keys that are not mapped to any value are not present in the returned map.
+    *
+    * @param keys the keys to retrieve.
+    * @return a {@link java.util.Map} with the key/value pairs found in the cache.
+    */
+   Map<K, V> getAll(Set<?> keys);
+
    /**
     * It removes all the key which belongs to a group.
     * <p/>
@@ -201,11 +201,21 @@ public void removeGroup(String groupName) {
       cache.removeGroup(groupName);
    }
 
+   @Override
+   public java.util.Map<K, V> getAll(java.util.Set<?> keys) {
+      return cache.getAll(keys);
+   }
+
    @Override
    public V put(K key, V value, Metadata metadata) {
       return cache.put(key, value, metadata);
    }
 
+   @Override
+   public void putAll(java.util.Map<? extends K, ? extends V> map, Metadata metadata) {
+      cache.putAll(map, metadata);
+   }
+
    @Override
    public V replace(K key, V value, Metadata metadata) {
       return cache.replace(key, value, metadata);
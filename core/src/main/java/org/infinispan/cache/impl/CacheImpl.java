@@ -6,6 +6,7 @@
 import static org.infinispan.factories.KnownComponentNames.ASYNC_TRANSPORT_EXECUTOR;
 import static org.infinispan.factories.KnownComponentNames.CACHE_MARSHALLER;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -34,6 +35,7 @@
 import org.infinispan.commands.VisitableCommand;
 import org.infinispan.commands.control.LockControlCommand;
 import org.infinispan.commands.read.EntrySetCommand;
+import org.infinispan.commands.read.GetAllCommand;
 import org.infinispan.commands.read.GetKeyValueCommand;
 import org.infinispan.commands.read.KeySetCommand;
 import org.infinispan.commands.read.SizeCommand;
@@ -60,17 +62,20 @@
 import org.infinispan.configuration.global.GlobalConfiguration;
 import org.infinispan.container.DataContainer;
 import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.context.Flag;
 import org.infinispan.context.InvocationContext;
 import org.infinispan.context.InvocationContextContainer;
 import org.infinispan.context.InvocationContextFactory;
 import org.infinispan.context.impl.TxInvocationContext;
 import org.infinispan.distribution.DistributionManager;
+import org.infinispan.distribution.ch.ConsistentHash;
 import org.infinispan.eviction.EvictionManager;
 import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.factories.annotations.ComponentName;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.SurvivesRestarts;
+import org.infinispan.interceptors.CacheMgmtInterceptor;
 import org.infinispan.interceptors.InterceptorChain;
 import org.infinispan.interceptors.base.CommandInterceptor;
 import org.infinispan.iteration.EntryIterable;
@@ -96,7 +101,9 @@
 import org.infinispan.transaction.impl.TransactionCoordinator;
 import org.infinispan.transaction.impl.TransactionTable;
 import org.infinispan.transaction.xa.TransactionXaAdapter;
+import org.infinispan.util.TimeService;
 import org.infinispan.transaction.xa.recovery.RecoveryManager;
+import org.infinispan.util.concurrent.CompletableNotifyingFuture;
 import org.infinispan.util.concurrent.locks.LockManager;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
@@ -140,6 +147,8 @@
    private GlobalConfiguration globalCfg;
    private boolean isClassLoaderInContext;
    private EntryRetriever<K, V> entryRetriever;
+   private TimeService timeService;
+   private CacheMgmtInterceptor cacheMgmtInterceptor;
 
    public CacheImpl(String name) {
       this.name = name;
@@ -387,11 +396,52 @@ public final V get(Object key) {
    @SuppressWarnings("unchecked")
    final V get(Object key, EnumSet<Flag> explicitFlags, ClassLoader explicitClassLoader) {
       assertKeyNotNull(key);
+      if (explicitFlags == null && explicitClassLoader == null) {
+         Object value = directGet(key);
+         if (value != null)
+            return (V) value;
+      }
       InvocationContext ctx = getInvocationContextForRead(explicitClassLoader, 1);
       GetKeyValueCommand command = commandsFactory.buildGetKeyValueCommand(key, explicitFlags, false);
       return (V) invoker.invoke(ctx, command);
    }
 
+   /**
+    * Reads the value of a key owned by the local node straight from the data container, without invoking the
+    * interceptor chain, when the chain allows it (see {@link InterceptorChain#allowsDirectReads()}). Expiration is
+    * handled by the data container, the statistics and the listeners are updated here. The invocation context and the
+    * command are only created if the key was found and there are CacheEntryVisited listeners to notify.
+    *
+    * @return the value, or {@code null} if the key was not found and the read must go through the interceptor chain
+    */
+   private Object directGet(Object key) {
+      if (!invoker.allowsDirectReads() || componentRegistry.getStatus() != ComponentStatus.RUNNING)
+         return null;
+      if (distributionManager != null) {
+         ConsistentHash ch = distributionManager.getReadConsistentHash();
+         if (ch == null || !ch.isKeyLocalToNode(rpcManager.getAddress(), key))
+            return null;
+      }
+
+      boolean statisticsEnabled = cacheMgmtInterceptor != null && cacheMgmtInterceptor.getStatisticsEnabled();
+      long start = statisticsEnabled ? timeService.time() : 0;
+      InternalCacheEntry entry = dataContainer.get(key);
+      Object value = entry != null ? entry.getValue() : null;
+      if (value == null)
+         return null;
+
+      if (notifier.hasCacheEntryVisitedListeners()) {
+         InvocationContext ctx = getInvocationContextForRead(null, 1);
+         GetKeyValueCommand command = commandsFactory.buildGetKeyValueCommand(key, null, false);
+         notifier.notifyCacheEntryVisited(key, value, true, ctx, command);
+         notifier.notifyCacheEntryVisited(key, value, false, ctx, command);
+      }
+      if (statisticsEnabled) {
+         cacheMgmtInterceptor.recordDirectRead(start, true);
+      }
+      return value;
+   }
+
    public final CacheEntry getCacheEntry(Object key, EnumSet<Flag> explicitFlags, ClassLoader explicitClassLoader) {
       assertKeyNotNull(key);
       InvocationContext ctx = getInvocationContextForRead(explicitClassLoader, 1);
@@ -405,6 +455,21 @@ public final CacheEntry getCacheEntry(K key) {
       return getCacheEntry(key, null, null);
    }
 
+   @Override
+   public final Map<K, V> getAll(Set<?> keys) {
+      return getAll(keys, null, null);
+   }
+
+   @SuppressWarnings("unchecked")
+   final Map<K, V> getAll(Set<?> keys, EnumSet<Flag> explicitFlags, ClassLoader explicitClassLoader) {
+      for (Object key : keys) {
+         assertKeyNotNull(key);
+      }
+      InvocationContext ctx = getInvocationContextForRead(explicitClassLoader, keys.size());
+      GetAllCommand command = commandsFactory.buildGetAllCommand(new ArrayList<Object>(keys), explicitFlags, false);
+      return (Map<K, V>) invoker.invoke(ctx, command);
+   }
+
    @Override
    public EntryIterable<K, V> filterEntries(KeyValueFilter<? super K, ? super V> filter) {
       return filterEntries(filter, null);
@@ -758,6 +823,9 @@ public void applyDelta(K deltaAwareValueKey, Delta delta, Object... locksToAcqui
    )
    public void start() {
       componentRegistry.start();
+      timeService = componentRegistry.getTimeService();
+      List<CommandInterceptor> cacheMgmtInterceptors = invoker.getInterceptorsWithClass(CacheMgmtInterceptor.class);
+      cacheMgmtInterceptor = cacheMgmtInterceptors.isEmpty() ? null : (CacheMgmtInterceptor) cacheMgmtInterceptors.get(0);
       defaultMetadata = new EmbeddedMetadata.Builder()
             .lifespan(config.expiration().lifespan()).maxIdle(config.expiration().maxIdle()).build();
       // Context only needs to ship ClassLoader if marshalling will be required
@@ -1094,6 +1162,10 @@ public final NotifyingFuture<V> putAsync(K key, V value, long lifespan, TimeUnit
    final NotifyingFuture<V> putAsync(final K key, final V value, final Metadata metadata, final EnumSet<Flag> explicitFlags, final ClassLoader explicitClassLoader) {
       final NotifyingFutureImpl<V> result = new NotifyingFutureImpl<V>();
       final InvocationContext ctx = getInvocationContextWithImplicitTransactionForAsyncOps(false, explicitClassLoader, 1);
+      if (canInvokeAsync(ctx, key)) {
+         assertKeyValueNotNull(key, value);
+         return invokeAsync(ctx, commandsFactory.buildPutKeyValueCommand(key, value, metadata, explicitFlags));
+      }
       Future<V> returnValue = asyncExecutor.submit(new Callable<V>() {
          @Override
          public V call() throws Exception {
@@ -1205,6 +1277,13 @@ final NotifyingFuture<V> putIfAbsentAsync(final K key, final V value, final Meta
          final EnumSet<Flag> explicitFlags,final ClassLoader explicitClassLoader) {
       final NotifyingFutureImpl<V> result = new NotifyingFutureImpl<V>();
       final InvocationContext ctx = getInvocationContextWithImplicitTransactionForAsyncOps(false, explicitClassLoader, 1);
+      if (canInvokeAsync(ctx, key)) {
+         assertKeyValueNotNull(key, value);
+         PutKeyValueCommand command = commandsFactory.buildPutKeyValueCommand(key, value, metadata, explicitFlags);
+         command.setPutIfAbsent(true);
+         command.setValueMatcher(ValueMatcher.MATCH_EXPECTED);
+         return invokeAsync(ctx, command);
+      }
       Future<V> returnValue = asyncExecutor.submit(new Callable<V>() {
          @Override
          public V call() throws Exception {
@@ -1239,6 +1318,10 @@ public final NotifyingFuture<V> removeAsync(Object key) {
    final NotifyingFuture<V> removeAsync(final Object key, final EnumSet<Flag> explicitFlags, final ClassLoader explicitClassLoader) {
       final NotifyingFutureImpl<V> result = new NotifyingFutureImpl<V>();
       final InvocationContext ctx = getInvocationContextWithImplicitTransactionForAsyncOps(false, explicitClassLoader, 1);
+      if (canInvokeAsync(ctx, key)) {
+         assertKeyNotNull(key);
+         return invokeAsync(ctx, commandsFactory.buildRemoveCommand(key, null, explicitFlags));
+      }
       Future<V> returnValue = asyncExecutor.submit(new Callable<V>() {
          @Override
          public V call() throws Exception {
@@ -1273,6 +1356,10 @@ public final NotifyingFuture<Boolean> removeAsync(Object key, Object value) {
    final NotifyingFuture<Boolean> removeAsync(final Object key, final Object value, final EnumSet<Flag> explicitFlags, final ClassLoader explicitClassLoader) {
       final NotifyingFutureImpl<Boolean> result = new NotifyingFutureImpl<Boolean>();
       final InvocationContext ctx = getInvocationContextWithImplicitTransactionForAsyncOps(false, explicitClassLoader, 1);
+      if (canInvokeAsync(ctx, key)) {
+         assertKeyValueNotNull(key, value);
+         return invokeAsync(ctx, commandsFactory.buildRemoveCommand(key, value, explicitFlags));
+      }
       Future<Boolean> returnValue = asyncExecutor.submit(new Callable<Boolean>() {
          @Override
          public Boolean call() throws Exception {
@@ -1311,6 +1398,10 @@ final NotifyingFuture<V> replaceAsync(final K key, final V value, final Metadata
          final EnumSet<Flag> explicitFlags, final ClassLoader explicitClassLoader) {
       final NotifyingFutureImpl<V> result = new NotifyingFutureImpl<V>();
       final InvocationContext ctx = getInvocationContextWithImplicitTransactionForAsyncOps(false, explicitClassLoader, 1);
+      if (canInvokeAsync(ctx, key)) {
+         assertKeyValueNotNull(key, value);
+         return invokeAsync(ctx, commandsFactory.buildReplaceCommand(key, null, value, metadata, explicitFlags));
+      }
       Future<V> returnValue = asyncExecutor.submit(new Callable<V>() {
          @Override
          public V call() throws Exception {
@@ -1349,6 +1440,11 @@ final NotifyingFuture<Boolean> replaceAsync(final K key, final V oldValue, final
          final Metadata metadata, final EnumSet<Flag> explicitFlags, final ClassLoader explicitClassLoader) {
       final NotifyingFutureImpl<Boolean> result = new NotifyingFutureImpl<Boolean>();
       final InvocationContext ctx = getInvocationContextWithImplicitTransactionForAsyncOps(false, explicitClassLoader, 1);
+      if (canInvokeAsync(ctx, key)) {
+         assertKeyValueNotNull(key, newValue);
+         assertValueNotNull(oldValue);
+         return invokeAsync(ctx, commandsFactory.buildReplaceCommand(key, oldValue, newValue, metadata, explicitFlags));
+      }
       Future<Boolean> returnValue = asyncExecutor.submit(new Callable<Boolean>() {
          @Override
          public Boolean call() throws Exception {
@@ -1382,6 +1478,12 @@ public NotifyingFuture<V> getAsync(K key) {
 
    @SuppressWarnings("unchecked")
    NotifyingFuture<V> getAsync(final K key, final EnumSet<Flag> explicitFlags, final ClassLoader explicitClassLoader) {
+      if (key != null && invoker.supportsAsyncInvocation()) {
+         InvocationContext ctx = getInvocationContextForRead(explicitClassLoader, 1);
+         if (!ctx.isInTxScope()) {
+            return invokeAsync(ctx, commandsFactory.buildGetKeyValueCommand(key, explicitFlags, false));
+         }
+      }
       // Optimization to not start a new thread only when the operation is cheap:
       if (asyncSkipsThread(explicitFlags, key)) {
          return wrapInFuture(get(key, explicitFlags, explicitClassLoader));
@@ -1422,6 +1524,35 @@ public V call() throws Exception {
       }
    }
 
+   /**
+    * Whether a write command can be invoked without blocking an async executor thread until the remote nodes reply,
+    * instead of being executed synchronously by the async executor: the invocation must not be transactional, all the
+    * interceptors must support asynchronous invocation and the write must be forwarded to another node, as the lock
+    * of the key is owned by the thread acquiring it.
+    */
+   private boolean canInvokeAsync(InvocationContext ctx, Object key) {
+      if (ctx.isInTxScope() || !invoker.supportsAsyncInvocation())
+         return false;
+      return key != null && distributionManager != null &&
+            !rpcManager.getAddress().equals(distributionManager.getPrimaryLocation(key));
+   }
+
+   /**
+    * Starts the invocation in the async executor, like the other async operations, so the caller doesn't even wait for
+    * the command to be marshalled. The executor thread doesn't wait for the remote nodes to reply either.
+    */
+   @SuppressWarnings("unchecked")
+   private <T> NotifyingFuture<T> invokeAsync(final InvocationContext ctx, final VisitableCommand command) {
+      final CompletableNotifyingFuture<Object> result = new CompletableNotifyingFuture<Object>();
+      asyncExecutor.execute(new Runnable() {
+         @Override
+         public void run() {
+            result.completeWith(invoker.invokeAsync(ctx, command));
+         }
+      });
+      return (NotifyingFuture<T>) result;
+   }
+
    /**
     * Encodes the cases for an asyncGet operation in which it makes sense to actually perform the operation in sync.
     *
@@ -1560,6 +1691,11 @@ public V put(K key, V value, Metadata metadata) {
       return put(key, value, metadata, null, null);
    }
 
+   @Override
+   public void putAll(Map<? extends K, ? extends V> map, Metadata metadata) {
+      putAll(map, metadata, null, null);
+   }
+
    @Override
    public V replace(K key, V value, Metadata metadata) {
       return replace(key, value, metadata, null, null);
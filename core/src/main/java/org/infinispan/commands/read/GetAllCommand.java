@@ -0,0 +1,162 @@
+package org.infinispan.commands.read;
+
+import org.infinispan.commands.AbstractFlagAffectedCommand;
+import org.infinispan.commands.VisitableCommand;
+import org.infinispan.commands.Visitor;
+import org.infinispan.container.InternalEntryFactory;
+import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.context.Flag;
+import org.infinispan.context.InvocationContext;
+import org.infinispan.lifecycle.ComponentStatus;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.infinispan.commons.util.Util.toStr;
+
+/**
+ * Implements functionality defined by {@link org.infinispan.AdvancedCache#getAll(java.util.Set)}, i.e. retrieves the
+ * values of several keys with a single invocation of the interceptor chain.
+ * <p/>
+ * Keys that are not mapped to a value are not present in the returned map.
+ *
+ * @since 7.0
+ */
+public class GetAllCommand extends AbstractFlagAffectedCommand implements VisitableCommand {
+   public static final byte COMMAND_ID = 45;
+   private static final Log log = LogFactory.getLog(GetAllCommand.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   private Collection<?> keys;
+   private boolean returnEntries;
+   private InternalEntryFactory entryFactory;
+   /*
+   local state: the entries fetched from the remote owners, used by the interceptors to know which values were not
+   read from the local data container
+    */
+   private transient Map<Object, InternalCacheEntry> remotelyFetched;
+
+   public GetAllCommand(Collection<?> keys, Set<Flag> flags, boolean returnEntries, InternalEntryFactory entryFactory) {
+      this.keys = keys;
+      this.flags = flags;
+      this.returnEntries = returnEntries;
+      this.entryFactory = entryFactory;
+   }
+
+   public GetAllCommand() {
+   }
+
+   @Override
+   public Object acceptVisitor(InvocationContext ctx, Visitor visitor) throws Throwable {
+      return visitor.visitGetAllCommand(ctx, this);
+   }
+
+   @Override
+   public Object perform(InvocationContext ctx) throws Throwable {
+      Map<Object, Object> map = new LinkedHashMap<Object, Object>();
+      for (Object key : keys) {
+         CacheEntry entry = ctx.lookupEntry(key);
+         if (entry == null || entry.isNull() || entry.isRemoved()) {
+            if (trace) {
+               log.tracef("Entry for key %s not found", toStr(key));
+            }
+            continue;
+         }
+         if (returnEntries) {
+            map.put(key, entryFactory.copy(entry));
+         } else {
+            map.put(key, entry.getValue());
+         }
+      }
+      if (trace) {
+         log.tracef("Found entries for %d out of %d keys", map.size(), keys.size());
+      }
+      return map;
+   }
+
+   @Override
+   public byte getCommandId() {
+      return COMMAND_ID;
+   }
+
+   @Override
+   @SuppressWarnings("unchecked")
+   public void setParameters(int commandId, Object[] parameters) {
+      if (commandId != COMMAND_ID) throw new IllegalStateException("Invalid method id");
+      keys = (Collection<?>) parameters[0];
+      flags = (Set<Flag>) parameters[1];
+      returnEntries = (Boolean) parameters[2];
+   }
+
+   @Override
+   public Object[] getParameters() {
+      return new Object[]{keys, Flag.copyWithoutRemotableFlags(flags), returnEntries};
+   }
+
+   @Override
+   public boolean isReturnValueExpected() {
+      return true;
+   }
+
+   @Override
+   public boolean canBlock() {
+      return false;
+   }
+
+   @Override
+   public boolean shouldInvoke(InvocationContext ctx) {
+      return true;
+   }
+
+   @Override
+   public boolean ignoreCommandOnStatus(ComponentStatus status) {
+      return false;
+   }
+
+   public Collection<?> getKeys() {
+      return keys;
+   }
+
+   public void setKeys(Collection<?> keys) {
+      this.keys = keys;
+   }
+
+   public boolean isReturnEntries() {
+      return returnEntries;
+   }
+
+   /**
+    * Records an entry fetched from a remote owner of the key.
+    */
+   public void addRemotelyFetched(Object key, InternalCacheEntry entry) {
+      if (remotelyFetched == null) {
+         remotelyFetched = new HashMap<Object, InternalCacheEntry>();
+      }
+      remotelyFetched.put(key, entry);
+   }
+
+   /**
+    * @return {@code true} if the value associated to the key was fetched from a remote owner instead of the local
+    *         data container.
+    */
+   public boolean isRemotelyFetched(Object key) {
+      return remotelyFetched != null && remotelyFetched.containsKey(key);
+   }
+
+   @Override
+   public String toString() {
+      return new StringBuilder()
+            .append("GetAllCommand {keys=")
+            .append(toStr(keys))
+            .append(", flags=").append(flags)
+            .append(", returnEntries=").append(returnEntries)
+            .append("}")
+            .toString();
+   }
+}
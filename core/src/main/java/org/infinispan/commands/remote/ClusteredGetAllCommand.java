@@ -0,0 +1,160 @@
+package org.infinispan.commands.remote;
+
+import org.infinispan.commands.CommandsFactory;
+import org.infinispan.commands.LocalFlagAffectedCommand;
+import org.infinispan.commands.read.GetAllCommand;
+import org.infinispan.container.InternalEntryFactory;
+import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.container.entries.InternalCacheValue;
+import org.infinispan.container.entries.MVCCEntry;
+import org.infinispan.context.Flag;
+import org.infinispan.context.InvocationContext;
+import org.infinispan.context.InvocationContextFactory;
+import org.infinispan.interceptors.InterceptorChain;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Issues a remote get call for several keys owned by the target node. This is the multi-key counterpart of {@link
+ * ClusteredGetCommand}, used by {@link org.infinispan.AdvancedCache#getAll(java.util.Set)} to fetch all the keys
+ * having the same primary owner with a single RPC.
+ * <p/>
+ * The result is a {@link List} of {@link InternalCacheValue}s in the same order as the requested keys, with {@code
+ * null} elements for the keys that were not found.
+ *
+ * @since 7.0
+ */
+public class ClusteredGetAllCommand extends BaseRpcCommand implements LocalFlagAffectedCommand {
+
+   public static final byte COMMAND_ID = 46;
+   private static final Log log = LogFactory.getLog(ClusteredGetAllCommand.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   private List<?> keys;
+   private Set<Flag> flags;
+
+   private InvocationContextFactory icf;
+   private CommandsFactory commandsFactory;
+   private InterceptorChain invoker;
+   private InternalEntryFactory entryFactory;
+
+   private ClusteredGetAllCommand() {
+      super(null); // For command id uniqueness test
+   }
+
+   public ClusteredGetAllCommand(String cacheName) {
+      super(cacheName);
+   }
+
+   public ClusteredGetAllCommand(String cacheName, List<?> keys, Set<Flag> flags) {
+      super(cacheName);
+      this.keys = keys;
+      this.flags = flags;
+   }
+
+   public void initialize(InvocationContextFactory icf, CommandsFactory commandsFactory,
+                          InternalEntryFactory entryFactory, InterceptorChain interceptorChain) {
+      this.icf = icf;
+      this.commandsFactory = commandsFactory;
+      this.entryFactory = entryFactory;
+      this.invoker = interceptorChain;
+   }
+
+   @Override
+   public List<InternalCacheValue> perform(InvocationContext context) throws Throwable {
+      // make sure the get command doesn't perform a remote call
+      // as our caller is already calling the ClusteredGetAllCommand on all the relevant nodes
+      Set<Flag> commandFlags = EnumSet.of(Flag.SKIP_REMOTE_LOOKUP, Flag.CACHE_MODE_LOCAL);
+      if (this.flags != null) commandFlags.addAll(this.flags);
+      GetAllCommand command = commandsFactory.buildGetAllCommand(keys, commandFlags, true);
+      InvocationContext invocationContext = icf.createRemoteInvocationContextForCommand(command, getOrigin());
+      Map<?, ?> map = (Map<?, ?>) invoker.invoke(invocationContext, command);
+      List<InternalCacheValue> values = new ArrayList<InternalCacheValue>(keys.size());
+      for (Object key : keys) {
+         CacheEntry cacheEntry = (CacheEntry) map.get(key);
+         if (cacheEntry == null) {
+            values.add(null);
+         } else if (cacheEntry instanceof MVCCEntry) {
+            //this might happen if the value was fetched from a cache loader
+            values.add(entryFactory.createValue((MVCCEntry) cacheEntry));
+         } else {
+            values.add(((InternalCacheEntry) cacheEntry).toInternalCacheValue());
+         }
+      }
+      if (trace) log.tracef("Found %d entries out of %d keys", map.size(), keys.size());
+      return values;
+   }
+
+   public List<?> getKeys() {
+      return keys;
+   }
+
+   @Override
+   public byte getCommandId() {
+      return COMMAND_ID;
+   }
+
+   @Override
+   public Object[] getParameters() {
+      return new Object[]{keys, flags};
+   }
+
+   @Override
+   @SuppressWarnings("unchecked")
+   public void setParameters(int commandId, Object[] args) {
+      keys = (List<?>) args[0];
+      flags = (Set<Flag>) args[1];
+   }
+
+   @Override
+   public Set<Flag> getFlags() {
+      return flags;
+   }
+
+   @Override
+   public void setFlags(Set<Flag> flags) {
+      this.flags = flags;
+   }
+
+   @Override
+   public void setFlags(Flag... flags) {
+      if (flags == null || flags.length == 0) return;
+      if (this.flags == null)
+         this.flags = EnumSet.copyOf(Arrays.asList(flags));
+      else
+         this.flags.addAll(Arrays.asList(flags));
+   }
+
+   @Override
+   public boolean hasFlag(Flag flag) {
+      return flags != null && flags.contains(flag);
+   }
+
+   @Override
+   public boolean isReturnValueExpected() {
+      return true;
+   }
+
+   @Override
+   public boolean canBlock() {
+      return false;
+   }
+
+   @Override
+   public String toString() {
+      return new StringBuilder()
+            .append("ClusteredGetAllCommand{keys=")
+            .append(keys)
+            .append(", flags=").append(flags)
+            .append("}")
+            .toString();
+   }
+}
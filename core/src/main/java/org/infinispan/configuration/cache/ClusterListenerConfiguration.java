@@ -0,0 +1,79 @@
+package org.infinispan.configuration.cache;
+
+/**
+ * Controls how the events raised on this node are delivered to the cluster listeners registered on other nodes.
+ *
+ * @since 7.0
+ */
+public class ClusterListenerConfiguration {
+
+   private final boolean async;
+   private final int maxBatchSize;
+   private final long maxBatchLatency;
+
+   ClusterListenerConfiguration(boolean async, int maxBatchSize, long maxBatchLatency) {
+      this.async = async;
+      this.maxBatchSize = maxBatchSize;
+      this.maxBatchLatency = maxBatchLatency;
+   }
+
+   /**
+    * If true, the events are queued per target node and sent in batches in the background, so that the operation which
+    * raised them doesn't wait for the cluster listeners to be notified. If false, each event is sent by the thread
+    * performing the operation, which waits until the cluster listener has been notified.
+    * <p/>
+    * Asynchronous delivery keeps the events ordered per target node, but the events still queued on a node which
+    * crashes are lost.
+    */
+   public boolean async() {
+      return async;
+   }
+
+   /**
+    * The maximum number of events sent to a node in a single batch. Only used if {@link #async()} is true.
+    */
+   public int maxBatchSize() {
+      return maxBatchSize;
+   }
+
+   /**
+    * The maximum time in milliseconds an event waits for more events to be batched with it before it is sent. If 0,
+    * the events are sent as soon as possible: the events raised while a batch is being sent are still batched
+    * together. Only used if {@link #async()} is true.
+    */
+   public long maxBatchLatency() {
+      return maxBatchLatency;
+   }
+
+   @Override
+   public String toString() {
+      return "ClusterListenerConfiguration{" +
+            "async=" + async +
+            ", maxBatchSize=" + maxBatchSize +
+            ", maxBatchLatency=" + maxBatchLatency +
+            '}';
+   }
+
+   @Override
+   public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+
+      ClusterListenerConfiguration that = (ClusterListenerConfiguration) o;
+
+      if (async != that.async) return false;
+      if (maxBatchSize != that.maxBatchSize) return false;
+      if (maxBatchLatency != that.maxBatchLatency) return false;
+
+      return true;
+   }
+
+   @Override
+   public int hashCode() {
+      int result = (async ? 1 : 0);
+      result = 31 * result + maxBatchSize;
+      result = 31 * result + (int) (maxBatchLatency ^ (maxBatchLatency >>> 32));
+      return result;
+   }
+
+}
@@ -0,0 +1,91 @@
+package org.infinispan.configuration.cache;
+
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.commons.CacheConfigurationException;
+import org.infinispan.commons.configuration.Builder;
+import org.infinispan.configuration.global.GlobalConfiguration;
+
+/**
+ * Controls how the events raised on this node are delivered to the cluster listeners registered on other nodes.
+ *
+ * @since 7.0
+ */
+public class ClusterListenerConfigurationBuilder extends AbstractClusteringConfigurationChildBuilder implements Builder<ClusterListenerConfiguration> {
+
+   private boolean async = false;
+   private int maxBatchSize = 100;
+   private long maxBatchLatency = 0;
+
+   ClusterListenerConfigurationBuilder(ClusteringConfigurationBuilder builder) {
+      super(builder);
+   }
+
+   /**
+    * If true, the events are queued per target node and sent in batches in the background, so that the operation which
+    * raised them doesn't wait for the cluster listeners to be notified. If false, each event is sent by the thread
+    * performing the operation, which waits until the cluster listener has been notified. Defaults to false.
+    */
+   public ClusterListenerConfigurationBuilder async(boolean async) {
+      this.async = async;
+      return this;
+   }
+
+   /**
+    * The maximum number of events sent to a node in a single batch. Defaults to 100.
+    */
+   public ClusterListenerConfigurationBuilder maxBatchSize(int maxBatchSize) {
+      this.maxBatchSize = maxBatchSize;
+      return this;
+   }
+
+   /**
+    * The maximum time in milliseconds an event waits for more events to be batched with it before it is sent.
+    * Defaults to 0, i.e. the events are sent as soon as possible.
+    */
+   public ClusterListenerConfigurationBuilder maxBatchLatency(long maxBatchLatency) {
+      this.maxBatchLatency = maxBatchLatency;
+      return this;
+   }
+
+   /**
+    * The maximum time an event waits for more events to be batched with it before it is sent.
+    */
+   public ClusterListenerConfigurationBuilder maxBatchLatency(long maxBatchLatency, TimeUnit unit) {
+      return maxBatchLatency(unit.toMillis(maxBatchLatency));
+   }
+
+   @Override
+   public void validate() {
+      if (maxBatchSize < 1)
+         throw new CacheConfigurationException("The cluster listener max batch size must be greater than 0");
+      if (maxBatchLatency < 0)
+         throw new CacheConfigurationException("The cluster listener max batch latency cannot be negative");
+   }
+
+   @Override
+   public void validate(GlobalConfiguration globalConfig) {
+   }
+
+   @Override
+   public ClusterListenerConfiguration create() {
+      return new ClusterListenerConfiguration(async, maxBatchSize, maxBatchLatency);
+   }
+
+   @Override
+   public ClusterListenerConfigurationBuilder read(ClusterListenerConfiguration template) {
+      this.async = template.async();
+      this.maxBatchSize = template.maxBatchSize();
+      this.maxBatchLatency = template.maxBatchLatency();
+      return this;
+   }
+
+   @Override
+   public String toString() {
+      return "ClusterListenerConfigurationBuilder{" +
+            "async=" + async +
+            ", maxBatchSize=" + maxBatchSize +
+            ", maxBatchLatency=" + maxBatchLatency +
+            '}';
+   }
+}
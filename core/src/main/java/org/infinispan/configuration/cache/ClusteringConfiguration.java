@@ -15,10 +15,11 @@ public class ClusteringConfiguration {
    private final StateTransferConfiguration stateTransferConfiguration;
    private final SyncConfiguration syncConfiguration;
    private final PartitionHandlingConfiguration partitionHandlingConfiguration;
+   private final ClusterListenerConfiguration clusterListenerConfiguration;
 
    ClusteringConfiguration(CacheMode cacheMode, AsyncConfiguration asyncConfiguration, HashConfiguration hashConfiguration,
          L1Configuration l1Configuration, StateTransferConfiguration stateTransferConfiguration, SyncConfiguration syncConfiguration,
-         PartitionHandlingConfiguration partitionHandlingStrategy) {
+         PartitionHandlingConfiguration partitionHandlingStrategy, ClusterListenerConfiguration clusterListenerConfiguration) {
       this.cacheMode = cacheMode;
       this.asyncConfiguration = asyncConfiguration;
       this.hashConfiguration = hashConfiguration;
@@ -26,6 +27,7 @@ public class ClusteringConfiguration {
       this.stateTransferConfiguration = stateTransferConfiguration;
       this.syncConfiguration = syncConfiguration;
       this.partitionHandlingConfiguration  = partitionHandlingStrategy;
+      this.clusterListenerConfiguration = clusterListenerConfiguration;
    }
 
    /**
@@ -42,6 +44,13 @@ public PartitionHandlingConfiguration partitionHandling() {
       return partitionHandlingConfiguration;
    }
 
+   /**
+    * Configures how the events raised on this node are delivered to the cluster listeners registered on other nodes.
+    */
+   public ClusterListenerConfiguration clusterListener() {
+      return clusterListenerConfiguration;
+   }
+
    public String cacheModeString() {
       return cacheMode == null ? "none" : cacheMode.toString();
    }
@@ -87,6 +96,7 @@ public String toString() {
       return "ClusteringConfiguration{" +
             "async=" + asyncConfiguration +
             ", cacheMode=" + cacheMode +
+            ", clusterListener=" + clusterListenerConfiguration +
             ", hash=" + hashConfiguration +
             ", l1=" + l1Configuration +
             ", stateTransfer=" + stateTransferConfiguration +
@@ -104,6 +114,8 @@ public boolean equals(Object o) {
       if (asyncConfiguration != null ? !asyncConfiguration.equals(that.asyncConfiguration) : that.asyncConfiguration != null)
          return false;
       if (cacheMode != that.cacheMode) return false;
+      if (clusterListenerConfiguration != null ? !clusterListenerConfiguration.equals(that.clusterListenerConfiguration) : that.clusterListenerConfiguration != null)
+         return false;
       if (hashConfiguration != null ? !hashConfiguration.equals(that.hashConfiguration) : that.hashConfiguration != null)
          return false;
       if (l1Configuration != null ? !l1Configuration.equals(that.l1Configuration) : that.l1Configuration != null)
@@ -120,6 +132,7 @@ public boolean equals(Object o) {
    public int hashCode() {
       int result = cacheMode != null ? cacheMode.hashCode() : 0;
       result = 31 * result + (asyncConfiguration != null ? asyncConfiguration.hashCode() : 0);
+      result = 31 * result + (clusterListenerConfiguration != null ? clusterListenerConfiguration.hashCode() : 0);
       result = 31 * result + (hashConfiguration != null ? hashConfiguration.hashCode() : 0);
       result = 31 * result + (l1Configuration != null ? l1Configuration.hashCode() : 0);
       result = 31 * result + (stateTransferConfiguration != null ? stateTransferConfiguration.hashCode() : 0);
@@ -22,6 +22,7 @@ public class ClusteringConfigurationBuilder extends AbstractConfigurationChildBu
    private final StateTransferConfigurationBuilder stateTransferConfigurationBuilder;
    private final SyncConfigurationBuilder syncConfigurationBuilder;
    private final PartitionHandlingConfigurationBuilder partitionHandlingConfigurationBuilder;
+   private final ClusterListenerConfigurationBuilder clusterListenerConfigurationBuilder;
 
    ClusteringConfigurationBuilder(ConfigurationBuilder builder) {
       super(builder);
@@ -31,6 +32,7 @@ public class ClusteringConfigurationBuilder extends AbstractConfigurationChildBu
       this.stateTransferConfigurationBuilder = new StateTransferConfigurationBuilder(this);
       this.syncConfigurationBuilder = new SyncConfigurationBuilder(this);
       this.partitionHandlingConfigurationBuilder = new PartitionHandlingConfigurationBuilder(this);
+      this.clusterListenerConfigurationBuilder = new ClusterListenerConfigurationBuilder(this);
    }
 
    /**
@@ -95,12 +97,20 @@ public PartitionHandlingConfigurationBuilder partitionHandling() {
       return partitionHandlingConfigurationBuilder;
    }
 
+   /**
+    * Configures how the events raised on this node are delivered to the cluster listeners registered on other nodes.
+    */
+   public ClusterListenerConfigurationBuilder clusterListener() {
+      return clusterListenerConfigurationBuilder;
+   }
+
    @Override
    public
    void validate() {
       for (Builder<?> validatable:
             Arrays.asList(asyncConfigurationBuilder, hashConfigurationBuilder, l1ConfigurationBuilder,
-                          syncConfigurationBuilder, stateTransferConfigurationBuilder, partitionHandlingConfigurationBuilder)) {
+                          syncConfigurationBuilder, stateTransferConfigurationBuilder, partitionHandlingConfigurationBuilder,
+                          clusterListenerConfigurationBuilder)) {
          validatable.validate();
       }
    }
@@ -114,7 +124,8 @@ public void validate(GlobalConfiguration globalConfig) {
 
       for (ConfigurationChildBuilder validatable:
          Arrays.asList(asyncConfigurationBuilder, hashConfigurationBuilder, l1ConfigurationBuilder,
-                       syncConfigurationBuilder, stateTransferConfigurationBuilder, partitionHandlingConfigurationBuilder)) {
+                       syncConfigurationBuilder, stateTransferConfigurationBuilder, partitionHandlingConfigurationBuilder,
+                       clusterListenerConfigurationBuilder)) {
          validatable.validate(globalConfig);
       }
    }
@@ -123,7 +134,8 @@ public void validate(GlobalConfiguration globalConfig) {
    public
    ClusteringConfiguration create() {
       return new ClusteringConfiguration(cacheMode, asyncConfigurationBuilder.create(), hashConfigurationBuilder.create(),
-            l1ConfigurationBuilder.create(), stateTransferConfigurationBuilder.create(), syncConfigurationBuilder.create(), partitionHandlingConfigurationBuilder.create());
+            l1ConfigurationBuilder.create(), stateTransferConfigurationBuilder.create(), syncConfigurationBuilder.create(), partitionHandlingConfigurationBuilder.create(),
+            clusterListenerConfigurationBuilder.create());
    }
 
    @Override
@@ -135,6 +147,7 @@ public ClusteringConfigurationBuilder read(ClusteringConfiguration template) {
       stateTransferConfigurationBuilder.read(template.stateTransfer());
       syncConfigurationBuilder.read(template.sync());
       partitionHandlingConfigurationBuilder.read(template.partitionHandling());
+      clusterListenerConfigurationBuilder.read(template.clusterListener());
 
       return this;
    }
@@ -144,6 +157,7 @@ public String toString() {
       return "ClusteringConfigurationBuilder{" +
             "async=" + asyncConfigurationBuilder +
             ", cacheMode=" + cacheMode +
+            ", clusterListener=" + clusterListenerConfigurationBuilder +
             ", hash=" + hashConfigurationBuilder +
             ", l1=" + l1ConfigurationBuilder +
             ", stateTransfer=" + stateTransferConfigurationBuilder +
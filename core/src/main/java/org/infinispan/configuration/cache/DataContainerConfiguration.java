@@ -16,14 +16,18 @@ public class DataContainerConfiguration extends AbstractTypedPropertiesConfigura
    private final DataContainer dataContainer;
    private final Equivalence keyEquivalence;
    private final Equivalence valueEquivalence;
+   private final boolean segmented;
+   private final StorageType storageType;
 
    DataContainerConfiguration(DataContainer dataContainer,
          TypedProperties properties, Equivalence keyEquivalence,
-         Equivalence valueEquivalence) {
+         Equivalence valueEquivalence, boolean segmented, StorageType storageType) {
       super(properties);
       this.dataContainer = dataContainer;
       this.keyEquivalence = keyEquivalence;
       this.valueEquivalence = valueEquivalence;
+      this.segmented = segmented;
+      this.storageType = storageType;
    }
    
    /**
@@ -44,12 +48,30 @@ public <V> Equivalence<V> valueEquivalence() {
       return valueEquivalence;
    }
 
+   /**
+    * Whether the default data container keeps the entries of each hash space segment separately. See
+    * {@link org.infinispan.container.SegmentedDataContainer}.
+    */
+   public boolean segmented() {
+      return segmented;
+   }
+
+   /**
+    * Where the default data container keeps the entries, either as objects on the heap or marshalled in off-heap
+    * memory.
+    */
+   public StorageType storageType() {
+      return storageType;
+   }
+
    @Override
    public String toString() {
       return "DataContainerConfiguration{" +
             "dataContainer=" + dataContainer +
             ", keyEquivalence=" + keyEquivalence +
             ", valueEquivalence=" + valueEquivalence +
+            ", segmented=" + segmented +
+            ", storageType=" + storageType +
             '}';
    }
 
@@ -67,6 +89,10 @@ public boolean equals(Object o) {
          return false;
       if (valueEquivalence != null ? !valueEquivalence.equals(that.valueEquivalence) : that.valueEquivalence != null)
          return false;
+      if (segmented != that.segmented)
+         return false;
+      if (storageType != that.storageType)
+         return false;
 
       return true;
    }
@@ -77,6 +103,8 @@ public int hashCode() {
       result = 31 * result + (dataContainer != null ? dataContainer.hashCode() : 0);
       result = 31 * result + (keyEquivalence != null ? keyEquivalence.hashCode() : 0);
       result = 31 * result + (valueEquivalence != null ? valueEquivalence.hashCode() : 0);
+      result = 31 * result + (segmented ? 1 : 0);
+      result = 31 * result + (storageType != null ? storageType.hashCode() : 0);
       return result;
    }
 
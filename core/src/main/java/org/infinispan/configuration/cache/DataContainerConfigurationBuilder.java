@@ -2,12 +2,17 @@
 
 import java.util.Properties;
 
+import org.infinispan.commons.CacheConfigurationException;
 import org.infinispan.commons.configuration.Builder;
 import org.infinispan.commons.equivalence.AnyEquivalence;
 import org.infinispan.commons.equivalence.Equivalence;
 import org.infinispan.commons.util.TypedProperties;
 import org.infinispan.configuration.global.GlobalConfiguration;
 import org.infinispan.container.DataContainer;
+import org.infinispan.distribution.ch.ConsistentHashFactory;
+import org.infinispan.distribution.ch.impl.DefaultConsistentHashFactory;
+import org.infinispan.distribution.ch.impl.ReplicatedConsistentHashFactory;
+import org.infinispan.distribution.ch.impl.SyncConsistentHashFactory;
 
 /**
  * Controls the data container for the cache.
@@ -21,6 +26,8 @@ public class DataContainerConfigurationBuilder extends AbstractConfigurationChil
    private DataContainer dataContainer;
    private Equivalence keyEquivalence = AnyEquivalence.getInstance();
    private Equivalence valueEquivalence = AnyEquivalence.getInstance();
+   private boolean segmented = false;
+   private StorageType storageType = StorageType.OBJECT;
    // TODO: What are properties used for? Is it just legacy?
    private Properties properties = new Properties();
 
@@ -91,8 +98,52 @@ public <V> DataContainerConfigurationBuilder valueEquivalence(Equivalence<V> val
       return this;
    }
 
+   /**
+    * Keep the entries of each hash space segment in a separate map, so that state transfer and the removal of the
+    * segments no longer owned only need to visit the entries of the segments involved, instead of the whole container.
+    * Only supported in distributed and replicated caches without eviction, and ignored if a custom data container is
+    * configured.
+    *
+    * @param segmented whether the data container should be segmented
+    * @return this configuration builder
+    */
+   public DataContainerConfigurationBuilder segmented(boolean segmented) {
+      this.segmented = segmented;
+      return this;
+   }
+
+   /**
+    * Where the default data container keeps the entries. With {@link StorageType#OFF_HEAP} the keys, values and
+    * metadata are marshalled and stored in native memory, so that they do not add to the size of the Java heap, and
+    * the exact size of the entries is used when the container is bounded with
+    * {@link EvictionConfigurationBuilder#maxMemory(long)}.
+    * Ignored if a custom data container is configured.
+    *
+    * @param storageType the storage type
+    * @return this configuration builder
+    */
+   public DataContainerConfigurationBuilder storageType(StorageType storageType) {
+      this.storageType = storageType;
+      return this;
+   }
+
    @Override
    public void validate() {
+      if (storageType == null)
+         throw new CacheConfigurationException("The storage type of the data container cannot be null");
+      if (segmented && storageType.isOffHeap())
+         throw new CacheConfigurationException("A segmented data container cannot use the OFF_HEAP storage type");
+      if (segmented && dataContainer == null) {
+         CacheMode cacheMode = clustering().cacheMode();
+         if (!cacheMode.isDistributed() && !cacheMode.isReplicated())
+            throw new CacheConfigurationException("A segmented data container is only supported when using DISTRIBUTED or REPLICATED as a cache mode.  Your cache mode is set to " + cacheMode.friendlyCacheModeString());
+         if (eviction().strategy().isEnabled())
+            throw new CacheConfigurationException("A segmented data container cannot be used together with eviction");
+         ConsistentHashFactory chFactory = clustering().hash().consistentHashFactory();
+         if (chFactory != null && !(chFactory instanceof DefaultConsistentHashFactory || chFactory instanceof SyncConsistentHashFactory
+               || chFactory instanceof ReplicatedConsistentHashFactory))
+            throw new CacheConfigurationException("A segmented data container cannot be used with a custom consistent hash factory " + chFactory);
+      }
    }
 
    @Override
@@ -103,7 +154,7 @@ public void validate(GlobalConfiguration globalConfig) {
    public DataContainerConfiguration create() {
       return new DataContainerConfiguration(dataContainer,
             TypedProperties.toTypedProperties(properties), keyEquivalence,
-            valueEquivalence);
+            valueEquivalence, segmented, storageType);
    }
 
    @Override
@@ -112,6 +163,8 @@ public DataContainerConfigurationBuilder read(DataContainerConfiguration templat
       this.properties = template.properties();
       this.keyEquivalence = template.keyEquivalence();
       this.valueEquivalence = template.valueEquivalence();
+      this.segmented = template.segmented();
+      this.storageType = template.storageType();
 
       return this;
    }
@@ -123,6 +176,8 @@ public String toString() {
             ", properties=" + properties +
             ", keyEquivalence=" + keyEquivalence +
             ", valueEquivalence=" + valueEquivalence +
+            ", segmented=" + segmented +
+            ", storageType=" + storageType +
             '}';
    }
 }
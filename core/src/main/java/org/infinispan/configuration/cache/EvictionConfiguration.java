@@ -1,5 +1,6 @@
 package org.infinispan.configuration.cache;
 
+import org.infinispan.eviction.EntrySizeCalculator;
 import org.infinispan.eviction.EvictionStrategy;
 import org.infinispan.eviction.EvictionThreadPolicy;
 
@@ -9,17 +10,22 @@
 public class EvictionConfiguration {
    
    private final int maxEntries;
+   private final long maxMemory;
    private final EvictionStrategy strategy;
    private final EvictionThreadPolicy threadPolicy;
+   private final EntrySizeCalculator<?, ?> sizeCalculator;
    
-   EvictionConfiguration(int maxEntries, EvictionStrategy strategy, EvictionThreadPolicy threadPolicy) {
+   EvictionConfiguration(int maxEntries, long maxMemory, EvictionStrategy strategy, EvictionThreadPolicy threadPolicy,
+         EntrySizeCalculator<?, ?> sizeCalculator) {
       this.maxEntries = maxEntries;
+      this.maxMemory = maxMemory;
       this.strategy = strategy;
       this.threadPolicy = threadPolicy;
+      this.sizeCalculator = sizeCalculator;
    }
    
    /**
-    * Eviction strategy. Available options are 'UNORDERED', 'LRU', 'LIRS' and 'NONE' (to disable
+    * Eviction strategy. Available options are 'UNORDERED', 'LRU', 'LIRS', 'TINY_LFU' and 'NONE' (to disable
     * eviction).
     */
    public EvictionStrategy strategy() {
@@ -42,12 +48,30 @@ public int maxEntries() {
       return maxEntries;
    }
 
+   /**
+    * Maximum amount of memory, in bytes, used by the entries of a cache instance. -1 means that eviction is
+    * based on the number of entries instead.
+    */
+   public long maxMemory() {
+      return maxMemory;
+   }
+
+   /**
+    * Calculates the size of the entries when eviction is based on {@link #maxMemory()}. If null, the marshalled size
+    * of keys and values is used. Ignored by the off-heap storage, which always uses the actual marshalled size.
+    */
+   public EntrySizeCalculator<?, ?> sizeCalculator() {
+      return sizeCalculator;
+   }
+
    @Override
    public String toString() {
       return "EvictionConfiguration{" +
             "maxEntries=" + maxEntries +
+            ", maxMemory=" + maxMemory +
             ", strategy=" + strategy +
             ", threadPolicy=" + threadPolicy +
+            ", sizeCalculator=" + sizeCalculator +
             '}';
    }
 
@@ -59,8 +83,11 @@ public boolean equals(Object o) {
       EvictionConfiguration that = (EvictionConfiguration) o;
 
       if (maxEntries != that.maxEntries) return false;
+      if (maxMemory != that.maxMemory) return false;
       if (strategy != that.strategy) return false;
       if (threadPolicy != that.threadPolicy) return false;
+      if (sizeCalculator != null ? !sizeCalculator.equals(that.sizeCalculator) : that.sizeCalculator != null)
+         return false;
 
       return true;
    }
@@ -68,8 +95,10 @@ public boolean equals(Object o) {
    @Override
    public int hashCode() {
       int result = maxEntries;
+      result = 31 * result + (int) (maxMemory ^ (maxMemory >>> 32));
       result = 31 * result + (strategy != null ? strategy.hashCode() : 0);
       result = 31 * result + (threadPolicy != null ? threadPolicy.hashCode() : 0);
+      result = 31 * result + (sizeCalculator != null ? sizeCalculator.hashCode() : 0);
       return result;
    }
 
@@ -3,6 +3,7 @@
 import org.infinispan.commons.configuration.Builder;
 import org.infinispan.commons.CacheConfigurationException;
 import org.infinispan.configuration.global.GlobalConfiguration;
+import org.infinispan.eviction.EntrySizeCalculator;
 import org.infinispan.eviction.EvictionStrategy;
 import org.infinispan.eviction.EvictionThreadPolicy;
 import org.infinispan.util.logging.Log;
@@ -16,8 +17,10 @@ public class EvictionConfigurationBuilder extends AbstractConfigurationChildBuil
    private static final Log log = LogFactory.getLog(EvictionConfigurationBuilder.class);
 
    private int maxEntries = -1;
+   private long maxMemory = -1;
    private EvictionStrategy strategy = EvictionStrategy.NONE;
    private EvictionThreadPolicy threadPolicy = EvictionThreadPolicy.DEFAULT;
+   private EntrySizeCalculator<?, ?> sizeCalculator;
 
    EvictionConfigurationBuilder(ConfigurationBuilder builder) {
       super(builder);
@@ -25,7 +28,7 @@ public class EvictionConfigurationBuilder extends AbstractConfigurationChildBuil
 
 
    /**
-    * Eviction strategy. Available options are 'UNORDERED', 'LRU', 'LIRS' and 'NONE' (to disable
+    * Eviction strategy. Available options are 'UNORDERED', 'LRU', 'LIRS', 'TINY_LFU' and 'NONE' (to disable
     * eviction).
     *
     * @param evictionStrategy
@@ -61,18 +64,48 @@ public EvictionConfigurationBuilder maxEntries(int maxEntries) {
       return this;
    }
 
+   /**
+    * Maximum amount of memory, in bytes, used by the entries of a cache instance, including their keys and metadata.
+    * Cannot be used together with {@link #maxEntries(int)}. Like max entries, it is unlikely to ever be exactly the
+    * amount of memory in use.
+    *
+    * @param maxMemory
+    */
+   public EvictionConfigurationBuilder maxMemory(long maxMemory) {
+      this.maxMemory = maxMemory;
+      return this;
+   }
+
+   /**
+    * Calculates the size of the entries when eviction is based on {@link #maxMemory(long)}. By default the marshalled
+    * size of keys and values is used, which requires marshalling them on every write unless they are stored as
+    * binary. The calculator is not used by the off-heap storage, which always knows the exact size of its entries.
+    *
+    * @param sizeCalculator
+    */
+   public EvictionConfigurationBuilder sizeCalculator(EntrySizeCalculator<?, ?> sizeCalculator) {
+      this.sizeCalculator = sizeCalculator;
+      return this;
+   }
+
    @Override
    public void validate() {
       if (!strategy.isEnabled() && getBuilder().persistence().passivation())
          log.passivationWithoutEviction();
       if(strategy == EvictionStrategy.FIFO)
          log.warnFifoStrategyIsDeprecated();
-      if (strategy.isEnabled() && maxEntries <= 0)
+      if (maxEntries > 0 && maxMemory > 0)
+         throw new CacheConfigurationException("Eviction maxEntries and maxMemory cannot be configured at the same time");
+      if (strategy.isEnabled() && maxEntries <= 0 && maxMemory <= 0)
          throw new CacheConfigurationException("Eviction maxEntries value cannot be less than or equal to zero if eviction is enabled");
       if (maxEntries > 0 && !strategy.isEnabled()) {
          strategy = EvictionStrategy.LIRS;
          log.debugf("Max entries configured (%d) without eviction strategy. Eviction strategy overriden to %s", maxEntries, strategy);
       }
+      if (maxMemory > 0 && !strategy.isEnabled()) {
+         strategy = EvictionStrategy.LRU;
+         log.debugf("Max memory configured (%d) without eviction strategy. Eviction strategy overriden to %s", maxMemory, strategy);
+      }
    }
 
    @Override
@@ -81,14 +114,16 @@ public void validate(GlobalConfiguration globalConfig) {
 
    @Override
    public EvictionConfiguration create() {
-      return new EvictionConfiguration(maxEntries, strategy, threadPolicy);
+      return new EvictionConfiguration(maxEntries, maxMemory, strategy, threadPolicy, sizeCalculator);
    }
 
    @Override
    public EvictionConfigurationBuilder read(EvictionConfiguration template) {
       this.maxEntries = template.maxEntries();
+      this.maxMemory = template.maxMemory();
       this.strategy = template.strategy();
       this.threadPolicy = template.threadPolicy();
+      this.sizeCalculator = template.sizeCalculator();
 
       return this;
    }
@@ -97,8 +132,10 @@ public EvictionConfigurationBuilder read(EvictionConfiguration template) {
    public String toString() {
       return "EvictionConfigurationBuilder{" +
             "maxEntries=" + maxEntries +
+            ", maxMemory=" + maxMemory +
             ", strategy=" + strategy +
             ", threadPolicy=" + threadPolicy +
+            ", sizeCalculator=" + sizeCalculator +
             '}';
    }
 }
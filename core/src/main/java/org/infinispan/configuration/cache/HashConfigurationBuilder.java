@@ -50,6 +50,10 @@ public HashConfigurationBuilder consistentHashFactory(ConsistentHashFactory cons
       return this;
    }
 
+   ConsistentHashFactory consistentHashFactory() {
+      return consistentHashFactory;
+   }
+
    /**
     * Number of cluster-wide replicas for each cache entry.
     */
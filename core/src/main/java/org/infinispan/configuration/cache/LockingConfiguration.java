@@ -14,14 +14,16 @@ public class LockingConfiguration {
    private final IsolationLevel isolationLevel;
    private long lockAcquisitionTimeout;
    private final boolean useLockStriping;
+   private final boolean useLockPooling;
    private final boolean writeSkewCheck;
 
    LockingConfiguration(int concurrencyLevel, IsolationLevel isolationLevel, long lockAcquisitionTimeout,
-         boolean useLockStriping, boolean writeSkewCheck) {
+         boolean useLockStriping, boolean useLockPooling, boolean writeSkewCheck) {
       this.concurrencyLevel = concurrencyLevel;
       this.isolationLevel = isolationLevel;
       this.lockAcquisitionTimeout = lockAcquisitionTimeout;
       this.useLockStriping = useLockStriping;
+      this.useLockPooling = useLockPooling;
       this.writeSkewCheck = writeSkewCheck;
    }
 
@@ -76,6 +78,15 @@ public boolean useLockStriping() {
       return useLockStriping;
    }
 
+   /**
+    * If true, and lock striping is not used, the per-entry locks are kept in a fixed table and recycled once
+    * released, instead of being created for every locked entry. Waiting lock owners acquire the lock of an entry in
+    * the order they requested it.
+    */
+   public boolean useLockPooling() {
+      return useLockPooling;
+   }
+
    /**
     * This setting is only applicable in the case of REPEATABLE_READ. When write skew check is set
     * to false, if the writer at commit time discovers that the working entry and the underlying
@@ -93,6 +104,7 @@ public String toString() {
             ", isolationLevel=" + isolationLevel +
             ", lockAcquisitionTimeout=" + lockAcquisitionTimeout +
             ", useLockStriping=" + useLockStriping +
+            ", useLockPooling=" + useLockPooling +
             ", writeSkewCheck=" + writeSkewCheck +
             '}';
    }
@@ -107,6 +119,7 @@ public boolean equals(Object o) {
       if (concurrencyLevel != that.concurrencyLevel) return false;
       if (lockAcquisitionTimeout != that.lockAcquisitionTimeout) return false;
       if (useLockStriping != that.useLockStriping) return false;
+      if (useLockPooling != that.useLockPooling) return false;
       if (writeSkewCheck != that.writeSkewCheck) return false;
       if (isolationLevel != that.isolationLevel) return false;
 
@@ -119,6 +132,7 @@ public int hashCode() {
       result = 31 * result + (isolationLevel != null ? isolationLevel.hashCode() : 0);
       result = 31 * result + (int) (lockAcquisitionTimeout ^ (lockAcquisitionTimeout >>> 32));
       result = 31 * result + (useLockStriping ? 1 : 0);
+      result = 31 * result + (useLockPooling ? 1 : 0);
       result = 31 * result + (writeSkewCheck ? 1 : 0);
       return result;
    }
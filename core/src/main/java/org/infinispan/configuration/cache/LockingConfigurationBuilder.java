@@ -24,6 +24,7 @@ public class LockingConfigurationBuilder extends AbstractConfigurationChildBuild
    private IsolationLevel isolationLevel = IsolationLevel.READ_COMMITTED;
    private long lockAcquisitionTimeout = TimeUnit.SECONDS.toMillis(10);
    private boolean useLockStriping = false;
+   private boolean useLockPooling = false;
    private boolean writeSkewCheck = false;
 
    protected LockingConfigurationBuilder(ConfigurationBuilder builder) {
@@ -87,6 +88,16 @@ public LockingConfigurationBuilder useLockStriping(boolean b) {
       return this;
    }
 
+   /**
+    * If true, and lock striping is not used, the per-entry locks are kept in a fixed table and recycled once
+    * released, instead of being created for every locked entry. Waiting lock owners acquire the lock of an entry in
+    * the order they requested it.
+    */
+   public LockingConfigurationBuilder useLockPooling(boolean b) {
+      this.useLockPooling = b;
+      return this;
+   }
+
    /**
     * This setting is only applicable in the case of REPEATABLE_READ. When write skew check is set
     * to false, if the writer at commit time discovers that the working entry and the underlying
@@ -100,6 +111,9 @@ public LockingConfigurationBuilder writeSkewCheck(boolean b) {
 
    @Override
    public void validate() {
+      if (useLockStriping && useLockPooling)
+         throw new CacheConfigurationException("Lock pooling cannot be used together with lock striping");
+
       if (writeSkewCheck) {
          if (isolationLevel != IsolationLevel.REPEATABLE_READ)
             throw new CacheConfigurationException("Write-skew checking only allowed with REPEATABLE_READ isolation level for cache");
@@ -130,7 +144,8 @@ public void validate(GlobalConfiguration globalConfig) {
 
    @Override
    public LockingConfiguration create() {
-      return new LockingConfiguration(concurrencyLevel, isolationLevel, lockAcquisitionTimeout, useLockStriping, writeSkewCheck);
+      return new LockingConfiguration(concurrencyLevel, isolationLevel, lockAcquisitionTimeout, useLockStriping,
+            useLockPooling, writeSkewCheck);
    }
 
    @Override
@@ -139,6 +154,7 @@ public LockingConfigurationBuilder read(LockingConfiguration template) {
       isolationLevel = template.isolationLevel();
       lockAcquisitionTimeout = template.lockAcquisitionTimeout();
       useLockStriping = template.useLockStriping();
+      useLockPooling = template.useLockPooling();
       writeSkewCheck = template.writeSkewCheck();
 
       return this;
@@ -151,6 +167,7 @@ public String toString() {
             ", isolationLevel=" + isolationLevel +
             ", lockAcquisitionTimeout=" + lockAcquisitionTimeout +
             ", useLockStriping=" + useLockStriping +
+            ", useLockPooling=" + useLockPooling +
             ", writeSkewCheck=" + writeSkewCheck +
             '}';
    }
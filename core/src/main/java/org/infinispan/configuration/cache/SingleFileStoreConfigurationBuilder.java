@@ -17,6 +17,8 @@
 
    private float fragmentationFactor  = 0.75f;
 
+   private boolean memoryMapped = false;
+
    public SingleFileStoreConfigurationBuilder(PersistenceConfigurationBuilder builder) {
       super(builder);
    }
@@ -56,24 +58,39 @@ public SingleFileStoreConfigurationBuilder maxEntries(int maxEntries) {
    }
 
    /**
-    * The store tries to fit in a new entry into an existing entry from a free entry pool (if one is available)
-    * However, this existing free entry may be quite bigger than what is required to contain the new entry
-    * It may then make sense to split the free entry into two parts:
-    * 1. That is required to contain the new entry requested
-    * 2. the remaining part to be returned to the pool of free entries.
-    * The fragmentationFactor decides when to split the free entry.
-    * So, if this value is set as 0.75, then the free entry will be split if the new entry is equal to or less than 0.75 times the size of free entry
+    * The store appends new and updated entries at the end of its file, and only marks the replaced or deleted entries
+    * as free. The fragmentationFactor decides when the file is compacted, i.e. when the live entries are copied to a
+    * new file without the free space.
+    * So, if this value is set as 0.75, then the file will be compacted in the background as soon as the free entries
+    * take more than 0.25 times the size of the file. A purge uses the same threshold, but it also compacts small files,
+    * which aren't compacted in the background.
     */
    public SingleFileStoreConfigurationBuilder fragmentationFactor(float fragmentationFactor) {
       this.fragmentationFactor  = fragmentationFactor;
       return this;
    }
 
+   /**
+    * If true, the store reads the entries from memory-mapped regions of its file instead of issuing a read on the
+    * file channel for every load. The operating system's page cache then serves the entries that were recently written
+    * or read without any system call. The entries written after a region was mapped are read from the file channel,
+    * and the region is only extended once the file has grown well past it. The mapped regions are discarded when the
+    * file is cleared or compacted.
+    * <p/>
+    * The mapped regions take virtual address space, not heap memory, so this is mostly useful on 64-bit JVMs. It is
+    * disabled by default.
+    */
+   public SingleFileStoreConfigurationBuilder memoryMapped(boolean memoryMapped) {
+      this.memoryMapped = memoryMapped;
+      return this;
+   }
+
    @Override
    public SingleFileStoreConfiguration create() {
       return new SingleFileStoreConfiguration(purgeOnStartup, fetchPersistentState,ignoreModifications,
                                                     async.create(), singletonStore.create(), preload,
-                                                    shared, properties, location, maxEntries, fragmentationFactor);
+                                                    shared, properties, location, maxEntries, fragmentationFactor,
+                                                    memoryMapped);
    }
 
    @Override
@@ -84,6 +101,7 @@ public Builder<?> read(SingleFileStoreConfiguration template) {
       location = template.location();
       maxEntries = template.maxEntries();
       fragmentationFactor  = template.fragmentationFactor();
+      memoryMapped = template.memoryMapped();
 
       return this;
    }
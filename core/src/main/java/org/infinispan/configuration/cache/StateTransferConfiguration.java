@@ -14,15 +14,22 @@ public class StateTransferConfiguration {
    private int chunkSize;
    private boolean awaitInitialTransfer;
    private Boolean originalAwaitInitialTransfer;
+   private int maxChunksInFlight;
+   private int outboundParallelism;
+   private int maxSegmentsPerRebalance;
 
    StateTransferConfiguration(boolean fetchInMemoryState, Boolean originalFetchInMemoryState, long timeout, int chunkSize,
-                              boolean awaitInitialTransfer, Boolean originalAwaitInitialTransfer) {
+                              boolean awaitInitialTransfer, Boolean originalAwaitInitialTransfer, int maxChunksInFlight,
+                              int outboundParallelism, int maxSegmentsPerRebalance) {
       this.fetchInMemoryState = fetchInMemoryState;
       this.originalFetchInMemoryState = originalFetchInMemoryState;
       this.timeout = timeout;
       this.chunkSize = chunkSize;
       this.awaitInitialTransfer = awaitInitialTransfer;
       this.originalAwaitInitialTransfer = originalAwaitInitialTransfer;
+      this.maxChunksInFlight = maxChunksInFlight;
+      this.outboundParallelism = outboundParallelism;
+      this.maxSegmentsPerRebalance = maxSegmentsPerRebalance;
    }
 
    /**
@@ -88,6 +95,32 @@ protected Boolean originalAwaitInitialTransfer() {
       return originalAwaitInitialTransfer;
    }
 
+   /**
+    * The maximum number of chunks of {@code chunkSize} cache entries that a node sends to another node without waiting
+    * for the receiver to acknowledge them. The last chunk of a transfer is only sent after all the previous chunks were
+    * acknowledged.
+    */
+   public int maxChunksInFlight() {
+      return maxChunksInFlight;
+   }
+
+   /**
+    * The number of transfers a node splits each state request into, each sending a group of the requested segments
+    * in parallel with the others.
+    */
+   public int outboundParallelism() {
+      return outboundParallelism;
+   }
+
+   /**
+    * The maximum number of segments that change owners in a single rebalance phase. A rebalance that needs to move
+    * more segments is split into several phases, each one starting after the previous one was confirmed by all the
+    * members. 0 means that all the segments move in a single phase.
+    */
+   public int maxSegmentsPerRebalance() {
+      return maxSegmentsPerRebalance;
+   }
+
    @Override
    public String toString() {
       return "StateTransferConfiguration{" +
@@ -97,6 +130,9 @@ public String toString() {
             ", timeout=" + timeout +
             ", awaitInitialTransfer=" + awaitInitialTransfer +
             ", originalAwaitInitialTransfer=" + originalAwaitInitialTransfer +
+            ", maxChunksInFlight=" + maxChunksInFlight +
+            ", outboundParallelism=" + outboundParallelism +
+            ", maxSegmentsPerRebalance=" + maxSegmentsPerRebalance +
             '}';
    }
 
@@ -115,6 +151,9 @@ public boolean equals(Object o) {
       if (awaitInitialTransfer != that.awaitInitialTransfer) return false;
       if (originalAwaitInitialTransfer != null ? !originalAwaitInitialTransfer.equals(that.originalAwaitInitialTransfer) : that.originalAwaitInitialTransfer != null)
          return false;
+      if (maxChunksInFlight != that.maxChunksInFlight) return false;
+      if (outboundParallelism != that.outboundParallelism) return false;
+      if (maxSegmentsPerRebalance != that.maxSegmentsPerRebalance) return false;
 
       return true;
    }
@@ -127,6 +166,9 @@ public int hashCode() {
       result = 31 * result + chunkSize;
       result = 31 * result + (awaitInitialTransfer ? 1 : 0);
       result = 31 * result + (originalAwaitInitialTransfer != null ? originalAwaitInitialTransfer.hashCode() : 0);
+      result = 31 * result + maxChunksInFlight;
+      result = 31 * result + outboundParallelism;
+      result = 31 * result + maxSegmentsPerRebalance;
       return result;
    }
 
@@ -23,6 +23,9 @@ public class StateTransferConfigurationBuilder extends
    private Boolean awaitInitialTransfer = null;
    private int chunkSize = 512;
    private long timeout = TimeUnit.MINUTES.toMillis(4);
+   private int maxChunksInFlight = 4;
+   private int outboundParallelism = 1;
+   private int maxSegmentsPerRebalance = 0;
 
    StateTransferConfigurationBuilder(ClusteringConfigurationBuilder builder) {
       super(builder);
@@ -63,6 +66,39 @@ public StateTransferConfigurationBuilder chunkSize(int i) {
       return this;
    }
 
+   /**
+    * The maximum number of chunks of {@code chunkSize} cache entries that a node sends to another node without waiting
+    * for the receiver to acknowledge them. Higher values hide the network round-trip from the transfer, at the price
+    * of more entries being buffered by the receiver. If set to 1, each chunk waits for the previous one to be
+    * acknowledged.
+    */
+   public StateTransferConfigurationBuilder maxChunksInFlight(int i) {
+      this.maxChunksInFlight = i;
+      return this;
+   }
+
+   /**
+    * The number of transfers a node splits each state request into, each sending a group of the requested segments
+    * in parallel with the others. Unless the data container and the cache stores can iterate over the entries of a
+    * group of segments, each transfer iterates over all the entries, so this is 1 by default.
+    */
+   public StateTransferConfigurationBuilder outboundParallelism(int i) {
+      this.outboundParallelism = i;
+      return this;
+   }
+
+   /**
+    * The maximum number of segments that change owners in a single rebalance phase. When a node joins, the coordinator
+    * moves the segments towards the balanced consistent hash in phases of at most this many segments, so that the
+    * state transferred at once, and its impact on the running operations, stays bounded. The limit of the first member
+    * to join the cache is used. Defaults to 0, meaning that all the segments move in a single phase. Replicated caches
+    * always rebalance in a single phase.
+    */
+   public StateTransferConfigurationBuilder maxSegmentsPerRebalance(int i) {
+      this.maxSegmentsPerRebalance = i;
+      return this;
+   }
+
    /**
     * This is the maximum amount of time - in milliseconds - to wait for state from neighboring
     * caches, before throwing an exception and aborting startup.
@@ -85,6 +121,15 @@ public void validate() {
       if (chunkSize <= 0) {
          throw new CacheConfigurationException("chunkSize can not be <= 0");
       }
+      if (maxChunksInFlight <= 0) {
+         throw new CacheConfigurationException("maxChunksInFlight can not be <= 0");
+      }
+      if (outboundParallelism <= 0) {
+         throw new CacheConfigurationException("outboundParallelism can not be <= 0");
+      }
+      if (maxSegmentsPerRebalance < 0) {
+         throw new CacheConfigurationException("maxSegmentsPerRebalance can not be < 0");
+      }
 
       if (awaitInitialTransfer != null && awaitInitialTransfer
             && !getClusteringBuilder().cacheMode().isReplicated() && !getClusteringBuilder().cacheMode().isDistributed())
@@ -123,7 +168,8 @@ public  StateTransferConfiguration create() {
          _awaitInitialTransfer = false;
       }
       return new StateTransferConfiguration(_fetchInMemoryState, fetchInMemoryState,
-            timeout, chunkSize, _awaitInitialTransfer, awaitInitialTransfer);
+            timeout, chunkSize, _awaitInitialTransfer, awaitInitialTransfer, maxChunksInFlight, outboundParallelism,
+            maxSegmentsPerRebalance);
    }
 
    @Override
@@ -132,6 +178,9 @@ public StateTransferConfigurationBuilder read(StateTransferConfiguration templat
       this.awaitInitialTransfer = template.originalAwaitInitialTransfer();
       this.timeout = template.timeout();
       this.chunkSize = template.chunkSize();
+      this.maxChunksInFlight = template.maxChunksInFlight();
+      this.outboundParallelism = template.outboundParallelism();
+      this.maxSegmentsPerRebalance = template.maxSegmentsPerRebalance();
       return this;
    }
 
@@ -142,6 +191,9 @@ public String toString() {
             ", fetchInMemoryState=" + fetchInMemoryState +
             ", awaitInitialTransfer=" + awaitInitialTransfer +
             ", timeout=" + timeout +
+            ", maxChunksInFlight=" + maxChunksInFlight +
+            ", outboundParallelism=" + outboundParallelism +
+            ", maxSegmentsPerRebalance=" + maxSegmentsPerRebalance +
             '}';
    }
 }
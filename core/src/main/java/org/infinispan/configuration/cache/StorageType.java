@@ -0,0 +1,22 @@
+package org.infinispan.configuration.cache;
+
+/**
+ * Where the default data container keeps the cache entries.
+ *
+ * @since 7.0
+ */
+public enum StorageType {
+   /**
+    * Entries are stored as objects on the Java heap.
+    */
+   OBJECT,
+   /**
+    * Entries are stored in marshalled form in native memory, outside of the Java heap. See
+    * {@link org.infinispan.container.offheap.OffHeapDataContainer}.
+    */
+   OFF_HEAP;
+
+   public boolean isOffHeap() {
+      return this == OFF_HEAP;
+   }
+}
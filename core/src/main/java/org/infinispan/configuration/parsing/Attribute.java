@@ -18,6 +18,7 @@ public enum Attribute {
     AFTER("after"),
     ALIASES("aliases"),
     ALLOW_DUPLICATE_DOMAINS("duplicate-domains"),
+    ASYNC("async"),
     ASYNC_MARSHALLING("async-marshalling"),
     AUDIT_LOGGER("audit-logger"),
     AUTO_COMMIT("auto-commit"),
@@ -60,21 +61,29 @@ public enum Attribute {
     MACHINE_ID("machine"),
     MAPPER("mapper"),
     MARSHALLER_CLASS("marshaller"),
+    MAX_BATCH_LATENCY("max-batch-latency"),
+    MAX_BATCH_SIZE("max-batch-size"),
+    MAX_CHUNKS_IN_FLIGHT("max-chunks-in-flight"),
     MAX_ENTRIES("max-entries"),
     MAX_IDLE("max-idle"),
+    MAX_MEMORY("max-memory"),
+    MAX_SEGMENTS_PER_REBALANCE("max-segments-per-rebalance"),
     MAX_THREADS("max-threads"),
     MBEAN_SERVER_LOOKUP("mbean-server-lookup"),
+    MEMORY_MAPPED("memory-mapped"),
     MODE("mode"),
     NODE_NAME("node-name"),
     MODIFICATION_QUEUE_SIZE("modification-queue-size"),
     MODULE("module"),
     NAME("name"),
     ON_REHASH("onRehash"),
+    OUTBOUND_PARALLELISM("outbound-parallelism"),
     OWNERS("owners"),
     PATH("path"),
     PASSIVATION("passivation"),
     PERMISSIONS("permissions"),
     PERSISTENCE_EXECUTOR("persistence-executor"),
+    POOLING("pooling"),
     POSITION("position"),
     PRELOAD("preload"),
     PRIORITY("priority"),
@@ -93,6 +102,7 @@ public enum Attribute {
     REMOTE_TIMEOUT("remote-timeout"),
     REPLICATION_QUEUE_EXECUTOR("replication-queue-executor"),
     ROLES("roles"),
+    SEGMENTED("segmented"),
     SEGMENTS("segments"),
     SHARED("shared"),
     SHUTDOWN_HOOK("shutdown-hook"),
@@ -101,6 +111,7 @@ public enum Attribute {
     SITE("site"),
     SPIN_DURATION("deadlock-detection-spin"),
     STATISTICS("statistics"),
+    STORAGE_TYPE("storage-type"),
     START("start"),
     STORE_KEYS_AS_BINARY("keys"),
     STORE_VALUES_AS_BINARY("values"),
@@ -24,6 +24,7 @@ public enum Element {
     CACHE_CONTAINER("cache-container"),
     CACHED_THREAD_POOL("cached-thread-pool"),
     CLUSTERING("clustering"),
+    CLUSTER_LISTENER("cluster-listener"),
     CLUSTER_LOADER("cluster-loader"),
     CLUSTER_STORE("cluster"),
     CLUSTER_ROLE_MAPPER("cluster-role-mapper"),
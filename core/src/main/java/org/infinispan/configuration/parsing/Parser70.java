@@ -874,6 +874,32 @@ private void parsePartitionHandling(XMLExtendedStreamReader reader, Configuratio
       ParseUtils.requireNoContent(reader);
    }
 
+   private void parseClusterListener(XMLExtendedStreamReader reader, ConfigurationBuilder builder) throws XMLStreamException {
+      ClusterListenerConfigurationBuilder clusterListener = builder.clustering().clusterListener();
+      for (int i = 0; i < reader.getAttributeCount(); i++) {
+         String value = replaceProperties(reader.getAttributeValue(i));
+         Attribute attribute = Attribute.forName(reader.getAttributeLocalName(i));
+         switch (attribute) {
+            case ASYNC: {
+               clusterListener.async(Boolean.parseBoolean(value));
+               break;
+            }
+            case MAX_BATCH_SIZE: {
+               clusterListener.maxBatchSize(Integer.parseInt(value));
+               break;
+            }
+            case MAX_BATCH_LATENCY: {
+               clusterListener.maxBatchLatency(Long.parseLong(value));
+               break;
+            }
+            default: {
+               throw ParseUtils.unexpectedAttribute(reader, i);
+            }
+         }
+      }
+      ParseUtils.requireNoContent(reader);
+   }
+
    private void parseBackup(XMLExtendedStreamReader reader, ConfigurationBuilder builder) throws XMLStreamException {
       BackupConfigurationBuilder backup = builder.sites().addBackup();
       for (int i = 0; i < reader.getAttributeCount(); i++) {
@@ -1101,6 +1127,10 @@ protected void parseCacheElement(XMLExtendedStreamReader reader, Element element
             this.parsePartitionHandling(reader, builder);
             break;
          }
+         case CLUSTER_LISTENER: {
+            this.parseClusterListener(reader, builder);
+            break;
+         }
          case SECURITY: {
             this.parseCacheSecurity(reader, builder);
             break;
@@ -1127,6 +1157,12 @@ private void parseDataContainer(final XMLExtendedStreamReader reader, final Conf
             case VALUE_EQUIVALENCE:
                builder.dataContainer().valueEquivalence(Util.<Equivalence>getInstance(value, holder.getClassLoader()));
                break;
+            case SEGMENTED:
+               builder.dataContainer().segmented(Boolean.parseBoolean(value));
+               break;
+            case STORAGE_TYPE:
+               builder.dataContainer().storageType(StorageType.valueOf(value));
+               break;
             default:
                throw ParseUtils.unexpectedAttribute(reader, i);
          }
@@ -1263,6 +1299,10 @@ protected void parseLocking(XMLExtendedStreamReader reader, ConfigurationBuilder
                builder.locking().useLockStriping(Boolean.parseBoolean(value));
                break;
             }
+            case POOLING: {
+               builder.locking().useLockPooling(Boolean.parseBoolean(value));
+               break;
+            }
             case ACQUIRE_TIMEOUT: {
                builder.locking().lockAcquisitionTimeout(Long.parseLong(value));
                break;
@@ -1352,6 +1392,10 @@ protected void parseEviction(XMLExtendedStreamReader reader, ConfigurationBuilde
                builder.eviction().maxEntries(Integer.parseInt(value));
                break;
             }
+            case MAX_MEMORY: {
+               builder.eviction().maxMemory(Long.parseLong(value));
+               break;
+            }
             case THREAD_POLICY: {
                builder.eviction().threadPolicy(EvictionThreadPolicy.valueOf(value));
                break;
@@ -1487,6 +1531,18 @@ private void parseStateTransfer(XMLExtendedStreamReader reader, ConfigurationBui
                builder.clustering().stateTransfer().chunkSize(Integer.parseInt(value));
                break;
             }
+            case MAX_CHUNKS_IN_FLIGHT: {
+               builder.clustering().stateTransfer().maxChunksInFlight(Integer.parseInt(value));
+               break;
+            }
+            case OUTBOUND_PARALLELISM: {
+               builder.clustering().stateTransfer().outboundParallelism(Integer.parseInt(value));
+               break;
+            }
+            case MAX_SEGMENTS_PER_REBALANCE: {
+               builder.clustering().stateTransfer().maxSegmentsPerRebalance(Integer.parseInt(value));
+               break;
+            }
             default: {
                throw ParseUtils.unexpectedAttribute(reader, i);
             }
@@ -1673,6 +1729,10 @@ protected void parseFileStore(XMLExtendedStreamReader reader, ConfigurationBuild
                storeBuilder.fragmentationFactor(Float.parseFloat(value));
                break;
             }
+            case MEMORY_MAPPED: {
+               storeBuilder.memoryMapped(Boolean.parseBoolean(value));
+               break;
+            }
             default: {
                parseStoreAttribute(reader, i, storeBuilder);
             }
@@ -12,6 +12,7 @@
 import org.infinispan.commons.util.concurrent.jdk8backported.EquivalentConcurrentHashMapV8;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.eviction.ActivationManager;
+import org.infinispan.eviction.EntrySizeCalculator;
 import org.infinispan.eviction.EvictionManager;
 import org.infinispan.eviction.EvictionStrategy;
 import org.infinispan.eviction.EvictionThreadPolicy;
@@ -59,6 +60,7 @@
    private final ConcurrentMap<K, InternalCacheEntry<K, V>> entries;
    private final DefaultEvictionListener evictionListener;
    private final ExtendedMap<K, V> extendedMap;
+   private final ExpirationIndex<K> expirationIndex;
    protected InternalEntryFactory entryFactory;
    private EvictionManager evictionManager;
    private PassivationManager passivator;
@@ -71,6 +73,7 @@ public DefaultDataContainer(int concurrencyLevel) {
       entries = CollectionFactory.makeConcurrentParallelMap(128, concurrencyLevel);
       evictionListener = null;
       extendedMap = new EquivalentConcurrentExtendedMap();
+      expirationIndex = new ExpirationIndex<K>(AnyEquivalence.getInstance());
    }
 
    public DefaultDataContainer(int concurrencyLevel,
@@ -79,38 +82,54 @@ public DefaultDataContainer(int concurrencyLevel,
       entries = CollectionFactory.makeConcurrentParallelMap(128, concurrencyLevel, keyEq, AnyEquivalence.getInstance());
       evictionListener = null;
       extendedMap = new EquivalentConcurrentExtendedMap();
+      expirationIndex = new ExpirationIndex<K>(keyEq);
    }
 
    protected DefaultDataContainer(int concurrencyLevel, int maxEntries,
          EvictionStrategy strategy, EvictionThreadPolicy policy,
          Equivalence<? super K> keyEquivalence) {
+      evictionListener = createEvictionListener(strategy, policy);
+      entries = new BoundedConcurrentHashMap<K, InternalCacheEntry<K, V>>(maxEntries, concurrencyLevel, toEviction(strategy), evictionListener,
+                                                                          keyEquivalence, AnyEquivalence.getInstance());
+      extendedMap = new BoundedConcurrentExtendedMap();
+      expirationIndex = new ExpirationIndex<K>(keyEquivalence);
+   }
+
+   protected DefaultDataContainer(int concurrencyLevel, long maxMemory,
+         EvictionStrategy strategy, EvictionThreadPolicy policy,
+         Equivalence<? super K> keyEquivalence, EntrySizeCalculator<? super K, ? super V> sizeCalculator) {
+      evictionListener = createEvictionListener(strategy, policy);
+      entries = new BoundedConcurrentHashMap<K, InternalCacheEntry<K, V>>(maxMemory, concurrencyLevel, toEviction(strategy), evictionListener,
+                                                                          new CacheEntrySizeCalculator<K, V>(sizeCalculator),
+                                                                          keyEquivalence, AnyEquivalence.getInstance());
+      extendedMap = new BoundedConcurrentExtendedMap();
+      expirationIndex = new ExpirationIndex<K>(keyEquivalence);
+   }
+
+   private DefaultEvictionListener createEvictionListener(EvictionStrategy strategy, EvictionThreadPolicy policy) {
       // translate eviction policy and strategy
       switch (policy) {
          case PIGGYBACK:
          case DEFAULT:
-            evictionListener = new DefaultEvictionListener();
-            break;
+            return new DefaultEvictionListener();
          default:
             throw new IllegalArgumentException("No such eviction thread policy " + strategy);
       }
+   }
 
-      Eviction eviction;
+   private static Eviction toEviction(EvictionStrategy strategy) {
       switch (strategy) {
          case FIFO:
          case UNORDERED:
          case LRU:
-            eviction = Eviction.LRU;
-            break;
+            return Eviction.LRU;
          case LIRS:
-            eviction = Eviction.LIRS;
-            break;
+            return Eviction.LIRS;
+         case TINY_LFU:
+            return Eviction.TINY_LFU;
          default:
             throw new IllegalArgumentException("No such eviction strategy " + strategy);
       }
-
-      entries = new BoundedConcurrentHashMap<K, InternalCacheEntry<K, V>>(maxEntries, concurrencyLevel, eviction, evictionListener,
-                                                                          keyEquivalence, AnyEquivalence.getInstance());
-      extendedMap = new BoundedConcurrentExtendedMap();
    }
 
    @Inject
@@ -131,6 +150,13 @@ public static <K, V> DataContainer<K, V> boundedDataContainer(int concurrencyLev
             policy, keyEquivalence);
    }
 
+   public static <K, V> DataContainer<K, V> boundedDataContainer(int concurrencyLevel, long maxMemory,
+            EvictionStrategy strategy, EvictionThreadPolicy policy,
+            Equivalence<? super K> keyEquivalence, EntrySizeCalculator<? super K, ? super V> sizeCalculator) {
+      return new DefaultDataContainer<K, V>(concurrencyLevel, maxMemory, strategy,
+            policy, keyEquivalence, sizeCalculator);
+   }
+
    public static <K, V> DataContainer<K, V> unBoundedDataContainer(int concurrencyLevel,
          Equivalence<? super K> keyEquivalence) {
       return new DefaultDataContainer(concurrencyLevel, keyEquivalence);
@@ -152,6 +178,7 @@ public InternalCacheEntry<K, V> get(Object k) {
          long currentTimeMillis = timeService.wallClockTime();
          if (e.isExpired(currentTimeMillis)) {
             entries.remove(k);
+            expirationIndex.remove(k);
             e = null;
          } else {
             e.touch(currentTimeMillis);
@@ -178,6 +205,11 @@ public void put(K k, V v, Metadata metadata) {
          log.tracef("Store %s in container", e);
 
       extendedMap.putAndActivate(e);
+      if (e.canExpire()) {
+         expirationIndex.add(k, e.getExpiryTime());
+      } else {
+         expirationIndex.remove(k);
+      }
    }
 
    @Override
@@ -185,6 +217,7 @@ public boolean containsKey(Object k) {
       InternalCacheEntry<K, V> ice = peek(k);
       if (ice != null && ice.canExpire() && ice.isExpired(timeService.wallClockTime())) {
          entries.remove(k);
+         expirationIndex.remove(k);
          ice = null;
       }
       return ice != null;
@@ -193,6 +226,7 @@ public boolean containsKey(Object k) {
    @Override
    public InternalCacheEntry<K, V> remove(Object k) {
       InternalCacheEntry<K, V> e = extendedMap.removeAndActivate(k);
+      expirationIndex.remove(k);
       return e == null || (e.canExpire() && e.isExpired(timeService.wallClockTime())) ? null : e;
    }
 
@@ -205,6 +239,7 @@ public int size() {
    public void clear() {
       log.tracef("Clearing data container");
       entries.clear();
+      expirationIndex.clear();
    }
 
    @Override
@@ -222,13 +257,23 @@ public Set<InternalCacheEntry<K, V>> entrySet() {
       return new EntrySet();
    }
 
+   /**
+    * Removes the expired entries. Only the keys of the entries due to expire, according to the {@link
+    * ExpirationIndex}, are visited.
+    */
    @Override
    public void purgeExpired() {
       long currentTimeMillis = timeService.wallClockTime();
-      for (Iterator<InternalCacheEntry<K, V>> purgeCandidates = entries.values().iterator(); purgeCandidates.hasNext();) {
-         InternalCacheEntry e = purgeCandidates.next();
+      for (K key : expirationIndex.pollDue(currentTimeMillis)) {
+         InternalCacheEntry<K, V> e = entries.get(key);
+         if (e == null || !e.canExpire())
+            continue;
+
          if (e.isExpired(currentTimeMillis)) {
-            purgeCandidates.remove();
+            entries.remove(key, e);
+         } else {
+            // Touched since it was indexed
+            expirationIndex.add(key, e.getExpiryTime());
          }
       }
    }
@@ -236,11 +281,18 @@ public void purgeExpired() {
    @Override
    public void evict(K key) {
       extendedMap.evict(key);
+      expirationIndex.remove(key);
    }
 
    @Override
    public InternalCacheEntry<K, V> compute(K key, ComputeAction<K, V> action) {
-      return extendedMap.compute(key, action);
+      InternalCacheEntry<K, V> e = extendedMap.compute(key, action);
+      if (e != null && e.canExpire()) {
+         expirationIndex.add(key, e.getExpiryTime());
+      } else {
+         expirationIndex.remove(key);
+      }
+      return e;
    }
 
    @Override
@@ -248,10 +300,17 @@ public Iterator<InternalCacheEntry<K, V>> iterator() {
       return new EntryIterator(entries.values().iterator());
    }
 
+   ExpirationIndex<K> getExpirationIndex() {
+      return expirationIndex;
+   }
+
    private final class DefaultEvictionListener implements EvictionListener<K, InternalCacheEntry<K, V>> {
 
       @Override
       public void onEntryEviction(Map<K, InternalCacheEntry<K, V>> evicted) {
+         for (K key : evicted.keySet()) {
+            expirationIndex.remove(key);
+         }
          evictionManager.onEntryEviction(evicted);
       }
 
@@ -272,6 +331,26 @@ public void onEntryRemoved(Object key) {
       }
    }
 
+   /**
+    * Weighs the cache entries of a memory bounded container: the size of the key and the value, plus a fixed
+    * estimate of the internal cache entry, its metadata and the hash entry referencing it.
+    */
+   private static final class CacheEntrySizeCalculator<K, V> implements EntrySizeCalculator<K, InternalCacheEntry<K, V>> {
+
+      private static final int ENTRY_OVERHEAD = 96;
+
+      private final EntrySizeCalculator<? super K, ? super V> sizeCalculator;
+
+      CacheEntrySizeCalculator(EntrySizeCalculator<? super K, ? super V> sizeCalculator) {
+         this.sizeCalculator = sizeCalculator;
+      }
+
+      @Override
+      public long calculateSize(K key, InternalCacheEntry<K, V> entry) {
+         return sizeCalculator.calculateSize(key, entry.getValue()) + ENTRY_OVERHEAD;
+      }
+   }
+
    private static class ImmutableEntryIterator<K, V> extends EntryIterator<K, V> {
       ImmutableEntryIterator(Iterator<InternalCacheEntry<K, V>> it){
          super(it);
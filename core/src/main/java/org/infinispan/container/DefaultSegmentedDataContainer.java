@@ -0,0 +1,598 @@
+package org.infinispan.container;
+
+import net.jcip.annotations.ThreadSafe;
+
+import org.infinispan.commons.equivalence.AnyEquivalence;
+import org.infinispan.commons.equivalence.Equivalence;
+import org.infinispan.commons.logging.Log;
+import org.infinispan.commons.logging.LogFactory;
+import org.infinispan.commons.util.concurrent.ParallelIterableMap.KeyValueAction;
+import org.infinispan.commons.util.concurrent.jdk8backported.ConcurrentParallelHashMapV8;
+import org.infinispan.commons.util.concurrent.jdk8backported.EquivalentConcurrentHashMapV8;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.eviction.ActivationManager;
+import org.infinispan.eviction.PassivationManager;
+import org.infinispan.factories.annotations.Inject;
+import org.infinispan.filter.KeyFilter;
+import org.infinispan.filter.KeyValueFilter;
+import org.infinispan.metadata.Metadata;
+import org.infinispan.util.CoreImmutables;
+import org.infinispan.util.TimeService;
+
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Unbounded {@link SegmentedDataContainer} that stores the entries of each segment in a separate map.
+ * <p/>
+ * The per-segment maps are created lazily, either when the first entry of a segment is written or when the segment
+ * is added with {@link #addSegments(java.util.Set)}, and are discarded by {@link #removeSegments(java.util.Set)}.
+ *
+ * @see DefaultDataContainer
+ * @since 7.0
+ */
+@ThreadSafe
+public class DefaultSegmentedDataContainer<K, V> implements SegmentedDataContainer<K, V> {
+
+   private static final Log log = LogFactory.getLog(DefaultSegmentedDataContainer.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   private final AtomicReferenceArray<ConcurrentParallelHashMapV8<K, InternalCacheEntry<K, V>>> segments;
+   private final int concurrencyLevel;
+   private final Equivalence<? super K> keyEquivalence;
+   private final KeyPartitioner partitioner;
+   protected InternalEntryFactory entryFactory;
+   private PassivationManager passivator;
+   private ActivationManager activator;
+   private TimeService timeService;
+   private final ExpirationIndex<K> expirationIndex;
+
+   public DefaultSegmentedDataContainer(int concurrencyLevel, Equivalence<? super K> keyEquivalence,
+                                        KeyPartitioner partitioner) {
+      this.segments = new AtomicReferenceArray<ConcurrentParallelHashMapV8<K, InternalCacheEntry<K, V>>>(
+            partitioner.getNumSegments());
+      this.concurrencyLevel = concurrencyLevel;
+      this.keyEquivalence = keyEquivalence;
+      this.partitioner = partitioner;
+      this.expirationIndex = new ExpirationIndex<K>(keyEquivalence);
+   }
+
+   @Inject
+   public void initialize(PassivationManager passivator, InternalEntryFactory entryFactory,
+                          ActivationManager activator, TimeService timeService) {
+      this.passivator = passivator;
+      this.entryFactory = entryFactory;
+      this.activator = activator;
+      this.timeService = timeService;
+   }
+
+   @Override
+   public int getSegment(Object key) {
+      return partitioner.getSegment(key);
+   }
+
+   private ConcurrentParallelHashMapV8<K, InternalCacheEntry<K, V>> getSegmentMap(Object key) {
+      return segments.get(partitioner.getSegment(key));
+   }
+
+   private ConcurrentParallelHashMapV8<K, InternalCacheEntry<K, V>> getOrCreateSegmentMap(int segment) {
+      ConcurrentParallelHashMapV8<K, InternalCacheEntry<K, V>> map = segments.get(segment);
+      if (map == null) {
+         map = new ConcurrentParallelHashMapV8<K, InternalCacheEntry<K, V>>(16, 0.75f, concurrencyLevel,
+               keyEquivalence, AnyEquivalence.getInstance());
+         if (!segments.compareAndSet(segment, null, map)) {
+            map = segments.get(segment);
+         }
+      }
+      return map;
+   }
+
+   /**
+    * Writes go to the map that was current when they started, so a concurrent {@link #removeSegments(java.util.Set)}
+    * may discard the map after the write. The write is then repeated on the map that replaced it, otherwise it would
+    * silently vanish with the discarded map.
+    */
+   private boolean isCurrentSegmentMap(int segment, ConcurrentParallelHashMapV8<K, InternalCacheEntry<K, V>> map) {
+      if (segments.get(segment) == map)
+         return true;
+      if (trace) log.tracef("Segment %d was removed during a write, retrying", segment);
+      return false;
+   }
+
+   @Override
+   public InternalCacheEntry<K, V> peek(Object key) {
+      ConcurrentParallelHashMapV8<K, InternalCacheEntry<K, V>> map = getSegmentMap(key);
+      return map == null ? null : map.get(key);
+   }
+
+   @Override
+   public InternalCacheEntry<K, V> get(Object k) {
+      ConcurrentParallelHashMapV8<K, InternalCacheEntry<K, V>> map = getSegmentMap(k);
+      if (map == null)
+         return null;
+
+      InternalCacheEntry<K, V> e = map.get(k);
+      if (e != null && e.canExpire()) {
+         long currentTimeMillis = timeService.wallClockTime();
+         if (e.isExpired(currentTimeMillis)) {
+            map.remove(k);
+            expirationIndex.remove(k);
+            e = null;
+         } else {
+            e.touch(currentTimeMillis);
+         }
+      }
+      return e;
+   }
+
+   @Override
+   public void put(K k, V v, final Metadata metadata) {
+      int segment = partitioner.getSegment(k);
+      for (;;) {
+         ConcurrentParallelHashMapV8<K, InternalCacheEntry<K, V>> map = getOrCreateSegmentMap(segment);
+         InternalCacheEntry<K, V> e = map.get(k);
+
+         if (trace) {
+            log.tracef("Creating new ICE for writing. Existing=%s, metadata=%s, new value=%s", e, metadata, v);
+         }
+         final InternalCacheEntry<K, V> newEntry;
+         if (e != null) {
+            newEntry = entryFactory.update(e, v, metadata);
+         } else {
+            // this is a brand-new entry
+            newEntry = entryFactory.create(k, v, metadata);
+         }
+
+         if (trace)
+            log.tracef("Store %s in container", newEntry);
+
+         map.compute(k, new EquivalentConcurrentHashMapV8.BiFun<K, InternalCacheEntry<K, V>, InternalCacheEntry<K, V>>() {
+            @Override
+            public InternalCacheEntry<K, V> apply(K key, InternalCacheEntry<K, V> entry) {
+               activator.onUpdate(key, entry == null);
+               return newEntry;
+            }
+         });
+         if (isCurrentSegmentMap(segment, map)) {
+            if (newEntry.canExpire()) {
+               expirationIndex.add(k, newEntry.getExpiryTime());
+            } else {
+               expirationIndex.remove(k);
+            }
+            return;
+         }
+      }
+   }
+
+   @Override
+   public boolean containsKey(Object k) {
+      ConcurrentParallelHashMapV8<K, InternalCacheEntry<K, V>> map = getSegmentMap(k);
+      if (map == null)
+         return false;
+
+      InternalCacheEntry<K, V> ice = map.get(k);
+      if (ice != null && ice.canExpire() && ice.isExpired(timeService.wallClockTime())) {
+         map.remove(k);
+         expirationIndex.remove(k);
+         ice = null;
+      }
+      return ice != null;
+   }
+
+   @Override
+   @SuppressWarnings("unchecked")
+   public InternalCacheEntry<K, V> remove(Object k) {
+      final AtomicReference<InternalCacheEntry<K, V>> reference = new AtomicReference<InternalCacheEntry<K, V>>();
+      int segment = partitioner.getSegment(k);
+      ConcurrentParallelHashMapV8<K, InternalCacheEntry<K, V>> map;
+      do {
+         map = segments.get(segment);
+         if (map == null) {
+            activator.onRemove(k, true);
+            return null;
+         }
+
+         map.compute((K) k, new EquivalentConcurrentHashMapV8.BiFun<K, InternalCacheEntry<K, V>, InternalCacheEntry<K, V>>() {
+            @Override
+            public InternalCacheEntry<K, V> apply(K key, InternalCacheEntry<K, V> entry) {
+               activator.onRemove(key, entry == null);
+               reference.set(entry);
+               return null;
+            }
+         });
+      } while (!isCurrentSegmentMap(segment, map));
+      expirationIndex.remove(k);
+      InternalCacheEntry<K, V> e = reference.get();
+      return e == null || (e.canExpire() && e.isExpired(timeService.wallClockTime())) ? null : e;
+   }
+
+   @Override
+   public int size() {
+      int size = 0;
+      for (int i = 0; i < segments.length(); i++) {
+         ConcurrentParallelHashMapV8<K, InternalCacheEntry<K, V>> map = segments.get(i);
+         if (map != null) {
+            size += map.size();
+         }
+      }
+      return size;
+   }
+
+   @Override
+   public int size(Set<Integer> segmentIds) {
+      int size = 0;
+      for (int segment : segmentIds) {
+         ConcurrentParallelHashMapV8<K, InternalCacheEntry<K, V>> map = segments.get(segment);
+         if (map != null) {
+            size += map.size();
+         }
+      }
+      return size;
+   }
+
+   @Override
+   public void clear() {
+      log.tracef("Clearing data container");
+      for (int i = 0; i < segments.length(); i++) {
+         ConcurrentParallelHashMapV8<K, InternalCacheEntry<K, V>> map = segments.get(i);
+         if (map != null) {
+            map.clear();
+         }
+      }
+      expirationIndex.clear();
+   }
+
+   @Override
+   public void addSegments(Set<Integer> segmentIds) {
+      for (int segment : segmentIds) {
+         getOrCreateSegmentMap(segment);
+      }
+   }
+
+   @Override
+   public void removeSegments(Set<Integer> segmentIds) {
+      for (int segment : segmentIds) {
+         ConcurrentParallelHashMapV8<K, InternalCacheEntry<K, V>> map = segments.getAndSet(segment, null);
+         if (map != null) {
+            if (trace) log.tracef("Removing segment %d with %d entries", segment, map.size());
+            if (!expirationIndex.isEmpty()) {
+               for (K key : map.keySet()) {
+                  expirationIndex.remove(key);
+               }
+            }
+            map.clear();
+         }
+      }
+   }
+
+   @Override
+   public Set<K> keySet() {
+      return new KeySet();
+   }
+
+   @Override
+   public Collection<V> values() {
+      return new Values();
+   }
+
+   @Override
+   public Set<InternalCacheEntry<K, V>> entrySet() {
+      return new EntrySet();
+   }
+
+   /**
+    * Removes the expired entries. Only the keys of the entries due to expire, according to the {@link
+    * ExpirationIndex}, are visited.
+    */
+   @Override
+   public void purgeExpired() {
+      long currentTimeMillis = timeService.wallClockTime();
+      for (K key : expirationIndex.pollDue(currentTimeMillis)) {
+         ConcurrentParallelHashMapV8<K, InternalCacheEntry<K, V>> map = getSegmentMap(key);
+         InternalCacheEntry<K, V> e = map == null ? null : map.get(key);
+         if (e == null || !e.canExpire())
+            continue;
+
+         if (e.isExpired(currentTimeMillis)) {
+            map.remove(key, e);
+         } else {
+            // Touched since it was indexed
+            expirationIndex.add(key, e.getExpiryTime());
+         }
+      }
+   }
+
+   @Override
+   public void evict(K key) {
+      ConcurrentParallelHashMapV8<K, InternalCacheEntry<K, V>> map = getSegmentMap(key);
+      if (map == null)
+         return;
+
+      map.computeIfPresent(key, new EquivalentConcurrentHashMapV8.BiFun<K, InternalCacheEntry<K, V>, InternalCacheEntry<K, V>>() {
+         @Override
+         public InternalCacheEntry<K, V> apply(K o, InternalCacheEntry<K, V> entry) {
+            passivator.passivate(entry);
+            return null;
+         }
+      });
+      expirationIndex.remove(key);
+   }
+
+   @Override
+   public InternalCacheEntry<K, V> compute(K key, final ComputeAction<K, V> action) {
+      int segment = partitioner.getSegment(key);
+      ConcurrentParallelHashMapV8<K, InternalCacheEntry<K, V>> map;
+      InternalCacheEntry<K, V> e;
+      do {
+         map = getOrCreateSegmentMap(segment);
+         e = map.compute(key, new EquivalentConcurrentHashMapV8.BiFun<K, InternalCacheEntry<K, V>, InternalCacheEntry<K, V>>() {
+            @Override
+            public InternalCacheEntry<K, V> apply(K key, InternalCacheEntry<K, V> oldEntry) {
+               InternalCacheEntry<K, V> newEntry = action.compute(key, oldEntry, entryFactory);
+               if (newEntry == oldEntry) {
+                  return oldEntry;
+               } else if (newEntry == null) {
+                  activator.onRemove(key, false);
+                  return null;
+               }
+               activator.onUpdate(key, oldEntry == null);
+               if (trace)
+                  log.tracef("Store %s in container", newEntry);
+               return newEntry;
+            }
+         });
+      } while (!isCurrentSegmentMap(segment, map));
+      if (e != null && e.canExpire()) {
+         expirationIndex.add(key, e.getExpiryTime());
+      } else {
+         expirationIndex.remove(key);
+      }
+      return e;
+   }
+
+   @Override
+   public Iterator<InternalCacheEntry<K, V>> iterator() {
+      return new SegmentsIterator(new AllSegmentsIterator());
+   }
+
+   ExpirationIndex<K> getExpirationIndex() {
+      return expirationIndex;
+   }
+
+   @Override
+   public Iterator<InternalCacheEntry<K, V>> iterator(Set<Integer> segmentIds) {
+      return new SegmentsIterator(segmentIds.iterator());
+   }
+
+   @Override
+   public void executeTask(final KeyFilter<? super K> filter, final KeyValueAction<? super K, InternalCacheEntry<K, V>> action)
+         throws InterruptedException {
+      if (filter == null)
+         throw new IllegalArgumentException("No filter specified");
+      if (action == null)
+         throw new IllegalArgumentException("No action specified");
+
+      forEach(new KeyValueAction<K, InternalCacheEntry<K, V>>() {
+         @Override
+         public void apply(K key, InternalCacheEntry<K, V> value) {
+            if (filter.accept(key)) {
+               action.apply(key, value);
+            }
+         }
+      });
+   }
+
+   @Override
+   public void executeTask(final KeyValueFilter<? super K, ? super V> filter, final KeyValueAction<? super K, InternalCacheEntry<K, V>> action)
+         throws InterruptedException {
+      if (filter == null)
+         throw new IllegalArgumentException("No filter specified");
+      if (action == null)
+         throw new IllegalArgumentException("No action specified");
+
+      forEach(new KeyValueAction<K, InternalCacheEntry<K, V>>() {
+         @Override
+         public void apply(K key, InternalCacheEntry<K, V> value) {
+            if (filter.accept(key, value.getValue(), value.getMetadata())) {
+               action.apply(key, value);
+            }
+         }
+      });
+   }
+
+   private void forEach(KeyValueAction<K, InternalCacheEntry<K, V>> action) throws InterruptedException {
+      for (int i = 0; i < segments.length(); i++) {
+         ConcurrentParallelHashMapV8<K, InternalCacheEntry<K, V>> map = segments.get(i);
+         if (map != null) {
+            map.forEach(32, action);
+         }
+         // the parallel iteration of a map can't be interrupted, so the interruption is checked after each segment
+         if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedException();
+         }
+      }
+   }
+
+   /**
+    * Iterates over the ids of all the segments, in order.
+    */
+   private class AllSegmentsIterator implements Iterator<Integer> {
+      private int next;
+
+      @Override
+      public boolean hasNext() {
+         return next < segments.length();
+      }
+
+      @Override
+      public Integer next() {
+         if (!hasNext())
+            throw new NoSuchElementException();
+         return next++;
+      }
+
+      @Override
+      public void remove() {
+         throw new UnsupportedOperationException();
+      }
+   }
+
+   /**
+    * Iterates over the entries of the segments returned by a segment id iterator, skipping the segments that were
+    * never created.
+    */
+   private class SegmentsIterator implements Iterator<InternalCacheEntry<K, V>> {
+      private final Iterator<Integer> segmentIterator;
+      private Iterator<InternalCacheEntry<K, V>> current;
+
+      SegmentsIterator(Iterator<Integer> segmentIterator) {
+         this.segmentIterator = segmentIterator;
+      }
+
+      @Override
+      public boolean hasNext() {
+         while (current == null || !current.hasNext()) {
+            if (!segmentIterator.hasNext())
+               return false;
+
+            ConcurrentParallelHashMapV8<K, InternalCacheEntry<K, V>> map = segments.get(segmentIterator.next());
+            current = map == null ? null : map.values().iterator();
+         }
+         return true;
+      }
+
+      @Override
+      public InternalCacheEntry<K, V> next() {
+         if (!hasNext())
+            throw new NoSuchElementException();
+         return current.next();
+      }
+
+      @Override
+      public void remove() {
+         throw new UnsupportedOperationException();
+      }
+   }
+
+   private class ImmutableEntryIterator extends SegmentsIterator {
+      ImmutableEntryIterator() {
+         super(new AllSegmentsIterator());
+      }
+
+      @Override
+      public InternalCacheEntry<K, V> next() {
+         return CoreImmutables.immutableInternalCacheEntry(super.next());
+      }
+   }
+
+   /**
+    * Minimal implementation needed for unmodifiable Set
+    */
+   private class KeySet extends AbstractSet<K> {
+      @Override
+      public boolean contains(Object o) {
+         return peek(o) != null;
+      }
+
+      @Override
+      public Iterator<K> iterator() {
+         final Iterator<InternalCacheEntry<K, V>> it = new SegmentsIterator(new AllSegmentsIterator());
+         return new Iterator<K>() {
+            @Override
+            public boolean hasNext() {
+               return it.hasNext();
+            }
+
+            @Override
+            public K next() {
+               return it.next().getKey();
+            }
+
+            @Override
+            public void remove() {
+               throw new UnsupportedOperationException();
+            }
+         };
+      }
+
+      @Override
+      public int size() {
+         return DefaultSegmentedDataContainer.this.size();
+      }
+   }
+
+   /**
+    * Minimal implementation needed for unmodifiable Set
+    */
+   private class EntrySet extends AbstractSet<InternalCacheEntry<K, V>> {
+
+      @Override
+      public boolean contains(Object o) {
+         if (!(o instanceof Map.Entry)) {
+            return false;
+         }
+
+         @SuppressWarnings("rawtypes")
+         Map.Entry e = (Map.Entry) o;
+         InternalCacheEntry ice = peek(e.getKey());
+         if (ice == null) {
+            return false;
+         }
+         return ice.getValue().equals(e.getValue());
+      }
+
+      @Override
+      public Iterator<InternalCacheEntry<K, V>> iterator() {
+         return new ImmutableEntryIterator();
+      }
+
+      @Override
+      public int size() {
+         return DefaultSegmentedDataContainer.this.size();
+      }
+   }
+
+   /**
+    * Minimal implementation needed for unmodifiable Collection
+    */
+   private class Values extends AbstractCollection<V> {
+      @Override
+      public Iterator<V> iterator() {
+         final Iterator<InternalCacheEntry<K, V>> it = new SegmentsIterator(new AllSegmentsIterator());
+         return new Iterator<V>() {
+            @Override
+            public boolean hasNext() {
+               return it.hasNext();
+            }
+
+            @Override
+            public V next() {
+               return it.next().getValue();
+            }
+
+            @Override
+            public void remove() {
+               throw new UnsupportedOperationException();
+            }
+         };
+      }
+
+      @Override
+      public int size() {
+         return DefaultSegmentedDataContainer.this.size();
+      }
+   }
+
+   @Override
+   public String toString() {
+      return "DefaultSegmentedDataContainer{partitioner=" + partitioner + ", size=" + size() + '}';
+   }
+}
@@ -0,0 +1,133 @@
+package org.infinispan.container;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import net.jcip.annotations.ThreadSafe;
+
+import org.infinispan.commons.equivalence.AnyEquivalence;
+import org.infinispan.commons.equivalence.Equivalence;
+import org.infinispan.commons.util.CollectionFactory;
+
+/**
+ * Index of the keys of the expirable entries of a data container by expiration time, so that purging the expired
+ * entries only visits the keys that are due instead of every entry in the container.
+ * <p/>
+ * The keys are grouped in time buckets spanning {@link #RESOLUTION} milliseconds, and each key is in a single bucket:
+ * storing an expirable entry moves its key to the bucket of the new expiration time, and removing or evicting the
+ * entry removes its key from the index. The index is not updated when an entry is touched, so the data container
+ * checks the current entry of each key of a due bucket, removes it if it has expired, and indexes it again at its new
+ * expiration time otherwise.
+ *
+ * @since 7.0
+ */
+@ThreadSafe
+final class ExpirationIndex<K> {
+
+   static final long RESOLUTION = 1000;
+
+   private final ConcurrentNavigableMap<Long, Set<K>> buckets = new ConcurrentSkipListMap<Long, Set<K>>();
+   private final ConcurrentMap<K, Long> bucketIds;
+   private final Equivalence<? super K> keyEquivalence;
+
+   ExpirationIndex(Equivalence<? super K> keyEquivalence) {
+      this.keyEquivalence = keyEquivalence;
+      this.bucketIds = CollectionFactory.<K, Long>makeConcurrentMap(keyEquivalence, AnyEquivalence.getInstance());
+   }
+
+   /**
+    * Records that the entry mapped to the key expires at the given time, replacing its previous expiration time.
+    */
+   void add(K key, long expiryTime) {
+      Long bucketId = expiryTime / RESOLUTION;
+      Long previousBucketId = bucketIds.put(key, bucketId);
+      if (bucketId.equals(previousBucketId))
+         return;
+      if (previousBucketId != null)
+         removeFromBucket(key, previousBucketId);
+
+      while (true) {
+         Set<K> bucket = buckets.get(bucketId);
+         if (bucket == null) {
+            Set<K> newBucket = newBucket();
+            bucket = buckets.putIfAbsent(bucketId, newBucket);
+            if (bucket == null) {
+               bucket = newBucket;
+            }
+         }
+         bucket.add(key);
+         // The bucket may have been polled concurrently, in which case the key might not have been seen
+         if (buckets.get(bucketId) == bucket)
+            return;
+      }
+   }
+
+   /**
+    * Removes the key of an entry which was removed from the data container, or which can no longer expire.
+    */
+   void remove(Object key) {
+      Long bucketId = bucketIds.remove(key);
+      if (bucketId != null)
+         removeFromBucket(key, bucketId);
+   }
+
+   /**
+    * Removes the keys of the entries expiring at or before the given time.
+    *
+    * @return the removed keys. Some of the entries may have been touched since they were indexed, and may not have
+    *         expired yet.
+    */
+   List<K> pollDue(long currentTimeMillis) {
+      ConcurrentNavigableMap<Long, Set<K>> due = buckets.headMap(currentTimeMillis / RESOLUTION, true);
+      if (due.isEmpty())
+         return Collections.emptyList();
+
+      List<K> polled = new ArrayList<K>();
+      for (Map.Entry<Long, Set<K>> entry; (entry = due.pollFirstEntry()) != null; ) {
+         for (K key : entry.getValue()) {
+            // Skip the keys moved to another bucket concurrently
+            if (bucketIds.remove(key, entry.getKey())) {
+               polled.add(key);
+            }
+         }
+      }
+      return polled;
+   }
+
+   boolean isEmpty() {
+      return bucketIds.isEmpty();
+   }
+
+   /**
+    * @return the number of keys in all the buckets
+    */
+   int size() {
+      int size = 0;
+      for (Set<K> bucket : buckets.values()) {
+         size += bucket.size();
+      }
+      return size;
+   }
+
+   void clear() {
+      buckets.clear();
+      bucketIds.clear();
+   }
+
+   private void removeFromBucket(Object key, Long bucketId) {
+      Set<K> bucket = buckets.get(bucketId);
+      if (bucket != null)
+         bucket.remove(key);
+   }
+
+   private Set<K> newBucket() {
+      return Collections.newSetFromMap(CollectionFactory.<K, Boolean>makeConcurrentMap(
+            keyEquivalence, AnyEquivalence.getInstance()));
+   }
+}
@@ -0,0 +1,58 @@
+package org.infinispan.container;
+
+import java.util.Iterator;
+import java.util.Set;
+
+import org.infinispan.container.entries.InternalCacheEntry;
+
+/**
+ * A {@link DataContainer} that keeps its entries partitioned by hash space segment, so that operations that only
+ * involve a few segments (state transfer, removal of the segments no longer owned after a topology change) have a
+ * cost proportional to the size of those segments instead of the size of the whole container.
+ * <p/>
+ * The segment of a key is determined by the {@link org.infinispan.distribution.ch.KeyPartitioner} of the container,
+ * which always agrees with {@link org.infinispan.distribution.ch.ConsistentHash#getSegment(Object)}.
+ *
+ * @since 7.0
+ */
+public interface SegmentedDataContainer<K, V> extends DataContainer<K, V> {
+
+   /**
+    * @param key the key
+    * @return the segment the key belongs to
+    */
+   int getSegment(Object key);
+
+   /**
+    * Iterates over the entries of the given segments only. Like {@link #iterator()}, the returned iterator does not
+    * update or reorder the entries and does not filter out expired entries.
+    *
+    * @param segments the segments to iterate over
+    * @return an iterator over the entries of the given segments
+    */
+   Iterator<InternalCacheEntry<K, V>> iterator(Set<Integer> segments);
+
+   /**
+    * @param segments the segments to count
+    * @return the number of entries stored in the given segments
+    */
+   int size(Set<Integer> segments);
+
+   /**
+    * Prepares the container for storing entries of the given segments, typically invoked when the local node becomes
+    * an owner of the segments. Adding a segment that is already present has no effect.
+    *
+    * @param segments the segments to add
+    */
+   void addSegments(Set<Integer> segments);
+
+   /**
+    * Removes all the entries of the given segments, typically invoked after the local node stopped owning them.
+    * <p/>
+    * Unlike {@link #remove(Object)}, the entries are dropped without activation or notifications, so callers must have
+    * already removed the keys from the cache stores if needed.
+    *
+    * @param segments the segments to remove
+    */
+   void removeSegments(Set<Integer> segments);
+}
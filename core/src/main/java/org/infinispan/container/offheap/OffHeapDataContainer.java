@@ -0,0 +1,915 @@
+package org.infinispan.container.offheap;
+
+import net.jcip.annotations.ThreadSafe;
+
+import org.infinispan.commons.CacheException;
+import org.infinispan.commons.hash.Hash;
+import org.infinispan.commons.hash.MurmurHash3;
+import org.infinispan.commons.logging.Log;
+import org.infinispan.commons.logging.LogFactory;
+import org.infinispan.commons.marshall.StreamingMarshaller;
+import org.infinispan.commons.util.concurrent.ParallelIterableMap.KeyValueAction;
+import org.infinispan.container.DataContainer;
+import org.infinispan.container.InternalEntryFactory;
+import org.infinispan.container.entries.ExpiryHelper;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.eviction.ActivationManager;
+import org.infinispan.eviction.EvictionManager;
+import org.infinispan.eviction.PassivationManager;
+import org.infinispan.factories.annotations.ComponentName;
+import org.infinispan.factories.annotations.Inject;
+import org.infinispan.factories.annotations.Start;
+import org.infinispan.factories.annotations.Stop;
+import org.infinispan.filter.KeyFilter;
+import org.infinispan.filter.KeyValueFilter;
+import org.infinispan.metadata.Metadata;
+import org.infinispan.util.CoreImmutables;
+import org.infinispan.util.TimeService;
+
+import java.io.IOException;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static org.infinispan.factories.KnownComponentNames.CACHE_MARSHALLER;
+
+/**
+ * A {@link DataContainer} that keeps its entries outside of the Java heap.
+ * <p/>
+ * Keys, values and metadata are marshalled with the cache marshaller and copied in native memory, together with
+ * a small header holding the timestamps needed for expiration. The hash index is a fixed-size array of buckets, also
+ * allocated in native memory, each bucket pointing to a chain of entries. The heap only holds the instances
+ * created while a command reads or writes an entry: every read returns a new copy of the entry, so changes made
+ * to a returned entry are not visible to the container until it is written back with {@link #put(Object, Object,
+ * Metadata)}.
+ * <p/>
+ * Keys are compared in their marshalled form, so the marshalled form of equal keys must be identical.
+ * <p/>
+ * Concurrency is controlled by a fixed number of read-write locks, each guarding the buckets whose index has the
+ * same low bits. When eviction is enabled, all the entries are also linked in an LRU list, and the least recently
+ * used entries are evicted when the number of entries exceeds {@code maxEntries} or when the memory allocated for
+ * the entries exceeds {@code maxMemory} bytes.
+ *
+ * @since 7.0
+ */
+@ThreadSafe
+public class OffHeapDataContainer<K, V> implements DataContainer<K, V> {
+
+   private static final Log log = LogFactory.getLog(OffHeapDataContainer.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   // Entry layout: header followed by the marshalled key, metadata and value
+   private static final int NEXT_OFFSET = 0;
+   private static final int LRU_PREVIOUS_OFFSET = 8;
+   private static final int LRU_NEXT_OFFSET = 16;
+   private static final int CREATED_OFFSET = 24;
+   private static final int LAST_USED_OFFSET = 32;
+   private static final int LIFESPAN_OFFSET = 40;
+   private static final int MAX_IDLE_OFFSET = 48;
+   private static final int HASH_OFFSET = 56;
+   private static final int KEY_LENGTH_OFFSET = 60;
+   private static final int METADATA_LENGTH_OFFSET = 64;
+   private static final int VALUE_LENGTH_OFFSET = 68;
+   private static final int HEADER_SIZE = 72;
+
+   private static final int MIN_BUCKETS = 1 << 4;
+   private static final int MAX_BUCKETS = 1 << 24;
+   private static final int DEFAULT_BUCKETS = 1 << 16;
+   // Used to size the hash index when the container is only bounded by memory
+   private static final int ESTIMATED_ENTRY_SIZE = 256;
+
+   private final Hash hashFunction = new MurmurHash3();
+   private final ReentrantReadWriteLock[] locks;
+   private final int numBuckets;
+   private final int maxEntries;
+   private final long maxMemory;
+   private final boolean evictionEnabled;
+
+   private final AtomicInteger count = new AtomicInteger();
+   private final AtomicLong usedMemory = new AtomicLong();
+
+   // Guards the LRU list, always acquired after the bucket lock
+   private final Object lruLock = new Object();
+   private long lruHead;
+   private long lruTail;
+
+   private volatile long buckets;
+
+   private InternalEntryFactory entryFactory;
+   private EvictionManager evictionManager;
+   private PassivationManager passivator;
+   private ActivationManager activator;
+   private TimeService timeService;
+   private StreamingMarshaller marshaller;
+
+   /**
+    * @param concurrencyLevel number of locks guarding the hash index
+    * @param maxEntries       the maximum number of entries, or -1 if the number of entries is not bounded
+    * @param maxMemory        the maximum memory used by the entries, in bytes, or -1 if the memory is not bounded
+    */
+   public OffHeapDataContainer(int concurrencyLevel, int maxEntries, long maxMemory) {
+      int numLocks = nextPowerOfTwo(Math.max(concurrencyLevel, 1));
+      long expectedEntries = maxEntries > 0 ? maxEntries : maxMemory > 0 ? maxMemory / ESTIMATED_ENTRY_SIZE : DEFAULT_BUCKETS;
+      this.numBuckets = Math.max(nextPowerOfTwo((int) Math.max(Math.min(expectedEntries, MAX_BUCKETS), MIN_BUCKETS)), numLocks);
+      this.locks = new ReentrantReadWriteLock[numLocks];
+      for (int i = 0; i < numLocks; i++) {
+         locks[i] = new ReentrantReadWriteLock();
+      }
+      this.maxEntries = maxEntries;
+      this.maxMemory = maxMemory;
+      this.evictionEnabled = maxEntries > 0 || maxMemory > 0;
+      this.buckets = OffHeapMemory.allocateZeroed(numBuckets * 8L);
+   }
+
+   @Inject
+   public void initialize(EvictionManager evictionManager, PassivationManager passivator,
+                          InternalEntryFactory entryFactory, ActivationManager activator, TimeService timeService,
+                          @ComponentName(CACHE_MARSHALLER) StreamingMarshaller marshaller) {
+      this.evictionManager = evictionManager;
+      this.passivator = passivator;
+      this.entryFactory = entryFactory;
+      this.activator = activator;
+      this.timeService = timeService;
+      this.marshaller = marshaller;
+   }
+
+   @Start(priority = 1)
+   public void start() {
+      if (buckets == 0) {
+         buckets = OffHeapMemory.allocateZeroed(numBuckets * 8L);
+      }
+   }
+
+   /**
+    * Releases all the native memory held by the container. The container can be used again after {@link #start()}.
+    */
+   @Stop(priority = 999)
+   public void stop() {
+      lockAll();
+      try {
+         clearEntries();
+         if (buckets != 0) {
+            OffHeapMemory.free(buckets);
+            buckets = 0;
+         }
+      } finally {
+         unlockAll();
+      }
+   }
+
+   @Override
+   public InternalCacheEntry<K, V> peek(Object k) {
+      byte[] keyBytes = marshall(k);
+      int hash = hash(keyBytes);
+      Lock lock = lockFor(hash).readLock();
+      lock.lock();
+      try {
+         long address = find(hash, keyBytes);
+         return address == 0 ? null : toEntry(address, k, true);
+      } finally {
+         lock.unlock();
+      }
+   }
+
+   @Override
+   public InternalCacheEntry<K, V> get(Object k) {
+      byte[] keyBytes = marshall(k);
+      int hash = hash(keyBytes);
+      Lock lock = lockFor(hash).readLock();
+      lock.lock();
+      try {
+         long address = find(hash, keyBytes);
+         if (address == 0) {
+            return null;
+         }
+         if (canExpire(address)) {
+            long currentTimeMillis = timeService.wallClockTime();
+            if (isExpired(address, currentTimeMillis)) {
+               lock.unlock();
+               try {
+                  removeExpired(k, keyBytes, hash);
+               } finally {
+                  lock.lock();
+               }
+               return null;
+            }
+            if (OffHeapMemory.getLong(address + MAX_IDLE_OFFSET) > -1) {
+               OffHeapMemory.putLong(address + LAST_USED_OFFSET, currentTimeMillis);
+            }
+         }
+         if (evictionEnabled) {
+            synchronized (lruLock) {
+               lruUnlink(address);
+               lruAddFirst(address);
+            }
+         }
+         return toEntry(address, k, true);
+      } finally {
+         lock.unlock();
+      }
+   }
+
+   @Override
+   public void put(K k, V v, Metadata metadata) {
+      byte[] keyBytes = marshall(k);
+      int hash = hash(keyBytes);
+      ReentrantReadWriteLock.WriteLock lock = lockFor(hash).writeLock();
+      lock.lock();
+      try {
+         long address = find(hash, keyBytes);
+         InternalCacheEntry<K, V> e;
+         if (trace) {
+            log.tracef("Creating new ICE for writing. Existing=%s, metadata=%s, new value=%s",
+                       address == 0 ? null : toEntry(address, k, true), metadata, v);
+         }
+         if (address != 0) {
+            // the old value is replaced by the update, no need to unmarshall it
+            e = entryFactory.update(toEntry(address, k, false), v, metadata);
+         } else {
+            // this is a brand-new entry
+            e = entryFactory.create(k, v, metadata);
+         }
+
+         if (trace)
+            log.tracef("Store %s in container", e);
+
+         activator.onUpdate(k, address == 0);
+         store(address, hash, keyBytes, e);
+      } finally {
+         lock.unlock();
+      }
+      evictIfNeeded(lock);
+   }
+
+   @Override
+   public boolean containsKey(Object k) {
+      byte[] keyBytes = marshall(k);
+      int hash = hash(keyBytes);
+      Lock lock = lockFor(hash).readLock();
+      lock.lock();
+      try {
+         long address = find(hash, keyBytes);
+         if (address == 0) {
+            return false;
+         }
+         if (canExpire(address) && isExpired(address, timeService.wallClockTime())) {
+            lock.unlock();
+            try {
+               removeExpired(k, keyBytes, hash);
+            } finally {
+               lock.lock();
+            }
+            return false;
+         }
+         return true;
+      } finally {
+         lock.unlock();
+      }
+   }
+
+   @Override
+   public InternalCacheEntry<K, V> remove(Object k) {
+      byte[] keyBytes = marshall(k);
+      int hash = hash(keyBytes);
+      Lock lock = lockFor(hash).writeLock();
+      lock.lock();
+      try {
+         long address = find(hash, keyBytes);
+         activator.onRemove(k, address == 0);
+         if (address == 0) {
+            return null;
+         }
+         boolean expired = canExpire(address) && isExpired(address, timeService.wallClockTime());
+         InternalCacheEntry<K, V> e = expired ? null : toEntry(address, k, true);
+         delete(hash, address);
+         return e;
+      } finally {
+         lock.unlock();
+      }
+   }
+
+   @Override
+   public int size() {
+      return count.get();
+   }
+
+   @Override
+   public void clear() {
+      log.tracef("Clearing data container");
+      lockAll();
+      try {
+         clearEntries();
+      } finally {
+         unlockAll();
+      }
+   }
+
+   @Override
+   public Set<K> keySet() {
+      return new KeySet();
+   }
+
+   @Override
+   public Collection<V> values() {
+      return new Values();
+   }
+
+   @Override
+   public Set<InternalCacheEntry<K, V>> entrySet() {
+      return new EntrySet();
+   }
+
+   @Override
+   public void purgeExpired() {
+      long currentTimeMillis = timeService.wallClockTime();
+      for (int i = 0; i < numBuckets; i++) {
+         Lock lock = locks[i & (locks.length - 1)].writeLock();
+         lock.lock();
+         try {
+            if (buckets == 0)
+               return;
+            long bucket = buckets + i * 8L;
+            long address = OffHeapMemory.getLong(bucket);
+            while (address != 0) {
+               long next = OffHeapMemory.getLong(address + NEXT_OFFSET);
+               if (isExpired(address, currentTimeMillis)) {
+                  delete(OffHeapMemory.getInt(address + HASH_OFFSET), address);
+               }
+               address = next;
+            }
+         } finally {
+            lock.unlock();
+         }
+      }
+   }
+
+   @Override
+   public void evict(K key) {
+      byte[] keyBytes = marshall(key);
+      int hash = hash(keyBytes);
+      Lock lock = lockFor(hash).writeLock();
+      lock.lock();
+      try {
+         long address = find(hash, keyBytes);
+         if (address != 0) {
+            passivator.passivate(toEntry(address, key, true));
+            delete(hash, address);
+         }
+      } finally {
+         lock.unlock();
+      }
+   }
+
+   @Override
+   public InternalCacheEntry<K, V> compute(K key, ComputeAction<K, V> action) {
+      byte[] keyBytes = marshall(key);
+      int hash = hash(keyBytes);
+      ReentrantReadWriteLock.WriteLock lock = lockFor(hash).writeLock();
+      lock.lock();
+      try {
+         long address = find(hash, keyBytes);
+         InternalCacheEntry<K, V> oldEntry = address == 0 ? null : toEntry(address, key, true);
+         InternalCacheEntry<K, V> newEntry = action.compute(key, oldEntry, entryFactory);
+         if (newEntry == oldEntry) {
+            return oldEntry;
+         }
+         // the action may have modified the container, e.g. by invoking put()
+         address = find(hash, keyBytes);
+         if (newEntry == null) {
+            activator.onRemove(key, false);
+            if (address != 0) {
+               delete(hash, address);
+            }
+            return null;
+         }
+         activator.onUpdate(key, oldEntry == null);
+         if (trace)
+            log.tracef("Store %s in container", newEntry);
+         store(address, hash, keyBytes, newEntry);
+         return newEntry;
+      } finally {
+         lock.unlock();
+         evictIfNeeded(lock);
+      }
+   }
+
+   @Override
+   public Iterator<InternalCacheEntry<K, V>> iterator() {
+      return new EntryIterator();
+   }
+
+   @Override
+   public void executeTask(final KeyFilter<? super K> filter, final KeyValueAction<? super K, InternalCacheEntry<K, V>> action)
+         throws InterruptedException {
+      if (filter == null)
+         throw new IllegalArgumentException("No filter specified");
+      if (action == null)
+         throw new IllegalArgumentException("No action specified");
+
+      for (Iterator<InternalCacheEntry<K, V>> it = iterator(); it.hasNext(); ) {
+         InternalCacheEntry<K, V> entry = it.next();
+         if (filter.accept(entry.getKey())) {
+            action.apply(entry.getKey(), entry);
+         }
+         if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedException();
+         }
+      }
+   }
+
+   @Override
+   public void executeTask(final KeyValueFilter<? super K, ? super V> filter, final KeyValueAction<? super K, InternalCacheEntry<K, V>> action)
+         throws InterruptedException {
+      if (filter == null)
+         throw new IllegalArgumentException("No filter specified");
+      if (action == null)
+         throw new IllegalArgumentException("No action specified");
+
+      for (Iterator<InternalCacheEntry<K, V>> it = iterator(); it.hasNext(); ) {
+         InternalCacheEntry<K, V> entry = it.next();
+         if (filter.accept(entry.getKey(), entry.getValue(), entry.getMetadata())) {
+            action.apply(entry.getKey(), entry);
+         }
+         if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedException();
+         }
+      }
+   }
+
+   /**
+    * @return the native memory currently allocated for the entries, in bytes, not including the hash index
+    */
+   public long getUsedMemory() {
+      return usedMemory.get();
+   }
+
+   private void removeExpired(Object k, byte[] keyBytes, int hash) {
+      Lock lock = lockFor(hash).writeLock();
+      lock.lock();
+      try {
+         long address = find(hash, keyBytes);
+         if (address != 0 && isExpired(address, timeService.wallClockTime())) {
+            delete(hash, address);
+         }
+      } finally {
+         lock.unlock();
+      }
+   }
+
+   /**
+    * Evicts the least recently used entries until the container is within its bounds. Must not be invoked while
+    * holding a bucket lock (except if it was already held by the caller of {@code put()} or {@code compute()}, in
+    * which case the eviction is deferred to the outermost invocation).
+    */
+   private void evictIfNeeded(ReentrantReadWriteLock.WriteLock heldLock) {
+      if (!evictionEnabled || heldLock.isHeldByCurrentThread())
+         return;
+
+      while (isOverCapacity()) {
+         long address;
+         int hash;
+         synchronized (lruLock) {
+            address = lruTail;
+            if (address == 0)
+               return;
+            // entries are unlinked from the LRU list before being freed, so the tail is still readable here
+            hash = OffHeapMemory.getInt(address + HASH_OFFSET);
+         }
+
+         InternalCacheEntry<K, V> evicted = null;
+         Lock lock = lockFor(hash).writeLock();
+         lock.lock();
+         try {
+            // the entry may have been removed or replaced since we read the tail of the list, and its memory reused
+            // by another entry, so it is only evicted if it is still both linked in the bucket and the LRU tail
+            if (isLruTail(address) && isInBucket(hash, address)) {
+               evicted = toEntry(address, null, true);
+               passivator.passivate(evicted);
+               delete(hash, address);
+            }
+         } finally {
+            lock.unlock();
+         }
+         if (evicted != null) {
+            if (trace)
+               log.tracef("Evicted %s from container", evicted);
+            evictionManager.onEntryEviction(Collections.<K, InternalCacheEntry<? extends K, ? extends V>>singletonMap(
+                  evicted.getKey(), evicted));
+         }
+      }
+   }
+
+   private boolean isLruTail(long address) {
+      synchronized (lruLock) {
+         return lruTail == address;
+      }
+   }
+
+   private boolean isOverCapacity() {
+      return (maxEntries > 0 && count.get() > maxEntries) || (maxMemory > 0 && usedMemory.get() > maxMemory);
+   }
+
+   private ReentrantReadWriteLock lockFor(int hash) {
+      return locks[hash & (locks.length - 1)];
+   }
+
+   private void lockAll() {
+      for (ReentrantReadWriteLock lock : locks) {
+         lock.writeLock().lock();
+      }
+   }
+
+   private void unlockAll() {
+      for (ReentrantReadWriteLock lock : locks) {
+         lock.writeLock().unlock();
+      }
+   }
+
+   private long bucketFor(int hash) {
+      if (buckets == 0)
+         throw new IllegalStateException("The data container was stopped");
+      return buckets + (hash & (numBuckets - 1)) * 8L;
+   }
+
+   private long find(int hash, byte[] keyBytes) {
+      long address = OffHeapMemory.getLong(bucketFor(hash));
+      while (address != 0) {
+         if (OffHeapMemory.getInt(address + HASH_OFFSET) == hash
+               && OffHeapMemory.getInt(address + KEY_LENGTH_OFFSET) == keyBytes.length
+               && OffHeapMemory.equalBytes(address + HEADER_SIZE, keyBytes)) {
+            return address;
+         }
+         address = OffHeapMemory.getLong(address + NEXT_OFFSET);
+      }
+      return 0;
+   }
+
+   private boolean isInBucket(int hash, long entryAddress) {
+      long address = OffHeapMemory.getLong(bucketFor(hash));
+      while (address != 0) {
+         if (address == entryAddress)
+            return true;
+         address = OffHeapMemory.getLong(address + NEXT_OFFSET);
+      }
+      return false;
+   }
+
+   /**
+    * Writes a new copy of the entry and replaces the previous one, if any. Must be invoked with the bucket write
+    * lock held.
+    */
+   private void store(long oldAddress, int hash, byte[] keyBytes, InternalCacheEntry<K, V> entry) {
+      byte[] metadataBytes = marshall(entry.getMetadata());
+      byte[] valueBytes = marshall(entry.getValue());
+      long size = entrySize(keyBytes.length, metadataBytes.length, valueBytes.length);
+      long address = OffHeapMemory.allocate(size);
+      OffHeapMemory.putLong(address + CREATED_OFFSET, entry.getCreated());
+      OffHeapMemory.putLong(address + LAST_USED_OFFSET, entry.getLastUsed());
+      OffHeapMemory.putLong(address + LIFESPAN_OFFSET, entry.getLifespan());
+      OffHeapMemory.putLong(address + MAX_IDLE_OFFSET, entry.getMaxIdle());
+      OffHeapMemory.putInt(address + HASH_OFFSET, hash);
+      OffHeapMemory.putInt(address + KEY_LENGTH_OFFSET, keyBytes.length);
+      OffHeapMemory.putInt(address + METADATA_LENGTH_OFFSET, metadataBytes.length);
+      OffHeapMemory.putInt(address + VALUE_LENGTH_OFFSET, valueBytes.length);
+      OffHeapMemory.putBytes(address + HEADER_SIZE, keyBytes, 0, keyBytes.length);
+      OffHeapMemory.putBytes(address + HEADER_SIZE + keyBytes.length, metadataBytes, 0, metadataBytes.length);
+      OffHeapMemory.putBytes(address + HEADER_SIZE + keyBytes.length + metadataBytes.length, valueBytes, 0, valueBytes.length);
+
+      if (oldAddress != 0) {
+         delete(hash, oldAddress);
+      }
+      long bucket = bucketFor(hash);
+      OffHeapMemory.putLong(address + NEXT_OFFSET, OffHeapMemory.getLong(bucket));
+      OffHeapMemory.putLong(bucket, address);
+      if (evictionEnabled) {
+         synchronized (lruLock) {
+            lruAddFirst(address);
+         }
+      }
+      count.incrementAndGet();
+      usedMemory.addAndGet(size);
+   }
+
+   /**
+    * Unlinks the entry from its bucket and from the LRU list, then releases its memory. Must be invoked with the
+    * bucket write lock held.
+    */
+   private void delete(int hash, long address) {
+      long bucket = bucketFor(hash);
+      long previous = 0;
+      long current = OffHeapMemory.getLong(bucket);
+      while (current != address) {
+         previous = current;
+         current = OffHeapMemory.getLong(current + NEXT_OFFSET);
+      }
+      long next = OffHeapMemory.getLong(address + NEXT_OFFSET);
+      if (previous == 0) {
+         OffHeapMemory.putLong(bucket, next);
+      } else {
+         OffHeapMemory.putLong(previous + NEXT_OFFSET, next);
+      }
+      if (evictionEnabled) {
+         synchronized (lruLock) {
+            lruUnlink(address);
+         }
+      }
+      count.decrementAndGet();
+      usedMemory.addAndGet(-entrySize(address));
+      OffHeapMemory.free(address);
+   }
+
+   /**
+    * Releases all the entries. Must be invoked with all the bucket write locks held.
+    */
+   private void clearEntries() {
+      if (buckets == 0)
+         return;
+      for (int i = 0; i < numBuckets; i++) {
+         long bucket = buckets + i * 8L;
+         long address = OffHeapMemory.getLong(bucket);
+         while (address != 0) {
+            long next = OffHeapMemory.getLong(address + NEXT_OFFSET);
+            count.decrementAndGet();
+            usedMemory.addAndGet(-entrySize(address));
+            OffHeapMemory.free(address);
+            address = next;
+         }
+         OffHeapMemory.putLong(bucket, 0);
+      }
+      synchronized (lruLock) {
+         lruHead = 0;
+         lruTail = 0;
+      }
+   }
+
+   private void lruAddFirst(long address) {
+      OffHeapMemory.putLong(address + LRU_PREVIOUS_OFFSET, 0);
+      OffHeapMemory.putLong(address + LRU_NEXT_OFFSET, lruHead);
+      if (lruHead != 0) {
+         OffHeapMemory.putLong(lruHead + LRU_PREVIOUS_OFFSET, address);
+      } else {
+         lruTail = address;
+      }
+      lruHead = address;
+   }
+
+   private void lruUnlink(long address) {
+      long previous = OffHeapMemory.getLong(address + LRU_PREVIOUS_OFFSET);
+      long next = OffHeapMemory.getLong(address + LRU_NEXT_OFFSET);
+      if (previous != 0) {
+         OffHeapMemory.putLong(previous + LRU_NEXT_OFFSET, next);
+      } else {
+         lruHead = next;
+      }
+      if (next != 0) {
+         OffHeapMemory.putLong(next + LRU_PREVIOUS_OFFSET, previous);
+      } else {
+         lruTail = previous;
+      }
+   }
+
+   private static long entrySize(int keyLength, int metadataLength, int valueLength) {
+      return (long) HEADER_SIZE + keyLength + metadataLength + valueLength;
+   }
+
+   private static long entrySize(long address) {
+      return entrySize(OffHeapMemory.getInt(address + KEY_LENGTH_OFFSET),
+                       OffHeapMemory.getInt(address + METADATA_LENGTH_OFFSET),
+                       OffHeapMemory.getInt(address + VALUE_LENGTH_OFFSET));
+   }
+
+   private static boolean canExpire(long address) {
+      return OffHeapMemory.getLong(address + LIFESPAN_OFFSET) > -1 || OffHeapMemory.getLong(address + MAX_IDLE_OFFSET) > -1;
+   }
+
+   private static boolean isExpired(long address, long now) {
+      return ExpiryHelper.isExpiredTransientMortal(OffHeapMemory.getLong(address + MAX_IDLE_OFFSET),
+                                                   OffHeapMemory.getLong(address + LAST_USED_OFFSET),
+                                                   OffHeapMemory.getLong(address + LIFESPAN_OFFSET),
+                                                   OffHeapMemory.getLong(address + CREATED_OFFSET), now);
+   }
+
+   /**
+    * Creates a heap copy of the entry. Must be invoked with the bucket lock held.
+    *
+    * @param key       the key, if already known, to avoid unmarshalling it again
+    * @param withValue whether the value should be unmarshalled
+    */
+   @SuppressWarnings("unchecked")
+   private InternalCacheEntry<K, V> toEntry(long address, Object key, boolean withValue) {
+      int keyLength = OffHeapMemory.getInt(address + KEY_LENGTH_OFFSET);
+      int metadataLength = OffHeapMemory.getInt(address + METADATA_LENGTH_OFFSET);
+      int valueLength = withValue ? OffHeapMemory.getInt(address + VALUE_LENGTH_OFFSET) : 0;
+      byte[] bytes = new byte[keyLength + metadataLength + valueLength];
+      OffHeapMemory.getBytes(address + HEADER_SIZE, bytes, 0, bytes.length);
+
+      K k = key != null ? (K) key : (K) unmarshall(bytes, 0, keyLength);
+      Metadata metadata = (Metadata) unmarshall(bytes, keyLength, metadataLength);
+      V v = withValue ? (V) unmarshall(bytes, keyLength + metadataLength, valueLength) : null;
+      long created = OffHeapMemory.getLong(address + CREATED_OFFSET);
+      long lastUsed = OffHeapMemory.getLong(address + LAST_USED_OFFSET);
+      long lifespan = OffHeapMemory.getLong(address + LIFESPAN_OFFSET);
+      long maxIdle = OffHeapMemory.getLong(address + MAX_IDLE_OFFSET);
+      return entryFactory.create(k, v, metadata, created, lifespan, lastUsed, maxIdle);
+   }
+
+   private byte[] marshall(Object o) {
+      try {
+         return marshaller.objectToByteBuffer(o);
+      } catch (IOException e) {
+         throw new CacheException("Unable to marshall " + o, e);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new CacheException(e);
+      }
+   }
+
+   private Object unmarshall(byte[] bytes, int offset, int length) {
+      try {
+         return marshaller.objectFromByteBuffer(bytes, offset, length);
+      } catch (IOException e) {
+         throw new CacheException("Unable to unmarshall an off-heap entry", e);
+      } catch (ClassNotFoundException e) {
+         throw new CacheException("Unable to unmarshall an off-heap entry", e);
+      }
+   }
+
+   private int hash(byte[] keyBytes) {
+      int h = hashFunction.hash(keyBytes);
+      return h ^ (h >>> 16);
+   }
+
+   private static int nextPowerOfTwo(int n) {
+      int power = 1;
+      while (power < n) {
+         power <<= 1;
+      }
+      return power;
+   }
+
+   /**
+    * Visits the buckets in order, copying the entries of one bucket at a time while holding its lock. Like the
+    * iterators of {@link org.infinispan.container.DefaultDataContainer}, it is weakly consistent.
+    */
+   private class EntryIterator implements Iterator<InternalCacheEntry<K, V>> {
+      private final ArrayDeque<InternalCacheEntry<K, V>> bucketEntries = new ArrayDeque<InternalCacheEntry<K, V>>();
+      private int nextBucket;
+
+      @Override
+      public boolean hasNext() {
+         while (bucketEntries.isEmpty() && nextBucket < numBuckets) {
+            int bucketIndex = nextBucket++;
+            Lock lock = locks[bucketIndex & (locks.length - 1)].readLock();
+            lock.lock();
+            try {
+               if (buckets == 0)
+                  return false;
+               long address = OffHeapMemory.getLong(buckets + bucketIndex * 8L);
+               while (address != 0) {
+                  bucketEntries.add(toEntry(address, null, true));
+                  address = OffHeapMemory.getLong(address + NEXT_OFFSET);
+               }
+            } finally {
+               lock.unlock();
+            }
+         }
+         return !bucketEntries.isEmpty();
+      }
+
+      @Override
+      public InternalCacheEntry<K, V> next() {
+         if (!hasNext())
+            throw new NoSuchElementException();
+         return bucketEntries.poll();
+      }
+
+      @Override
+      public void remove() {
+         throw new UnsupportedOperationException();
+      }
+   }
+
+   /**
+    * Minimal implementation needed for unmodifiable Set
+    */
+   private class KeySet extends AbstractSet<K> {
+      @Override
+      public Iterator<K> iterator() {
+         final Iterator<InternalCacheEntry<K, V>> it = new EntryIterator();
+         return new Iterator<K>() {
+            @Override
+            public boolean hasNext() {
+               return it.hasNext();
+            }
+
+            @Override
+            public K next() {
+               return it.next().getKey();
+            }
+
+            @Override
+            public void remove() {
+               throw new UnsupportedOperationException();
+            }
+         };
+      }
+
+      @Override
+      public boolean contains(Object o) {
+         return peek(o) != null;
+      }
+
+      @Override
+      public int size() {
+         return OffHeapDataContainer.this.size();
+      }
+   }
+
+   /**
+    * Minimal implementation needed for unmodifiable Set
+    */
+   private class EntrySet extends AbstractSet<InternalCacheEntry<K, V>> {
+
+      @Override
+      public boolean contains(Object o) {
+         if (!(o instanceof Map.Entry)) {
+            return false;
+         }
+
+         @SuppressWarnings("rawtypes")
+         Map.Entry e = (Map.Entry) o;
+         InternalCacheEntry ice = peek(e.getKey());
+         if (ice == null) {
+            return false;
+         }
+         return ice.getValue().equals(e.getValue());
+      }
+
+      @Override
+      public Iterator<InternalCacheEntry<K, V>> iterator() {
+         final Iterator<InternalCacheEntry<K, V>> it = new EntryIterator();
+         return new Iterator<InternalCacheEntry<K, V>>() {
+            @Override
+            public boolean hasNext() {
+               return it.hasNext();
+            }
+
+            @Override
+            public InternalCacheEntry<K, V> next() {
+               return CoreImmutables.immutableInternalCacheEntry(it.next());
+            }
+
+            @Override
+            public void remove() {
+               throw new UnsupportedOperationException();
+            }
+         };
+      }
+
+      @Override
+      public int size() {
+         return OffHeapDataContainer.this.size();
+      }
+   }
+
+   /**
+    * Minimal implementation needed for unmodifiable Collection
+    */
+   private class Values extends AbstractCollection<V> {
+      @Override
+      public Iterator<V> iterator() {
+         final Iterator<InternalCacheEntry<K, V>> it = new EntryIterator();
+         return new Iterator<V>() {
+            @Override
+            public boolean hasNext() {
+               return it.hasNext();
+            }
+
+            @Override
+            public V next() {
+               return it.next().getValue();
+            }
+
+            @Override
+            public void remove() {
+               throw new UnsupportedOperationException();
+            }
+         };
+      }
+
+      @Override
+      public int size() {
+         return OffHeapDataContainer.this.size();
+      }
+   }
+}
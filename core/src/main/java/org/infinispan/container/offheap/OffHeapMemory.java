@@ -0,0 +1,102 @@
+package org.infinispan.container.offheap;
+
+import java.security.AccessController;
+import java.security.PrivilegedActionException;
+import java.security.PrivilegedExceptionAction;
+
+import sun.misc.Unsafe;
+
+/**
+ * Thin wrapper around {@link Unsafe} used to allocate, access and release native memory.
+ * <p/>
+ * No bounds checking is performed: callers must only access memory they allocated and have not freed yet.
+ *
+ * @since 7.0
+ */
+final class OffHeapMemory {
+
+   private static final Unsafe UNSAFE = getUnsafe();
+   private static final long BYTE_ARRAY_BASE_OFFSET = UNSAFE.arrayBaseOffset(byte[].class);
+
+   private OffHeapMemory() {
+   }
+
+   static long allocate(long size) {
+      return UNSAFE.allocateMemory(size);
+   }
+
+   static long allocateZeroed(long size) {
+      long address = UNSAFE.allocateMemory(size);
+      UNSAFE.setMemory(address, size, (byte) 0);
+      return address;
+   }
+
+   static void free(long address) {
+      UNSAFE.freeMemory(address);
+   }
+
+   static long getLong(long address) {
+      return UNSAFE.getLong(address);
+   }
+
+   static void putLong(long address, long value) {
+      UNSAFE.putLong(address, value);
+   }
+
+   static int getInt(long address) {
+      return UNSAFE.getInt(address);
+   }
+
+   static void putInt(long address, int value) {
+      UNSAFE.putInt(address, value);
+   }
+
+   static byte getByte(long address) {
+      return UNSAFE.getByte(address);
+   }
+
+   static void putBytes(long address, byte[] src, int offset, int length) {
+      UNSAFE.copyMemory(src, BYTE_ARRAY_BASE_OFFSET + offset, null, address, length);
+   }
+
+   static void getBytes(long address, byte[] dst, int offset, int length) {
+      UNSAFE.copyMemory(null, address, dst, BYTE_ARRAY_BASE_OFFSET + offset, length);
+   }
+
+   static boolean equalBytes(long address, byte[] bytes) {
+      int i = 0;
+      for (; i + 8 <= bytes.length; i += 8) {
+         if (UNSAFE.getLong(address + i) != UNSAFE.getLong(bytes, BYTE_ARRAY_BASE_OFFSET + i))
+            return false;
+      }
+      for (; i < bytes.length; i++) {
+         if (UNSAFE.getByte(address + i) != bytes[i])
+            return false;
+      }
+      return true;
+   }
+
+   private static Unsafe getUnsafe() {
+      try {
+         return Unsafe.getUnsafe();
+      } catch (SecurityException tryReflectionInstead) {
+      }
+      try {
+         return AccessController.doPrivileged(new PrivilegedExceptionAction<Unsafe>() {
+            @Override
+            public Unsafe run() throws Exception {
+               Class<Unsafe> k = Unsafe.class;
+               for (java.lang.reflect.Field f : k.getDeclaredFields()) {
+                  f.setAccessible(true);
+                  Object x = f.get(null);
+                  if (k.isInstance(x))
+                     return k.cast(x);
+               }
+               throw new NoSuchFieldError("the Unsafe");
+            }
+         });
+      } catch (PrivilegedActionException e) {
+         throw new RuntimeException("Could not initialize intrinsics", e.getCause());
+      }
+   }
+}
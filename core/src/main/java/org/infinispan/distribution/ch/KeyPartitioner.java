@@ -0,0 +1,25 @@
+package org.infinispan.distribution.ch;
+
+/**
+ * Maps keys to hash space segments without requiring a {@link ConsistentHash} instance.
+ * <p/>
+ * The mapping of keys to segments never changes during the lifetime of a cache, so components that need to know the
+ * segment of a key before the first cache topology is installed (e.g. a segment-aware
+ * {@link org.infinispan.container.DataContainer} filled by preload) can use a key partitioner instead.
+ * Implementations must always return the same segment as {@link ConsistentHash#getSegment(Object)} for the
+ * consistent hashes installed in the cache.
+ *
+ * @since 7.0
+ */
+public interface KeyPartitioner {
+
+   /**
+    * @return The number of hash space segments.
+    */
+   int getNumSegments();
+
+   /**
+    * @return The segment of the given key, between {@code 0} and {@link #getNumSegments()}{@code  - 1}
+    */
+   int getSegment(Object key);
+}
@@ -0,0 +1,41 @@
+package org.infinispan.distribution.ch.impl;
+
+import org.infinispan.commons.hash.Hash;
+import org.infinispan.commons.util.Util;
+import org.infinispan.distribution.ch.KeyPartitioner;
+
+/**
+ * Key partitioner that maps keys to segments in the same way as {@link DefaultConsistentHash}: the normalized hash
+ * space is split into {@code numSegments} ranges of equal size.
+ *
+ * @since 7.0
+ */
+public class HashFunctionPartitioner implements KeyPartitioner {
+   private final Hash hashFunction;
+   private final int numSegments;
+   private final int segmentSize;
+
+   public HashFunctionPartitioner(Hash hashFunction, int numSegments) {
+      if (numSegments < 1)
+         throw new IllegalArgumentException("The number of segments must be strictly positive");
+
+      this.hashFunction = hashFunction;
+      this.numSegments = numSegments;
+      this.segmentSize = Util.getSegmentSize(numSegments);
+   }
+
+   @Override
+   public int getNumSegments() {
+      return numSegments;
+   }
+
+   @Override
+   public int getSegment(Object key) {
+      return Util.getNormalizedHash(key, hashFunction) / segmentSize;
+   }
+
+   @Override
+   public String toString() {
+      return "HashFunctionPartitioner{hashFunction=" + hashFunction + ", numSegments=" + numSegments + '}';
+   }
+}
@@ -0,0 +1,38 @@
+package org.infinispan.distribution.ch.impl;
+
+import org.infinispan.commons.hash.Hash;
+import org.infinispan.distribution.ch.KeyPartitioner;
+
+/**
+ * Key partitioner that maps keys to segments in the same way as {@link ReplicatedConsistentHash}.
+ *
+ * @since 7.0
+ */
+public class ReplicatedHashPartitioner implements KeyPartitioner {
+   private final Hash hashFunction;
+   private final int numSegments;
+
+   public ReplicatedHashPartitioner(Hash hashFunction, int numSegments) {
+      if (numSegments < 1)
+         throw new IllegalArgumentException("The number of segments must be strictly positive");
+
+      this.hashFunction = hashFunction;
+      this.numSegments = numSegments;
+   }
+
+   @Override
+   public int getNumSegments() {
+      return numSegments;
+   }
+
+   @Override
+   public int getSegment(Object key) {
+      // The result must always be positive, so we make sure the dividend is positive first
+      return (hashFunction.hash(key) & Integer.MAX_VALUE) % numSegments;
+   }
+
+   @Override
+   public String toString() {
+      return "ReplicatedHashPartitioner{hashFunction=" + hashFunction + ", numSegments=" + numSegments + '}';
+   }
+}
@@ -158,9 +158,9 @@ protected Builder(Hash hashFunction, int numOwners, int numSegments, List<Addres
          this.hashFunction = hashFunction;
          this.numSegments = numSegments;
          this.numOwners = numOwners;
-         this.actualNumOwners = Math.min(numOwners, members.size());
-         this.sortedMembers = sort(members, capacityFactors);
-         this.capacityFactors = populateCapacityFactors(capacityFactors, sortedMembers);
+         this.capacityFactors = populateCapacityFactors(capacityFactors, members);
+         this.actualNumOwners = computeActualNumOwners(numOwners, members, this.capacityFactors);
+         this.sortedMembers = sort(members, this.capacityFactors);
          this.segmentSize = Util.getSegmentSize(numSegments);
          this.segmentOwners = new List[numSegments];
          for (int i = 0; i < numSegments; i++) {
@@ -169,17 +169,34 @@ protected Builder(Hash hashFunction, int numOwners, int numSegments, List<Addres
          stats = new OwnershipStatistics(members);
       }
 
-      private Map<Address, Float> populateCapacityFactors(Map<Address, Float> capacityFactors, List<Address> sortedMembers) {
-         if (capacityFactors != null)
+      private Map<Address, Float> populateCapacityFactors(Map<Address, Float> capacityFactors, List<Address> members) {
+         if (capacityFactors != null && capacityFactors.keySet().containsAll(members))
             return capacityFactors;
 
+         // Members without a capacity factor have the default factor of 1
          Map<Address, Float> realCapacityFactors = new HashMap<>();
-         for (Address member : sortedMembers) {
-            realCapacityFactors.put(member, 1.0f);
+         for (Address member : members) {
+            Float capacityFactor = capacityFactors != null ? capacityFactors.get(member) : null;
+            realCapacityFactors.put(member, capacityFactor != null ? capacityFactor : 1.0f);
          }
          return realCapacityFactors;
       }
 
+      private int computeActualNumOwners(int numOwners, List<Address> members, Map<Address, Float> capacityFactors) {
+         // Nodes with a capacity factor of 0 never own segments, nodes without one have the default factor of 1
+         int nodesWithLoad = members.size();
+         if (capacityFactors != null) {
+            nodesWithLoad = 0;
+            for (Address node : members) {
+               Float capacityFactor = capacityFactors.get(node);
+               if (capacityFactor == null || capacityFactor != 0f) {
+                  nodesWithLoad++;
+               }
+            }
+         }
+         return Math.min(numOwners, nodesWithLoad);
+      }
+
       protected void addOwnerNoCheck(int segment, Address owner) {
          segmentOwners[segment].add(owner);
          stats.incOwned(owner);
@@ -0,0 +1,35 @@
+package org.infinispan.distribution.group;
+
+import org.infinispan.distribution.ch.KeyPartitioner;
+
+/**
+ * {@link KeyPartitioner} wrapper that maps keys to the segment of their group, mirroring
+ * {@link GroupingConsistentHash}.
+ *
+ * @since 7.0
+ */
+public class GroupingPartitioner implements KeyPartitioner {
+   private final KeyPartitioner partitioner;
+   private final GroupManager groupManager;
+
+   public GroupingPartitioner(KeyPartitioner partitioner, GroupManager groupManager) {
+      this.partitioner = partitioner;
+      this.groupManager = groupManager;
+   }
+
+   @Override
+   public int getNumSegments() {
+      return partitioner.getNumSegments();
+   }
+
+   @Override
+   public int getSegment(Object key) {
+      String groupKey = groupManager.getGroup(key);
+      return partitioner.getSegment(groupKey != null ? groupKey : key);
+   }
+
+   @Override
+   public String toString() {
+      return "GroupingPartitioner:" + partitioner;
+   }
+}
@@ -0,0 +1,20 @@
+package org.infinispan.eviction;
+
+/**
+ * Calculates the weight of a cache entry when eviction is bounded by memory size rather than by the number of
+ * entries, see {@link org.infinispan.configuration.cache.EvictionConfigurationBuilder#maxMemory(long)}.
+ * <p />
+ * The returned value does not need to be exact, but it should be proportional to the memory the key and the value
+ * retain, and it must not change while the entry is stored.
+ *
+ * @since 7.0
+ */
+public interface EntrySizeCalculator<K, V> {
+
+   /**
+    * @param key the key of the entry
+    * @param value the value of the entry
+    * @return the estimated size in bytes of the key and the value, never negative
+    */
+   long calculateSize(K key, V value);
+}
@@ -16,7 +16,12 @@ public enum EvictionStrategy {
    @Deprecated
    FIFO, 
    LRU, 
-   LIRS;
+   LIRS,
+   /**
+    * Window TinyLFU: new entries enter a small LRU window, and leave it only if their estimated access frequency is
+    * higher than the one of the entry they would replace. Resists scans better than LRU and LIRS.
+    */
+   TINY_LFU;
 
    public boolean isEnabled() {
       return this != NONE;
@@ -0,0 +1,63 @@
+package org.infinispan.eviction.impl;
+
+import org.infinispan.commons.CacheException;
+import org.infinispan.commons.marshall.StreamingMarshaller;
+import org.infinispan.eviction.EntrySizeCalculator;
+import org.infinispan.factories.annotations.ComponentName;
+import org.infinispan.factories.annotations.Inject;
+import org.infinispan.io.MarshalledValueByteStream;
+import org.infinispan.marshall.core.MarshalledValue;
+
+import static org.infinispan.factories.KnownComponentNames.CACHE_MARSHALLER;
+
+/**
+ * Default {@link EntrySizeCalculator}, which uses the marshalled size of keys and values as their weight.
+ * <p />
+ * Objects stored as {@link MarshalledValue} (i.e. with store as binary enabled) and byte arrays are sized from their
+ * bytes, other objects are marshalled to find out their size. This makes every write to a memory bounded cache pay for
+ * an extra marshalling of the key and value unless store as binary is enabled, which avoids it.
+ * <p />
+ * A {@link MarshalledValue} without bytes (e.g. one that is not fully read yet) has nothing left to marshall. It is
+ * given a fixed weight of 1KB instead of 0, so it still counts towards the memory bound.
+ *
+ * @since 7.0
+ */
+public class MarshalledSizeCalculator implements EntrySizeCalculator<Object, Object> {
+
+   /**
+    * The weight of a {@link MarshalledValue} whose size can't be known.
+    */
+   static final long UNKNOWN_SIZE = 1024;
+
+   private StreamingMarshaller marshaller;
+
+   @Inject
+   public void inject(@ComponentName(CACHE_MARSHALLER) StreamingMarshaller marshaller) {
+      this.marshaller = marshaller;
+   }
+
+   @Override
+   public long calculateSize(Object key, Object value) {
+      return sizeOf(key) + sizeOf(value);
+   }
+
+   private long sizeOf(Object o) {
+      if (o == null) {
+         return 0;
+      } else if (o instanceof MarshalledValue) {
+         MarshalledValueByteStream raw = ((MarshalledValue) o).getRaw();
+         return raw != null ? raw.size() : UNKNOWN_SIZE;
+      } else if (o instanceof byte[]) {
+         return ((byte[]) o).length;
+      } else {
+         try {
+            return marshaller.objectToBuffer(o).getLength();
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CacheException("Interrupted while calculating the size of " + o, e);
+         } catch (Exception e) {
+            throw new CacheException("Unable to marshall " + o + " to calculate its size", e);
+         }
+      }
+   }
+}
@@ -5,8 +5,13 @@
 import org.infinispan.commons.CacheConfigurationException;
 import org.infinispan.container.DataContainer;
 import org.infinispan.container.DefaultDataContainer;
+import org.infinispan.container.DefaultSegmentedDataContainer;
+import org.infinispan.container.offheap.OffHeapDataContainer;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.eviction.EntrySizeCalculator;
 import org.infinispan.eviction.EvictionStrategy;
 import org.infinispan.eviction.EvictionThreadPolicy;
+import org.infinispan.eviction.impl.MarshalledSizeCalculator;
 import org.infinispan.factories.annotations.DefaultFactoryFor;
 
 /**
@@ -30,14 +35,33 @@ public <T> T construct(Class<T> componentType) {
          int level = configuration.locking().concurrencyLevel();
          Equivalence keyEquivalence = configuration.dataContainer().keyEquivalence();
 
+         if (configuration.dataContainer().storageType().isOffHeap()) {
+            // keys are compared in their marshalled form, so the key equivalence does not apply
+            int maxEntries = st.isEnabled() ? configuration.eviction().maxEntries() : -1;
+            long maxMemory = st.isEnabled() ? configuration.eviction().maxMemory() : -1;
+            return (T) new OffHeapDataContainer(level, maxEntries, maxMemory);
+         }
+
          switch (st) {
             case NONE:
+               if (configuration.dataContainer().segmented()) {
+                  return (T) new DefaultSegmentedDataContainer(level, keyEquivalence,
+                        componentRegistry.getOrCreateComponent(KeyPartitioner.class));
+               }
                return (T) DefaultDataContainer.unBoundedDataContainer(
                      level, keyEquivalence);
             case UNORDERED:
             case LRU:
             case FIFO:
             case LIRS:
+            case TINY_LFU:
+               EvictionThreadPolicy policy = configuration.eviction().threadPolicy();
+               long maxMemory = configuration.eviction().maxMemory();
+               if (maxMemory > 0) {
+                  return (T) DefaultDataContainer.boundedDataContainer(
+                     level, maxMemory, st, policy, keyEquivalence, createSizeCalculator());
+               }
+
                int maxEntries = configuration.eviction().maxEntries();
                //handle case when < 0 value signifies unbounded container 
                if(maxEntries < 0) {
@@ -45,8 +69,6 @@ public <T> T construct(Class<T> componentType) {
                          level, keyEquivalence);
                }
 
-               EvictionThreadPolicy policy = configuration.eviction().threadPolicy();
-
                return (T) DefaultDataContainer.boundedDataContainer(
                   level, maxEntries, st, policy, keyEquivalence);
             default:
@@ -55,4 +77,13 @@ public <T> T construct(Class<T> componentType) {
          }
       }
    }
+
+   private EntrySizeCalculator createSizeCalculator() {
+      EntrySizeCalculator sizeCalculator = configuration.eviction().sizeCalculator();
+      if (sizeCalculator == null) {
+         sizeCalculator = new MarshalledSizeCalculator();
+      }
+      componentRegistry.wireDependencies(sizeCalculator);
+      return sizeCalculator;
+   }
 }
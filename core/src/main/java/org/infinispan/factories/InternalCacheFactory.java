@@ -7,6 +7,8 @@
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.jmx.CacheJmxRegistration;
 import org.infinispan.manager.DefaultCacheManager;
+import org.infinispan.notifications.cachelistener.cluster.BatchingClusterEventSender;
+import org.infinispan.notifications.cachelistener.cluster.ClusterEventSender;
 import org.infinispan.upgrade.RollingUpgradeManager;
 import org.infinispan.transaction.xa.recovery.RecoveryAdminOperations;
 import org.infinispan.xsite.XSiteAdminOperations;
@@ -84,6 +86,9 @@ private void bootstrap(String cacheName, AdvancedCache<?, ?> cache, Configuratio
       if (configuration.sites().hasEnabledBackups()) {
          componentRegistry.registerComponent(new XSiteAdminOperations(), XSiteAdminOperations.class.getName(), true);
       }
+      if (configuration.clustering().cacheMode().isClustered()) {
+         componentRegistry.registerComponent(new BatchingClusterEventSender(), ClusterEventSender.class.getName(), true);
+      }
       // The RollingUpgradeManager should always be added so it is registered in JMX.
       componentRegistry.registerComponent(new RollingUpgradeManager(), RollingUpgradeManager.class.getName(), true);
    }
@@ -0,0 +1,45 @@
+package org.infinispan.factories;
+
+import org.infinispan.configuration.cache.HashConfiguration;
+import org.infinispan.distribution.ch.ConsistentHashFactory;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.distribution.ch.impl.HashFunctionPartitioner;
+import org.infinispan.distribution.ch.impl.ReplicatedConsistentHashFactory;
+import org.infinispan.distribution.ch.impl.ReplicatedHashPartitioner;
+import org.infinispan.distribution.group.GroupManager;
+import org.infinispan.distribution.group.GroupingPartitioner;
+import org.infinispan.factories.annotations.DefaultFactoryFor;
+
+/**
+ * Constructs the {@link KeyPartitioner} shared by the segment-aware components of a cache (the data container and
+ * the cache stores).
+ *
+ * @since 7.0
+ */
+@DefaultFactoryFor(classes = KeyPartitioner.class)
+public class KeyPartitionerFactory extends AbstractNamedCacheComponentFactory implements AutoInstantiableFactory {
+
+   /**
+    * The key partitioner must map keys to the same segments as the consistent hashes that
+    * StateTransferManagerImpl will install, so it follows the same choice of consistent hash factory.
+    */
+   @Override
+   public <T> T construct(Class<T> componentType) {
+      HashConfiguration hashConfiguration = configuration.clustering().hash();
+      ConsistentHashFactory factory = hashConfiguration.consistentHashFactory();
+      boolean replicated = factory != null ? factory instanceof ReplicatedConsistentHashFactory
+            : !configuration.clustering().cacheMode().isDistributed();
+      KeyPartitioner partitioner;
+      if (replicated) {
+         partitioner = new ReplicatedHashPartitioner(hashConfiguration.hash(), hashConfiguration.numSegments());
+      } else {
+         partitioner = new HashFunctionPartitioner(hashConfiguration.hash(), hashConfiguration.numSegments());
+      }
+
+      GroupManager groupManager = componentRegistry.getOrCreateComponent(GroupManager.class);
+      if (groupManager != null) {
+         partitioner = new GroupingPartitioner(partitioner, groupManager);
+      }
+      return componentType.cast(partitioner);
+   }
+}
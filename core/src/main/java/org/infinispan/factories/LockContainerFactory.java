@@ -4,6 +4,7 @@
 import org.infinispan.util.concurrent.locks.containers.LockContainer;
 import org.infinispan.util.concurrent.locks.containers.OwnableReentrantPerEntryLockContainer;
 import org.infinispan.util.concurrent.locks.containers.OwnableReentrantStripedLockContainer;
+import org.infinispan.util.concurrent.locks.containers.PooledPerEntryLockContainer;
 import org.infinispan.util.concurrent.locks.containers.ReentrantPerEntryLockContainer;
 import org.infinispan.util.concurrent.locks.containers.ReentrantStripedLockContainer;
 
@@ -19,6 +20,11 @@ public class LockContainerFactory extends AbstractNamedCacheComponentFactory imp
    @SuppressWarnings("unchecked")
    @Override
    public <T> T construct(Class<T> componentType) {
+      if (configuration.locking().useLockPooling()) {
+         // The pooled locks are owned by the lock owner of the invocation context, i.e. the thread if not transactional
+         return (T) new PooledPerEntryLockContainer(configuration.locking().concurrencyLevel(),
+                                                    configuration.dataContainer().keyEquivalence());
+      }
       boolean notTransactional = !configuration.transaction().transactionMode().isTransactional();
       LockContainer<?> lockContainer = configuration.locking().useLockStriping() ?
             notTransactional ? new ReentrantStripedLockContainer(configuration.locking().concurrencyLevel(),
@@ -1,6 +1,8 @@
 package org.infinispan.interceptors;
 
 import org.infinispan.commands.FlagAffectedCommand;
+import org.infinispan.commands.VisitableCommand;
+import org.infinispan.commands.read.GetAllCommand;
 import org.infinispan.commands.read.GetKeyValueCommand;
 import org.infinispan.commands.write.EvictCommand;
 import org.infinispan.commands.write.PutKeyValueCommand;
@@ -8,11 +10,13 @@
 import org.infinispan.commands.write.RemoveCommand;
 import org.infinispan.commands.write.ReplaceCommand;
 import org.infinispan.commands.write.WriteCommand;
+import org.infinispan.commons.util.concurrent.NotifyingFuture;
 import org.infinispan.container.DataContainer;
 import org.infinispan.context.Flag;
 import org.infinispan.context.InvocationContext;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
+import org.infinispan.interceptors.base.InvocationCallback;
 import org.infinispan.interceptors.base.JmxStatsCommandInterceptor;
 import org.infinispan.jmx.annotations.DisplayType;
 import org.infinispan.jmx.annotations.MBean;
@@ -91,16 +95,64 @@ public Object visitGetKeyValueCommand(InvocationContext ctx, GetKeyValueCommand
 
       Object retval = invokeNextInterceptor(ctx, command);
 
+      if (statisticsEnabled) {
+         updateReadStatistics(ctx, start, retval);
+      }
+
+      return retval;
+   }
+
+   /**
+    * Records the statistics of a local read served straight from the data container, without invoking the interceptor
+    * chain.
+    *
+    * @param start the time the read started, as returned by {@link TimeService#time()}
+    * @param hit   whether the key was found
+    */
+   public void recordDirectRead(long start, boolean hit) {
+      long intervalMilliseconds = timeService.timeDuration(start, TimeUnit.MILLISECONDS);
+      if (hit) {
+         hitTimes.add(intervalMilliseconds);
+         hits.increment();
+      } else {
+         missTimes.add(intervalMilliseconds);
+         misses.increment();
+      }
+   }
+
+   private void updateReadStatistics(InvocationContext ctx, long start, Object retval) {
+      long intervalMilliseconds = timeService.timeDuration(start, TimeUnit.MILLISECONDS);
+      if (ctx.isOriginLocal()) {
+         if (retval == null) {
+            missTimes.add(intervalMilliseconds);
+            misses.increment();
+         } else {
+            hitTimes.add(intervalMilliseconds);
+            hits.increment();
+         }
+      }
+   }
+
+   @Override
+   public Object visitGetAllCommand(InvocationContext ctx, GetAllCommand command) throws Throwable {
+      long start = 0;
+      boolean statisticsEnabled = getStatisticsEnabled(command);
+      if (statisticsEnabled)
+         start = timeService.time();
+
+      Map<?, ?> retval = (Map<?, ?>) invokeNextInterceptor(ctx, command);
+
       if (statisticsEnabled) {
          long intervalMilliseconds = timeService.timeDuration(start, TimeUnit.MILLISECONDS);
-         if (ctx.isOriginLocal()) {
-            if (retval == null) {
-               missTimes.add(intervalMilliseconds);
-               misses.increment();
-            } else {
-               hitTimes.add(intervalMilliseconds);
-               hits.increment();
-            }
+         int requests = command.getKeys().size();
+         if (ctx.isOriginLocal() && requests > 0) {
+            int hitCount = retval.size();
+            int missCount = requests - hitCount;
+            // the time is split between hits and misses so that the average read time stays per key
+            hitTimes.add(intervalMilliseconds * hitCount / requests);
+            missTimes.add(intervalMilliseconds * missCount / requests);
+            hits.add(hitCount);
+            misses.add(missCount);
          }
       }
 
@@ -147,13 +199,19 @@ private Object updateStoreStatistics(InvocationContext ctx, WriteCommand command
 
       Object retval = invokeNextInterceptor(ctx, command);
 
-      if (statisticsEnabled && ctx.isOriginLocal() && command.isSuccessful()) {
+      if (statisticsEnabled) {
+         updateWriteStatistics(ctx, command, start);
+      }
+
+      return retval;
+   }
+
+   private void updateWriteStatistics(InvocationContext ctx, WriteCommand command, long start) {
+      if (ctx.isOriginLocal() && command.isSuccessful()) {
          long intervalMilliseconds = timeService.timeDuration(start, TimeUnit.MILLISECONDS);
          storeTimes.add(intervalMilliseconds);
          stores.increment();
       }
-
-      return retval;
    }
 
    @Override
@@ -165,7 +223,15 @@ public Object visitRemoveCommand(InvocationContext ctx, RemoveCommand command) t
 
       Object retval = invokeNextInterceptor(ctx, command);
 
-      if (statisticsEnabled && ctx.isOriginLocal()) {
+      if (statisticsEnabled) {
+         updateRemoveStatistics(ctx, command, start, retval);
+      }
+
+      return retval;
+   }
+
+   private void updateRemoveStatistics(InvocationContext ctx, RemoveCommand command, long start, Object retval) {
+      if (ctx.isOriginLocal()) {
          if (command.isConditional()) {
             if (command.isSuccessful())
                increaseRemoveHits(start);
@@ -178,8 +244,35 @@ public Object visitRemoveCommand(InvocationContext ctx, RemoveCommand command) t
                increaseRemoveHits(start);
          }
       }
+   }
 
-      return retval;
+   @Override
+   public NotifyingFuture<Object> visitCommandAsync(final InvocationContext ctx, VisitableCommand command) throws Throwable {
+      if (!(command instanceof GetKeyValueCommand || command instanceof PutKeyValueCommand ||
+                  command instanceof ReplaceCommand || command instanceof RemoveCommand))
+         return super.visitCommandAsync(ctx, command);
+
+      final FlagAffectedCommand flagAffectedCommand = (FlagAffectedCommand) command;
+      if (!getStatisticsEnabled(flagAffectedCommand))
+         return invokeNextInterceptorAsync(ctx, command);
+
+      final long start = timeService.time();
+      return whenComplete(invokeNextInterceptorAsync(ctx, command), new InvocationCallback() {
+         @Override
+         public Object apply(Object returnValue, Throwable throwable) throws Throwable {
+            if (throwable != null)
+               throw throwable;
+
+            if (flagAffectedCommand instanceof GetKeyValueCommand) {
+               updateReadStatistics(ctx, start, returnValue);
+            } else if (flagAffectedCommand instanceof RemoveCommand) {
+               updateRemoveStatistics(ctx, (RemoveCommand) flagAffectedCommand, start, returnValue);
+            } else {
+               updateWriteStatistics(ctx, (WriteCommand) flagAffectedCommand, start);
+            }
+            return returnValue;
+         }
+      });
    }
 
    private void increaseRemoveHits(long start) {
@@ -27,6 +27,7 @@
 import org.infinispan.jmx.annotations.ManagedOperation;
 import org.infinispan.jmx.annotations.MeasurementType;
 import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.marshall.core.MarshalledEntry;
 import org.infinispan.marshall.core.MarshalledEntryImpl;
 import org.infinispan.metadata.EmbeddedMetadata;
 import org.infinispan.metadata.Metadata;
@@ -39,6 +40,8 @@
 import javax.transaction.Transaction;
 import javax.transaction.TransactionManager;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
@@ -192,11 +195,13 @@ public Object visitPutMapCommand(InvocationContext ctx, PutMapCommand command) t
       if (!isStoreEnabled(command) || ctx.isInTxScope()) return returnValue;
 
       Map<Object, Object> map = command.getMap();
+      List<Object> keys = new ArrayList<Object>(map.size());
       for (Object key : map.keySet()) {
          if (isProperWriter(ctx, command, key)) {
-            storeEntry(ctx, key, command);
+            keys.add(key);
          }
       }
+      storeEntries(ctx, keys, command);
       if (getStatisticsEnabled()) cacheStores.getAndAdd(map.size());
       return returnValue;
    }
@@ -282,8 +287,16 @@ public Object visitReplaceCommand(InvocationContext ctx, ReplaceCommand command)
       @Override
       public Object visitPutMapCommand(InvocationContext ctx, PutMapCommand command) throws Throwable {
          Map<Object, Object> map = command.getMap();
-         for (Object key : map.keySet())
-            visitSingleStore(ctx, command, key);
+         List<MarshalledEntry> entries = new ArrayList<MarshalledEntry>(map.size());
+         for (Object key : map.keySet()) {
+            if (isProperWriter(ctx, command, key)) {
+               if (generateStatistics) putCount++;
+               InternalCacheValue sv = getStoredValue(key, ctx);
+               entries.add(new MarshalledEntryImpl(key, sv.getValue(), internalMetadata(sv), marshaller));
+            }
+         }
+         if (!entries.isEmpty())
+            persistenceManager.writeBatchToAllStores(entries, command.hasFlag(Flag.SKIP_SHARED_CACHE_STORE) ? PRIVATE : BOTH);
          return null;
       }
 
@@ -338,6 +351,31 @@ void storeEntry(InvocationContext ctx, Object key, FlagAffectedCommand command)
       if (getLog().isTraceEnabled()) getLog().tracef("Stored entry %s under key %s", sv, key);
    }
 
+   /**
+    * Stores all the entries with a single batch per store, splitting them according to whether the shared stores
+    * should be skipped for each key.
+    */
+   void storeEntries(InvocationContext ctx, Collection<Object> keys, FlagAffectedCommand command) {
+      if (keys.isEmpty())
+         return;
+      List<MarshalledEntry> allStores = new ArrayList<MarshalledEntry>(keys.size());
+      List<MarshalledEntry> privateStores = new ArrayList<MarshalledEntry>();
+      for (Object key : keys) {
+         InternalCacheValue sv = getStoredValue(key, ctx);
+         MarshalledEntry me = new MarshalledEntryImpl(key, sv.getValue(), internalMetadata(sv), marshaller);
+         if (skipSharedStores(ctx, key, command)) {
+            privateStores.add(me);
+         } else {
+            allStores.add(me);
+         }
+      }
+      if (!allStores.isEmpty())
+         persistenceManager.writeBatchToAllStores(allStores, BOTH);
+      if (!privateStores.isEmpty())
+         persistenceManager.writeBatchToAllStores(privateStores, PRIVATE);
+      if (getLog().isTraceEnabled()) getLog().tracef("Stored entries under keys %s", keys);
+   }
+
    protected boolean skipSharedStores(InvocationContext ctx, Object key, FlagAffectedCommand command) {
       return !ctx.isOriginLocal() || command.hasFlag(Flag.SKIP_SHARED_CACHE_STORE);
    }
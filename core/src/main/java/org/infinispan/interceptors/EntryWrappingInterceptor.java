@@ -4,6 +4,8 @@
 import org.infinispan.commands.CommandsFactory;
 import org.infinispan.commands.DataCommand;
 import org.infinispan.commands.FlagAffectedCommand;
+import org.infinispan.commands.VisitableCommand;
+import org.infinispan.commands.read.GetAllCommand;
 import org.infinispan.commands.read.GetKeyValueCommand;
 import org.infinispan.commands.remote.GetKeysInGroupCommand;
 import org.infinispan.commands.tx.CommitCommand;
@@ -19,6 +21,7 @@
 import org.infinispan.commands.write.RemoveCommand;
 import org.infinispan.commands.write.ReplaceCommand;
 import org.infinispan.commands.write.WriteCommand;
+import org.infinispan.commons.util.concurrent.NotifyingFuture;
 import org.infinispan.commons.util.concurrent.ParallelIterableMap;
 import org.infinispan.container.DataContainer;
 import org.infinispan.container.EntryFactory;
@@ -36,6 +39,7 @@
 import org.infinispan.filter.CompositeKeyFilter;
 import org.infinispan.filter.KeyFilter;
 import org.infinispan.interceptors.base.CommandInterceptor;
+import org.infinispan.interceptors.base.InvocationCallback;
 import org.infinispan.interceptors.locking.ClusteringDependentLogic;
 import org.infinispan.metadata.Metadata;
 import org.infinispan.statetransfer.OutdatedTopologyException;
@@ -140,6 +144,28 @@ public final Object visitGetKeyValueCommand(InvocationContext ctx, GetKeyValueCo
       }
    }
 
+   @Override
+   public final Object visitGetAllCommand(InvocationContext ctx, GetAllCommand command) throws Throwable {
+      try {
+         for (Object key : command.getKeys()) {
+            entryFactory.wrapEntryForReading(ctx, key, null);
+         }
+         return invokeNextInterceptor(ctx, command);
+      } finally {
+         //needed because entries might be added in L1
+         if (!ctx.isInTxScope())
+            commitContextEntries(ctx, command, null);
+         else {
+            for (Object key : command.getKeys()) {
+               CacheEntry entry = ctx.lookupEntry(key);
+               if (entry != null) {
+                  entry.setSkipLookup(true);
+               }
+            }
+         }
+      }
+   }
+
    @Override
    public final Object visitInvalidateCommand(InvocationContext ctx, InvalidateCommand command) throws Throwable {
       if (command.getKeys() != null) {
@@ -374,7 +400,13 @@ private void stopStateTransferIfNeeded(InvocationContext context, FlagAffectedCo
 
    private Object invokeNextAndApplyChanges(InvocationContext ctx, FlagAffectedCommand command, Metadata metadata) throws Throwable {
       final Object result = invokeNextInterceptor(ctx, command);
+      applyChanges(ctx, command, metadata);
 
+      if (trace) log.tracef("The return value is %s", result);
+      return result;
+   }
+
+   private void applyChanges(InvocationContext ctx, FlagAffectedCommand command, Metadata metadata) {
       if (!ctx.isInTxScope()) {
          stateTransferLock.acquireSharedTopologyLock();
          try {
@@ -412,9 +444,60 @@ private Object invokeNextAndApplyChanges(InvocationContext ctx, FlagAffectedComm
             stateTransferLock.releaseSharedTopologyLock();
          }
       }
+   }
 
-      if (trace) log.tracef("The return value is %s", result);
-      return result;
+   @Override
+   public NotifyingFuture<Object> visitCommandAsync(final InvocationContext ctx, VisitableCommand command) throws Throwable {
+      if (ctx.isInTxScope())
+         return super.visitCommandAsync(ctx, command);
+
+      if (command instanceof GetKeyValueCommand) {
+         final GetKeyValueCommand getCommand = (GetKeyValueCommand) command;
+         entryFactory.wrapEntryForReading(ctx, getCommand.getKey(), null);
+         return whenComplete(invokeNextInterceptorAsync(ctx, command), new InvocationCallback() {
+            @Override
+            public Object apply(Object returnValue, Throwable throwable) throws Throwable {
+               //needed because entries might be added in L1
+               commitContextEntries(ctx, getCommand, null);
+               if (throwable != null)
+                  throw throwable;
+               return returnValue;
+            }
+         });
+      }
+
+      final DataWriteCommand writeCommand;
+      final Metadata metadata;
+      if (command instanceof PutKeyValueCommand) {
+         PutKeyValueCommand putCommand = (PutKeyValueCommand) command;
+         wrapEntryForPutIfNeeded(ctx, putCommand);
+         writeCommand = putCommand;
+         metadata = putCommand.getMetadata();
+      } else if (command instanceof RemoveCommand) {
+         RemoveCommand removeCommand = (RemoveCommand) command;
+         wrapEntryForRemoveIfNeeded(ctx, removeCommand);
+         writeCommand = removeCommand;
+         metadata = null;
+      } else if (command instanceof ReplaceCommand) {
+         ReplaceCommand replaceCommand = (ReplaceCommand) command;
+         wrapEntryForReplaceIfNeeded(ctx, replaceCommand);
+         writeCommand = replaceCommand;
+         metadata = replaceCommand.getMetadata();
+      } else {
+         return super.visitCommandAsync(ctx, command);
+      }
+
+      return whenComplete(invokeNextInterceptorAsync(ctx, command), new InvocationCallback() {
+         @Override
+         public Object apply(Object returnValue, Throwable throwable) throws Throwable {
+            if (throwable != null)
+               throw throwable;
+
+            applyChanges(ctx, writeCommand, metadata);
+            if (trace) log.tracef("The return value is %s", returnValue);
+            return returnValue;
+         }
+      });
    }
 
    /**
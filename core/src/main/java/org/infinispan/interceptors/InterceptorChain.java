@@ -5,6 +5,8 @@
 import org.infinispan.commons.util.InfinispanCollections;
 import org.infinispan.commons.util.ReflectionUtil;
 import org.infinispan.commons.CacheConfigurationException;
+import org.infinispan.commons.util.CollectionFactory;
+import org.infinispan.commons.util.concurrent.NotifyingFuture;
 import org.infinispan.context.InvocationContext;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.factories.annotations.Start;
@@ -13,13 +15,23 @@
 import org.infinispan.factories.scopes.Scope;
 import org.infinispan.factories.scopes.Scopes;
 import org.infinispan.interceptors.base.CommandInterceptor;
+import org.infinispan.interceptors.base.InvocationCallback;
+import org.infinispan.interceptors.distribution.NonTxDistributionInterceptor;
+import org.infinispan.interceptors.locking.NonTransactionalLockingInterceptor;
+import org.infinispan.statetransfer.StateTransferInterceptor;
+import org.infinispan.statetransfer.TransactionSynchronizerInterceptor;
+import org.infinispan.util.concurrent.CompletableNotifyingFuture;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
@@ -42,6 +54,44 @@ public class InterceptorChain {
    final ReentrantLock lock = new ReentrantLock();
    final ComponentMetadataRepo componentMetadataRepo;
 
+   private final ConcurrentMap<Class<?>, Boolean> asyncInterceptorTypes = CollectionFactory.makeConcurrentMap();
+
+   /**
+    * The interceptors which don't do anything for a read of a key already stored in the data container, except the
+    * things that {@link org.infinispan.cache.impl.CacheImpl} can do without them: checking the status of the cache,
+    * updating the statistics and notifying the listeners.
+    */
+   private static final Set<Class<? extends CommandInterceptor>> DIRECT_READ_INTERCEPTORS =
+         new HashSet<Class<? extends CommandInterceptor>>(Arrays.asList(
+               InvocationContextInterceptor.class, IsMarshallableInterceptor.class, CacheMgmtInterceptor.class,
+               StateTransferInterceptor.class, TransactionSynchronizerInterceptor.class,
+               NotificationInterceptor.class, NonTransactionalLockingInterceptor.class,
+               EntryWrappingInterceptor.class, NonTxDistributionInterceptor.class, InvalidationInterceptor.class,
+               CallInterceptor.class));
+
+   /**
+    * The interceptors which don't do anything for a non-transactional put received by state transfer, except the things
+    * that {@link org.infinispan.statetransfer.StateConsumerImpl} can do without them: wrapping and committing the
+    * entry, notifying the listeners and writing the entry to the private stores.
+    */
+   private static final Set<Class<? extends CommandInterceptor>> DIRECT_STATE_TRANSFER_INTERCEPTORS =
+         new HashSet<Class<? extends CommandInterceptor>>(Arrays.asList(
+               InvocationContextInterceptor.class, IsMarshallableInterceptor.class, CacheMgmtInterceptor.class,
+               StateTransferInterceptor.class, TransactionSynchronizerInterceptor.class, NotificationInterceptor.class,
+               NonTransactionalLockingInterceptor.class, CacheLoaderInterceptor.class,
+               ClusteredCacheLoaderInterceptor.class, EntryWrappingInterceptor.class, CacheWriterInterceptor.class,
+               DistCacheWriterInterceptor.class, NonTxDistributionInterceptor.class, CallInterceptor.class));
+
+   /**
+    * Cached result of {@link #allowsDirectReads()}, reset every time the chain is modified
+    */
+   private volatile Boolean directReadsAllowed;
+
+   /**
+    * Cached result of {@link #allowsDirectStateTransfer()}, reset every time the chain is modified
+    */
+   private volatile Boolean directStateTransferAllowed;
+
    /**
     * Constructs an interceptor chain having the supplied interceptor as first.
     */
@@ -86,6 +136,8 @@ public void addInterceptor(CommandInterceptor interceptor, int position) {
       final ReentrantLock lock = this.lock;
       lock.lock();
       try {
+         directReadsAllowed = null;
+         directStateTransferAllowed = null;
          Class<? extends CommandInterceptor> interceptorClass = interceptor.getClass();
          assertNotAdded(interceptorClass);
          validateCustomInterceptor(interceptorClass);
@@ -121,6 +173,8 @@ public void removeInterceptor(int position) {
       final ReentrantLock lock = this.lock;
       lock.lock();
       try {
+         directReadsAllowed = null;
+         directStateTransferAllowed = null;
          if (firstInChain == null) return;
          if (position == 0) {
             firstInChain = firstInChain.getNext();
@@ -181,6 +235,8 @@ public void removeInterceptor(Class<? extends CommandInterceptor> clazz) {
       final ReentrantLock lock = this.lock;
       lock.lock();
       try {
+         directReadsAllowed = null;
+         directStateTransferAllowed = null;
          if (isFirstInChain(clazz)) {
             firstInChain = firstInChain.getNext();
          }
@@ -211,6 +267,8 @@ public boolean addInterceptorAfter(CommandInterceptor toAdd, Class<? extends Com
       final ReentrantLock lock = this.lock;
       lock.lock();
       try {
+         directReadsAllowed = null;
+         directStateTransferAllowed = null;
          Class<? extends CommandInterceptor> interceptorClass = toAdd.getClass();
          assertNotAdded(interceptorClass);
          validateCustomInterceptor(interceptorClass);
@@ -244,6 +302,8 @@ public boolean addInterceptorBefore(CommandInterceptor toAdd, Class<? extends Co
       final ReentrantLock lock = this.lock;
       lock.lock();
       try {
+         directReadsAllowed = null;
+         directStateTransferAllowed = null;
          Class<? extends CommandInterceptor> interceptorClass = toAdd.getClass();
          assertNotAdded(interceptorClass);
          validateCustomInterceptor(interceptorClass);
@@ -279,6 +339,8 @@ public boolean replaceInterceptor(CommandInterceptor replacingInterceptor, Class
       final ReentrantLock lock = this.lock;
       lock.lock();
       try {
+         directReadsAllowed = null;
+         directStateTransferAllowed = null;
          Class<? extends CommandInterceptor> interceptorClass = replacingInterceptor.getClass();
          assertNotAdded(interceptorClass);
          validateCustomInterceptor(interceptorClass);
@@ -313,6 +375,8 @@ public void appendInterceptor(CommandInterceptor ci, boolean isCustom) {
       Class<? extends CommandInterceptor> interceptorClass = ci.getClass();
       if (isCustom) validateCustomInterceptor(interceptorClass);
       assertNotAdded(interceptorClass);
+      directReadsAllowed = null;
+      directStateTransferAllowed = null;
       // Called when building interceptor chain and so concurrent start calls are protected already
       if (firstInChain == null) {
          firstInChain = ci;
@@ -342,6 +406,117 @@ public Object invoke(InvocationContext ctx, VisitableCommand command) {
       }
    }
 
+   /**
+    * Walks the command through the interceptor chain without waiting for it to complete. The rest of the invocation
+    * is only executed asynchronously if the interceptors support it, see {@link #supportsAsyncInvocation()}.
+    *
+    * @param ctx     invocation context
+    * @param command command to invoke
+    * @return a future completed with the return value of the invocation, or with the exception {@link
+    *         #invoke(InvocationContext, VisitableCommand)} would have thrown
+    */
+   public NotifyingFuture<Object> invokeAsync(InvocationContext ctx, VisitableCommand command) {
+      NotifyingFuture<Object> future;
+      try {
+         future = firstInChain.visitCommandAsync(ctx, command);
+      } catch (Throwable t) {
+         future = CompletableNotifyingFuture.failedFuture(t);
+      }
+      return CommandInterceptor.whenComplete(future, EXCEPTION_WRAPPER);
+   }
+
+   /**
+    * @return {@code true} if every interceptor in the chain, except the last one, overrides {@link
+    *         CommandInterceptor#visitCommandAsync(InvocationContext, VisitableCommand)}, so that {@link
+    *         #invokeAsync(InvocationContext, VisitableCommand)} doesn't block waiting for remote nodes
+    */
+   public boolean supportsAsyncInvocation() {
+      for (CommandInterceptor i = firstInChain; i != null && i.hasNext(); i = i.getNext()) {
+         Class<?> type = i.getClass();
+         Boolean async = asyncInterceptorTypes.get(type);
+         if (async == null) {
+            try {
+               async = type.getMethod("visitCommandAsync", InvocationContext.class, VisitableCommand.class)
+                     .getDeclaringClass() != CommandInterceptor.class;
+            } catch (NoSuchMethodException e) {
+               throw new IllegalStateException(e);
+            }
+            asyncInterceptorTypes.put(type, async);
+         }
+         if (!async)
+            return false;
+      }
+      return true;
+   }
+
+   /**
+    * @return {@code true} if a non-transactional read of a key owned by the local node and present in the data
+    *         container can skip the interceptor chain, i.e. if the chain only contains interceptors which don't do
+    *         anything for such a read. Custom interceptors always see every command.
+    */
+   public boolean allowsDirectReads() {
+      Boolean allowed = directReadsAllowed;
+      if (allowed != null)
+         return allowed;
+
+      // Hold the lock so that a concurrent modification can't be overwritten by a stale result
+      final ReentrantLock lock = this.lock;
+      lock.lock();
+      try {
+         allowed = containsOnly(DIRECT_READ_INTERCEPTORS);
+         directReadsAllowed = allowed;
+         return allowed;
+      } finally {
+         lock.unlock();
+      }
+   }
+
+   /**
+    * @return {@code true} if a non-transactional put received by state transfer can skip the interceptor chain, i.e.
+    *         if the chain only contains interceptors which don't do anything for such a put.
+    */
+   public boolean allowsDirectStateTransfer() {
+      Boolean allowed = directStateTransferAllowed;
+      if (allowed != null)
+         return allowed;
+
+      final ReentrantLock lock = this.lock;
+      lock.lock();
+      try {
+         allowed = containsOnly(DIRECT_STATE_TRANSFER_INTERCEPTORS);
+         directStateTransferAllowed = allowed;
+         return allowed;
+      } finally {
+         lock.unlock();
+      }
+   }
+
+   // Must be called while holding the lock
+   private boolean containsOnly(Set<Class<? extends CommandInterceptor>> interceptorTypes) {
+      if (firstInChain == null)
+         return false;
+      for (CommandInterceptor i = firstInChain; i != null; i = i.getNext()) {
+         if (!interceptorTypes.contains(i.getClass()))
+            return false;
+      }
+      return true;
+   }
+
+   /**
+    * Wraps the exceptions of an asynchronous invocation like {@link #invoke(InvocationContext, VisitableCommand)}
+    * does.
+    */
+   private static final InvocationCallback EXCEPTION_WRAPPER = new InvocationCallback() {
+      @Override
+      public Object apply(Object returnValue, Throwable throwable) {
+         if (throwable == null)
+            return returnValue;
+         if (throwable instanceof RuntimeException)
+            throw (RuntimeException) throwable;
+         throw new CacheException(throwable);
+      }
+   };
+
    /**
     * @return the first interceptor in the chain.
     */
@@ -357,6 +532,8 @@ public CommandInterceptor getFirstInChain() {
     */
    public void setFirstInChain(CommandInterceptor interceptor) {
       this.firstInChain = interceptor;
+      this.directReadsAllowed = null;
+      this.directStateTransferAllowed = null;
    }
 
    /**
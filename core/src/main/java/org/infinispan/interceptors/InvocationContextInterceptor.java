@@ -6,6 +6,7 @@
 import org.infinispan.commands.VisitableCommand;
 import org.infinispan.commands.control.LockControlCommand;
 import org.infinispan.commons.CacheException;
+import org.infinispan.commons.util.concurrent.NotifyingFuture;
 import org.infinispan.context.Flag;
 import org.infinispan.context.InvocationContext;
 import org.infinispan.context.InvocationContextContainer;
@@ -15,11 +16,13 @@
 import org.infinispan.factories.annotations.Start;
 import org.infinispan.factories.annotations.Stop;
 import org.infinispan.interceptors.base.CommandInterceptor;
+import org.infinispan.interceptors.base.InvocationCallback;
 import org.infinispan.lifecycle.ComponentStatus;
 import org.infinispan.manager.CacheContainer;
 import org.infinispan.statetransfer.OutdatedTopologyException;
 import org.infinispan.transaction.WriteSkewException;
 import org.infinispan.transaction.impl.TransactionTable;
+import org.infinispan.util.concurrent.CompletableNotifyingFuture;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
@@ -77,25 +80,39 @@ public Object visitLockControlCommand(TxInvocationContext ctx, LockControlComman
       return retval == null ? false : retval;
    }
 
-   private Object handleAll(InvocationContext ctx, VisitableCommand command) throws Throwable {
+   @Override
+   public NotifyingFuture<Object> visitCommandAsync(final InvocationContext ctx, final VisitableCommand command) throws Throwable {
+      // Transactions are bound to the invoking thread, so transactional invocations complete synchronously
+      if (ctx == null || ctx.isInTxScope())
+         return super.visitCommandAsync(ctx, command);
+
       try {
-         ComponentStatus status = componentRegistry.getStatus();
-         if (command.ignoreCommandOnStatus(status)) {
-            log.debugf("Status: %s : Ignoring %s command", status, command);
-            return null;
-         }
+         if (isIgnored(ctx, command))
+            return CompletableNotifyingFuture.completedFuture(null);
 
-         if (status.isTerminated()) {
-            throw new IllegalStateException(String.format(
-                  "%s is in 'TERMINATED' state and so it does not accept new invocations. " +
-                        "Either restart it or recreate the cache container.",
-                  getCacheNamePrefix()));
-         } else if (stoppingAndNotAllowed(status, ctx)) {
-            throw new IllegalStateException(String.format(
-                  "%s is in 'STOPPING' state and this is an invocation not belonging to an on-going transaction, so it does not accept new invocations. " +
-                        "Either restart it or recreate the cache container.",
-                  getCacheNamePrefix()));
+         LogFactory.pushNDC(componentRegistry.getCacheName(), trace);
+
+         invocationContextContainer.setThreadLocal(ctx);
+         try {
+            if (trace) log.tracef("Invoked asynchronously with command %s and InvocationContext [%s]", command, ctx);
+            return whenComplete(invokeNextInterceptorAsync(ctx, command), new InvocationCallback() {
+               @Override
+               public Object apply(Object returnValue, Throwable throwable) throws Throwable {
+                  return throwable == null ? returnValue : handleException(ctx, command, throwable);
+               }
+            });
+         } finally {
+            LogFactory.popNDC(trace);
          }
+      } finally {
+         invocationContextContainer.clearThreadLocal();
+      }
+   }
+
+   private Object handleAll(InvocationContext ctx, VisitableCommand command) throws Throwable {
+      try {
+         if (isIgnored(ctx, command))
+            return null;
 
          LogFactory.pushNDC(componentRegistry.getCacheName(), trace);
 
@@ -106,36 +123,8 @@ private Object handleAll(InvocationContext ctx, VisitableCommand command) throws
 
             try {
                return invokeNextInterceptor(ctx, command);
-            } catch (InvalidCacheUsageException ex) {
-               throw ex; // Propagate back client usage errors regardless of flag
             } catch (Throwable th) {
-               // Only check for fail silently if there's a failure :)
-               boolean suppressExceptions = (command instanceof FlagAffectedCommand)
-                     && ((FlagAffectedCommand) command).hasFlag(Flag.FAIL_SILENTLY);
-               // If we are shutting down there is every possibility that the invocation fails.
-               suppressExceptions = suppressExceptions || shuttingDown;
-               if (suppressExceptions) {
-                  if (shuttingDown)
-                     log.trace("Exception while executing code, but we're shutting down so failing silently.", th);
-                  else
-                     log.trace("Exception while executing code, failing silently...", th);
-                  return null;
-               } else {
-                  if (th instanceof WriteSkewException) {
-                     // We log this as DEBUG rather than ERROR - see ISPN-2076
-                     log.debug("Exception executing call", th);
-                  } else if (th instanceof OutdatedTopologyException) {
-                     log.outdatedTopology(th);
-                  } else {
-                     log.executionError(th);
-                  }
-                  if (ctx.isInTxScope() && ctx.isOriginLocal()) {
-                     if (trace) log.trace("Transaction marked for rollback as exception was received.");
-                     markTxForRollbackAndRethrow(ctx, th);
-                     throw new IllegalStateException("This should not be reached");
-                  }
-                  throw th;
-               }
+               return handleException(ctx, command, th);
             }
          } finally {
             LogFactory.popNDC(trace);
@@ -145,6 +134,64 @@ private Object handleAll(InvocationContext ctx, VisitableCommand command) throws
       }
    }
 
+   /**
+    * @return {@code true} if the command should be ignored because of the status of the cache
+    * @throws IllegalStateException if the cache doesn't accept the command any more
+    */
+   private boolean isIgnored(InvocationContext ctx, VisitableCommand command) throws Exception {
+      ComponentStatus status = componentRegistry.getStatus();
+      if (command.ignoreCommandOnStatus(status)) {
+         log.debugf("Status: %s : Ignoring %s command", status, command);
+         return true;
+      }
+
+      if (status.isTerminated()) {
+         throw new IllegalStateException(String.format(
+               "%s is in 'TERMINATED' state and so it does not accept new invocations. " +
+                     "Either restart it or recreate the cache container.",
+               getCacheNamePrefix()));
+      } else if (stoppingAndNotAllowed(status, ctx)) {
+         throw new IllegalStateException(String.format(
+               "%s is in 'STOPPING' state and this is an invocation not belonging to an on-going transaction, so it does not accept new invocations. " +
+                     "Either restart it or recreate the cache container.",
+               getCacheNamePrefix()));
+      }
+      return false;
+   }
+
+   private Object handleException(InvocationContext ctx, VisitableCommand command, Throwable th) throws Throwable {
+      if (th instanceof InvalidCacheUsageException) {
+         throw th; // Propagate back client usage errors regardless of flag
+      }
+      // Only check for fail silently if there's a failure :)
+      boolean suppressExceptions = (command instanceof FlagAffectedCommand)
+            && ((FlagAffectedCommand) command).hasFlag(Flag.FAIL_SILENTLY);
+      // If we are shutting down there is every possibility that the invocation fails.
+      suppressExceptions = suppressExceptions || shuttingDown;
+      if (suppressExceptions) {
+         if (shuttingDown)
+            log.trace("Exception while executing code, but we're shutting down so failing silently.", th);
+         else
+            log.trace("Exception while executing code, failing silently...", th);
+         return null;
+      } else {
+         if (th instanceof WriteSkewException) {
+            // We log this as DEBUG rather than ERROR - see ISPN-2076
+            log.debug("Exception executing call", th);
+         } else if (th instanceof OutdatedTopologyException) {
+            log.outdatedTopology(th);
+         } else {
+            log.executionError(th);
+         }
+         if (ctx.isInTxScope() && ctx.isOriginLocal()) {
+            if (trace) log.trace("Transaction marked for rollback as exception was received.");
+            markTxForRollbackAndRethrow(ctx, th);
+            throw new IllegalStateException("This should not be reached");
+         }
+         throw th;
+      }
+   }
+
    private String getCacheNamePrefix() {
       String cacheName = componentRegistry.getCacheName();
       String prefix = "Cache '" + cacheName + "'";
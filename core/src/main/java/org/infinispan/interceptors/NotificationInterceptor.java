@@ -1,8 +1,11 @@
 package org.infinispan.interceptors;
 
+import org.infinispan.commands.VisitableCommand;
 import org.infinispan.commands.tx.CommitCommand;
 import org.infinispan.commands.tx.PrepareCommand;
 import org.infinispan.commands.tx.RollbackCommand;
+import org.infinispan.commons.util.concurrent.NotifyingFuture;
+import org.infinispan.context.InvocationContext;
 import org.infinispan.context.impl.TxInvocationContext;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.notifications.cachelistener.CacheNotifier;
@@ -51,4 +54,12 @@ public Object visitRollbackCommand(TxInvocationContext ctx, RollbackCommand comm
       notifier.notifyTransactionCompleted(ctx.getGlobalTransaction(), false, ctx);
       return retval;
    }
+
+   @Override
+   public NotifyingFuture<Object> visitCommandAsync(InvocationContext ctx, VisitableCommand command) throws Throwable {
+      if (ctx.isInTxScope())
+         return super.visitCommandAsync(ctx, command);
+
+      return invokeNextInterceptorAsync(ctx, command);
+   }
 }
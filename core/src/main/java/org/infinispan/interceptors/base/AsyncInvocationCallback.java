@@ -0,0 +1,26 @@
+package org.infinispan.interceptors.base;
+
+import org.infinispan.commons.util.concurrent.NotifyingFuture;
+
+/**
+ * Continuation of an asynchronous invocation which continues asynchronously itself, e.g. by retrying the command,
+ * registered with {@link CommandInterceptor#whenCompleteAsync(NotifyingFuture, AsyncInvocationCallback)}.
+ * <p/>
+ * Like {@link InvocationCallback}, it is executed by the thread completing the invocation, so it should not block.
+ * Blocking work should be handed to an executor with {@link CommandInterceptor#executeAsync(
+ * java.util.concurrent.Executor, InvocationCallback, Object, Throwable)}.
+ *
+ * @since 7.0
+ */
+public interface AsyncInvocationCallback {
+
+   /**
+    * Invoked once the rest of the interceptor chain has finished processing the command.
+    *
+    * @param returnValue the return value of the rest of the chain, or {@code null} if it failed
+    * @param throwable   the exception thrown by the rest of the chain, or {@code null} if it succeeded
+    * @return a future completed with the return value of the invocation
+    * @throws Throwable to fail the invocation
+    */
+   NotifyingFuture<Object> apply(Object returnValue, Throwable throwable) throws Throwable;
+}
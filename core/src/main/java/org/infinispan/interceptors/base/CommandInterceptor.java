@@ -7,6 +7,8 @@
 import org.infinispan.commands.VisitableCommand;
 import org.infinispan.commands.Visitor;
 import org.infinispan.commands.read.GetKeyValueCommand;
+import org.infinispan.commons.util.concurrent.FutureListener;
+import org.infinispan.commons.util.concurrent.NotifyingFuture;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.context.Flag;
 import org.infinispan.context.InvocationContext;
@@ -15,9 +17,16 @@
 import org.infinispan.factories.scopes.Scopes;
 import org.infinispan.interceptors.InterceptorChain;
 import org.infinispan.remoting.InboundInvocationHandler;
+import org.infinispan.util.concurrent.CompletableNotifyingFuture;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
 /**
  * This is the base class for all interceptors to extend, and implements the {@link Visitor} interface allowing it to
  * intercept invocations on {@link VisitableCommand}s.
@@ -35,6 +44,14 @@
  * {@link #handleDefault(InvocationContext, VisitableCommand)} and then write a series of if statements or a switch
  * block, if command-specific behaviour is needed.
  * <p/>
+ * Commands can also be invoked asynchronously, with {@link InterceptorChain#invokeAsync(InvocationContext,
+ * VisitableCommand)}. By default an interceptor handles an asynchronous invocation by invoking the rest of the chain
+ * synchronously, so interceptors that never wait for remote nodes or other resources don't need to do anything.
+ * Interceptors that do, and the interceptors in front of them, should override {@link
+ * #visitCommandAsync(InvocationContext, VisitableCommand)}, pass the command on with {@link
+ * #invokeNextInterceptorAsync(InvocationContext, VisitableCommand)} and move any post-processing into an {@link
+ * InvocationCallback}.
+ * <p/>
  *
  * @author Mircea.Markus@jboss.com
  * @see VisitableCommand
@@ -98,6 +115,119 @@ public final Object invokeNextInterceptor(InvocationContext ctx, VisitableComman
       return command.acceptVisitor(ctx, next);
    }
 
+   /**
+    * Invokes the command on this interceptor and the rest of the chain, without waiting for it to complete.
+    * <p/>
+    * The default implementation invokes the command synchronously and returns a completed future. Interceptors can
+    * override it to complete the invocation later, e.g. when the response of a remote node is received.
+    *
+    * @param ctx     invocation context
+    * @param command command to invoke
+    * @return a future completed with the return value of the invocation
+    * @throws Throwable in the event of problems
+    */
+   public NotifyingFuture<Object> visitCommandAsync(InvocationContext ctx, VisitableCommand command) throws Throwable {
+      return CompletableNotifyingFuture.completedFuture(command.acceptVisitor(ctx, this));
+   }
+
+   /**
+    * Invokes the next interceptor in the chain asynchronously, with {@link #visitCommandAsync(InvocationContext,
+    * VisitableCommand)}. Any exception thrown by the next interceptor is reported through the returned future.
+    *
+    * @param ctx     invocation context
+    * @param command command to pass up the chain.
+    * @return a future completed with the return value of the invocation
+    */
+   public final NotifyingFuture<Object> invokeNextInterceptorAsync(InvocationContext ctx, VisitableCommand command) {
+      try {
+         return next.visitCommandAsync(ctx, command);
+      } catch (Throwable t) {
+         return CompletableNotifyingFuture.failedFuture(t);
+      }
+   }
+
+   /**
+    * Registers a callback to run once an asynchronous invocation completes, successfully or not.
+    *
+    * @return a future completed with the return value of the callback, or with the exception it throws
+    */
+   public static NotifyingFuture<Object> whenComplete(NotifyingFuture<Object> future,
+                                                      final InvocationCallback callback) {
+      final CompletableNotifyingFuture<Object> result = new CompletableNotifyingFuture<Object>();
+      future.attachListener(new FutureListener<Object>() {
+         @Override
+         public void futureDone(Future<Object> invocation) {
+            Object returnValue = null;
+            Throwable throwable = null;
+            try {
+               returnValue = invocation.get();
+            } catch (ExecutionException e) {
+               throwable = e.getCause();
+            } catch (CancellationException e) {
+               throwable = e;
+            } catch (InterruptedException e) {
+               // The invocation is done, get() doesn't wait
+               throwable = e;
+            }
+            try {
+               result.complete(callback.apply(returnValue, throwable));
+            } catch (Throwable t) {
+               result.completeExceptionally(t);
+            }
+         }
+      });
+      return result;
+   }
+
+   /**
+    * Same as {@link #whenComplete(NotifyingFuture, InvocationCallback)}, but the callback continues the invocation
+    * asynchronously and the returned future is completed when the future returned by the callback is completed.
+    *
+    * @return a future completed with the return value of the callback's future, or with the exception it throws
+    */
+   public static NotifyingFuture<Object> whenCompleteAsync(NotifyingFuture<Object> future,
+                                                           final AsyncInvocationCallback callback) {
+      final CompletableNotifyingFuture<Object> result = new CompletableNotifyingFuture<Object>();
+      whenComplete(future, new InvocationCallback() {
+         @Override
+         public Object apply(Object returnValue, Throwable throwable) {
+            try {
+               result.completeWith(callback.apply(returnValue, throwable));
+            } catch (Throwable t) {
+               result.completeExceptionally(t);
+            }
+            return null;
+         }
+      });
+      return result;
+   }
+
+   /**
+    * Runs a callback that may block, e.g. a retry waiting for a new topology, in the given executor instead of the
+    * thread completing the invocation, which is usually the thread that received a response and must not block.
+    *
+    * @return a future completed with the return value of the callback, or with the exception it throws
+    */
+   public static NotifyingFuture<Object> executeAsync(Executor executor, final InvocationCallback callback,
+                                                      final Object returnValue, final Throwable throwable) {
+      final CompletableNotifyingFuture<Object> result = new CompletableNotifyingFuture<Object>();
+      try {
+         executor.execute(new Runnable() {
+            @Override
+            public void run() {
+               try {
+                  result.complete(callback.apply(returnValue, throwable));
+               } catch (Throwable t) {
+                  result.completeExceptionally(t);
+               }
+            }
+         });
+      } catch (RejectedExecutionException e) {
+         result.completeExceptionally(e);
+      }
+      return result;
+   }
+
    /**
     * The default behaviour of the visitXXX methods, which is to ignore the call and pass the call up to the next
     * interceptor in the chain.
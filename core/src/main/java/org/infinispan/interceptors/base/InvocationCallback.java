@@ -0,0 +1,24 @@
+package org.infinispan.interceptors.base;
+
+/**
+ * Continuation of an asynchronous invocation, registered with {@link CommandInterceptor#whenComplete(
+ * org.infinispan.commons.util.concurrent.NotifyingFuture, InvocationCallback)}.
+ * <p/>
+ * The callback is executed by the thread completing the invocation, which is usually not the thread that started
+ * it, e.g. the thread receiving the response of a remote command. It should not rely on thread locals and it should
+ * not block.
+ *
+ * @since 7.0
+ */
+public interface InvocationCallback {
+
+   /**
+    * Invoked once the rest of the interceptor chain has finished processing the command.
+    *
+    * @param returnValue the return value of the rest of the chain, or {@code null} if it failed
+    * @param throwable   the exception thrown by the rest of the chain, or {@code null} if it succeeded
+    * @return the return value of the invocation
+    * @throws Throwable to fail the invocation
+    */
+   Object apply(Object returnValue, Throwable throwable) throws Throwable;
+}
@@ -2,6 +2,7 @@
 
 import org.infinispan.commands.MetadataAwareCommand;
 import org.infinispan.commands.read.EntrySetCommand;
+import org.infinispan.commands.read.GetAllCommand;
 import org.infinispan.commands.read.GetKeyValueCommand;
 import org.infinispan.commands.read.KeySetCommand;
 import org.infinispan.commands.write.PutKeyValueCommand;
@@ -20,7 +21,11 @@
 import org.infinispan.metadata.Metadata;
 import org.infinispan.util.TimeService;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -95,6 +100,42 @@ public Object visitGetKeyValueCommand(InvocationContext ctx, GetKeyValueCommand
       return null;
    }
 
+   @Override
+   @SuppressWarnings("unchecked")
+   public Object visitGetAllCommand(InvocationContext ctx, GetAllCommand command) throws Throwable {
+      TypeConverter<Object, Object, Object, Object> converter =
+            determineTypeConverter(command.getFlags());
+      Map<Object, Object> boxedKeys = null;
+      if (ctx.isOriginLocal()) {
+         boxedKeys = new HashMap<Object, Object>(command.getKeys().size());
+         for (Object key : command.getKeys()) {
+            boxedKeys.put(converter.boxKey(key), key);
+         }
+         command.setKeys(new ArrayList<Object>(boxedKeys.keySet()));
+      }
+      Map<Object, Object> map = (Map<Object, Object>) invokeNextInterceptor(ctx, command);
+      Map<Object, Object> result = new LinkedHashMap<Object, Object>(map.size());
+      for (Map.Entry<Object, Object> e : map.entrySet()) {
+         Object key = e.getKey();
+         Object value = e.getValue();
+         if (command.isReturnEntries()) {
+            CacheEntry entry = (CacheEntry) value;
+            Object returnValue = entry.getValue();
+            if (!command.isRemotelyFetched(key)) {
+               returnValue = converter.unboxValue(entry.getValue());
+            }
+            // Create a copy of the entry to avoid modifying the internal entry
+            value = entryFactory.create(
+                  entry.getKey(), returnValue, entry.getMetadata(),
+                  entry.getLifespan(), entry.getMaxIdle());
+         } else if (!command.isRemotelyFetched(key)) {
+            value = converter.unboxValue(value);
+         }
+         result.put(boxedKeys != null ? boxedKeys.get(key) : key, value);
+      }
+      return result;
+   }
+
    @Override
    public Object visitReplaceCommand(InvocationContext ctx, ReplaceCommand command) throws Throwable {
       Object key = command.getKey();
@@ -1,22 +1,32 @@
 package org.infinispan.interceptors.distribution;
 
 import org.infinispan.commands.FlagAffectedCommand;
+import org.infinispan.commands.read.GetAllCommand;
+import org.infinispan.commands.remote.ClusteredGetAllCommand;
 import org.infinispan.commands.remote.ClusteredGetCommand;
 import org.infinispan.commands.remote.GetKeysInGroupCommand;
 import org.infinispan.commands.write.DataWriteCommand;
 import org.infinispan.commands.write.ValueMatcher;
 import org.infinispan.commands.write.WriteCommand;
 import org.infinispan.commons.CacheException;
+import org.infinispan.commons.util.concurrent.NotifyingFuture;
+import org.infinispan.commons.util.concurrent.NotifyingFutureImpl;
+import org.infinispan.commons.util.concurrent.NotifyingNotifiableFuture;
 import org.infinispan.container.entries.CacheEntry;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.container.entries.InternalCacheValue;
+import org.infinispan.context.Flag;
 import org.infinispan.context.InvocationContext;
 import org.infinispan.context.impl.TxInvocationContext;
 import org.infinispan.distribution.DistributionManager;
 import org.infinispan.distribution.RemoteValueRetrievedListener;
+import org.infinispan.distribution.ch.ConsistentHash;
 import org.infinispan.distribution.group.GroupManager;
+import org.infinispan.factories.annotations.ComponentName;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.interceptors.ClusteringInterceptor;
+import org.infinispan.interceptors.base.AsyncInvocationCallback;
+import org.infinispan.interceptors.base.InvocationCallback;
 import org.infinispan.interceptors.locking.ClusteringDependentLogic;
 import org.infinispan.remoting.RemoteException;
 import org.infinispan.remoting.responses.CacheNotFoundResponse;
@@ -34,15 +44,22 @@
 import org.infinispan.statetransfer.OutdatedTopologyException;
 import org.infinispan.topology.CacheTopology;
 import org.infinispan.transaction.xa.GlobalTransaction;
+import org.infinispan.util.concurrent.CompletableNotifyingFuture;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+
+import static org.infinispan.factories.KnownComponentNames.ASYNC_TRANSPORT_EXECUTOR;
 
 /**
  * Base class for distribution of entries across a cluster.
@@ -59,6 +76,7 @@ public abstract class BaseDistributionInterceptor extends ClusteringInterceptor
 
    protected ClusteringDependentLogic cdl;
    protected RemoteValueRetrievedListener rvrl;
+   protected ExecutorService asyncExecutor;
    private GroupManager groupManager;
 
    private static final Log log = LogFactory.getLog(BaseDistributionInterceptor.class);
@@ -71,13 +89,28 @@ protected Log getLog() {
 
    @Inject
    public void injectDependencies(DistributionManager distributionManager, ClusteringDependentLogic cdl,
-                                  RemoteValueRetrievedListener rvrl, GroupManager groupManager) {
+                                  RemoteValueRetrievedListener rvrl, GroupManager groupManager,
+                                  @ComponentName(ASYNC_TRANSPORT_EXECUTOR) ExecutorService asyncExecutor) {
       this.dm = distributionManager;
+      this.asyncExecutor = asyncExecutor;
       this.cdl = cdl;
       this.rvrl = rvrl;
       this.groupManager = groupManager;
    }
 
+   /**
+    * Waits for the responses of a remote invocation started with {@link RpcManager#invokeRemotelyAsync(Collection,
+    * org.infinispan.commands.ReplicableCommand, RpcOptions)}, and throws the exception the synchronous invocation would
+    * have thrown, if any.
+    */
+   protected static Map<Address, Response> waitForResponses(NotifyingFuture<Map<Address, Response>> responses) throws Throwable {
+      try {
+         return responses.get();
+      } catch (ExecutionException e) {
+         throw e.getCause();
+      }
+   }
+
    @Override
    public final Object visitGetKeysInGroupCommand(InvocationContext ctx, GetKeysInGroupCommand command) throws Throwable {
       final String groupName = command.getGroupName();
@@ -100,6 +133,128 @@ public final Object visitGetKeysInGroupCommand(InvocationContext ctx, GetKeysInG
       return invokeNextInterceptor(ctx, command);
    }
 
+   @Override
+   public Object visitGetAllCommand(InvocationContext ctx, GetAllCommand command) throws Throwable {
+      if (ctx.isOriginLocal() && !command.hasFlag(Flag.CACHE_MODE_LOCAL)
+            && !command.hasFlag(Flag.SKIP_REMOTE_LOOKUP) && !command.hasFlag(Flag.IGNORE_RETURN_VALUES)) {
+         ConsistentHash ch = stateTransferManager.getCacheTopology().getReadConsistentHash();
+         Map<Address, List<Object>> keysByOwner = new HashMap<Address, List<Object>>();
+         for (Object key : command.getKeys()) {
+            CacheEntry entry = ctx.lookupEntry(key);
+            if ((entry == null || (entry.isNull() && !entry.skipLookup())) && !isValueAvailableLocally(ch, key)) {
+               Address primaryOwner = ch.locatePrimaryOwner(key);
+               List<Object> ownerKeys = keysByOwner.get(primaryOwner);
+               if (ownerKeys == null) {
+                  ownerKeys = new ArrayList<Object>();
+                  keysByOwner.put(primaryOwner, ownerKeys);
+               }
+               ownerKeys.add(key);
+            }
+         }
+         if (!keysByOwner.isEmpty()) {
+            remoteGetAll(ctx, command, keysByOwner);
+         }
+      }
+      return invokeNextInterceptor(ctx, command);
+   }
+
+   /**
+    * Fetches the values of the given keys with one {@link ClusteredGetAllCommand} per primary owner. All the owners
+    * but the last one are invoked asynchronously, so that all the remote calls run in parallel.
+    * <p/>
+    * The keys whose owner doesn't reply with a valid response (e.g. because it left the cluster) are fetched one by
+    * one with {@link #retrieveFromRemoteSource(Object, InvocationContext, boolean, FlagAffectedCommand, boolean)},
+    * which handles the topology changes.
+    */
+   private void remoteGetAll(InvocationContext ctx, GetAllCommand command,
+                             Map<Address, List<Object>> keysByOwner) throws Throwable {
+      RpcOptions rpcOptions = rpcManager.getDefaultRpcOptions(true);
+      Map<Address, NotifyingNotifiableFuture<Object>> futures =
+            new HashMap<Address, NotifyingNotifiableFuture<Object>>(keysByOwner.size());
+      if (trace) log.tracef("Perform remote get for keys %s", keysByOwner);
+      Iterator<Map.Entry<Address, List<Object>>> iterator = keysByOwner.entrySet().iterator();
+      Map.Entry<Address, List<Object>> last = iterator.next();
+      while (iterator.hasNext()) {
+         ClusteredGetAllCommand get = cf.buildClusteredGetAllCommand(last.getValue(), command.getFlags());
+         NotifyingNotifiableFuture<Object> future = new NotifyingFutureImpl<Object>();
+         rpcManager.invokeRemotelyInFuture(Collections.singleton(last.getKey()), get, rpcOptions, future);
+         futures.put(last.getKey(), future);
+         last = iterator.next();
+      }
+
+      // the last owner is invoked from the current thread
+      Address lastOwner = last.getKey();
+      List<Object> lastOwnerKeys = last.getValue();
+      ClusteredGetAllCommand lastGet = cf.buildClusteredGetAllCommand(lastOwnerKeys, command.getFlags());
+      List<InternalCacheValue> lastValues;
+      try {
+         lastValues = getClusteredGetAllValues(lastOwner,
+               rpcManager.invokeRemotely(Collections.singleton(lastOwner), lastGet, rpcOptions));
+      } catch (SuspectException e) {
+         lastValues = null;
+      }
+      wrapRemoteValues(ctx, command, lastOwnerKeys, lastValues);
+
+      for (Map.Entry<Address, NotifyingNotifiableFuture<Object>> entry : futures.entrySet()) {
+         Address owner = entry.getKey();
+         List<InternalCacheValue> values;
+         try {
+            //noinspection unchecked
+            values = getClusteredGetAllValues(owner, (Map<Address, Response>) entry.getValue().get());
+         } catch (ExecutionException e) {
+            if (!(e.getCause() instanceof SuspectException)) {
+               throw e.getCause();
+            }
+            values = null;
+         }
+         wrapRemoteValues(ctx, command, keysByOwner.get(owner), values);
+      }
+   }
+
+   @SuppressWarnings("unchecked")
+   private List<InternalCacheValue> getClusteredGetAllValues(Address owner, Map<Address, Response> responses) {
+      Response response = responses == null ? null : responses.get(owner);
+      if (response instanceof SuccessfulResponse) {
+         return (List<InternalCacheValue>) ((SuccessfulResponse) response).getResponseValue();
+      }
+      if (trace) log.tracef("Invalid response %s received from %s for the remote get", response, owner);
+      return null;
+   }
+
+   private void wrapRemoteValues(InvocationContext ctx, GetAllCommand command, List<Object> keys,
+                                 List<InternalCacheValue> values) throws Throwable {
+      for (int i = 0; i < keys.size(); i++) {
+         Object key = keys.get(i);
+         InternalCacheEntry ice;
+         if (values != null) {
+            InternalCacheValue value = values.get(i);
+            ice = value == null ? null : value.toInternalCacheEntry(key);
+            if (rvrl != null) {
+               if (ice != null) {
+                  rvrl.remoteValueFound(ice);
+               } else {
+                  rvrl.remoteValueNotFound(key);
+               }
+            }
+         } else {
+            ice = retrieveFromRemoteSource(key, ctx, false, command, false);
+         }
+         if (ice != null) {
+            command.addRemotelyFetched(key, ice);
+            wrapRemoteEntryForReading(ctx, key, ice);
+         }
+      }
+   }
+
+   /**
+    * Stores an entry fetched from a remote owner in the invocation context, so that it can be read by the command.
+    */
+   protected void wrapRemoteEntryForReading(InvocationContext ctx, Object key, InternalCacheEntry ice) {
+      if (!ctx.replaceValue(key, ice)) {
+         ctx.putLookedUpEntry(key, ice);
+      }
+   }
+
    @Override
    protected final InternalCacheEntry retrieveFromRemoteSource(Object key, InvocationContext ctx, boolean acquireRemoteLock, FlagAffectedCommand command, boolean isWrite) throws Exception {
       GlobalTransaction gtx = ctx.isInTxScope() ? ((TxInvocationContext)ctx).getGlobalTransaction() : null;
@@ -156,7 +311,53 @@ private InternalCacheEntry invokeClusterGetCommandRemotely(List<Address> targets
       ResponseFilter filter = new ClusteredGetResponseValidityFilter(targets, rpcManager.getAddress());
       RpcOptions options = rpcOptionsBuilder.responseFilter(filter).build();
       Map<Address, Response> responses = rpcManager.invokeRemotely(targets, get, options);
+      return getClusteredGetValue(key, responses);
+   }
 
+   /**
+    * Same as {@link #retrieveFromRemoteSource(Object, InvocationContext, boolean, FlagAffectedCommand, boolean)} for
+    * a non-transactional read, but it doesn't wait for the owners to reply.
+    * <p/>
+    * Only the read owners of the current topology are contacted asynchronously. If none of them has the value and
+    * the topology is changing, the lookup continues synchronously, in the async executor.
+    *
+    * @return a future completed with the {@link InternalCacheEntry}, or {@code null} if not found
+    */
+   protected final NotifyingFuture<Object> retrieveFromRemoteSourceAsync(final Object key, final InvocationContext ctx,
+                                                                         final FlagAffectedCommand command) {
+      ClusteredGetCommand get = cf.buildClusteredGetCommand(key, command.getFlags(), false, null);
+      final CacheTopology cacheTopology = stateTransferManager.getCacheTopology();
+      List<Address> targets = new ArrayList<Address>(cacheTopology.getReadConsistentHash().locateOwners(key));
+      ResponseFilter filter = new ClusteredGetResponseValidityFilter(targets, rpcManager.getAddress());
+      RpcOptions options = rpcManager.getRpcOptionsBuilder(ResponseMode.WAIT_FOR_VALID_RESPONSE, false)
+            .responseFilter(filter).build();
+      if (trace) {
+         log.tracef("Perform asynchronous remote get for key %s. topologyId=%s", key, cacheTopology.getTopologyId());
+      }
+
+      return whenCompleteAsync(asObjectFuture(rpcManager.invokeRemotelyAsync(targets, get, options)), new AsyncInvocationCallback() {
+         @Override
+         @SuppressWarnings("unchecked")
+         public NotifyingFuture<Object> apply(Object responses, Throwable throwable) throws Throwable {
+            if (throwable != null)
+               throw throwable;
+
+            InternalCacheEntry value = getClusteredGetValue(key, (Map<Address, Response>) responses);
+            if (value == null && (cacheTopology.getPendingCH() != null ||
+                                        cacheTopology != stateTransferManager.getCacheTopology())) {
+               return executeAsync(asyncExecutor, new InvocationCallback() {
+                  @Override
+                  public Object apply(Object responses, Throwable throwable) throws Throwable {
+                     return retrieveFromRemoteSource(key, ctx, false, command, false);
+                  }
+               }, responses, null);
+            }
+            return CompletableNotifyingFuture.<Object>completedFuture(value);
+         }
+      });
+   }
+
+   private InternalCacheEntry getClusteredGetValue(Object key, Map<Address, Response> responses) {
       if (!responses.isEmpty()) {
          for (Response r : responses.values()) {
             if (r instanceof SuccessfulResponse) {
@@ -183,6 +384,11 @@ private InternalCacheEntry invokeClusterGetCommandRemotely(List<Address> targets
       return null;
    }
 
+   @SuppressWarnings("unchecked")
+   private static NotifyingFuture<Object> asObjectFuture(NotifyingFuture<?> future) {
+      return (NotifyingFuture<Object>) future;
+   }
+
    protected final Object handleNonTxWriteCommand(InvocationContext ctx, DataWriteCommand command) throws Throwable {
       if (ctx.isInTxScope()) {
          throw new CacheException("Attempted execution of non-transactional write command in a transactional invocation context");
@@ -206,17 +412,7 @@ protected final Object handleNonTxWriteCommand(InvocationContext ctx, DataWriteC
 
       boolean isSync = isSynchronous(command);
       Address primaryOwner = cdl.getPrimaryOwner(command.getKey());
-      int commandTopologyId = command.getTopologyId();
-      int currentTopologyId = stateTransferManager.getCacheTopology().getTopologyId();
-      // TotalOrderStateTransferInterceptor doesn't set the topology id for PFERs.
-      // TODO Shouldn't PFERs be executed in a tx with total order?
-      boolean topologyChanged = isSync && currentTopologyId != commandTopologyId && commandTopologyId != -1;
-      if (command.isSuccessful() && topologyChanged) {
-         log.tracef("Cache topology changed while the command was executing: expected %d, got %d",
-               commandTopologyId, currentTopologyId);
-         throw new OutdatedTopologyException("Cache topology changed while the command was executing: expected " +
-               commandTopologyId + ", got " + currentTopologyId);
-      }
+      checkTopologyUnchanged(command, isSync);
 
       ValueMatcher valueMatcher = command.getValueMatcher();
       if (!ctx.isOriginLocal()) {
@@ -269,25 +465,10 @@ protected final Object handleNonTxWriteCommand(InvocationContext ctx, DataWriteC
                addressResponseMap = rpcManager.invokeRemotely(Collections.singletonList(primaryOwner), command,
                      rpcManager.getDefaultRpcOptions(isSyncForwarding));
             } catch (RemoteException e) {
-               Throwable ce = e;
-               while (ce instanceof RemoteException) {
-                  ce = ce.getCause();
-               }
-               if (ce instanceof OutdatedTopologyException) {
-                  // If the primary owner throws an OutdatedTopologyException, it must be because the command succeeded there
-                  if (trace) log.tracef("Changing the value matching policy from %s to %s (original value was %s)",
-                        command.getValueMatcher(), valueMatcher.matcherForRetry(), valueMatcher);
-                  command.setValueMatcher(valueMatcher.matcherForRetry());
-               }
+               updateValueMatcherAfterPrimaryOwnerFailure(command, valueMatcher, e);
                throw e;
             } catch (SuspectException e) {
-               // If the primary owner became suspected, we don't know if it was able to replicate it's data properly
-               // to all backup owners and notify all listeners, thus we need to retry with new matcher in case if
-               // it had updated the backup owners
-               if (trace) log.tracef("Primary owner suspected - Changing the value matching policy from %s to %s " +
-                                           "(original value was %s)", command.getValueMatcher(),
-                                     valueMatcher.matcherForRetry(), valueMatcher);
-               command.setValueMatcher(valueMatcher.matcherForRetry());
+               updateValueMatcherAfterPrimaryOwnerFailure(command, valueMatcher, e);
                throw e;
             }
             if (!isSyncForwarding) return localResult;
@@ -299,6 +480,132 @@ protected final Object handleNonTxWriteCommand(InvocationContext ctx, DataWriteC
       }
    }
 
+   /**
+    * Same as {@link #handleNonTxWriteCommand(InvocationContext, DataWriteCommand)}, but on the originator it doesn't
+    * wait for the primary owner or for the backup owners to apply the command.
+    */
+   protected final NotifyingFuture<Object> handleNonTxWriteCommandAsync(InvocationContext ctx,
+                                                                        final DataWriteCommand command) throws Throwable {
+      if (ctx.isInTxScope() || !ctx.isOriginLocal()) {
+         return CompletableNotifyingFuture.completedFuture(handleNonTxWriteCommand(ctx, command));
+      }
+
+      RecipientGenerator recipientGenerator = new SingleKeyRecipientGenerator(command.getKey());
+
+      // see if we need to load values from remote sources first
+      if (needValuesFromPreviousOwners(ctx, command)) {
+         remoteGetBeforeWrite(ctx, command, recipientGenerator);
+      }
+
+      // invoke the command locally, we need to know if it's successful or not
+      final Object localResult = invokeNextInterceptor(ctx, command);
+
+      // if this is local mode then skip distributing
+      if (isLocalModeForced(command)) {
+         return CompletableNotifyingFuture.completedFuture(localResult);
+      }
+
+      boolean isSync = isSynchronous(command);
+      final Address primaryOwner = cdl.getPrimaryOwner(command.getKey());
+      checkTopologyUnchanged(command, isSync);
+
+      final ValueMatcher valueMatcher = command.getValueMatcher();
+      NotifyingFuture<Map<Address, Response>> responses;
+      if (primaryOwner.equals(rpcManager.getAddress())) {
+         if (!command.isSuccessful()) {
+            log.tracef("Skipping the replication of the command as it did not succeed on primary owner (%s).", command);
+            return CompletableNotifyingFuture.completedFuture(localResult);
+         }
+         List<Address> recipients = recipientGenerator.generateRecipients();
+         log.tracef("I'm the primary owner, sending the command to all the backups (%s) in order to be applied.",
+                    recipients);
+         if (cacheConfiguration.clustering().hash().numOwners() == 1) {
+            return CompletableNotifyingFuture.completedFuture(localResult);
+         }
+         // Ignore the previous value on the backup owners
+         command.setValueMatcher(ValueMatcher.MATCH_ALWAYS);
+         try {
+            // The command is marshalled before invokeRemotelyAsync returns
+            responses = rpcManager.invokeRemotelyAsync(recipients, command,
+                                                       determineRpcOptionsForBackupReplication(rpcManager, isSync, recipients));
+         } finally {
+            // Switch to the retry policy, in case the primary owner changed and the write already succeeded on the new primary
+            command.setValueMatcher(valueMatcher.matcherForRetry());
+         }
+         return whenComplete(asObjectFuture(responses), new InvocationCallback() {
+            @Override
+            public Object apply(Object returnValue, Throwable throwable) throws Throwable {
+               if (throwable != null)
+                  throw throwable;
+               return localResult;
+            }
+         });
+      }
+
+      log.tracef("I'm not the primary owner, so sending the command to the primary owner(%s) in order to be forwarded", primaryOwner);
+      boolean isSyncForwarding = isSync || isNeedReliableReturnValues(command);
+      try {
+         responses = rpcManager.invokeRemotelyAsync(Collections.singletonList(primaryOwner), command,
+                                                    rpcManager.getDefaultRpcOptions(isSyncForwarding));
+      } catch (CacheException e) {
+         updateValueMatcherAfterPrimaryOwnerFailure(command, valueMatcher, e);
+         throw e;
+      }
+      if (!isSyncForwarding) return CompletableNotifyingFuture.completedFuture(localResult);
+
+      return whenComplete(asObjectFuture(responses), new InvocationCallback() {
+         @Override
+         @SuppressWarnings("unchecked")
+         public Object apply(Object returnValue, Throwable throwable) throws Throwable {
+            if (throwable != null) {
+               updateValueMatcherAfterPrimaryOwnerFailure(command, valueMatcher, throwable);
+               throw throwable;
+            }
+            Object primaryResult = getResponseFromPrimaryOwner(primaryOwner, (Map<Address, Response>) returnValue);
+            command.updateStatusFromRemoteResponse(primaryResult);
+            return primaryResult;
+         }
+      });
+   }
+
+   private void checkTopologyUnchanged(DataWriteCommand command, boolean isSync) {
+      int commandTopologyId = command.getTopologyId();
+      int currentTopologyId = stateTransferManager.getCacheTopology().getTopologyId();
+      // TotalOrderStateTransferInterceptor doesn't set the topology id for PFERs.
+      // TODO Shouldn't PFERs be executed in a tx with total order?
+      boolean topologyChanged = isSync && currentTopologyId != commandTopologyId && commandTopologyId != -1;
+      if (command.isSuccessful() && topologyChanged) {
+         log.tracef("Cache topology changed while the command was executing: expected %d, got %d",
+               commandTopologyId, currentTopologyId);
+         throw new OutdatedTopologyException("Cache topology changed while the command was executing: expected " +
+               commandTopologyId + ", got " + currentTopologyId);
+      }
+   }
+
+   private void updateValueMatcherAfterPrimaryOwnerFailure(DataWriteCommand command, ValueMatcher valueMatcher,
+                                                          Throwable t) {
+      if (t instanceof RemoteException) {
+         Throwable ce = t;
+         while (ce instanceof RemoteException) {
+            ce = ce.getCause();
+         }
+         if (ce instanceof OutdatedTopologyException) {
+            // If the primary owner throws an OutdatedTopologyException, it must be because the command succeeded there
+            if (trace) log.tracef("Changing the value matching policy from %s to %s (original value was %s)",
+                  command.getValueMatcher(), valueMatcher.matcherForRetry(), valueMatcher);
+            command.setValueMatcher(valueMatcher.matcherForRetry());
+         }
+      } else if (t instanceof SuspectException) {
+         // If the primary owner became suspected, we don't know if it was able to replicate it's data properly
+         // to all backup owners and notify all listeners, thus we need to retry with new matcher in case if
+         // it had updated the backup owners
+         if (trace) log.tracef("Primary owner suspected - Changing the value matching policy from %s to %s " +
+                                     "(original value was %s)", command.getValueMatcher(),
+                               valueMatcher.matcherForRetry(), valueMatcher);
+         command.setValueMatcher(valueMatcher.matcherForRetry());
+      }
+   }
+
    private RpcOptions determineRpcOptionsForBackupReplication(RpcManager rpc, boolean isSync, List<Address> recipients) {
       RpcOptions options;
       if (isSync) {
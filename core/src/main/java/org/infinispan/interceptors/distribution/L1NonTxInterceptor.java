@@ -4,6 +4,7 @@
 import org.infinispan.commands.DataCommand;
 import org.infinispan.commands.FlagAffectedCommand;
 import org.infinispan.commands.LocalFlagAffectedCommand;
+import org.infinispan.commands.read.GetAllCommand;
 import org.infinispan.commands.read.GetKeyValueCommand;
 import org.infinispan.commands.write.DataWriteCommand;
 import org.infinispan.commands.write.InvalidateCommand;
@@ -28,7 +29,9 @@
 import org.infinispan.util.logging.LogFactory;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
@@ -108,6 +111,45 @@ public Object visitGetKeyValueCommand(InvocationContext ctx, GetKeyValueCommand
       return performCommandWithL1WriteIfAble(ctx, command, false, true);
    }
 
+   @Override
+   public Object visitGetAllCommand(InvocationContext ctx, GetAllCommand command) throws Throwable {
+      if (!ctx.isOriginLocal()) {
+         // If this is a remote command, and we found a value in our cache
+         // we store it so that we can later invalidate it
+         for (Object key : command.getKeys()) {
+            l1Manager.addRequestor(key, ctx.getOrigin());
+         }
+         return invokeNextInterceptor(ctx, command);
+      }
+      Map<Object, L1WriteSynchronizer> l1WriteSyncs = new HashMap<Object, L1WriteSynchronizer>();
+      try {
+         for (Object key : command.getKeys()) {
+            if (skipL1Lookup(command, key)) {
+               continue;
+            }
+            L1WriteSynchronizer l1WriteSync = new L1WriteSynchronizer(dataContainer, l1Lifespan, stateTransferLock,
+                                                                      cdl);
+            // If there is a concurrent request for the key, the value is fetched again but only the concurrent
+            // request updates the L1 cache
+            if (concurrentWrites.putIfAbsent(key, l1WriteSync) == null) {
+               l1WriteSyncs.put(key, l1WriteSync);
+               l1Manager.registerL1WriteSynchronizer(key, l1WriteSync);
+            }
+         }
+         return invokeNextInterceptor(ctx, command);
+      } catch (Throwable t) {
+         for (L1WriteSynchronizer l1WriteSync : l1WriteSyncs.values()) {
+            l1WriteSync.retrievalEncounteredException(t);
+         }
+         throw t;
+      } finally {
+         for (Map.Entry<Object, L1WriteSynchronizer> entry : l1WriteSyncs.entrySet()) {
+            l1Manager.unregisterL1WriteSynchronizer(entry.getKey(), entry.getValue());
+            concurrentWrites.remove(entry.getKey());
+         }
+      }
+   }
+
    protected Object performCommandWithL1WriteIfAble(InvocationContext ctx, DataCommand command,
                                                 boolean shouldAlwaysRunNextInterceptor, boolean registerL1) throws Throwable {
       Object returnValue;
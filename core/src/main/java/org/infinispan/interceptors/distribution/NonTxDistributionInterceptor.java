@@ -1,18 +1,25 @@
 package org.infinispan.interceptors.distribution;
 
 import org.infinispan.commands.FlagAffectedCommand;
+import org.infinispan.commands.VisitableCommand;
 import org.infinispan.commands.read.GetKeyValueCommand;
 import org.infinispan.commands.write.ClearCommand;
+import org.infinispan.commands.write.DataWriteCommand;
 import org.infinispan.commands.write.PutKeyValueCommand;
 import org.infinispan.commands.write.PutMapCommand;
 import org.infinispan.commands.write.RemoveCommand;
 import org.infinispan.commands.write.ReplaceCommand;
 import org.infinispan.commands.write.WriteCommand;
 import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.commons.util.concurrent.NotifyingFuture;
 import org.infinispan.context.Flag;
 import org.infinispan.context.InvocationContext;
+import org.infinispan.interceptors.base.AsyncInvocationCallback;
+import org.infinispan.interceptors.base.InvocationCallback;
+import org.infinispan.remoting.responses.Response;
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.remoting.transport.jgroups.SuspectException;
+import org.infinispan.util.concurrent.CompletableNotifyingFuture;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
@@ -60,6 +67,53 @@ public Object visitGetKeyValueCommand(InvocationContext ctx, GetKeyValueCommand
       }
    }
 
+   @Override
+   public NotifyingFuture<Object> visitCommandAsync(InvocationContext ctx, VisitableCommand command) throws Throwable {
+      if (command instanceof GetKeyValueCommand) {
+         return visitGetKeyValueCommandAsync(ctx, (GetKeyValueCommand) command);
+      } else if (command instanceof PutKeyValueCommand || command instanceof RemoveCommand ||
+            command instanceof ReplaceCommand) {
+         return handleNonTxWriteCommandAsync(ctx, (DataWriteCommand) command);
+      }
+      return super.visitCommandAsync(ctx, command);
+   }
+
+   private NotifyingFuture<Object> visitGetKeyValueCommandAsync(final InvocationContext ctx,
+                                                                final GetKeyValueCommand command) throws Throwable {
+      Object returnValue = invokeNextInterceptor(ctx, command);
+      if (returnValue != null || !needsRemoteGet(ctx, command)) {
+         if (returnValue == null && isValueAvailableLocally(dm.getReadConsistentHash(), command.getKey())) {
+            returnValue = computeGetReturn(localGetCacheEntry(ctx, command.getKey(), false, command), command);
+         }
+         return CompletableNotifyingFuture.completedFuture(returnValue);
+      }
+
+      if (trace) log.tracef("Doing an asynchronous remote get for key %s", command.getKey());
+      return whenCompleteAsync(retrieveFromRemoteSourceAsync(command.getKey(), ctx, command), new AsyncInvocationCallback() {
+         @Override
+         public NotifyingFuture<Object> apply(Object remoteEntry, Throwable throwable) throws Throwable {
+            if (throwable instanceof SuspectException) {
+               // retry in the async executor, the synchronous retry waits for the owners to reply
+               return executeAsync(asyncExecutor, new InvocationCallback() {
+                  @Override
+                  public Object apply(Object returnValue, Throwable throwable) throws Throwable {
+                     return visitGetKeyValueCommand(ctx, command);
+                  }
+               }, remoteEntry, throwable);
+            } else if (throwable != null) {
+               throw throwable;
+            }
+            command.setRemotelyFetchedValue((InternalCacheEntry) remoteEntry);
+            Object returnValue = computeGetReturn((InternalCacheEntry) remoteEntry, command);
+            if (returnValue == null && isValueAvailableLocally(dm.getReadConsistentHash(), command.getKey())) {
+               InternalCacheEntry localEntry = localGetCacheEntry(ctx, command.getKey(), false, command);
+               returnValue = computeGetReturn(localEntry, command);
+            }
+            return CompletableNotifyingFuture.completedFuture(returnValue);
+         }
+      });
+   }
+
    private Object computeGetReturn(InternalCacheEntry entry, GetKeyValueCommand command) {
       if (!command.isReturnEntry() && entry != null)
          return entry.getValue();
@@ -74,6 +128,10 @@ public Object visitPutKeyValueCommand(InvocationContext ctx, PutKeyValueCommand
 
    @Override
    public Object visitPutMapCommand(InvocationContext ctx, PutMapCommand command) throws Throwable {
+      // The command is sent to the primary owners and forwarded to the backup owners without waiting for the
+      // responses, so that the remote invocations proceed concurrently with each other and with the local one
+      NotifyingFuture<Map<Address, Response>> primaryOwnersResponses = null;
+      NotifyingFuture<Map<Address, Response>> backupOwnersResponses = null;
       if (ctx.isOriginLocal()) {
          Set<Address> primaryOwners = new HashSet<Address>(command.getAffectedKeys().size());
          for (Object k : command.getAffectedKeys()) {
@@ -81,7 +139,8 @@ public Object visitPutMapCommand(InvocationContext ctx, PutMapCommand command) t
          }
          primaryOwners.remove(rpcManager.getAddress());
          if (!primaryOwners.isEmpty()) {
-            rpcManager.invokeRemotely(primaryOwners, command, rpcManager.getDefaultRpcOptions(isSynchronous(command)));
+            primaryOwnersResponses = rpcManager.invokeRemotelyAsync(primaryOwners, command,
+                                                                    rpcManager.getDefaultRpcOptions(isSynchronous(command)));
          }
       }
 
@@ -97,12 +156,21 @@ public Object visitPutMapCommand(InvocationContext ctx, PutMapCommand command) t
          if (backupOwners == null || !backupOwners.isEmpty()) {
             command.setFlags(Flag.SKIP_LOCKING);
             command.setForwarded(true);
-            rpcManager.invokeRemotely(backupOwners, command, rpcManager.getDefaultRpcOptions(isSynchronous(command)));
+            // The command is marshalled before invokeRemotelyAsync returns
+            backupOwnersResponses = rpcManager.invokeRemotelyAsync(backupOwners, command,
+                                                                   rpcManager.getDefaultRpcOptions(isSynchronous(command)));
             command.setForwarded(false);
          }
       }
 
-      return invokeNextInterceptor(ctx, command);
+      Object result = invokeNextInterceptor(ctx, command);
+      if (primaryOwnersResponses != null) {
+         waitForResponses(primaryOwnersResponses);
+      }
+      if (backupOwnersResponses != null) {
+         waitForResponses(backupOwnersResponses);
+      }
+      return result;
    }
 
    @Override
@@ -315,6 +315,19 @@ protected void remoteGetBeforeWrite(InvocationContext ctx, WriteCommand command,
       }
    }
 
+   @Override
+   protected void wrapRemoteEntryForReading(InvocationContext ctx, Object key, InternalCacheEntry ice) {
+      if (useClusteredWriteSkewCheck && ctx.isInTxScope()) {
+         ((TxInvocationContext)ctx).getCacheTransaction().putLookedUpRemoteVersion(key, ice.getMetadata().version());
+      }
+      if (!ctx.replaceValue(key, ice)) {
+         ctx.putLookedUpEntry(key, ice);
+         if (ctx.isInTxScope()) {
+            ((TxInvocationContext) ctx).getCacheTransaction().replaceVersionRead(key, ice.getMetadata().version());
+         }
+      }
+   }
+
    private InternalCacheEntry remoteGet(InvocationContext ctx, Object key, boolean isWrite, FlagAffectedCommand command) throws Throwable {
       if (ctx.isOriginLocal() && !isValueAvailableLocally(dm.getReadConsistentHash(), key) || dm.isAffectedByRehash(key) && !dataContainer.containsKey(key)) {
          if (trace) log.tracef("Doing a remote get for key %s", key);
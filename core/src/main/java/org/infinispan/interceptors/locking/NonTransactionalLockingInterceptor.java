@@ -1,12 +1,18 @@
 package org.infinispan.interceptors.locking;
 
 import org.infinispan.InvalidCacheUsageException;
+import org.infinispan.commands.VisitableCommand;
+import org.infinispan.commands.read.GetAllCommand;
 import org.infinispan.commands.read.GetKeyValueCommand;
 import org.infinispan.commands.write.ClearCommand;
+import org.infinispan.commands.write.DataWriteCommand;
+import org.infinispan.commands.write.PutKeyValueCommand;
 import org.infinispan.commands.write.PutMapCommand;
 import org.infinispan.commands.write.RemoveCommand;
 import org.infinispan.commands.write.ReplaceCommand;
+import org.infinispan.commons.util.concurrent.NotifyingFuture;
 import org.infinispan.context.InvocationContext;
+import org.infinispan.interceptors.base.InvocationCallback;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
@@ -35,6 +41,16 @@ public Object visitGetKeyValueCommand(InvocationContext ctx, GetKeyValueCommand
       }
    }
 
+   @Override
+   public Object visitGetAllCommand(InvocationContext ctx, GetAllCommand command) throws Throwable {
+      assertNonTransactional(ctx);
+      try {
+         return invokeNextInterceptor(ctx, command);
+      } finally {
+         lockManager.unlockAll(ctx);//possibly needed because of L1 locks being acquired
+      }
+   }
+
    @Override
    public Object visitClearCommand(InvocationContext ctx, ClearCommand command) throws Throwable {
       assertNonTransactional(ctx);
@@ -104,6 +120,30 @@ public Object visitReplaceCommand(InvocationContext ctx, ReplaceCommand command)
       }
    }
 
+   @Override
+   public NotifyingFuture<Object> visitCommandAsync(final InvocationContext ctx, VisitableCommand command) throws Throwable {
+      if (command instanceof PutKeyValueCommand || command instanceof RemoveCommand ||
+            command instanceof ReplaceCommand) {
+         DataWriteCommand writeCommand = (DataWriteCommand) command;
+         // The locks are owned by the invoking thread, so they must be released before the invocation returns
+         if (shouldLock(writeCommand.getKey(), writeCommand))
+            return super.visitCommandAsync(ctx, command);
+      } else if (!(command instanceof GetKeyValueCommand)) {
+         return super.visitCommandAsync(ctx, command);
+      }
+
+      assertNonTransactional(ctx);
+      return whenComplete(invokeNextInterceptorAsync(ctx, command), new InvocationCallback() {
+         @Override
+         public Object apply(Object returnValue, Throwable throwable) throws Throwable {
+            lockManager.unlockAll(ctx);
+            if (throwable != null)
+               throw throwable;
+            return returnValue;
+         }
+      });
+   }
+
    private void assertNonTransactional(InvocationContext ctx) {
       //this only happens if the cache is used in a transaction's scope
       if (ctx.isInTxScope()) {
@@ -5,6 +5,7 @@
 import org.infinispan.commons.util.CloseableIterator;
 import org.infinispan.commons.util.CollectionFactory;
 import org.infinispan.commons.util.concurrent.ParallelIterableMap;
+import org.infinispan.container.SegmentedDataContainer;
 import org.infinispan.container.entries.CacheEntry;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.context.Flag;
@@ -352,7 +353,8 @@ public boolean add(CacheEntry<K, C> kcEntry) {
 
                      PassivationListener<K, V> listener = null;
                      try {
-                        for (InternalCacheEntry<K, V> entry : dataContainer) {
+                        for (Iterator<InternalCacheEntry<K, V>> it = dataContainerIterator(segmentsToUse); it.hasNext(); ) {
+                           InternalCacheEntry<K, V> entry = it.next();
                            InternalCacheEntry<K, V> clone = entryFactory.create(unwrapMarshalledvalue(entry.getKey()),
                                                                                 unwrapMarshalledvalue(entry.getValue()), entry);
                            K key = clone.getKey();
@@ -540,6 +542,17 @@ public void handleBatch(UUID identifier, boolean complete, Set<Integer> complete
       return itr;
    }
 
+   /**
+    * Only visits the requested segments if the data container is segmented, otherwise iterates over the whole
+    * container and relies on the segment check done by the {@link MapAction}.
+    */
+   private Iterator<InternalCacheEntry<K, V>> dataContainerIterator(Set<Integer> segments) {
+      if (dataContainer instanceof SegmentedDataContainer) {
+         return ((SegmentedDataContainer<K, V>) dataContainer).iterator(segments);
+      }
+      return dataContainer.iterator();
+   }
+
    private ConsistentHash getCurrentHash() {
       ConsistentHash hash = currentHash.get();
       if (hash == null) {
@@ -2,11 +2,11 @@
 
 import org.infinispan.Cache;
 import org.infinispan.commons.io.ByteBuffer;
-import org.infinispan.commons.io.ByteBufferImpl;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.configuration.global.GlobalConfiguration;
 import org.infinispan.context.InvocationContextContainer;
 import org.infinispan.commons.io.ExposedByteArrayOutputStream;
+import org.infinispan.commons.io.OutputBufferPool;
 import org.infinispan.commons.marshall.AbstractMarshaller;
 import org.infinispan.commons.marshall.NotSerializableException;
 import org.infinispan.commons.marshall.StreamingMarshaller;
@@ -36,6 +36,7 @@ public class VersionAwareMarshaller extends AbstractMarshaller implements Stream
 
    private static final int VERSION_510 = 510;
 
+   private final OutputBufferPool outputBuffers = new OutputBufferPool();
    private JBossMarshaller defaultMarshaller;
    private String cacheName;
 
@@ -71,25 +72,30 @@ public void stop() {
 
    @Override
    protected ByteBuffer objectToBuffer(Object obj, int estimatedSize) throws IOException, InterruptedException {
-      ExposedByteArrayOutputStream baos = new ExposedByteArrayOutputStream(estimatedSize);
-      ObjectOutput out = startObjectOutput(baos, false, estimatedSize);
+      ExposedByteArrayOutputStream baos = outputBuffers.acquire(estimatedSize);
       try {
-         defaultMarshaller.objectToObjectStream(obj, out);
-      } catch (java.io.NotSerializableException nse) {
-         if (log.isDebugEnabled()) log.debug("Object is not serializable", nse);
-         throw new NotSerializableException(nse.getMessage(), nse.getCause());
-      } catch (IOException ioe) {
-         if (ioe.getCause() instanceof InterruptedException) {
-            if (log.isTraceEnabled()) log.trace("Interrupted exception while marshalling", ioe.getCause());
-            throw (InterruptedException) ioe.getCause();
-         } else {
-            log.errorMarshallingObject(ioe, obj);
-            throw ioe;
+         ObjectOutput out = startObjectOutput(baos, false, estimatedSize);
+         try {
+            defaultMarshaller.objectToObjectStream(obj, out);
+         } catch (java.io.NotSerializableException nse) {
+            if (log.isDebugEnabled()) log.debug("Object is not serializable", nse);
+            throw new NotSerializableException(nse.getMessage(), nse.getCause());
+         } catch (IOException ioe) {
+            if (ioe.getCause() instanceof InterruptedException) {
+               if (log.isTraceEnabled()) log.trace("Interrupted exception while marshalling", ioe.getCause());
+               throw (InterruptedException) ioe.getCause();
+            } else {
+               log.errorMarshallingObject(ioe, obj);
+               throw ioe;
+            }
+         } finally {
+            finishObjectOutput(out);
          }
+         // The pooled buffer is reused, so the caller gets an exactly sized copy
+         return OutputBufferPool.copyOf(baos);
       } finally {
-         finishObjectOutput(out);
+         outputBuffers.release(baos);
       }
-      return new ByteBufferImpl(baos.getRawBuffer(), 0, baos.size());
    }
 
    @Override
@@ -48,6 +48,11 @@ void notifyCacheEntryRemoved(K key, V value, V oldValue,
    void notifyCacheEntryVisited(K key, V value, boolean pre,
          InvocationContext ctx, FlagAffectedCommand command);
 
+   /**
+    * @return true if any listener is registered for CacheEntryVisited events
+    */
+   boolean hasCacheEntryVisitedListeners();
+
    /**
     * Notifies all registered listeners of a CacheEntriesEvicted event.
     */
@@ -301,6 +301,11 @@ private void configureEvent(EventImpl<K, V> e, K key, V value, boolean pre,
       setTx(ctx, e);
    }
 
+   @Override
+   public boolean hasCacheEntryVisitedListeners() {
+      return !cacheEntryVisitedListeners.isEmpty();
+   }
+
    @Override
    public void notifyCacheEntryVisited(K key, V value, boolean pre, InvocationContext ctx, FlagAffectedCommand command) {
       if (isNotificationAllowed(command, cacheEntryVisitedListeners)) {
@@ -0,0 +1,285 @@
+package org.infinispan.notifications.cachelistener.cluster;
+
+import net.jcip.annotations.ThreadSafe;
+import org.infinispan.commands.CommandsFactory;
+import org.infinispan.commands.read.DistributedExecuteCommand;
+import org.infinispan.commons.util.CollectionFactory;
+import org.infinispan.commons.util.concurrent.FutureListener;
+import org.infinispan.commons.util.concurrent.NotifyingFuture;
+import org.infinispan.configuration.cache.ClusterListenerConfiguration;
+import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.distexec.DistributedExecutorService;
+import org.infinispan.factories.KnownComponentNames;
+import org.infinispan.factories.annotations.ComponentName;
+import org.infinispan.factories.annotations.Inject;
+import org.infinispan.factories.annotations.Start;
+import org.infinispan.factories.annotations.Stop;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachemanagerlistener.CacheManagerNotifier;
+import org.infinispan.notifications.cachemanagerlistener.annotation.ViewChanged;
+import org.infinispan.notifications.cachemanagerlistener.event.ViewChangedEvent;
+import org.infinispan.remoting.responses.Response;
+import org.infinispan.remoting.rpc.RpcManager;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ClusterEventSender} queueing the events per target node, and sending them in batches from the async transport
+ * executor. At most one batch is in flight for each target node, which keeps the events ordered: the events queued
+ * while a batch is being sent are sent together in the next one.
+ * <p/>
+ * A batch is sent as soon as {@link ClusterListenerConfiguration#maxBatchSize()} events are queued, or {@link
+ * ClusterListenerConfiguration#maxBatchLatency()} milliseconds after the first event was queued. If the events cannot
+ * be sent, they are logged and dropped: the operations which raised them have already completed. The queues of the
+ * nodes which left the cluster are dropped as well.
+ * <p/>
+ * The batches are sent with {@link RpcManager#invokeRemotelyAsync(Collection,
+ * org.infinispan.commands.ReplicableCommand, org.infinispan.remoting.rpc.RpcOptions)}, so the transport executor
+ * threads don't wait for them to be delivered: the next batch for a node is sent from a new task, once the previous
+ * one has completed.
+ *
+ * @since 7.0
+ */
+@ThreadSafe
+public class BatchingClusterEventSender implements ClusterEventSender {
+   private static final Log log = LogFactory.getLog(BatchingClusterEventSender.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   private static final int IDLE = 0;
+   private static final int SCHEDULED = 1;
+   private static final int SENDING = 2;
+
+   private final ConcurrentMap<Address, TargetQueue> queues = CollectionFactory.makeConcurrentMap();
+   private final ViewListener viewListener = new ViewListener();
+   private Configuration configuration;
+   private CacheManagerNotifier cacheManagerNotifier;
+   private CommandsFactory commandsFactory;
+   private RpcManager rpcManager;
+   private ExecutorService transportExecutor;
+   private ScheduledExecutorService scheduledExecutor;
+   private boolean async;
+   private int maxBatchSize;
+   private long maxBatchLatency;
+
+   @Inject
+   public void injectDependencies(Configuration configuration, CacheManagerNotifier cacheManagerNotifier,
+                                  CommandsFactory commandsFactory, RpcManager rpcManager,
+                                  @ComponentName(KnownComponentNames.ASYNC_TRANSPORT_EXECUTOR) ExecutorService transportExecutor,
+                                  @ComponentName(KnownComponentNames.ASYNC_REPLICATION_QUEUE_EXECUTOR) ScheduledExecutorService scheduledExecutor) {
+      this.configuration = configuration;
+      this.cacheManagerNotifier = cacheManagerNotifier;
+      this.commandsFactory = commandsFactory;
+      this.rpcManager = rpcManager;
+      this.transportExecutor = transportExecutor;
+      this.scheduledExecutor = scheduledExecutor;
+   }
+
+   @Start
+   public void start() {
+      ClusterListenerConfiguration clusterListenerCfg = configuration.clustering().clusterListener();
+      async = clusterListenerCfg.async();
+      maxBatchSize = clusterListenerCfg.maxBatchSize();
+      maxBatchLatency = clusterListenerCfg.maxBatchLatency();
+      if (async) {
+         cacheManagerNotifier.addListener(viewListener);
+      }
+   }
+
+   /**
+    * Starts sending the events still queued, unless they are already being sent.
+    */
+   @Stop(priority = 9)
+   // Stop before transport
+   public void stop() {
+      if (async) {
+         cacheManagerNotifier.removeListener(viewListener);
+      }
+      for (TargetQueue queue : queues.values()) {
+         int state = queue.state.get();
+         if (state != SENDING && queue.state.compareAndSet(state, SENDING)) {
+            try {
+               queue.run();
+            } catch (Exception e) {
+               log.debug("Unable to send the queued cluster events before shutting down", e);
+            }
+         }
+      }
+      queues.clear();
+   }
+
+   @Override
+   public void send(DistributedExecutorService executorService, Address target, UUID listenerId,
+                    Collection<? extends ClusterEvent<?, ?>> events) throws Exception {
+      if (!async) {
+         if (trace) {
+            log.tracef("Submitting Event(s) %s to cluster listener to %s", events, target);
+         }
+         // Force the execution to wait until completed
+         executorService.submit(target, new ClusterEventCallable(listenerId, events)).get();
+         return;
+      }
+
+      TargetQueue queue = queues.get(target);
+      if (queue == null) {
+         queue = new TargetQueue(target);
+         TargetQueue existing = queues.putIfAbsent(target, queue);
+         if (existing != null) {
+            queue = existing;
+         }
+      }
+      queue.add(listenerId, events);
+   }
+
+   @Listener
+   public class ViewListener {
+      @ViewChanged
+      public void viewChanged(ViewChangedEvent event) {
+         // The events queued for a node which left can't be delivered
+         queues.keySet().retainAll(event.getNewMembers());
+      }
+   }
+
+   private static class PendingEvents {
+      final UUID listenerId;
+      final Collection<? extends ClusterEvent<?, ?>> events;
+
+      PendingEvents(UUID listenerId, Collection<? extends ClusterEvent<?, ?>> events) {
+         this.listenerId = listenerId;
+         this.events = events;
+      }
+   }
+
+   private class TargetQueue implements Runnable {
+      final Address target;
+      final Queue<PendingEvents> pending = new ConcurrentLinkedQueue<>();
+      final AtomicInteger size = new AtomicInteger();
+      final AtomicInteger state = new AtomicInteger(IDLE);
+
+      final Runnable timeout = new Runnable() {
+         @Override
+         public void run() {
+            if (state.compareAndSet(SCHEDULED, SENDING)) {
+               transportExecutor.execute(TargetQueue.this);
+            }
+         }
+      };
+
+      TargetQueue(Address target) {
+         this.target = target;
+      }
+
+      void add(UUID listenerId, Collection<? extends ClusterEvent<?, ?>> events) {
+         pending.add(new PendingEvents(listenerId, events));
+         boolean full = size.addAndGet(events.size()) >= maxBatchSize;
+         while (true) {
+            int current = state.get();
+            if (current == SENDING) {
+               // The sender will pick the events up
+               return;
+            } else if (full || maxBatchLatency == 0) {
+               if (state.compareAndSet(current, SENDING)) {
+                  transportExecutor.execute(this);
+                  return;
+               }
+            } else if (current == SCHEDULED) {
+               return;
+            } else if (state.compareAndSet(IDLE, SCHEDULED)) {
+               scheduledExecutor.schedule(timeout, maxBatchLatency, TimeUnit.MILLISECONDS);
+               return;
+            }
+         }
+      }
+
+      /**
+       * Sends the queued events until there are none left. Only invoked by the thread which moved the queue to the
+       * {@code SENDING} state.
+       */
+      @Override
+      public void run() {
+         while (true) {
+            Map<UUID, List<ClusterEvent<?, ?>>> batch = new LinkedHashMap<>();
+            int count = 0;
+            PendingEvents events;
+            while (count < maxBatchSize && (events = pending.poll()) != null) {
+               List<ClusterEvent<?, ?>> listenerEvents = batch.get(events.listenerId);
+               if (listenerEvents == null) {
+                  listenerEvents = new ArrayList<>();
+                  batch.put(events.listenerId, listenerEvents);
+               }
+               listenerEvents.addAll(events.events);
+               count += events.events.size();
+            }
+
+            if (count == 0) {
+               state.set(IDLE);
+               // Events queued after the last poll may have seen the SENDING state
+               if (pending.isEmpty() || !state.compareAndSet(IDLE, SENDING))
+                  return;
+               continue;
+            }
+
+            size.addAndGet(-count);
+            if (trace) {
+               log.tracef("Submitting Event(s) %s to cluster listener(s) to %s", batch, target);
+            }
+            final int sent = count;
+            DistributedExecuteCommand<Void> command = commandsFactory.buildDistributedExecuteCommand(
+                  new ClusterEventCallable(batch), rpcManager.getAddress(), null);
+            NotifyingFuture<Map<Address, Response>> future;
+            try {
+               future = rpcManager.invokeRemotelyAsync(Collections.singleton(target), command,
+                                                       rpcManager.getDefaultRpcOptions(true));
+            } catch (Exception e) {
+               log.unableToSendClusterEvents(count, target, e);
+               continue;
+            }
+            future.attachListener(new FutureListener<Map<Address, Response>>() {
+               @Override
+               public void futureDone(Future<Map<Address, Response>> future) {
+                  try {
+                     future.get();
+                  } catch (InterruptedException e) {
+                     Thread.currentThread().interrupt();
+                     log.unableToSendClusterEvents(sent, target, e);
+                  } catch (ExecutionException e) {
+                     log.unableToSendClusterEvents(sent, target, e.getCause());
+                  }
+                  sendNextBatch();
+               }
+            });
+            return;
+         }
+      }
+
+      /**
+       * Sends the events queued while the previous batch was in flight, keeping the {@code SENDING} state.
+       */
+      private void sendNextBatch() {
+         try {
+            transportExecutor.execute(this);
+         } catch (RejectedExecutionException e) {
+            log.debug("Unable to send the queued cluster events, the transport executor is shut down", e);
+            state.set(IDLE);
+         }
+      }
+   }
+}
@@ -1,6 +1,7 @@
 package org.infinispan.notifications.cachelistener.cluster;
 
 import org.infinispan.Cache;
+import org.infinispan.commons.io.UnsignedNumeric;
 import org.infinispan.commons.marshall.AbstractExternalizer;
 import org.infinispan.commons.util.Util;
 import org.infinispan.distexec.DistributedCallable;
@@ -16,12 +17,15 @@
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
 /**
  * This DistributedCallable is used to invoke a raised notification on the cluster listener that registered to listen
- * for this event.
+ * for this event. It may also carry the events of several cluster listeners registered on the same node, in which case
+ * each cluster listener is notified of its own events, in order.
  *
  * @author wburns
  * @since 7.0
@@ -32,32 +36,42 @@
 
    private transient ClusterCacheNotifier clusterCacheNotifier;
 
-   private final UUID identifier;
-   private final Collection<? extends ClusterEvent<K, V>> events;
+   private final Map<UUID, ? extends Collection<? extends ClusterEvent<K, V>>> events;
 
    public ClusterEventCallable(UUID identifier, ClusterEvent<K, V> event) {
       this(identifier, Collections.singleton(event));
    }
 
    public ClusterEventCallable(UUID identifier, Collection<? extends ClusterEvent<K, V>> events) {
-      this.identifier = identifier;
+      this(Collections.singletonMap(identifier, events));
+   }
+
+   /**
+    * @param events the events to notify, by cluster listener identifier
+    */
+   public ClusterEventCallable(Map<UUID, ? extends Collection<? extends ClusterEvent<K, V>>> events) {
       this.events = events;
    }
 
    @Override
    public Void call() throws Exception {
-      if (log.isTraceEnabled()) {
-         log.tracef("Received cluster event(s) %s, notifying cluster listener with id %s", events, identifier);
+      for (Map.Entry<UUID, ? extends Collection<? extends ClusterEvent<K, V>>> entry : events.entrySet()) {
+         if (log.isTraceEnabled()) {
+            log.tracef("Received cluster event(s) %s, notifying cluster listener with id %s", entry.getValue(),
+                       entry.getKey());
+         }
+         clusterCacheNotifier.notifyClusterListeners(entry.getValue(), entry.getKey());
       }
-      clusterCacheNotifier.notifyClusterListeners(events, identifier);
       return null;
    }
 
    @Override
    public void setEnvironment(Cache<K, V> cache, Set<K> inputKeys) {
       this.clusterCacheNotifier = cache.getAdvancedCache().getComponentRegistry().getComponent(ClusterCacheNotifier.class);
-      for (ClusterEvent event : events) {
-         event.cache = cache;
+      for (Collection<? extends ClusterEvent<K, V>> listenerEvents : events.values()) {
+         for (ClusterEvent event : listenerEvents) {
+            event.cache = cache;
+         }
       }
    }
 
@@ -69,13 +83,22 @@ public Set<Class<? extends ClusterEventCallable>> getTypeClasses() {
 
       @Override
       public void writeObject(ObjectOutput output, ClusterEventCallable object) throws IOException {
-         output.writeObject(object.identifier);
-         output.writeObject(object.events);
+         Map<UUID, ? extends Collection<? extends ClusterEvent>> events = object.events;
+         UnsignedNumeric.writeUnsignedInt(output, events.size());
+         for (Map.Entry<UUID, ? extends Collection<? extends ClusterEvent>> entry : events.entrySet()) {
+            output.writeObject(entry.getKey());
+            output.writeObject(entry.getValue());
+         }
       }
 
       @Override
       public ClusterEventCallable readObject(ObjectInput input) throws IOException, ClassNotFoundException {
-         return new ClusterEventCallable((UUID)input.readObject(), (Collection<? extends ClusterEvent>)input.readObject());
+         int size = UnsignedNumeric.readUnsignedInt(input);
+         Map<UUID, Collection<? extends ClusterEvent>> events = new LinkedHashMap<>(size);
+         for (int i = 0; i < size; i++) {
+            events.put((UUID) input.readObject(), (Collection<? extends ClusterEvent>) input.readObject());
+         }
+         return new ClusterEventCallable(events);
       }
 
       @Override
@@ -0,0 +1,30 @@
+package org.infinispan.notifications.cachelistener.cluster;
+
+import org.infinispan.distexec.DistributedExecutorService;
+import org.infinispan.remoting.transport.Address;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Sends the events raised on this node to the cluster listeners registered on other nodes.
+ *
+ * @since 7.0
+ */
+public interface ClusterEventSender {
+
+   /**
+    * Sends the events raised for a cluster listener to the node the cluster listener is registered on. The events sent
+    * to the same node are delivered in the order they were passed to this method, and the events passed in a single
+    * invocation are always delivered together. Depending on {@link
+    * org.infinispan.configuration.cache.ClusterListenerConfiguration#async()}, this method returns as soon as the events
+    * are queued or once the cluster listener has been notified.
+    *
+    * @param executorService the executor service used to run the notification on the target node
+    * @param target the node the cluster listener is registered on
+    * @param listenerId the identifier of the cluster listener
+    * @param events the events to deliver
+    */
+   void send(DistributedExecutorService executorService, Address target, UUID listenerId,
+             Collection<? extends ClusterEvent<?, ?>> events) throws Exception;
+}
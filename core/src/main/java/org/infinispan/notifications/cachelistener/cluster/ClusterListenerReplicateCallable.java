@@ -38,6 +38,7 @@
    private transient CacheNotifier cacheNotifier;
    private transient CacheManagerNotifier cacheManagerNotifier;
    private transient DistributedExecutorService distExecutor;
+   private transient ClusterEventSender clusterEventSender;
    private transient Address ourAddress;
 
    private final UUID identifier;
@@ -60,6 +61,7 @@ public void setEnvironment(Cache<K, V> cache, Set<K> inputKeys) {
       cacheManagerNotifier = cache.getCacheManager().getGlobalComponentRegistry().getComponent(
             CacheManagerNotifier.class);
       distExecutor = new DefaultExecutorService(cache, new WithinThreadExecutor());
+      clusterEventSender = cache.getAdvancedCache().getComponentRegistry().getComponent(ClusterEventSender.class);
       ourAddress = cache.getCacheManager().getAddress();
    }
 
@@ -82,8 +84,9 @@ public Void call() throws Exception {
                   }
                }
                if (!alreadyInstalled) {
-                  RemoteClusterListener listener = new RemoteClusterListener(identifier, origin, distExecutor, cacheNotifier,
-                                                                           cacheManagerNotifier);
+                  RemoteClusterListener listener = new RemoteClusterListener(identifier, origin, distExecutor,
+                                                                             clusterEventSender, cacheNotifier,
+                                                                             cacheManagerNotifier);
                   cacheNotifier.addListener(listener, filter, converter);
                   cacheManagerNotifier.addListener(listener);
                   // It is possible the member is now gone after registered, if so we have to remove just to be sure
@@ -22,6 +22,7 @@
 import org.infinispan.util.logging.LogFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Queue;
 import java.util.UUID;
@@ -43,17 +44,20 @@ public class RemoteClusterListener {
    private final UUID id;
    private final Address origin;
    private final DistributedExecutorService distExecService;
+   private final ClusterEventSender clusterEventSender;
    private final CacheNotifier cacheNotifier;
    private final CacheManagerNotifier cacheManagerNotifier;
 
    private final ConcurrentMap<GlobalTransaction, Queue<CacheEntryEvent>> transactionChanges =
          CollectionFactory.makeConcurrentMap();
 
-   public RemoteClusterListener(UUID id, Address origin, DistributedExecutorService distExecService, CacheNotifier cacheNotifier,
+   public RemoteClusterListener(UUID id, Address origin, DistributedExecutorService distExecService,
+                                ClusterEventSender clusterEventSender, CacheNotifier cacheNotifier,
                                 CacheManagerNotifier cacheManagerNotifier) {
       this.id = id;
       this.origin = origin;
       this.distExecService = distExecService;
+      this.clusterEventSender = clusterEventSender;
       this.cacheNotifier = cacheNotifier;
       this.cacheManagerNotifier = cacheManagerNotifier;
    }
@@ -101,10 +105,7 @@ public void handleClusterEvents(CacheEntryEvent event) throws Exception {
             events.add(event);
          }  else {
             // Send event back to origin who has the cluster listener
-            if (log.isTraceEnabled()) {
-               log.tracef("Submitting Event %s to cluster listener to %s", event, origin);
-            }
-            distExecService.submit(origin, new ClusterEventCallable(id, ClusterEvent.fromEvent(event))).get();
+            clusterEventSender.send(distExecService, origin, id, Collections.<ClusterEvent<?, ?>>singleton(ClusterEvent.fromEvent(event)));
          }
       }
    }
@@ -113,16 +114,12 @@ public void handleClusterEvents(CacheEntryEvent event) throws Exception {
    public void transactionCompleted(TransactionCompletedEvent event) throws Exception {
       Queue<CacheEntryEvent> events = transactionChanges.remove(event.getGlobalTransaction());
       if (event.isTransactionSuccessful() && events != null) {
-         List<ClusterEvent> eventsToSend = new ArrayList<>(events.size());
+         List<ClusterEvent<?, ?>> eventsToSend = new ArrayList<>(events.size());
          for (CacheEntryEvent cacheEvent : events) {
             eventsToSend.add(ClusterEvent.fromEvent(cacheEvent));
-            // Send event back to origin who has the cluster listener
-            if (log.isTraceEnabled()) {
-               log.tracef("Submitting Event(s) %s to cluster listener to %s", eventsToSend, origin);
-            }
-            // Force the execution to wait until completed
-            distExecService.submit(origin, new ClusterEventCallable(id, eventsToSend)).get();
          }
+         // Send events back to origin who has the cluster listener, as 1 batch
+         clusterEventSender.send(distExecService, origin, id, eventsToSend);
       }
    }
 }
@@ -2,6 +2,7 @@
 
 import org.infinispan.commands.control.LockControlCommand;
 import org.infinispan.commands.read.DistributedExecuteCommand;
+import org.infinispan.commands.read.GetAllCommand;
 import org.infinispan.commands.read.GetKeyValueCommand;
 import org.infinispan.commands.tx.CommitCommand;
 import org.infinispan.commands.tx.PrepareCommand;
@@ -68,4 +69,12 @@ public Object visitGetKeyValueCommand(InvocationContext ctx, GetKeyValueCommand
       return super.visitGetKeyValueCommand(ctx, command);
    }
 
+   @Override
+   public Object visitGetAllCommand(InvocationContext ctx, GetAllCommand command) throws Throwable {
+      for (Object key : command.getKeys()) {
+         partitionHandlingManager.checkRead(key);
+      }
+      return super.visitGetAllCommand(ctx, command);
+   }
+
 }
@@ -4,10 +4,13 @@
 import org.infinispan.commons.io.ByteBufferFactory;
 import org.infinispan.commons.marshall.StreamingMarshaller;
 import org.infinispan.configuration.cache.StoreConfiguration;
+import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.marshall.core.MarshalledEntryFactory;
 import org.infinispan.persistence.spi.InitializationContext;
 import org.infinispan.util.TimeService;
 
+import java.util.concurrent.Executor;
+
 /**
  * @author Mircea Markus
  * @since 6.0
@@ -20,16 +23,21 @@ public class InitializationContextImpl implements InitializationContext {
    private final TimeService timeService;
    private final ByteBufferFactory byteBufferFactory;
    private final MarshalledEntryFactory marshalledEntryFactory;
+   private final KeyPartitioner keyPartitioner;
+   private final Executor executor;
 
 
    public InitializationContextImpl(StoreConfiguration configuration, Cache cache, StreamingMarshaller marshaller,
-                                    TimeService timeService, ByteBufferFactory byteBufferFactory, MarshalledEntryFactory mef) {
+                                    TimeService timeService, ByteBufferFactory byteBufferFactory, MarshalledEntryFactory mef,
+                                    KeyPartitioner keyPartitioner, Executor executor) {
       this.configuration = configuration;
       this.cache = cache;
       this.marshaller = marshaller;
       this.timeService = timeService;
       this.byteBufferFactory = byteBufferFactory;
       this.marshalledEntryFactory = mef;
+      this.keyPartitioner = keyPartitioner;
+      this.executor = executor;
    }
 
    @Override
@@ -62,4 +70,14 @@ public MarshalledEntryFactory getMarshalledEntryFactory() {
       return marshalledEntryFactory;
    }
 
+   @Override
+   public KeyPartitioner getKeyPartitioner() {
+      return keyPartitioner;
+   }
+
+   @Override
+   public Executor getExecutor() {
+      return executor;
+   }
+
 }
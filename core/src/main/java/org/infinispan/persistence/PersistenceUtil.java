@@ -12,6 +12,8 @@
 import org.infinispan.metadata.impl.InternalMetadataImpl;
 import org.infinispan.persistence.manager.PersistenceManager;
 import org.infinispan.persistence.spi.AdvancedCacheLoader;
+import org.infinispan.persistence.spi.BatchingCacheWriter;
+import org.infinispan.persistence.spi.CacheWriter;
 import org.infinispan.util.TimeService;
 import org.infinispan.util.concurrent.WithinThreadExecutor;
 import org.infinispan.util.logging.Log;
@@ -141,4 +143,32 @@ public static <K, V> InternalCacheEntry<K, V> convert(MarshalledEntry<K, V> load
          return factory.create(loaded.getKey(), loaded.getValue(), (Metadata) null);
       }
    }
+
+   /**
+    * Writes all the entries to the given writer, in a single batch if the writer is a {@link BatchingCacheWriter} or
+    * one entry at a time otherwise.
+    */
+   public static <K, V> void writeBatch(CacheWriter<K, V> writer, Iterable<MarshalledEntry<? extends K, ? extends V>> entries) {
+      if (writer instanceof BatchingCacheWriter) {
+         ((BatchingCacheWriter<K, V>) writer).writeBatch(entries);
+      } else {
+         for (MarshalledEntry<? extends K, ? extends V> entry : entries) {
+            writer.write(entry);
+         }
+      }
+   }
+
+   /**
+    * Removes all the keys from the given writer, in a single batch if the writer is a {@link BatchingCacheWriter} or
+    * one key at a time otherwise.
+    */
+   public static void deleteBatch(CacheWriter<?, ?> writer, Iterable<Object> keys) {
+      if (writer instanceof BatchingCacheWriter) {
+         ((BatchingCacheWriter<?, ?>) writer).deleteBatch(keys);
+      } else {
+         for (Object key : keys) {
+            writer.delete(key);
+         }
+      }
+   }
 }
@@ -5,6 +5,7 @@
 import org.infinispan.Cache;
 import org.infinispan.configuration.cache.AsyncStoreConfiguration;
 import org.infinispan.configuration.cache.Configuration;
+import org.infinispan.persistence.PersistenceUtil;
 import org.infinispan.persistence.spi.PersistenceException;
 import org.infinispan.persistence.modifications.Modification;
 import org.infinispan.persistence.modifications.Remove;
@@ -147,19 +148,44 @@ public boolean delete(Object key) {
       return true;
    }
 
+   /**
+    * Queues the entries like {@link #write(MarshalledEntry)} does; they are batched again when the queue is flushed.
+    */
+   @Override
+   public void writeBatch(Iterable entries) {
+      for (Object entry : entries)
+         write((MarshalledEntry) entry);
+   }
+
+   @Override
+   public void deleteBatch(Iterable keys) {
+      for (Object key : keys)
+         delete(key);
+   }
+
+   /**
+    * Applies the modifications to the underlying store. The modification list contains at most one modification per
+    * key, so all the stores and all the removals can be applied as two batches.
+    */
    protected void applyModificationsSync(List<Modification> mods) throws PersistenceException {
+      List<MarshalledEntry> stores = new ArrayList<MarshalledEntry>(mods.size());
+      List<Object> removes = new ArrayList<Object>();
       for (Modification m : mods) {
          switch (m.getType()) {
             case STORE:
-               actual.write(((Store) m).getStoredValue());
+               stores.add(((Store) m).getStoredValue());
                break;
             case REMOVE:
-               actual.delete(((Remove) m).getKey());
+               removes.add(((Remove) m).getKey());
                break;
             default:
                throw new IllegalArgumentException("Unknown modification type " + m.getType());
          }
       }
+      if (!stores.isEmpty())
+         PersistenceUtil.writeBatch(actual, (Iterable) stores);
+      if (!removes.isEmpty())
+         PersistenceUtil.deleteBatch(actual, removes);
    }
 
 
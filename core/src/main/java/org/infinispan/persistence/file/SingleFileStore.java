@@ -7,14 +7,16 @@
 import org.infinispan.commons.io.ByteBufferFactory;
 import org.infinispan.commons.util.CollectionFactory;
 import org.infinispan.configuration.cache.SingleFileStoreConfiguration;
+import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.executors.ExecutorAllCompletionService;
 import org.infinispan.filter.KeyFilter;
 import org.infinispan.marshall.core.MarshalledEntry;
 import org.infinispan.persistence.PersistenceUtil;
 import org.infinispan.persistence.TaskContextImpl;
-import org.infinispan.persistence.spi.AdvancedLoadWriteStore;
+import org.infinispan.persistence.spi.BatchingCacheWriter;
 import org.infinispan.persistence.spi.InitializationContext;
 import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.persistence.spi.SegmentedAdvancedLoadWriteStore;
 import org.infinispan.util.KeyValuePair;
 import org.infinispan.util.TimeService;
 import org.infinispan.util.logging.Log;
@@ -24,10 +26,17 @@
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -52,15 +61,33 @@
  * data loss, and data can be recomputed or re-queried from the original data
  * source.
  * <p/>
+ * The file is written as a log: new and updated entries are always appended at the end of the file, while replaced
+ * and deleted entries are only marked as free. When the free space exceeds the share of the file allowed by the
+ * {@link SingleFileStoreConfiguration#fragmentationFactor() fragmentation factor}, a background thread compacts the
+ * file by copying the live entries to a new file. Reads and writes continue during the copy, they are only blocked
+ * while the entries written in the meantime are copied and the files are swapped. Writes only trigger a compaction
+ * once the file is at least 1MB long, while a purge compacts the file whenever the fragmentation factor is exceeded,
+ * however small the file is.
+ * <p/>
+ * If {@link SingleFileStoreConfiguration#memoryMapped() memory mapping} is enabled, the entries are read from
+ * memory-mapped regions of the file instead of with a positional read on the file channel. A region is mapped
+ * the first time an entry is read from it, and it is remapped when the file has grown past its end. Entries spanning
+ * two regions are still read from the channel. Only the entries are mapped, the index of the keys and their file
+ * positions is always kept on the heap.
+ * <p/>
+ * The in-memory index also keeps the segment of each key, so the segment-based operations of
+ * {@link SegmentedAdvancedLoadWriteStore} only read the entries of the requested segments from the file.
+ * <p/>
  * This class is fully thread safe, yet allows for concurrent load / store
- * of individual cache entries.
+ * of individual cache entries. Unless the store is bounded, the index is a concurrent map, so loads don't have to
+ * wait for each other.
  *
  * @author Karsten Blees
  * @author Mircea Markus
  * @since 6.0
  */
 @ConfiguredBy(SingleFileStoreConfiguration.class)
-public class SingleFileStore<K, V> implements AdvancedLoadWriteStore<K, V> {
+public class SingleFileStore<K, V> implements SegmentedAdvancedLoadWriteStore<K, V>, BatchingCacheWriter<K, V> {
    private static final Log log = LogFactory.getLog(SingleFileStore.class);
    private static final boolean trace = log.isTraceEnabled();
 
@@ -68,27 +95,43 @@
    private static final byte[] ZERO_INT = {0, 0, 0, 0};
    private static final int KEYLEN_POS = 4;
    private static final int KEY_POS = 4 + 4 + 4 + 4 + 8;
-   private static final int SMALLEST_ENTRY_SIZE = 128;
+   // Small files are only compacted by purge
+   private static final long MIN_COMPACTION_FILE_SIZE = 1024 * 1024;
+   private static final int MAPPED_REGION_SHIFT = 30;
+   private static final long MAPPED_REGION_SIZE = 1L << MAPPED_REGION_SHIFT;
+   private static final MappedByteBuffer[] NO_MAPPED_REGIONS = new MappedByteBuffer[0];
+   private static final long MIN_REMAP_SIZE = 1024 * 1024;
 
    private SingleFileStoreConfiguration configuration;
 
    protected InitializationContext ctx;
 
-   private FileChannel channel;
+   private volatile FileChannel channel;
    private Map<K, FileEntry> entries;
-   private SortedSet<FileEntry> freeList;
-   private long filePos = MAGIC.length;
+   private final AtomicLong filePos = new AtomicLong(MAGIC.length);
+   private final AtomicLong freeSpace = new AtomicLong();
    private File file;
    private float fragmentationFactor = .75f;
-   // Prevent clear() from truncating the file after a write() allocated the entry but before it wrote the data
+   // Shared by the operations reading or writing file entries, exclusive for clear() and for swapping the compacted file
    private ReadWriteLock resizeLock = new ReentrantReadWriteLock();
+   // Lets a compaction detect that the store was cleared or stopped while it was copying the entries
+   private volatile int clearCount;
+   private volatile boolean running;
+   private final AtomicBoolean compacting = new AtomicBoolean();
+   private Executor compactionExecutor;
+   // Copy-on-write, replaced while holding the mappedRegionsLock, or reset while holding the resizeLock exclusively
+   private volatile MappedByteBuffer[] mappedRegions = NO_MAPPED_REGIONS;
+   private final Object mappedRegionsLock = new Object();
+   private boolean memoryMapped;
    private TimeService timeService;
+   private KeyPartitioner keyPartitioner;
 
    @Override
    public void init(InitializationContext ctx) {
       this.ctx = ctx;
       this.configuration = ctx.getConfiguration();
       this.timeService = ctx.getTimeService();
+      this.keyPartitioner = ctx.getKeyPartitioner();
    }
 
    @Override
@@ -106,23 +149,28 @@ public void start() {
                throw log.directoryCannotBeCreated(dir.getAbsolutePath());
             }
          }
+         // a compaction interrupted by a crash leaves an incomplete copy behind
+         getCompactionFile().delete();
          channel = new RandomAccessFile(file, "rw").getChannel();
 
          // initialize data structures
          entries = newEntryMap();
-         freeList = Collections.synchronizedSortedSet(new TreeSet<FileEntry>());
+         filePos.set(MAGIC.length);
+         freeSpace.set(0);
 
          // check file format and read persistent state if enabled for the cache
          byte[] header = new byte[MAGIC.length];
-         if (channel.read(ByteBuffer.wrap(header), 0) == MAGIC.length && Arrays.equals(MAGIC, header)) {
+         if (channel.read(ByteBuffer.wrap(header), 0) == MAGIC.length && Arrays.equals(MAGIC, header))
             rebuildIndex();
-            processFreeEntries();
-         }
          else
             clear(); // otherwise (unknown file format or no preload) just reset the file
-			
+
          // Initialize the fragmentation factor
          fragmentationFactor = configuration.fragmentationFactor();
+         memoryMapped = configuration.memoryMapped();
+
+         compactionExecutor = ctx.getExecutor();
+         running = true;
       } catch (Exception e) {
          throw new PersistenceException(e);
       }
@@ -130,20 +178,20 @@ public void start() {
 
    private <Key> Map<Key, FileEntry> newEntryMap() {
       // only use LinkedHashMap (LRU) for entries when cache store is bounded
-      final Map<Key, FileEntry> entryMap;
       Equivalence<Object> keyEq = ctx.getCache().getCacheConfiguration().dataContainer().keyEquivalence();
       if (configuration.maxEntries() > 0)
-         entryMap = CollectionFactory.makeLinkedMap(16, 0.75f,
+         return Collections.synchronizedMap(CollectionFactory.<Key, FileEntry>makeLinkedMap(16, 0.75f,
                EquivalentLinkedHashMap.IterationOrder.ACCESS_ORDER,
-               keyEq, AnyEquivalence.<FileEntry>getInstance());
+               keyEq, AnyEquivalence.<FileEntry>getInstance()));
       else
-         entryMap = CollectionFactory.makeMap(keyEq, AnyEquivalence.<FileEntry>getInstance());
-
-      return Collections.synchronizedMap(entryMap);
+         return CollectionFactory.makeConcurrentMap(keyEq, AnyEquivalence.<FileEntry>getInstance());
    }
 
    @Override
    public void stop() {
+      running = false;
+      // Wait for the operations in progress, a compaction will notice the store is stopped and discard its copy
+      resizeLock.writeLock().lock();
       try {
          if (channel != null) {
             log.tracef("Stopping store %s, size = %d, file size = %d", ctx.getCache().getName(), entries.size(), channel.size());
@@ -151,12 +199,15 @@ public void stop() {
             // reset state
             channel.close();
             channel = null;
+            mappedRegions = NO_MAPPED_REGIONS;
             entries = null;
-            freeList = null;
-            filePos = MAGIC.length;
+            filePos.set(MAGIC.length);
+            freeSpace.set(0);
          }
       } catch (Exception e) {
          throw new PersistenceException(e);
+      } finally {
+         resizeLock.writeLock().unlock();
       }
    }
 
@@ -164,49 +215,58 @@ public void stop() {
     * Rebuilds the in-memory index from file.
     */
    private void rebuildIndex() throws Exception {
+      long pos = MAGIC.length;
       ByteBuffer buf = ByteBuffer.allocate(KEY_POS);
-      for (; ; ) {
-         // read FileEntry fields from file (size, keyLen etc.)
-         buf.clear().limit(KEY_POS);
-         channel.read(buf, filePos);
-         // return if end of file is reached
-         if (buf.remaining() > 0)
-            return;
-         buf.flip();
-
-         // initialize FileEntry from buffer
-         int entrySize = buf.getInt();
-         int keyLen = buf.getInt();
-         int dataLen = buf.getInt();
-         int metadataLen = buf.getInt();
-         long expiryTime = buf.getLong();
-         FileEntry fe = new FileEntry(filePos, entrySize, keyLen, dataLen, metadataLen, expiryTime);
-
-         // sanity check
-         if (fe.size < KEY_POS + fe.keyLen + fe.dataLen + fe.metadataLen) {
-            throw log.errorReadingFileStore(file.getPath(), filePos);
-         }
+      try {
+         for (; ; ) {
+            // read FileEntry fields from file (size, keyLen etc.)
+            buf.clear().limit(KEY_POS);
+            channel.read(buf, pos);
+            // return if end of file is reached
+            if (buf.remaining() > 0)
+               return;
+            buf.flip();
+
+            // initialize FileEntry from buffer
+            int entrySize = buf.getInt();
+            int keyLen = buf.getInt();
+            int dataLen = buf.getInt();
+            int metadataLen = buf.getInt();
+            long expiryTime = buf.getLong();
 
-         // update file pointer
-         filePos += fe.size;
-
-         // check if the entry is used or free
-         if (fe.keyLen > 0) {
-            // load the key from file
-            if (buf.capacity() < fe.keyLen)
-               buf = ByteBuffer.allocate(fe.keyLen);
-
-            buf.clear().limit(fe.keyLen);
-            channel.read(buf, fe.offset + KEY_POS);
-
-            // deserialize key and add to entries map
-            // Marshaller should allow for provided type return for safety
-            K key = (K) ctx.getMarshaller().objectFromByteBuffer(buf.array(), 0, fe.keyLen);
-            entries.put(key, fe);
-         } else {
-            // add to free list
-            freeList.add(fe);
+            // sanity check
+            if (entrySize < KEY_POS + keyLen + dataLen + metadataLen) {
+               throw log.errorReadingFileStore(file.getPath(), pos);
+            }
+
+            // update file pointer
+            long offset = pos;
+            pos += entrySize;
+            filePos.set(pos);
+
+            // check if the entry is used or free
+            if (keyLen > 0) {
+               // load the key from file
+               if (buf.capacity() < keyLen)
+                  buf = ByteBuffer.allocate(keyLen);
+
+               buf.clear().limit(keyLen);
+               channel.read(buf, offset + KEY_POS);
+
+               // deserialize key and add to entries map
+               // Marshaller should allow for provided type return for safety
+               K key = (K) ctx.getMarshaller().objectFromByteBuffer(buf.array(), 0, keyLen);
+               FileEntry fe = new FileEntry(offset, entrySize, keyLen, dataLen, metadataLen, expiryTime,
+                                            keyPartitioner.getSegment(key));
+               // entries are appended, so if the file has two entries for the same key the last one is the newest
+               free(entries.put(key, fe));
+            } else {
+               freeSpace.addAndGet(entrySize);
+            }
          }
+      } finally {
+         if (trace) log.tracef("Rebuilt index of file %s, %d entries, file size is %d, free space is %d",
+               file, entries.size(), filePos.get(), freeSpace.get());
       }
    }
 
@@ -220,147 +280,96 @@ public boolean contains(Object key) {
    }
 
    /**
-    * Allocates the requested space in the file.
-    *
-    * @param len requested space
-    * @return allocated file position and length as FileEntry object
-    */
-   private FileEntry allocate(int len) {
-      synchronized (freeList) {
-         // lookup a free entry of sufficient size
-         SortedSet<FileEntry> candidates = freeList.tailSet(new FileEntry(0, len));
-         for (Iterator<FileEntry> it = candidates.iterator(); it.hasNext(); ) {
-            FileEntry free = it.next();
-            // ignore entries that are still in use by concurrent readers
-            if (free.isLocked())
-               continue;
-
-            // There's no race condition risk between locking the entry on
-            // loading and checking whether it's locked (or store allocation),
-            // because for the entry to be lockable, it needs to be in the
-            // entries collection, in which case it's not in the free list.
-            // The only way an entry can be found in the free list is if it's
-            // been removed, and to remove it, lock on "entries" needs to be
-            // acquired, which is also a pre-requisite for loading data.
-
-            // found one, remove from freeList
-            it.remove();
-            return allocateExistingEntry(free, len);
-         }
-
-         // no appropriate free section available, append at end of file
-         FileEntry fe = new FileEntry(filePos, len);
-         filePos += len;
-         if (trace) log.tracef("New entry allocated at %d:%d, %d free entries, file size is %d", fe.offset, fe.size, freeList.size(), filePos);
-         return fe;
-      }
-   }
-
-   private FileEntry allocateExistingEntry(FileEntry free, int len) {
-      int remainder = free.size - len;
-      // If the entry is quite bigger than configured threshold, then split it
-      if ((remainder >= SMALLEST_ENTRY_SIZE) && (len <= (free.size * fragmentationFactor))) {
-         try {
-            // Add remainder of the space as a fileEntry
-            FileEntry newFreeEntry = new FileEntry(free.offset + len, remainder);
-            addNewFreeEntry(newFreeEntry);
-            FileEntry newEntry = new FileEntry(free.offset, len);
-            if (trace) log.tracef("Split entry at %d:%d, allocated %d:%d, free %d:%d, %d free entries",
-                  free.offset, free.size, newEntry.offset, newEntry.size, newFreeEntry.offset, newFreeEntry.size,
-                  freeList.size());
-            return newEntry;
-         } catch (IOException e) {
-            throw new PersistenceException("Cannot add new free entry", e);
-         }
-      }
-
-      if (trace) log.tracef("Existing free entry allocated at %d:%d, %d free entries", free.offset, free.size, freeList.size());
-      return free;
-   }
-
-   /**
-    * Writes a new free entry to the file and also adds it to the free list
-    */
-   private void addNewFreeEntry(FileEntry fe) throws IOException {
-      ByteBuffer buf = ByteBuffer.allocate(KEY_POS);
-      buf.putInt(fe.size);
-      buf.putInt(0);
-      buf.putInt(0);
-      buf.putInt(0);
-      buf.putLong(-1);
-      buf.flip();
-      channel.write(buf, fe.offset);
-      freeList.add(fe);
-   }
-
-   /**
-    * Frees the space of the specified file entry (for reuse by allocate).
+    * Frees the space of the specified file entry (to be reclaimed by the next compaction).
     * <p/>
     * Note: Caller must hold the {@code resizeLock} in shared mode.
     */
    private void free(FileEntry fe) throws IOException {
       if (fe != null) {
          // Invalidate entry on disk (by setting keyLen field to 0)
-         // No need to wait for readers to unlock here, the FileEntry instance is not modified,
-         // and allocate() won't return an entry as long as it has a reader.
+         // No need to wait for readers here, the data of the entry is not modified until the file is compacted,
+         // and the compaction needs the resizeLock in exclusive mode to swap the files.
          channel.write(ByteBuffer.wrap(ZERO_INT), fe.offset + KEYLEN_POS);
-         if (!freeList.add(fe)) {
-            throw new IllegalStateException(String.format("Trying to free an entry that was not allocated: %s", fe));
-         }
-         if (trace) log.tracef("Deleted entry at %d:%d, there are now %d free entries", fe.offset, fe.size, freeList.size());
+         long free = freeSpace.addAndGet(fe.size);
+         if (trace) log.tracef("Deleted entry at %d:%d, there are now %d free bytes", fe.offset, fe.size, free);
       }
    }
 
    @Override
    public void write(MarshalledEntry<? extends K, ? extends V> marshalledEntry) {
       try {
-         // serialize cache value
-         org.infinispan.commons.io.ByteBuffer key = marshalledEntry.getKeyBytes();
-         org.infinispan.commons.io.ByteBuffer data = marshalledEntry.getValueBytes();
-         org.infinispan.commons.io.ByteBuffer metadata = marshalledEntry.getMetadataBytes();
-
-         // allocate file entry and store in cache file
-         int metadataLength = metadata == null ? 0 : metadata.getLength();
-         int len = KEY_POS + key.getLength() + data.getLength() + metadataLength;
-         FileEntry newEntry;
-         FileEntry oldEntry = null;
          resizeLock.readLock().lock();
          try {
-            newEntry = allocate(len);
-            long expiryTime = metadata != null ? marshalledEntry.getMetadata().expiryTime() : -1;
-            newEntry = new FileEntry(newEntry, key.getLength(), data.getLength(), metadataLength, expiryTime);
-
-            ByteBuffer buf = ByteBuffer.allocate(len);
-            buf.putInt(newEntry.size);
-            buf.putInt(newEntry.keyLen);
-            buf.putInt(newEntry.dataLen);
-            buf.putInt(newEntry.metadataLen);
-            buf.putLong(newEntry.expiryTime);
-            buf.put(key.getBuf(), key.getOffset(), key.getLength());
-            buf.put(data.getBuf(), data.getOffset(), data.getLength());
-            if (metadata != null)
-               buf.put(metadata.getBuf(), metadata.getOffset(), metadata.getLength());
-            buf.flip();
-            channel.write(buf, newEntry.offset);
-            if (trace) log.tracef("Wrote entry %s:%d at %d:%d", marshalledEntry.getKey(), len, newEntry.offset, newEntry.size);
-
-            // add the new entry to in-memory index
-            oldEntry = entries.put(marshalledEntry.getKey(), newEntry);
-
-            // if we added an entry, check if we need to evict something
-            if (oldEntry == null)
-               oldEntry = evict();
+            writeEntry(marshalledEntry);
          } finally {
-            // in case we replaced or evicted an entry, add to freeList
-            try {
-               free(oldEntry);
-            } finally {
-               resizeLock.readLock().unlock();
+            resizeLock.readLock().unlock();
+         }
+      } catch (Exception e) {
+         throw new PersistenceException(e);
+      }
+      compactIfNeeded();
+   }
+
+   /**
+    * Writes all the entries while holding the {@code resizeLock} only once, so that a concurrent resize or clear
+    * cannot interleave with the batch.
+    */
+   @Override
+   public void writeBatch(Iterable<MarshalledEntry<? extends K, ? extends V>> marshalledEntries) {
+      try {
+         resizeLock.readLock().lock();
+         try {
+            for (MarshalledEntry<? extends K, ? extends V> marshalledEntry : marshalledEntries) {
+               writeEntry(marshalledEntry);
             }
+         } finally {
+            resizeLock.readLock().unlock();
          }
       } catch (Exception e) {
          throw new PersistenceException(e);
       }
+      compactIfNeeded();
+   }
+
+   /**
+    * Note: Caller must hold the {@code resizeLock} in shared mode.
+    */
+   private void writeEntry(MarshalledEntry<? extends K, ? extends V> marshalledEntry) throws IOException {
+      // serialize cache value
+      org.infinispan.commons.io.ByteBuffer key = marshalledEntry.getKeyBytes();
+      org.infinispan.commons.io.ByteBuffer data = marshalledEntry.getValueBytes();
+      org.infinispan.commons.io.ByteBuffer metadata = marshalledEntry.getMetadataBytes();
+
+      // append the entry to the cache file
+      int metadataLength = metadata == null ? 0 : metadata.getLength();
+      int len = KEY_POS + key.getLength() + data.getLength() + metadataLength;
+      long expiryTime = metadata != null ? marshalledEntry.getMetadata().expiryTime() : -1;
+      FileEntry newEntry = new FileEntry(filePos.getAndAdd(len), len, key.getLength(), data.getLength(),
+                                         metadataLength, expiryTime, keyPartitioner.getSegment(marshalledEntry.getKey()));
+
+      ByteBuffer buf = ByteBuffer.allocate(len);
+      buf.putInt(newEntry.size);
+      buf.putInt(newEntry.keyLen);
+      buf.putInt(newEntry.dataLen);
+      buf.putInt(newEntry.metadataLen);
+      buf.putLong(newEntry.expiryTime);
+      buf.put(key.getBuf(), key.getOffset(), key.getLength());
+      buf.put(data.getBuf(), data.getOffset(), data.getLength());
+      if (metadata != null)
+         buf.put(metadata.getBuf(), metadata.getOffset(), metadata.getLength());
+      buf.flip();
+      channel.write(buf, newEntry.offset);
+      if (trace) log.tracef("Wrote entry %s:%d at %d:%d", marshalledEntry.getKey(), len, newEntry.offset, newEntry.size);
+
+      // add the new entry to in-memory index
+      FileEntry oldEntry = entries.put(marshalledEntry.getKey(), newEntry);
+
+      // if we added an entry, check if we need to evict something
+      if (oldEntry == null)
+         oldEntry = evict();
+
+      // in case we replaced or evicted an entry, free its space
+      free(oldEntry);
    }
 
    /**
@@ -382,29 +391,39 @@ private FileEntry evict() {
       return null;
    }
 
+   /**
+    * Removes the key from the index, unless it was already removed or mapped to another file entry.
+    *
+    * @return {@code true} if the key was removed, and the caller must free the file entry
+    */
+   private boolean removeEntry(Object key, FileEntry fe) {
+      if (entries instanceof ConcurrentMap)
+         return ((ConcurrentMap<K, FileEntry>) entries).remove(key, fe);
+
+      synchronized (entries) {
+         if (entries.get(key) != fe)
+            return false;
+         entries.remove(key);
+         return true;
+      }
+   }
+
    @Override
    public void clear() {
       resizeLock.writeLock().lock();
       try {
-         synchronized (entries) {
-            synchronized (freeList) {
-               // wait until all readers are done reading file entries
-               for (FileEntry fe : entries.values())
-                  fe.waitUnlocked();
-               for (FileEntry fe : freeList)
-                  fe.waitUnlocked();
-
-               // clear in-memory state
-               entries.clear();
-               freeList.clear();
-
-               // reset file
-               if (trace) log.tracef("Truncating file, current size is %d", filePos);
-               channel.truncate(0);
-               channel.write(ByteBuffer.wrap(MAGIC), 0);
-               filePos = MAGIC.length;
-            }
-         }
+         clearCount++;
+
+         // clear in-memory state
+         entries.clear();
+         freeSpace.set(0);
+
+         // reset file
+         if (trace) log.tracef("Truncating file, current size is %d", filePos.get());
+         mappedRegions = NO_MAPPED_REGIONS;
+         channel.truncate(0);
+         channel.write(ByteBuffer.wrap(MAGIC), 0);
+         filePos.set(MAGIC.length);
       } catch (Exception e) {
          throw new PersistenceException(e);
       } finally {
@@ -414,16 +433,34 @@ public void clear() {
 
    @Override
    public boolean delete(Object key) {
+      boolean deleted;
       resizeLock.readLock().lock();
       try {
          FileEntry fe = entries.remove(key);
          free(fe);
-         return fe != null;
+         deleted = fe != null;
       } catch (Exception e) {
          throw new PersistenceException(e);
       } finally {
          resizeLock.readLock().unlock();
       }
+      compactIfNeeded();
+      return deleted;
+   }
+
+   @Override
+   public void deleteBatch(Iterable<Object> keys) {
+      resizeLock.readLock().lock();
+      try {
+         for (Object key : keys) {
+            free(entries.remove(key));
+         }
+      } catch (Exception e) {
+         throw new PersistenceException(e);
+      } finally {
+         resizeLock.readLock().unlock();
+      }
+      compactIfNeeded();
    }
 
    @Override
@@ -433,52 +470,33 @@ public MarshalledEntry<K, V> load(Object key) {
 
    private MarshalledEntry<K, V> _load(Object key, boolean loadValue, boolean loadMetadata) {
       final FileEntry fe;
-      final boolean expired;
+      final byte[] data;
+      // The lock prevents clear() from truncating the file and the compaction from replacing it while we read
       resizeLock.readLock().lock();
       try {
-         synchronized (entries) {
-            // lookup FileEntry of the key
-            fe = entries.get(key);
-            if (fe == null)
-               return null;
-
-            expired = fe.isExpired(timeService.wallClockTime());
-            if (expired) {
-               // if expired, remove the entry (within entries monitor)
-               entries.remove(key);
-            } else {
-               // lock entry for reading before releasing entries monitor
-               fe.lock();
-            }
-         }
+         // lookup FileEntry of the key
+         fe = entries.get(key);
+         if (fe == null)
+            return null;
 
-         if (expired) {
-            // if expired, free the file entry (after releasing entries monitor)
-            try {
+         if (fe.isExpired(timeService.wallClockTime())) {
+            // if expired, remove the entry and free its space, unless a concurrent operation already did it
+            if (removeEntry(key, fe))
                free(fe);
-            } catch (IOException e) {
-               throw new PersistenceException(e);
-            }
             return null;
          }
-      } finally {
-         resizeLock.readLock().unlock();
-      }
 
-      final byte[] data;
-      try {
          // load serialized data from disk
          data = new byte[fe.keyLen + (loadValue || loadMetadata ? fe.dataLen : 0) + (loadMetadata ? fe.metadataLen : 0)];
-         // The entry lock will prevent clear() from truncating the file at this point
-         channel.read(ByteBuffer.wrap(data), fe.offset + KEY_POS);
+         if (!memoryMapped || !readMapped(data, fe.offset + KEY_POS))
+            channel.read(ByteBuffer.wrap(data), fe.offset + KEY_POS);
       } catch (Exception e) {
          throw new PersistenceException(e);
       } finally {
-         // No need to keep the lock for deserialization.
-         // FileEntry is immutable, so its members can't be changed by another thread.
-         fe.unlock();
+         resizeLock.readLock().unlock();
       }
 
+      // No need to keep the lock for deserialization, FileEntry is immutable
       if (trace) log.tracef("Read entry %s at %d:%d", key, fe.offset, fe.actualSize());
       ByteBufferFactory factory = ctx.getByteBufferFactory();
       org.infinispan.commons.io.ByteBuffer keyBb = factory.newByteBuffer(data, 0, fe.keyLen);
@@ -495,12 +513,21 @@ private MarshalledEntry<K, V> _load(Object key, boolean loadValue, boolean loadM
 
    @Override
    public void process(KeyFilter<? super K> filter, final CacheLoaderTask<K, V> task, Executor executor, final boolean fetchValue, final boolean fetchMetadata) {
+      process(null, filter, task, executor, fetchValue, fetchMetadata);
+   }
+
+   /**
+    * Only loads the entries whose segment, kept in the in-memory index, is one of the given segments.
+    */
+   @Override
+   public void process(Set<Integer> segments, KeyFilter<? super K> filter, final CacheLoaderTask<K, V> task,
+                       Executor executor, final boolean fetchValue, final boolean fetchMetadata) {
       filter = PersistenceUtil.notNull(filter);
       Set<Object> keysToLoad = new HashSet<Object>(entries.size());
       synchronized (entries) {
-         for (K k : entries.keySet()) {
-            if (filter.accept(k))
-               keysToLoad.add(k);
+         for (Map.Entry<K, FileEntry> entry : entries.entrySet()) {
+            if ((segments == null || segments.contains(entry.getValue().segment)) && filter.accept(entry.getKey()))
+               keysToLoad.add(entry.getKey());
          }
       }
 
@@ -534,112 +561,227 @@ public Void call() throws Exception {
    }
 
    /**
-    * Manipulates the free entries for optimizing disk space.
+    * Copies the bytes at the given file position from the mapped region containing them.
+    * <p/>
+    * The entries appended since the region was mapped are read from the channel. The region is only remapped once the
+    * unmapped part is at least {@link #MIN_REMAP_SIZE} bytes and a quarter of the mapped part, so a load of a recently
+    * written entry doesn't remap the region every time the file grows.
+    * <p/>
+    * Note: Caller must hold the {@code resizeLock} in shared mode.
+    *
+    * @return {@code false} if the bytes are not mapped or span two regions, and the caller must read them from the
+    *         channel
     */
-   private void processFreeEntries() {
-      // Get a reverse sorted list of free entries based on file offset
-      // This helps to work backwards with free entries at end of the file
-      List<FileEntry> l  = new ArrayList<FileEntry>(freeList);
-      Collections.sort(l, new FileEntryByOffsetComparator());
-
-      truncateFile(l);
-      mergeFreeEntries(l);
+   private boolean readMapped(byte[] data, long pos) throws IOException {
+      int index = (int) (pos >>> MAPPED_REGION_SHIFT);
+      long regionStart = (long) index << MAPPED_REGION_SHIFT;
+      long end = pos + data.length;
+      if (end > regionStart + MAPPED_REGION_SIZE)
+         return false;
+
+      MappedByteBuffer[] regions = mappedRegions;
+      MappedByteBuffer region = index < regions.length ? regions[index] : null;
+      int mappedSize = region != null ? region.capacity() : 0;
+      if (regionStart + mappedSize < end) {
+         long unmappedSize = Math.min(filePos.get(), regionStart + MAPPED_REGION_SIZE) - (regionStart + mappedSize);
+         if (unmappedSize < Math.max(MIN_REMAP_SIZE, mappedSize / 4))
+            return false;
+         region = mapRegion(index, end);
+      }
+      // the duplicate has its own position, so concurrent reads don't interfere
+      ByteBuffer buf = region.duplicate();
+      buf.position((int) (pos - regionStart));
+      buf.get(data);
+      return true;
    }
 
    /**
-    * Removes free entries towards the end of the file and truncates the file.
+    * Maps the region up to the current end of the file, unless a concurrent load already mapped it past
+    * {@code minEnd}. Regions are never mapped past the end of the file, as that would extend the file.
+    * <p/>
+    * Note: Caller must hold the {@code resizeLock} in shared mode.
     */
-   private void truncateFile(List<FileEntry> entries) {
-      long startTime = 0;
-      if (trace) startTime = timeService.wallClockTime();
-        
-      int reclaimedSpace = 0;
-      int removedEntries = 0;
-      long truncateOffset = -1;
-      for (Iterator<FileEntry> it = entries.iterator() ; it.hasNext(); ) {
-         FileEntry fe = it.next();
-         // Till we have free entries at the end of the file,
-         // we can remove them and contract the file to release disk
-         // space.
-         if (!fe.isLocked() && ((fe.offset + fe.size) == filePos)) {
-            truncateOffset = fe.offset;
-            filePos = fe.offset;
-            freeList.remove(fe);
-            it.remove();
-            reclaimedSpace += fe.size;
-            removedEntries++;
-         } else {
-            break;
-         }
+   private MappedByteBuffer mapRegion(int index, long minEnd) throws IOException {
+      long regionStart = (long) index << MAPPED_REGION_SHIFT;
+      synchronized (mappedRegionsLock) {
+         MappedByteBuffer[] regions = mappedRegions;
+         MappedByteBuffer region = index < regions.length ? regions[index] : null;
+         if (region != null && regionStart + region.capacity() >= minEnd)
+            return region;
+
+         long size = Math.min(channel.size() - regionStart, MAPPED_REGION_SIZE);
+         region = channel.map(FileChannel.MapMode.READ_ONLY, regionStart, size);
+         if (trace) log.tracef("Mapped region %d of file %s, %d bytes", index, file, size);
+         MappedByteBuffer[] newRegions = Arrays.copyOf(regions, Math.max(regions.length, index + 1));
+         newRegions[index] = region;
+         mappedRegions = newRegions;
+         return region;
       }
+   }
 
-      if (truncateOffset > 0) {
+   /**
+    * Schedules a compaction in the background if the free space exceeds the share of the file allowed by the
+    * fragmentation factor.
+    */
+   private void compactIfNeeded() {
+      if (!running || filePos.get() < MIN_COMPACTION_FILE_SIZE || !isFragmented())
+         return;
+
+      if (compacting.compareAndSet(false, true)) {
          try {
-            channel.truncate(truncateOffset);
-         } catch (IOException e) {
-            throw new PersistenceException("Error while truncating file", e);
+            compactionExecutor.execute(new Runnable() {
+               @Override
+               public void run() {
+                  try {
+                     compact();
+                  } finally {
+                     compacting.set(false);
+                  }
+               }
+            });
+         } catch (RejectedExecutionException e) {
+            // The store is stopping
+            compacting.set(false);
          }
       }
+   }
 
-      if (trace) {
-         log.tracef("Removed entries: " + removedEntries + ", Reclaimed Space: " + reclaimedSpace);
-         log.tracef("Time taken for truncateFile: " + (timeService.wallClockTime() - startTime) + " (ms)");
-      }
+   /**
+    * @return {@code true} if the free space exceeds the share of the file allowed by the fragmentation factor
+    */
+   private boolean isFragmented() {
+      return freeSpace.get() > filePos.get() * (1 - fragmentationFactor);
    }
 
    /**
-    * Coalesces adjacent free entries to create larger free entries (so that the probability of finding a free entry during allocation increases)
+    * Copies the live entries to a new file and replaces the store file with it.
+    * <p/>
+    * The entries are copied while holding the {@code resizeLock} in shared mode, so other operations can proceed.
+    * Then the entries written during the copy are copied as well, the entries deleted during the copy are freed in the
+    * new file, and the files are swapped, while holding the {@code resizeLock} in exclusive mode.
+    * <p/>
+    * Note: Caller must own the {@code compacting} flag.
     */
-   private void mergeFreeEntries(List<FileEntry> entries) {
-      long startTime = 0;
-      if (trace) startTime = timeService.wallClockTime();
-      FileEntry lastEntry = null;
-      FileEntry newEntry = null;
-      int mergeCounter = 0;
-      for (Iterator<FileEntry> it = entries.iterator() ; it.hasNext(); ) {
-         FileEntry fe = it.next();
-         if (fe.isLocked()) {
-            continue;
+   private void compact() {
+      long startTime = trace ? timeService.wallClockTime() : 0;
+      int startClearCount = clearCount;
+      File compactionFile = getCompactionFile();
+      FileChannel newChannel = null;
+      boolean swapped = false;
+      try {
+         List<FileEntry> liveEntries;
+         // The compaction runs in the shared persistence executor, so the store may have been stopped in the meantime
+         resizeLock.readLock().lock();
+         try {
+            if (!running)
+               return;
+            synchronized (entries) {
+               liveEntries = new ArrayList<FileEntry>(entries.values());
+            }
+         } finally {
+            resizeLock.readLock().unlock();
          }
 
-         // Merge any holes created (consecutive free entries) in the file
-         if ((lastEntry != null) && (lastEntry.offset == (fe.offset + fe.size))) {
-            if (newEntry == null) {
-               newEntry = new FileEntry(fe.offset, fe.size + lastEntry.size);
-               freeList.remove(lastEntry);
-               mergeCounter++;
-            } else {
-               newEntry = new FileEntry(fe.offset, fe.size + newEntry.size);
+         newChannel = new RandomAccessFile(compactionFile, "rw").getChannel();
+         newChannel.truncate(0);
+         newChannel.write(ByteBuffer.wrap(MAGIC), 0);
+         long newFilePos = MAGIC.length;
+
+         Map<FileEntry, FileEntry> copies = new HashMap<FileEntry, FileEntry>(liveEntries.size());
+         for (FileEntry fe : liveEntries) {
+            resizeLock.readLock().lock();
+            try {
+               if (!running || clearCount != startClearCount)
+                  return;
+               FileEntry copy = copyEntry(fe, newChannel, newFilePos);
+               newFilePos += copy.size;
+               copies.put(fe, copy);
+            } finally {
+               resizeLock.readLock().unlock();
             }
-            freeList.remove(fe);
-            mergeCounter++;
-         } else {
-            if (newEntry != null) {
-               try {
-                  addNewFreeEntry(newEntry);
-                  if (trace) log.tracef("Merged %d entries at %d:%d, %d free entries", mergeCounter, newEntry.offset, newEntry.size, freeList.size());
-               } catch (IOException e) {
-                  throw new PersistenceException("Could not add new merged entry", e);
+         }
+
+         resizeLock.writeLock().lock();
+         try {
+            if (!running || clearCount != startClearCount)
+               return;
+
+            List<KeyValuePair<K, FileEntry>> relocatedEntries = new ArrayList<KeyValuePair<K, FileEntry>>(entries.size());
+            synchronized (entries) {
+               for (Map.Entry<K, FileEntry> entry : entries.entrySet()) {
+                  FileEntry copy = copies.remove(entry.getValue());
+                  if (copy == null) {
+                     // written during the copy
+                     copy = copyEntry(entry.getValue(), newChannel, newFilePos);
+                     newFilePos += copy.size;
+                  }
+                  relocatedEntries.add(new KeyValuePair<K, FileEntry>(entry.getKey(), copy));
                }
-               newEntry = null;
-               mergeCounter = 0;
             }
+            // the remaining copies were replaced or deleted during the copy
+            long newFreeSpace = 0;
+            for (FileEntry copy : copies.values()) {
+               newChannel.write(ByteBuffer.wrap(ZERO_INT), copy.offset + KEYLEN_POS);
+               newFreeSpace += copy.size;
+            }
+            // the new file must be on disk before it replaces the old one, or a crash could leave a truncated file
+            newChannel.force(true);
+            newChannel.close();
+
+            mappedRegions = NO_MAPPED_REGIONS;
+            channel.close();
+            try {
+               Files.move(compactionFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+               swapped = true;
+            } finally {
+               channel = new RandomAccessFile(file, "rw").getChannel();
+            }
+
+            // iterating in the original order keeps the LRU order of a bounded store
+            for (KeyValuePair<K, FileEntry> relocated : relocatedEntries) {
+               entries.put(relocated.getKey(), relocated.getValue());
+            }
+            if (trace) log.tracef("Compacted file %s from %d to %d bytes in %d ms", file, filePos.get(), newFilePos,
+                  timeService.wallClockTime() - startTime);
+            filePos.set(newFilePos);
+            freeSpace.set(newFreeSpace);
+         } finally {
+            resizeLock.writeLock().unlock();
          }
-         lastEntry = fe;
-      }
-      
-      if (newEntry != null) {
-         try {
-            addNewFreeEntry(newEntry);
-            if (trace) log.tracef("Merged %d entries at %d:%d, %d free entries", mergeCounter, newEntry.offset, newEntry.size, freeList.size());
-         } catch (IOException e) {
-            throw new PersistenceException("Could not add new merged entry", e);
+      } catch (Exception e) {
+         log.errorCompactingFileStore(file.getPath(), e);
+      } finally {
+         if (!swapped) {
+            try {
+               if (newChannel != null)
+                  newChannel.close();
+            } catch (IOException e) {
+               log.tracef(e, "Error closing file %s", compactionFile);
+            }
+            compactionFile.delete();
          }
       }
+   }
 
-      if (trace) log.tracef("Total time taken for mergeFreeEntries: " + (timeService.wallClockTime() - startTime) + " (ms)");
+   /**
+    * Copies the entry to another file, without the unused space at its end.
+    * <p/>
+    * Note: Caller must hold the {@code resizeLock}.
+    */
+   private FileEntry copyEntry(FileEntry fe, FileChannel target, long offset) throws IOException {
+      int size = fe.actualSize();
+      ByteBuffer buf = ByteBuffer.allocate(size);
+      channel.read(buf, fe.offset);
+      buf.flip();
+      buf.putInt(0, size);
+      target.write(buf, offset);
+      return new FileEntry(offset, size, fe.keyLen, fe.dataLen, fe.metadataLen, fe.expiryTime, fe.segment);
+   }
+
+   private File getCompactionFile() {
+      return new File(file.getParentFile(), file.getName() + ".compact");
    }
-   
+
    @Override
    public void purge(Executor threadPool, final PurgeListener task) {
 
@@ -649,11 +791,9 @@ public void run() {
             long now = timeService.wallClockTime();
             List<KeyValuePair<Object, FileEntry>> entriesToPurge = new ArrayList<KeyValuePair<Object, FileEntry>>();
             synchronized (entries) {
-               for (Iterator<Map.Entry<K, FileEntry>> it = entries.entrySet().iterator(); it.hasNext(); ) {
-                  Map.Entry<K, FileEntry> next = it.next();
+               for (Map.Entry<K, FileEntry> next : entries.entrySet()) {
                   FileEntry fe = next.getValue();
                   if (fe.isExpired(now)) {
-                     it.remove();
                      entriesToPurge.add(new KeyValuePair<Object, FileEntry>(next.getKey(), fe));
                   }
                }
@@ -661,27 +801,29 @@ public void run() {
 
             resizeLock.readLock().lock();
             try {
-               for (Iterator<KeyValuePair<Object, FileEntry>> it = entriesToPurge.iterator(); it.hasNext(); ) {
-                  KeyValuePair<Object, FileEntry> next = it.next();
-                  FileEntry fe = next.getValue();
-                  if (fe.isExpired(now)) {
-                     it.remove();
+               for (KeyValuePair<Object, FileEntry> next : entriesToPurge) {
+                  // the entry may have been updated or removed in the meantime
+                  if (removeEntry(next.getKey(), next.getValue())) {
                      try {
-                        free(fe);
+                        free(next.getValue());
                      } catch (Exception e) {
                         throw new PersistenceException(e);
                      }
                      if (task != null) task.entryPurged(next.getKey());
                   }
                }
-               
-               // Disk space optimizations
-               synchronized (freeList) {
-            	  processFreeEntries();
-               }
             } finally {
                resizeLock.readLock().unlock();
             }
+
+            // Disk space optimizations, with the same fragmentation threshold as the writes, but even for small files
+            if (isFragmented() && compacting.compareAndSet(false, true)) {
+               try {
+                  compact();
+               } finally {
+                  compacting.set(false);
+               }
+            }
          }
       });
    }
@@ -691,16 +833,53 @@ public int size() {
       return entries.size();
    }
 
+   @Override
+   public int size(Set<Integer> segments) {
+      int size = 0;
+      synchronized (entries) {
+         for (FileEntry fe : entries.values()) {
+            if (segments.contains(fe.segment))
+               size++;
+         }
+      }
+      return size;
+   }
+
+   @Override
+   public void clear(Set<Integer> segments) {
+      List<KeyValuePair<Object, FileEntry>> entriesToRemove = new ArrayList<KeyValuePair<Object, FileEntry>>();
+      synchronized (entries) {
+         for (Map.Entry<K, FileEntry> entry : entries.entrySet()) {
+            if (segments.contains(entry.getValue().segment))
+               entriesToRemove.add(new KeyValuePair<Object, FileEntry>(entry.getKey(), entry.getValue()));
+         }
+      }
+
+      resizeLock.readLock().lock();
+      try {
+         for (KeyValuePair<Object, FileEntry> entry : entriesToRemove) {
+            // the entry may have been updated or removed in the meantime
+            if (removeEntry(entry.getKey(), entry.getValue()))
+               free(entry.getValue());
+         }
+      } catch (Exception e) {
+         throw new PersistenceException(e);
+      } finally {
+         resizeLock.readLock().unlock();
+      }
+      compactIfNeeded();
+   }
+
    Map<K, FileEntry> getEntries() {
       return entries;
    }
 
-   SortedSet<FileEntry> getFreeList() {
-      return freeList;
+   long getFreeSpace() {
+      return freeSpace.get();
    }
 
    long getFileSize() {
-      return filePos;
+      return filePos.get();
    }
 
    public SingleFileStoreConfiguration getConfiguration() {
@@ -722,7 +901,7 @@ public SingleFileStoreConfiguration getConfiguration() {
     * <li>{@link #metadataLen} bytes: serialized key</li>
     * </ul>
     */
-   private static class FileEntry implements Comparable<FileEntry> {
+   private static class FileEntry {
       /**
        * File offset of this block.
        */
@@ -754,49 +933,18 @@ private static class FileEntry implements Comparable<FileEntry> {
       private final long expiryTime;
 
       /**
-       * Number of current readers.
+       * Segment of the key, only kept in memory.
        */
-      private transient int readers = 0;
+      private final int segment;
 
-      public FileEntry(long offset, int size) {
-         this(offset, size, 0, 0, 0, -1);
-      }
-
-      public FileEntry(long offset, int size, int keyLen, int dataLen, int metadataLen, long expiryTime) {
+      public FileEntry(long offset, int size, int keyLen, int dataLen, int metadataLen, long expiryTime, int segment) {
          this.offset = offset;
          this.size = size;
          this.keyLen = keyLen;
          this.dataLen = dataLen;
          this.metadataLen = metadataLen;
          this.expiryTime = expiryTime;
-      }
-
-      public FileEntry(FileEntry fe, int keyLen, int dataLen, int metadataLen, long expiryTime) {
-         this(fe.offset, fe.size, keyLen, dataLen, metadataLen, expiryTime);
-      }
-
-      public synchronized boolean isLocked() {
-         return readers > 0;
-      }
-
-      public synchronized void lock() {
-         readers++;
-      }
-
-      public synchronized void unlock() {
-         readers--;
-         if (readers == 0)
-            notifyAll();
-      }
-
-      public synchronized void waitUnlocked() {
-         while (readers > 0) {
-            try {
-               wait();
-            } catch (InterruptedException e) {
-               Thread.currentThread().interrupt();
-            }
-         }
+         this.segment = segment;
       }
 
       public boolean isExpired(long now) {
@@ -807,14 +955,6 @@ public int actualSize() {
          return KEY_POS + keyLen + dataLen + metadataLen;
       }
 
-      @Override
-      public int compareTo(FileEntry fe) {
-         // We compare the size first, as the entries in the free list must be sorted by size
-         int diff = size - fe.size;
-         if (diff != 0) return diff;
-         return (offset < fe.offset) ? -1 : ((offset == fe.offset) ? 0 : 1);
-      }
-
       @Override
       public boolean equals(Object o) {
          if (this == o) return true;
@@ -844,16 +984,4 @@ public String toString() {
                '}';
       }
    }
-
-   /**
-    * Compares two file entries based on their offset in the file
-    * in the reverse order (bigger entries will be ahead of smaller entries)
-    */
-   private static class FileEntryByOffsetComparator implements Comparator<FileEntry> {
-      @Override
-      public int compare(FileEntry o1, FileEntry o2) {
-         long diff = o1.offset - o2.offset;
-         return (diff == 0) ? 0 : ((diff > 0) ? -1 : 1);
-      }
-   }
 }
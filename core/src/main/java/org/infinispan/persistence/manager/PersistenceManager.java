@@ -55,10 +55,30 @@ public interface PersistenceManager extends Lifecycle {
 
    void processOnAllStores(Executor executor, KeyFilter keyFilter, AdvancedCacheLoader.CacheLoaderTask task, boolean fetchValue, boolean fetchMetadata, AccessMode mode);
 
+   /**
+    * Like {@link #processOnAllStores(KeyFilter, AdvancedCacheLoader.CacheLoaderTask, boolean, boolean, AccessMode)},
+    * but the stores implementing {@link org.infinispan.persistence.spi.SegmentedAdvancedLoadWriteStore} only iterate
+    * over the entries of the given segments. The other stores iterate over all their entries, so the filter must still
+    * reject the keys of the other segments.
+    */
+   void processOnAllStores(Set<Integer> segments, KeyFilter keyFilter, AdvancedCacheLoader.CacheLoaderTask task, boolean fetchValue, boolean fetchMetadata, AccessMode mode);
+
    MarshalledEntry loadFromAllStores(Object key, InvocationContext context);
 
    void writeToAllStores(MarshalledEntry marshalledEntry, AccessMode modes);
 
+   /**
+    * Writes all the entries to the stores allowed by the access mode, using a single batch per store if the store is a
+    * {@link org.infinispan.persistence.spi.BatchingCacheWriter}.
+    */
+   void writeBatchToAllStores(Iterable<MarshalledEntry> marshalledEntries, AccessMode modes);
+
+   /**
+    * Removes all the keys from the stores allowed by the access mode, using a single batch per store if the store is a
+    * {@link org.infinispan.persistence.spi.BatchingCacheWriter}.
+    */
+   void deleteBatchFromAllStores(Iterable<Object> keys, AccessMode modes);
+
    /**
     * Returns the store one configured with fetch persistent state, or null if none exist.
     */
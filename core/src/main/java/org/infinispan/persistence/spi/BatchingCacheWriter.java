@@ -0,0 +1,34 @@
+package org.infinispan.persistence.spi;
+
+import net.jcip.annotations.ThreadSafe;
+import org.infinispan.marshall.core.MarshalledEntry;
+
+/**
+ * Optional extension of {@link CacheWriter} for stores that can persist or remove several entries in a single
+ * operation, e.g. using a JDBC batch statement or a single atomic write in a key/value database.
+ * <p/>
+ * The {@link org.infinispan.persistence.manager.PersistenceManager} uses these methods whenever a group of
+ * modifications is available at once (e.g. a {@link org.infinispan.Cache#putAll(java.util.Map)} or a write-behind
+ * flush). Writers that do not implement this interface are invoked once per entry instead.
+ *
+ * @since 7.0
+ */
+@ThreadSafe
+public interface BatchingCacheWriter<K, V> extends CacheWriter<K, V> {
+
+   /**
+    * Persists all the given entries to the storage. The outcome for each entry must be the same as if
+    * {@link #write(org.infinispan.marshall.core.MarshalledEntry)} was invoked on it.
+    *
+    * @throws PersistenceException in case of an error, e.g. communicating with the external storage
+    */
+   void writeBatch(Iterable<MarshalledEntry<? extends K, ? extends V>> entries);
+
+   /**
+    * Removes all the given keys from the storage. The outcome for each key must be the same as if
+    * {@link #delete(Object)} was invoked on it.
+    *
+    * @throws PersistenceException in case of an error, e.g. communicating with the external storage
+    */
+   void deleteBatch(Iterable<Object> keys);
+}
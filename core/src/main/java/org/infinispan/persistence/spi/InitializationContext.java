@@ -5,9 +5,12 @@
 import org.infinispan.commons.io.ByteBufferFactory;
 import org.infinispan.commons.marshall.StreamingMarshaller;
 import org.infinispan.configuration.cache.StoreConfiguration;
+import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.marshall.core.MarshalledEntryFactory;
 import org.infinispan.util.TimeService;
 
+import java.util.concurrent.Executor;
+
 /**
  * Aggregates the initialisation state needed by either a {@link CacheLoader} or a {@link CacheWriter}.
  *
@@ -34,4 +37,16 @@ public interface InitializationContext {
     * To be used for building {@link org.infinispan.marshall.core.MarshalledEntry} objects.
     */
    MarshalledEntryFactory getMarshalledEntryFactory();
+
+   /**
+    * To be used for mapping keys to hash space segments, e.g. by {@link SegmentedAdvancedLoadWriteStore}
+    * implementations. Always agrees with the consistent hashes installed in the cache.
+    */
+   KeyPartitioner getKeyPartitioner();
+
+   /**
+    * The executor shared by the persistence layer, to be used for the background tasks of a store instead of creating
+    * its own threads. It must not be shut down by the store.
+    */
+   Executor getExecutor();
 }
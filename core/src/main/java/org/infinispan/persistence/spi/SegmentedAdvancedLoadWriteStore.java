@@ -0,0 +1,46 @@
+package org.infinispan.persistence.spi;
+
+import net.jcip.annotations.ThreadSafe;
+import org.infinispan.filter.KeyFilter;
+
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * Optional extension of {@link AdvancedLoadWriteStore} for stores that can access the entries of a few hash space
+ * segments without reading the rest of the storage, e.g. because the segment is part of the stored key or a separate
+ * indexed column.
+ * <p/>
+ * The segment of a key is the one returned by {@link InitializationContext#getKeyPartitioner()}. State transfer uses
+ * these methods to send or remove the entries of the segments that moved to or away from the local node. Stores that
+ * do not implement this interface are iterated over completely instead.
+ *
+ * @since 7.0
+ */
+@ThreadSafe
+public interface SegmentedAdvancedLoadWriteStore<K, V> extends AdvancedLoadWriteStore<K, V> {
+
+   /**
+    * Same as {@link #process(KeyFilter, CacheLoaderTask, Executor, boolean, boolean)}, but only iterates over the
+    * entries of the given segments.
+    *
+    * @param segments the segments to iterate over
+    * @throws PersistenceException in case of an error, e.g. communicating with the external storage
+    */
+   void process(Set<Integer> segments, KeyFilter<? super K> filter, CacheLoaderTask<K, V> task, Executor executor,
+                boolean fetchValue, boolean fetchMetadata);
+
+   /**
+    * Returns the number of entries of the given segments in the store.
+    *
+    * @throws PersistenceException in case of an error, e.g. communicating with the external storage
+    */
+   int size(Set<Integer> segments);
+
+   /**
+    * Removes the entries of the given segments from the store.
+    *
+    * @throws PersistenceException in case of an error, e.g. communicating with the external storage
+    */
+   void clear(Set<Integer> segments);
+}
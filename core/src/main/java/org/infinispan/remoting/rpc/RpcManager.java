@@ -5,6 +5,7 @@
 import org.infinispan.remoting.responses.Response;
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.remoting.transport.Transport;
+import org.infinispan.commons.util.concurrent.NotifyingFuture;
 import org.infinispan.commons.util.concurrent.NotifyingNotifiableFuture;
 
 import java.util.Collection;
@@ -214,6 +215,27 @@ void invokeRemotelyInFuture(Collection<Address> recipients, ReplicableCommand rp
     */
    Map<Address, Response> invokeRemotely(Collection<Address> recipients, ReplicableCommand rpc, RpcOptions options);
 
+   /**
+    * The same as {@link #invokeRemotely(java.util.Collection, org.infinispan.commands.ReplicableCommand, RpcOptions)}
+    * except that it doesn't wait for the responses. Unlike {@link #invokeRemotelyInFuture(java.util.Collection,
+    * org.infinispan.commands.ReplicableCommand, RpcOptions, org.infinispan.commons.util.concurrent.NotifyingNotifiableFuture)},
+    * no thread waits for the responses either, if the transport supports it.
+    * <p/>
+    * The returned future completes with the map of responses from each member contacted, or with the exception which
+    * {@link #invokeRemotely(java.util.Collection, org.infinispan.commands.ReplicableCommand, RpcOptions)} would have
+    * thrown. Its listeners may be notified by the thread receiving the last response, so they must not block.
+    *
+    * @param recipients a list of Addresses to invoke the call on.  If this is {@code null}, the call is broadcast to the
+    *                   entire cluster.
+    * @param rpc        command to execute remotely.
+    * @param options    it configures the invocation, see {@link #invokeRemotely(java.util.Collection,
+    *                   org.infinispan.commands.ReplicableCommand, RpcOptions)}.
+    * @return a future of the map of responses from each member contacted.
+    * @since 7.0
+    */
+   NotifyingFuture<Map<Address, Response>> invokeRemotelyAsync(Collection<Address> recipients, ReplicableCommand rpc,
+                                                              RpcOptions options);
+
    /**
     * The same as {@link #invokeRemotely(java.util.Collection, org.infinispan.commands.ReplicableCommand, RpcOptions)}
     * except that the task is passed to the transport executor and a Future is returned.  The transport always deals
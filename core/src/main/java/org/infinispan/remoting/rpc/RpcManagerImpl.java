@@ -7,7 +7,9 @@
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -17,6 +19,8 @@
 import org.infinispan.commands.TopologyAffectedCommand;
 import org.infinispan.commands.remote.CacheRpcCommand;
 import org.infinispan.commons.CacheException;
+import org.infinispan.commons.util.concurrent.FutureListener;
+import org.infinispan.commons.util.concurrent.NotifyingFuture;
 import org.infinispan.commons.util.concurrent.NotifyingNotifiableFuture;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.factories.annotations.ComponentName;
@@ -40,6 +44,7 @@
 import org.infinispan.topology.CacheTopology;
 import org.infinispan.topology.LocalTopologyManager;
 import org.infinispan.util.TimeService;
+import org.infinispan.util.concurrent.CompletableNotifyingFuture;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
@@ -240,22 +245,7 @@ public Map<Address, Response> invokeRemotely(Collection<Address> recipients, Rep
          replicationQueue.add(rpc);
          return null;
       }
-      if (!configuration.clustering().cacheMode().isClustered())
-         throw new IllegalStateException("Trying to invoke a remote command but the cache is not clustered");
-
-      // Set the topology id of the command, in case we don't have it yet
-      if (rpc instanceof TopologyAffectedCommand) {
-         TopologyAffectedCommand topologyAffectedCommand = (TopologyAffectedCommand) rpc;
-         if (topologyAffectedCommand.getTopologyId() == -1) {
-            int currentTopologyId = stateTransferManager.getCacheTopology().getTopologyId();
-            if (trace) log.tracef("Topology id missing on command %s, setting it to %d", rpc, currentTopologyId);
-            topologyAffectedCommand.setTopologyId(currentTopologyId);
-         }
-      }
-
-      if (!(rpc instanceof CacheRpcCommand)) {
-         rpc = cf.buildSingleRpcCommand(rpc);
-      }
+      rpc = prepareForRemoteInvocation(rpc);
 
       long startTimeNanos = 0;
       if (statisticsEnabled) startTimeNanos = timeService.time();
@@ -300,6 +290,83 @@ public Map<Address, Response> invokeRemotely(Collection<Address> recipients, Rep
       }
    }
 
+   @Override
+   public NotifyingFuture<Map<Address, Response>> invokeRemotelyAsync(Collection<Address> recipients,
+                                                                     ReplicableCommand rpc, RpcOptions options) {
+      if (trace) log.tracef("%s invoking %s to recipient list %s with options %s without waiting for the responses",
+                            t.getAddress(), rpc, recipients, options);
+
+      if (!options.skipReplicationQueue() && useReplicationQueue(options.responseMode().isSynchronous())) {
+         if (trace) {
+            log.tracef("Using replication queue for command [%s]", rpc);
+         }
+         replicationQueue.add(rpc);
+         return CompletableNotifyingFuture.completedFuture(null);
+      }
+      rpc = prepareForRemoteInvocation(rpc);
+
+      final long startTimeNanos = statisticsEnabled ? timeService.time() : 0;
+      NotifyingFuture<Map<Address, Response>> future;
+      try {
+         future = t.invokeRemotelyAsync(recipients, rpc, options.responseMode(),
+                                        options.timeUnit().toMillis(options.timeout()), !options.fifoOrder(),
+                                        options.responseFilter(), options.totalOrder(),
+                                        configuration.clustering().cacheMode().isDistributed());
+      } catch (CacheException e) {
+         log.trace("replication exception: ", e);
+         if (statisticsEnabled) replicationFailures.incrementAndGet();
+         throw e;
+      } catch (Throwable th) {
+         log.unexpectedErrorReplicating(th);
+         if (statisticsEnabled) replicationFailures.incrementAndGet();
+         throw new CacheException(th);
+      }
+
+      if (statisticsEnabled) {
+         future.attachListener(new FutureListener<Map<Address, Response>>() {
+            @Override
+            public void futureDone(Future<Map<Address, Response>> responses) {
+               try {
+                  responses.get();
+                  replicationCount.incrementAndGet();
+               } catch (ExecutionException e) {
+                  replicationFailures.incrementAndGet();
+               } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+               } finally {
+                  long timeTaken = timeService.timeDuration(startTimeNanos, TimeUnit.MILLISECONDS);
+                  totalReplicationTime.getAndAdd(timeTaken);
+               }
+            }
+         });
+      }
+      return future;
+   }
+
+   /**
+    * Sets the topology id of the command, in case it doesn't have it yet, and wraps it in a {@link
+    * org.infinispan.commands.remote.SingleRpcCommand} if it is not a {@link CacheRpcCommand}.
+    */
+   private ReplicableCommand prepareForRemoteInvocation(ReplicableCommand rpc) {
+      if (!configuration.clustering().cacheMode().isClustered())
+         throw new IllegalStateException("Trying to invoke a remote command but the cache is not clustered");
+
+      // Set the topology id of the command, in case we don't have it yet
+      if (rpc instanceof TopologyAffectedCommand) {
+         TopologyAffectedCommand topologyAffectedCommand = (TopologyAffectedCommand) rpc;
+         if (topologyAffectedCommand.getTopologyId() == -1) {
+            int currentTopologyId = stateTransferManager.getCacheTopology().getTopologyId();
+            if (trace) log.tracef("Topology id missing on command %s, setting it to %d", rpc, currentTopologyId);
+            topologyAffectedCommand.setTopologyId(currentTopologyId);
+         }
+      }
+
+      if (!(rpc instanceof CacheRpcCommand)) {
+         rpc = cf.buildSingleRpcCommand(rpc);
+      }
+      return rpc;
+   }
+
    @Override
    public void invokeRemotelyInFuture(final Collection<Address> recipients, final ReplicableCommand rpc,
                                       final RpcOptions options, final NotifyingNotifiableFuture<Object> future) {
@@ -1,9 +1,11 @@
 package org.infinispan.remoting.transport;
 
 import org.infinispan.commands.ReplicableCommand;
+import org.infinispan.commons.util.concurrent.NotifyingFuture;
 import org.infinispan.remoting.responses.Response;
 import org.infinispan.remoting.rpc.ResponseFilter;
 import org.infinispan.remoting.rpc.ResponseMode;
+import org.infinispan.util.concurrent.CompletableNotifyingFuture;
 import org.infinispan.util.logging.Log;
 import org.infinispan.xsite.XSiteBackup;
 import org.infinispan.xsite.XSiteReplicateCommand;
@@ -31,6 +33,17 @@ public Map<Address, Response> invokeRemotely(Collection<Address> recipients, Rep
       return actual.invokeRemotely(recipients, rpcCommand, mode, timeout, usePriorityQueue, responseFilter, totalOrder, anycast);
    }
 
+   /**
+    * Goes through {@link #invokeRemotely(java.util.Collection, org.infinispan.commands.ReplicableCommand,
+    * org.infinispan.remoting.rpc.ResponseMode, long, boolean, org.infinispan.remoting.rpc.ResponseFilter, boolean,
+    * boolean)}, so that the subclasses overriding it see every command, and returns a completed future.
+    */
+   @Override
+   public NotifyingFuture<Map<Address, Response>> invokeRemotelyAsync(Collection<Address> recipients, ReplicableCommand rpcCommand, ResponseMode mode, long timeout, boolean usePriorityQueue, ResponseFilter responseFilter, boolean totalOrder, boolean anycast) throws Exception {
+      return CompletableNotifyingFuture.completedFuture(
+            invokeRemotely(recipients, rpcCommand, mode, timeout, usePriorityQueue, responseFilter, totalOrder, anycast));
+   }
+
    @Override
    public BackupResponse backupRemotely(Collection<XSiteBackup> backups, XSiteReplicateCommand rpcCommand) throws Exception {
       return actual.backupRemotely(backups, rpcCommand);
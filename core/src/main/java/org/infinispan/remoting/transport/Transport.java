@@ -1,6 +1,7 @@
 package org.infinispan.remoting.transport;
 
 import org.infinispan.commands.ReplicableCommand;
+import org.infinispan.commons.util.concurrent.NotifyingFuture;
 import org.infinispan.factories.annotations.Start;
 import org.infinispan.factories.annotations.Stop;
 import org.infinispan.factories.scopes.Scope;
@@ -50,6 +51,26 @@ Map<Address, Response> invokeRemotely(Collection<Address> recipients, Replicable
                                  boolean usePriorityQueue, ResponseFilter responseFilter, boolean totalOrder,
                                  boolean anycast) throws Exception;
 
+   /**
+    * Invokes an RPC call on other caches in the cluster, without waiting for the responses.
+    * <p/>
+    * The parameters have the same meaning as in {@link #invokeRemotely(java.util.Collection,
+    * org.infinispan.commands.ReplicableCommand, org.infinispan.remoting.rpc.ResponseMode, long, boolean,
+    * org.infinispan.remoting.rpc.ResponseFilter, boolean, boolean)}. The returned future completes with the map of
+    * responses, or with the exception the synchronous invocation would have thrown. Its listeners may be notified by
+    * the thread receiving the last response, so they should not block. Implementations which can't send a request
+    * without blocking may complete the future before returning it.
+    *
+    * @return a future of the map of responses from each member contacted.
+    * @throws Exception in the event of problems sending the command.
+    * @since 7.0
+    */
+   NotifyingFuture<Map<Address, Response>> invokeRemotelyAsync(Collection<Address> recipients,
+                                                              ReplicableCommand rpcCommand, ResponseMode mode,
+                                                              long timeout, boolean usePriorityQueue,
+                                                              ResponseFilter responseFilter, boolean totalOrder,
+                                                              boolean anycast) throws Exception;
+
 
    BackupResponse backupRemotely(Collection<XSiteBackup> backups, XSiteReplicateCommand rpcCommand) throws Exception;
 
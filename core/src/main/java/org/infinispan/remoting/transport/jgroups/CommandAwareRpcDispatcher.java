@@ -13,9 +13,11 @@
 import org.infinispan.remoting.RpcException;
 import org.infinispan.remoting.responses.ExceptionResponse;
 import org.infinispan.remoting.responses.Response;
+import org.infinispan.remoting.rpc.ResponseFilter;
 import org.infinispan.topology.CacheTopologyControlCommand;
 import org.infinispan.topology.LocalTopologyManager;
 import org.infinispan.util.TimeService;
+import org.infinispan.util.concurrent.CompletableNotifyingFuture;
 import org.infinispan.util.concurrent.TimeoutException;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
@@ -39,13 +41,18 @@
 import org.jgroups.util.NotifyingFuture;
 import org.jgroups.util.Rsp;
 import org.jgroups.util.RspList;
+import org.jgroups.util.TimeScheduler;
 
 import java.io.NotSerializableException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -180,6 +187,36 @@ public Response call() throws Exception {
       }
    }
 
+   /**
+    * Sends the command to each of the recipients and returns without waiting for their responses.
+    *
+    * @param recipients Guaranteed not to be null or empty.  Must <b>not</b> contain self.
+    * @param filter     if not {@code null}, the future completes as soon as the filter doesn't need more responses
+    * @return a future which completes with the valid responses once all the recipients have replied, or with the
+    *         exception {@link #invokeRemoteCommands(java.util.List, org.infinispan.commands.ReplicableCommand,
+    *         org.jgroups.blocks.ResponseMode, long, boolean, org.jgroups.blocks.RspFilter, boolean, boolean, boolean)}
+    *         would have thrown.
+    */
+   public CompletableNotifyingFuture<Map<org.infinispan.remoting.transport.Address, Response>> invokeRemoteCommandsAsync(
+         List<Address> recipients, ReplicableCommand command, long timeout, boolean oob, ResponseFilter filter,
+         boolean ignoreLeavers) {
+      if (trace) log.tracef("Replication task sending %s to addresses %s without waiting for the responses", command, recipients);
+      ResponseCollector collector = new ResponseCollector(transport, recipients, timeout, filter, ignoreLeavers);
+      try {
+         boolean rsvp = isRsvpCommand(command);
+         Buffer buf = marshallCall(req_marshaller, command);
+         RequestOptions opts = new RequestOptions(ResponseMode.GET_ALL, timeout);
+         for (Address dest : recipients) {
+            Message message = constructMessage(buf, dest, oob, ResponseMode.GET_ALL, rsvp, false);
+            collector.watchFuture(this.<Object>sendMessageWithFuture(message, opts, collector.listenerFor(dest)));
+         }
+         collector.scheduleTimeout(getChannel().getProtocolStack().getTransport().getTimer());
+      } catch (Exception e) {
+         collector.fail(rewrapAsCacheException(e));
+      }
+      return collector.getFuture();
+   }
+
    public RspList<Object> broadcastRemoteCommands(ReplicableCommand command, ResponseMode mode, long timeout,
                                                   boolean oob, RspFilter filter,
                                                   boolean asyncMarshalling, boolean ignoreLeavers, boolean totalOrder)
@@ -483,6 +520,191 @@ private static boolean isRsvpCommand(ReplicableCommand command) {
             && ((FlagAffectedCommand) command).hasFlag(Flag.GUARANTEED_DELIVERY);
    }
 
+   /**
+    * Collects the responses to a command sent to several recipients without blocking, and completes a future when all
+    * of them have replied, when one of them fails or when the timeout expires.
+    */
+   final static class ResponseCollector implements Runnable {
+      private final JGroupsTransport transport;
+      private final long timeout;
+      @GuardedBy("this")
+      private final ResponseFilter filter;
+      private final boolean ignoreLeavers;
+      private final CompletableNotifyingFuture<Map<org.infinispan.remoting.transport.Address, Response>> future =
+            new CompletableNotifyingFuture<Map<org.infinispan.remoting.transport.Address, Response>>();
+      private final List<Future<Object>> requests;
+      @GuardedBy("this")
+      private final Map<org.infinispan.remoting.transport.Address, Response> responses;
+      @GuardedBy("this")
+      private final Set<Address> pendingTargets;
+      @GuardedBy("this")
+      private int resolvedTargets;
+      private volatile Future<?> timeoutTask;
+
+      ResponseCollector(JGroupsTransport transport, List<Address> targets, long timeout, ResponseFilter filter,
+                        boolean ignoreLeavers) {
+         this.transport = transport;
+         this.timeout = timeout;
+         this.filter = filter;
+         this.ignoreLeavers = ignoreLeavers;
+         this.requests = new ArrayList<Future<Object>>(targets.size());
+         this.responses = new HashMap<org.infinispan.remoting.transport.Address, Response>(targets.size());
+         this.pendingTargets = new HashSet<Address>(targets);
+      }
+
+      CompletableNotifyingFuture<Map<org.infinispan.remoting.transport.Address, Response>> getFuture() {
+         return future;
+      }
+
+      FutureListener<Object> listenerFor(final Address target) {
+         return new FutureListener<Object>() {
+            @Override
+            public void futureDone(Future<Object> request) {
+               responseReceived(target, request);
+            }
+         };
+      }
+
+      void watchFuture(Future<Object> request) {
+         synchronized (this) {
+            requests.add(request);
+         }
+         if (future.isDone()) request.cancel(true);
+      }
+
+      void scheduleTimeout(TimeScheduler timer) {
+         if (!future.isDone()) {
+            timeoutTask = timer.schedule(this, timeout, MILLISECONDS);
+         }
+      }
+
+      /**
+       * Invoked by the timer when the timeout expires.
+       */
+      @Override
+      public void run() {
+         Set<Address> missing;
+         Map<org.infinispan.remoting.transport.Address, Response> result = null;
+         synchronized (this) {
+            missing = new HashSet<Address>(pendingTargets);
+            // With a response filter, the responses received so far are enough
+            if (filter != null && resolvedTargets > 0) result = new HashMap<org.infinispan.remoting.transport.Address, Response>(responses);
+         }
+         if (result != null) {
+            complete(result);
+            return;
+         }
+         fail(new TimeoutException(formatString("Timed out after %s waiting for a response from %s",
+                                                prettyPrintTime(timeout), missing)));
+      }
+
+      void fail(Exception e) {
+         if (future.completeExceptionally(e)) {
+            if (trace) log.tracef(e, "Remote invocation failed");
+            cancelRequests();
+         }
+      }
+
+      private void responseReceived(Address target, Future<Object> request) {
+         if (future.isDone())
+            return;
+
+         org.infinispan.remoting.transport.Address sender = fromJGroupsAddress(target);
+         Object value = null;
+         // Received a response, or found out that the target left
+         boolean resolved = true;
+         boolean received = false;
+         try {
+            value = request.get();
+            received = true;
+         } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SuspectedException) {
+               if (!ignoreLeavers) {
+                  fail(new SuspectException("Suspected member: " + sender, sender));
+                  return;
+               }
+               if (trace) log.tracef("Ignoring node %s that left during the remote call", sender);
+            } else if (cause instanceof org.jgroups.TimeoutException) {
+               if (filter == null) {
+                  fail(new TimeoutException("Node " + sender + " timed out", cause));
+                  return;
+               }
+               // With a response filter, the targets that don't reply in time are ignored
+               resolved = false;
+            } else {
+               fail(rewrapAsCacheException(cause));
+               return;
+            }
+         } catch (CancellationException e) {
+            // Only cancelled once the future is completed
+            return;
+         } catch (InterruptedException e) {
+            // The request is done, get() doesn't wait
+            Thread.currentThread().interrupt();
+            return;
+         }
+
+         Map<org.infinispan.remoting.transport.Address, Response> result = null;
+         boolean noValidResponses = false;
+         try {
+            boolean valid = value != null && transport.checkResponse(value, sender);
+            synchronized (this) {
+               if (resolved) resolvedTargets++;
+               boolean acceptable = filter == null || !received ||
+                     filter.isAcceptable(valid ? (Response) value : null, sender);
+               if (valid && acceptable) responses.put(sender, (Response) value);
+               if (pendingTargets.remove(target)) {
+                  if (pendingTargets.isEmpty()) {
+                     if (resolvedTargets > 0) {
+                        result = responses;
+                     } else {
+                        noValidResponses = true;
+                     }
+                  } else if (filter != null && !filter.needMoreResponses()) {
+                     // Copy the responses, the requests still pending may complete later
+                     result = new HashMap<org.infinispan.remoting.transport.Address, Response>(responses);
+                  }
+               }
+            }
+         } catch (Exception e) {
+            fail(e instanceof CacheException ? e : rewrapAsCacheException(e));
+            return;
+         }
+
+         if (noValidResponses) {
+            fail(new TimeoutException("Timed out waiting for valid responses!"));
+         } else if (result != null) {
+            complete(result);
+         }
+      }
+
+      private void complete(Map<org.infinispan.remoting.transport.Address, Response> result) {
+         if (future.complete(result)) {
+            if (trace) log.tracef("Responses: %s", result);
+            if (filter != null) {
+               // Some requests may be pending if the response filter didn't need all the responses
+               cancelRequests();
+            } else {
+               Future<?> task = timeoutTask;
+               if (task != null) task.cancel(false);
+            }
+         }
+      }
+
+      private void cancelRequests() {
+         Future<?> task = timeoutTask;
+         if (task != null) task.cancel(false);
+         List<Future<Object>> toCancel;
+         synchronized (this) {
+            toCancel = new ArrayList<Future<Object>>(requests);
+         }
+         for (Future<Object> request : toCancel) {
+            request.cancel(true);
+         }
+      }
+   }
+
    static class SenderContainer {
       final Address address;
       volatile boolean processed = false;
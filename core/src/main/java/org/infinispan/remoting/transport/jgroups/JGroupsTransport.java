@@ -31,6 +31,7 @@
 import org.infinispan.commons.util.InfinispanCollections;
 import org.infinispan.commons.util.TypedProperties;
 import org.infinispan.commons.util.Util;
+import org.infinispan.commons.util.concurrent.NotifyingFuture;
 import org.infinispan.configuration.global.TransportConfiguration;
 import org.infinispan.configuration.parsing.XmlConfigHelper;
 import org.infinispan.factories.GlobalComponentRegistry;
@@ -47,6 +48,7 @@
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.remoting.transport.BackupResponse;
 import org.infinispan.util.TimeService;
+import org.infinispan.util.concurrent.CompletableNotifyingFuture;
 import org.infinispan.util.concurrent.TimeoutException;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
@@ -570,6 +572,41 @@ usePriorityQueue, toJGroupsFilter(responseFilter),
       return responses;
    }
 
+   /**
+    * Sends the command without blocking when all the recipients are named and all their responses are needed, i.e. for
+    * the synchronous commands sent to the owners of some keys, optionally with a response filter. The other
+    * invocations, i.e. broadcasts, total order and asynchronous invocations, are executed synchronously.
+    */
+   @Override
+   public NotifyingFuture<Map<Address, Response>> invokeRemotelyAsync(Collection<Address> recipients, ReplicableCommand rpcCommand, ResponseMode mode, long timeout, boolean usePriorityQueue, ResponseFilter responseFilter,
+                                                                     boolean totalOrder, boolean anycast) throws Exception {
+      boolean ignoreLeavers = mode == ResponseMode.SYNCHRONOUS_IGNORE_LEAVERS || mode == ResponseMode.WAIT_FOR_VALID_RESPONSE;
+      if (recipients == null || totalOrder || (mode != ResponseMode.SYNCHRONOUS && !ignoreLeavers)) {
+         return super.invokeRemotelyAsync(recipients, rpcCommand, mode, timeout, usePriorityQueue, responseFilter,
+                                          totalOrder, anycast);
+      }
+
+      if (trace)
+         log.tracef("dests=%s, command=%s, mode=%s, timeout=%s, without waiting for the responses", recipients,
+                    rpcCommand, mode, timeout);
+      if (!getMembers().containsAll(recipients)) {
+         if (ignoreLeavers) {
+            recipients = new HashSet<Address>(recipients);
+            recipients.retainAll(getMembers());
+         } else {
+            throw new SuspectException("One or more nodes have left the cluster while replicating command " + rpcCommand);
+         }
+      }
+
+      List<org.jgroups.Address> jgAddressList = toJGroupsAddressListExcludingSelf(recipients, false);
+      if (jgAddressList.isEmpty()) {
+         log.trace("Destination list is empty: no need to send message");
+         return CompletableNotifyingFuture.completedFuture(InfinispanCollections.<Address, Response>emptyMap());
+      }
+      // Synchronous commands always use the OOB thread pool, see invokeRemotely()
+      return dispatcher.invokeRemoteCommandsAsync(jgAddressList, rpcCommand, timeout, true, responseFilter, ignoreLeavers);
+   }
+
    @Override
    public BackupResponse backupRemotely(Collection<XSiteBackup> backups, XSiteReplicateCommand rpcCommand) throws Exception {
       log.tracef("About to send to backups %s, command %s", backups, rpcCommand);
@@ -562,6 +562,12 @@ public V put(K key, V value, Metadata metadata) {
       return delegate.put(key, value, metadata);
    }
 
+   @Override
+   public void putAll(Map<? extends K, ? extends V> map, Metadata metadata) {
+      authzManager.checkPermission(AuthorizationPermission.WRITE);
+      delegate.putAll(map, metadata);
+   }
+
    @Override
    public void putAll(Map<? extends K, ? extends V> m) {
       authzManager.checkPermission(AuthorizationPermission.WRITE);
@@ -622,6 +628,12 @@ public void removeGroup(String groupName) {
       delegate.removeGroup(groupName);
    }
 
+   @Override
+   public Map<K, V> getAll(Set<?> keys) {
+      authzManager.checkPermission(AuthorizationPermission.READ);
+      return delegate.getAll(keys);
+   }
+
    @Override
    public boolean equals(Object o) {
       return delegate.equals(o);
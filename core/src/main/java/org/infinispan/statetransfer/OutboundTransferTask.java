@@ -2,19 +2,23 @@
 
 import org.infinispan.commands.CommandsFactory;
 import org.infinispan.commons.CacheException;
+import org.infinispan.commons.util.concurrent.FutureListener;
 import org.infinispan.commons.util.CollectionFactory;
 import org.infinispan.commons.util.InfinispanCollections;
 import org.infinispan.container.DataContainer;
 import org.infinispan.container.InternalEntryFactory;
+import org.infinispan.container.SegmentedDataContainer;
 import org.infinispan.container.entries.InternalCacheEntry;
 import org.infinispan.distribution.ch.ConsistentHash;
 import org.infinispan.filter.CollectionKeyFilter;
 import org.infinispan.persistence.manager.PersistenceManager;
 import org.infinispan.persistence.spi.AdvancedCacheLoader;
+import org.infinispan.persistence.spi.SegmentedAdvancedLoadWriteStore;
 import org.infinispan.marshall.core.MarshalledEntry;
 import org.infinispan.remoting.rpc.ResponseMode;
 import org.infinispan.remoting.rpc.RpcManager;
 import org.infinispan.remoting.rpc.RpcOptions;
+import org.infinispan.remoting.responses.Response;
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.remoting.transport.jgroups.SuspectException;
 import org.infinispan.util.ReadOnlyDataContainerBackedKeySet;
@@ -24,14 +28,21 @@
 
 import java.util.*;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Outbound state transfer task. Pushes data segments to another cluster member on request. Instances of
  * OutboundTransferTask are created and managed by StateTransferManagerImpl. There should be at most
- * one such task per destination at any time.
+ * one such task per destination and segment at any time.
+ * <p/>
+ * Up to {@code maxChunksInFlight} chunks are sent without waiting for the destination to acknowledge them, each
+ * chunk in flight holding a permit of {@link #chunksInFlight} until its response is received. The last chunk of the
+ * segments marks their transfer as complete, so it is only sent after all the previous chunks were acknowledged.
  *
  * @author anistor@redhat.com
  * @since 5.2
@@ -52,6 +63,13 @@ public class OutboundTransferTask implements Runnable {
 
    private final int stateTransferChunkSize;
 
+   private final int maxChunksInFlight;
+
+   /**
+    * Credits for sending chunks without waiting for the previous chunks to be acknowledged.
+    */
+   private final Semaphore chunksInFlight;
+
    private final ConsistentHash readCh;
 
    private final DataContainer<Object, Object> dataContainer;
@@ -83,7 +101,7 @@ public class OutboundTransferTask implements Runnable {
    private InternalEntryFactory entryFactory;
 
    public OutboundTransferTask(Address destination, Set<Integer> segments, int stateTransferChunkSize,
-                               int topologyId, ConsistentHash readCh, StateProviderImpl stateProvider, DataContainer dataContainer,
+                               int maxChunksInFlight, int topologyId, ConsistentHash readCh, StateProviderImpl stateProvider, DataContainer dataContainer,
                                PersistenceManager persistenceManager, RpcManager rpcManager,
                                CommandsFactory commandsFactory, InternalEntryFactory ef, long timeout, String cacheName) {
       if (segments == null || segments.isEmpty()) {
@@ -95,10 +113,15 @@ public OutboundTransferTask(Address destination, Set<Integer> segments, int stat
       if (stateTransferChunkSize <= 0) {
          throw new IllegalArgumentException("stateTransferChunkSize must be greater than 0");
       }
+      if (maxChunksInFlight <= 0) {
+         throw new IllegalArgumentException("maxChunksInFlight must be greater than 0");
+      }
       this.stateProvider = stateProvider;
       this.destination = destination;
       this.segments.addAll(segments);
       this.stateTransferChunkSize = stateTransferChunkSize;
+      this.maxChunksInFlight = maxChunksInFlight;
+      this.chunksInFlight = new Semaphore(maxChunksInFlight);
       this.topologyId = topologyId;
       this.readCh = readCh;
       this.dataContainer = dataContainer;
@@ -142,11 +165,20 @@ public int getTopologyId() {
    public void run() {
       try {
          // send data container entries
-         for (InternalCacheEntry ice : dataContainer) {
-            Object key = ice.getKey();  //todo [anistor] should we check for expired entries?
-            int segmentId = readCh.getSegment(key);
-            if (segments.contains(segmentId)) {
-               sendEntry(ice, segmentId);
+         if (dataContainer instanceof SegmentedDataContainer) {
+            // only visit the entries of the requested segments
+            SegmentedDataContainer<Object, Object> segmentedDataContainer = (SegmentedDataContainer<Object, Object>) dataContainer;
+            for (Iterator<InternalCacheEntry<Object, Object>> it = segmentedDataContainer.iterator(segments); it.hasNext(); ) {
+               InternalCacheEntry ice = it.next();
+               sendEntry(ice, segmentedDataContainer.getSegment(ice.getKey()));
+            }
+         } else {
+            for (InternalCacheEntry ice : dataContainer) {
+               Object key = ice.getKey();  //todo [anistor] should we check for expired entries?
+               int segmentId = readCh.getSegment(key);
+               if (segments.contains(segmentId)) {
+                  sendEntry(ice, segmentId);
+               }
             }
          }
 
@@ -168,7 +200,13 @@ public void processEntry(MarshalledEntry me, AdvancedCacheLoader.TaskContext tas
                         }
                      }
                   };
-               stProvider.process(filter, task, new WithinThreadExecutor(), true, true);
+               if (stProvider instanceof SegmentedAdvancedLoadWriteStore) {
+                  // only read the entries of the requested segments
+                  ((SegmentedAdvancedLoadWriteStore) stProvider).process(segments, filter, task,
+                                                                          new WithinThreadExecutor(), true, true);
+               } else {
+                  stProvider.process(filter, task, new WithinThreadExecutor(), true, true);
+               }
             } catch (CacheException e) {
                log.failedLoadingKeysFromCacheStore(e);
             }
@@ -189,7 +227,7 @@ public void processEntry(MarshalledEntry me, AdvancedCacheLoader.TaskContext tas
       }
    }
 
-   private void sendEntry(InternalCacheEntry ice, int segmentId) {
+   private void sendEntry(InternalCacheEntry ice, int segmentId) throws InterruptedException {
       // send if we have a full chunk
       if (accumulatedEntries >= stateTransferChunkSize) {
          sendEntries(false);
@@ -205,7 +243,7 @@ private void sendEntry(InternalCacheEntry ice, int segmentId) {
       accumulatedEntries++;
    }
 
-   private void sendEntries(boolean isLast) {
+   private void sendEntries(boolean isLast) throws InterruptedException {
       List<StateChunk> chunks = new ArrayList<StateChunk>();
       for (Map.Entry<Integer, List<InternalCacheEntry>> e : entriesBySegment.entrySet()) {
          List<InternalCacheEntry> entries = e.getValue();
@@ -234,22 +272,58 @@ private void sendEntries(boolean isLast) {
          }
 
          StateResponseCommand cmd = commandsFactory.buildStateResponseCommand(rpcManager.getAddress(), topologyId, chunks);
-         // send synchronously, in order. it is important that the last chunk is received last in order to correctly detect completion of the stream of chunks
-         try {
-            rpcManager.invokeRemotely(Collections.singleton(destination), cmd, rpcOptions);
-         } catch (SuspectException e) {
-            log.errorf(e, "Node %s left cache %s: %s", destination, cacheName, e.getMessage());
-            cancel();
-         } catch (Exception e) {
-            if (isCancelled()) {
-               log.debugf("Stopping cancelled transfer of segments %s of cache %s to node %s", segments, cacheName, destination);
-            } else {
-               log.errorf(e, "Failed to send entries to node %s : %s", destination, e.getMessage());
+         if (isLast || maxChunksInFlight == 1) {
+            // it is important that the last chunk is received last in order to correctly detect completion of the
+            // stream of chunks, so wait for all the chunks in flight and send it synchronously
+            chunksInFlight.acquire(maxChunksInFlight);
+            try {
+               rpcManager.invokeRemotely(Collections.singleton(destination), cmd, rpcOptions);
+            } catch (Exception e) {
+               handleSendFailure(e);
+            } finally {
+               chunksInFlight.release(maxChunksInFlight);
+            }
+         } else {
+            // wait for a credit, and give it back when the destination acknowledges the chunk
+            chunksInFlight.acquire();
+            boolean sent = false;
+            try {
+               rpcManager.invokeRemotelyAsync(Collections.singleton(destination), cmd, rpcOptions)
+                     .attachListener(new FutureListener<Map<Address, Response>>() {
+                        @Override
+                        public void futureDone(Future<Map<Address, Response>> future) {
+                           try {
+                              future.get();
+                           } catch (ExecutionException e) {
+                              handleSendFailure(e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+                           } catch (InterruptedException e) {
+                              Thread.currentThread().interrupt();
+                           } finally {
+                              chunksInFlight.release();
+                           }
+                        }
+                     });
+               sent = true;
+            } catch (Exception e) {
+               handleSendFailure(e);
+            } finally {
+               if (!sent) chunksInFlight.release();
             }
          }
       }
    }
 
+   private void handleSendFailure(Exception e) {
+      if (e instanceof SuspectException) {
+         log.errorf(e, "Node %s left cache %s: %s", destination, cacheName, e.getMessage());
+         cancel();
+      } else if (isCancelled()) {
+         log.debugf("Stopping cancelled transfer of segments %s of cache %s to node %s", segments, cacheName, destination);
+      } else {
+         log.errorf(e, "Failed to send entries to node %s : %s", destination, e.getMessage());
+      }
+   }
+
    /**
     * Cancel some of the segments. If all segments get cancelled then the whole task will be cancelled.
     *
@@ -289,6 +363,7 @@ public String toString() {
             ", destination=" + destination +
             ", segments=" + segments +
             ", stateTransferChunkSize=" + stateTransferChunkSize +
+            ", maxChunksInFlight=" + maxChunksInFlight +
             ", timeout=" + timeout +
             ", cacheName='" + cacheName + '\'' +
             '}';
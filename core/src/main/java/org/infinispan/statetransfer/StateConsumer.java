@@ -22,6 +22,11 @@ public interface StateConsumer {
 
    boolean isStateTransferInProgressForKey(Object key);
 
+   /**
+    * @return the number of segments this node has requested and not yet completely received
+    */
+   int getInboundSegmentsCount();
+
    /**
     * Receive notification of topology changes. StateRequestCommands are issued for segments that are new to this member
     * and the segments that are no longer owned are discarded.
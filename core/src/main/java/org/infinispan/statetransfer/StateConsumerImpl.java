@@ -7,11 +7,15 @@
 import org.infinispan.commands.write.InvalidateCommand;
 import org.infinispan.commands.write.PutKeyValueCommand;
 import org.infinispan.commons.CacheException;
+import org.infinispan.commons.marshall.StreamingMarshaller;
 import org.infinispan.commons.util.InfinispanCollections;
 import org.infinispan.commons.util.concurrent.ParallelIterableMap;
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.container.DataContainer;
+import org.infinispan.container.EntryFactory;
+import org.infinispan.container.SegmentedDataContainer;
 import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.container.entries.MVCCEntry;
 import org.infinispan.context.Flag;
 import org.infinispan.context.InvocationContext;
 import org.infinispan.context.InvocationContextFactory;
@@ -25,8 +29,11 @@
 import org.infinispan.factories.annotations.Start;
 import org.infinispan.factories.annotations.Stop;
 import org.infinispan.filter.KeyFilter;
+import org.infinispan.interceptors.CacheWriterInterceptor;
 import org.infinispan.interceptors.InterceptorChain;
+import org.infinispan.interceptors.locking.ClusteringDependentLogic;
 import org.infinispan.marshall.core.MarshalledEntry;
+import org.infinispan.marshall.core.MarshalledEntryImpl;
 import org.infinispan.notifications.cachelistener.CacheNotifier;
 import org.infinispan.filter.CollectionKeyFilter;
 import org.infinispan.persistence.manager.PersistenceManager;
@@ -49,6 +56,8 @@
 import org.infinispan.util.ReadOnlyDataContainerBackedKeySet;
 import org.infinispan.util.concurrent.BlockingTaskAwareExecutorService;
 import org.infinispan.util.concurrent.ConcurrentHashSet;
+import org.infinispan.util.concurrent.TimeoutException;
+import org.infinispan.util.concurrent.locks.LockManager;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
@@ -64,6 +73,8 @@
 
 import static org.infinispan.context.Flag.*;
 import static org.infinispan.factories.KnownComponentNames.ASYNC_TRANSPORT_EXECUTOR;
+import static org.infinispan.factories.KnownComponentNames.CACHE_MARSHALLER;
+import static org.infinispan.persistence.PersistenceUtil.internalMetadata;
 import static org.infinispan.persistence.manager.PersistenceManager.AccessMode.PRIVATE;
 
 /**
@@ -103,6 +114,10 @@ public class StateConsumerImpl implements StateConsumer {
    private boolean isTotalOrder;
    private volatile KeyInvalidationListener keyInvalidationListener; //for test purpose only!
    private CommitManager commitManager;
+   private EntryFactory entryFactory;
+   private ClusteringDependentLogic clusteringDependentLogic;
+   private LockManager lockManager;
+   private StreamingMarshaller marshaller;
 
    private volatile CacheTopology cacheTopology;
 
@@ -208,6 +223,17 @@ public void init(Cache cache,
       timeout = configuration.clustering().stateTransfer().timeout();
    }
 
+   @Inject
+   public void injectDirectStateTransferDependencies(EntryFactory entryFactory,
+                                                     ClusteringDependentLogic clusteringDependentLogic,
+                                                     LockManager lockManager,
+                                                     @ComponentName(CACHE_MARSHALLER) StreamingMarshaller marshaller) {
+      this.entryFactory = entryFactory;
+      this.lockManager = lockManager;
+      this.clusteringDependentLogic = clusteringDependentLogic;
+      this.marshaller = marshaller;
+   }
+
    public boolean hasActiveTransfers() {
       synchronized (transferMapsLock) {
          return !transfersBySource.isEmpty();
@@ -219,6 +245,13 @@ public boolean isStateTransferInProgress() {
       return stateTransferTopologyId.get() != NO_REBALANCE_IN_PROGRESS;
    }
 
+   @Override
+   public int getInboundSegmentsCount() {
+      synchronized (transferMapsLock) {
+         return transfersBySegment.size();
+      }
+   }
+
    @Override
    public boolean isStateTransferInProgressForKey(Object key) {
       if (isInvalidationMode) {
@@ -281,6 +314,10 @@ public void onTopologyUpdate(final CacheTopology cacheTopology, final boolean is
       stateTransferLock.releaseExclusiveTopologyLock();
       stateTransferLock.notifyTopologyInstalled(cacheTopology.getTopologyId());
 
+      if (isMember && dataContainer instanceof SegmentedDataContainer) {
+         ((SegmentedDataContainer) dataContainer).addSegments(getOwnedSegments(newWriteCh));
+      }
+
       try {
          // fetch transactions and data segments from other owners if this is enabled
          if (isTransactional || isFetchEnabled) {
@@ -506,6 +543,11 @@ private void doApplyState(Address sender, int segmentId, Collection<InternalCach
 
       // CACHE_MODE_LOCAL avoids handling by StateTransferInterceptor and any potential locks in StateTransferLock
       EnumSet<Flag> flags = EnumSet.of(PUT_FOR_STATE_TRANSFER, CACHE_MODE_LOCAL, IGNORE_RETURN_VALUES, SKIP_REMOTE_LOOKUP, SKIP_SHARED_CACHE_STORE, SKIP_OWNERSHIP_CHECK, SKIP_XSITE_BACKUP);
+      if (transactionManager == null && interceptorChain.allowsDirectStateTransfer()) {
+         applyStateDirectly(segmentId, cacheEntries, flags);
+         return;
+      }
+
       for (InternalCacheEntry e : cacheEntries) {
          try {
             InvocationContext ctx;
@@ -549,6 +591,101 @@ private void doApplyState(Address sender, int segmentId, Collection<InternalCach
       log.tracef("Finished applying chunk of segment %d of cache %s", segmentId, cacheName);
    }
 
+   /**
+    * Applies the entries of a chunk without invoking the interceptor chain, which only contains interceptors that don't
+    * do anything for them (see {@link InterceptorChain#allowsDirectStateTransfer()}).
+    * <p/>
+    * Each entry is still wrapped, updated by a {@link PutKeyValueCommand}, which notifies the listeners, and committed
+    * through the {@link ClusteringDependentLogic}, so the {@link CommitManager} discards the entries updated by
+    * concurrent operations. Like the {@link org.infinispan.interceptors.locking.NonTransactionalLockingInterceptor},
+    * the lock of a key is acquired if this node is its primary owner, one key at a time. The entry of a locked key is
+    * written to the private stores before its lock is released, so a user write of the same key can't reach the stores
+    * before the received value. The other entries are written to the private stores with a single batch per chunk.
+    * <p/>
+    * The keys whose lock could not be acquired in time are applied again once the rest of the chunk is applied.
+    */
+   private void applyStateDirectly(int segmentId, Collection<InternalCacheEntry> cacheEntries, EnumSet<Flag> flags) {
+      List<MarshalledEntry> storeBatch = null;
+      if (interceptorChain.containsInterceptorType(CacheWriterInterceptor.class, true)) {
+         storeBatch = new ArrayList<MarshalledEntry>(cacheEntries.size());
+      }
+
+      List<InternalCacheEntry> lockTimeouts = null;
+      for (InternalCacheEntry e : cacheEntries) {
+         try {
+            applyEntryDirectly(e, flags, storeBatch);
+         } catch (TimeoutException te) {
+            if (lockTimeouts == null) {
+               lockTimeouts = new ArrayList<InternalCacheEntry>();
+            }
+            lockTimeouts.add(e);
+         } catch (Throwable t) {
+            log.problemApplyingStateForKey(t.getMessage(), e.getKey(), t);
+         }
+      }
+      if (lockTimeouts != null) {
+         log.tracef("Applying %d entries of segment %d again after a lock timeout", lockTimeouts.size(), segmentId);
+         for (InternalCacheEntry e : lockTimeouts) {
+            try {
+               applyEntryDirectly(e, flags, storeBatch);
+            } catch (Throwable t) {
+               log.problemApplyingStateForKey(t.getMessage(), e.getKey(), t);
+            }
+         }
+      }
+
+      if (storeBatch != null && !storeBatch.isEmpty()) {
+         try {
+            persistenceManager.writeBatchToAllStores(storeBatch, PRIVATE);
+         } catch (Exception ex) {
+            log.failedWritingStateToStores(storeBatch.size(), segmentId, ex);
+         }
+      }
+      log.tracef("Finished applying chunk of segment %d of cache %s directly", segmentId, cacheName);
+   }
+
+   /**
+    * @param storeBatch the entries to write to the private stores once the chunk is applied, or {@code null} if there
+    *                   are no stores
+    */
+   private void applyEntryDirectly(InternalCacheEntry e, EnumSet<Flag> flags, List<MarshalledEntry> storeBatch)
+         throws InterruptedException {
+      Object key = e.getKey();
+      InvocationContext ctx = icf.createSingleKeyNonTxInvocationContext();
+      boolean locked = false;
+      if (clusteringDependentLogic.localNodeIsPrimaryOwner(key)) {
+         lockManager.acquireLockNoCheck(ctx, key, configuration.locking().lockAcquisitionTimeout(), false);
+         locked = true;
+      }
+      try {
+         PutKeyValueCommand put = commandsFactory.buildPutKeyValueCommand(key, e.getValue(), e.getMetadata(), flags);
+         MVCCEntry entry = entryFactory.wrapEntryForPut(ctx, key, null, true, put, true);
+         put.perform(ctx);
+         if (!entry.isChanged())
+            return;
+
+         clusteringDependentLogic.commitEntry(entry, put.getMetadata(), put, ctx, PUT_FOR_STATE_TRANSFER, false);
+         if (storeBatch == null)
+            return;
+
+         InternalCacheEntry committed = dataContainer.peek(key);
+         // don't store the received value if it was discarded because the key was updated in the meantime
+         if (committed != null && committed.getValue() == e.getValue()) {
+            MarshalledEntry marshalledEntry = new MarshalledEntryImpl(key, committed.getValue(),
+                                                                      internalMetadata(committed), marshaller);
+            if (locked) {
+               persistenceManager.writeToAllStores(marshalledEntry, PRIVATE);
+            } else {
+               storeBatch.add(marshalledEntry);
+            }
+         }
+      } finally {
+         if (locked) {
+            lockManager.unlock(Collections.<Object>singletonList(key), Thread.currentThread());
+         }
+      }
+   }
+
    private void applyTransactions(Address sender, Collection<TransactionInfo> transactions, int topologyId) {
       log.debugf("Applying %d transactions for cache %s transferred from node %s", transactions.size(), cacheName, sender);
       if (isTransactional) {
@@ -914,18 +1051,32 @@ private void removeStaleData(final Set<Integer> removedSegments, final Set<Integ
       // Keys that we used to own, and need to be removed from the data container AND the cache stores
       final ConcurrentHashSet<Object> keysToRemove = new ConcurrentHashSet<Object>();
 
-      dataContainer.executeTask(KeyFilter.LOAD_ALL_FILTER, new ParallelIterableMap.KeyValueAction<Object, InternalCacheEntry<? super Object, ? super Object>>() {
-         @Override
-         public void apply(Object o, InternalCacheEntry<? super Object, ? super Object> ice) {
-            Object key = ice.getKey();
-            int keySegment = getSegment(key);
-            if (removedSegments.contains(keySegment)) {
-               keysToRemove.add(key);
-            } else if (staleL1Segments.contains(keySegment)) {
+      if (dataContainer instanceof SegmentedDataContainer) {
+         // only visit the entries of the affected segments
+         SegmentedDataContainer<Object, Object> segmentedDataContainer = (SegmentedDataContainer<Object, Object>) dataContainer;
+         for (Iterator<InternalCacheEntry<Object, Object>> it = segmentedDataContainer.iterator(removedSegments); it.hasNext(); ) {
+            keysToRemove.add(it.next().getKey());
+         }
+         for (Iterator<InternalCacheEntry<Object, Object>> it = segmentedDataContainer.iterator(staleL1Segments); it.hasNext(); ) {
+            Object key = it.next().getKey();
+            if (!removedSegments.contains(segmentedDataContainer.getSegment(key))) {
                keysToInvalidate.add(key);
             }
          }
-      });
+      } else {
+         dataContainer.executeTask(KeyFilter.LOAD_ALL_FILTER, new ParallelIterableMap.KeyValueAction<Object, InternalCacheEntry<? super Object, ? super Object>>() {
+            @Override
+            public void apply(Object o, InternalCacheEntry<? super Object, ? super Object> ice) {
+               Object key = ice.getKey();
+               int keySegment = getSegment(key);
+               if (removedSegments.contains(keySegment)) {
+                  keysToRemove.add(key);
+               } else if (staleL1Segments.contains(keySegment)) {
+                  keysToInvalidate.add(key);
+               }
+            }
+         });
+      }
 
       // gather all keys from cache store that belong to the segments that are being removed/moved to L1
       if (!removedSegments.isEmpty()) {
@@ -939,7 +1090,7 @@ public boolean accept(Object key) {
                   return (removedSegments.contains(keySegment));
                }
             };
-            persistenceManager.processOnAllStores(filter, new AdvancedCacheLoader.CacheLoaderTask() {
+            persistenceManager.processOnAllStores(removedSegments, filter, new AdvancedCacheLoader.CacheLoaderTask() {
                @Override
                public void processEntry(MarshalledEntry marshalledEntry, AdvancedCacheLoader.TaskContext taskContext) throws InterruptedException {
                   keysToRemove.add(marshalledEntry.getKey());
@@ -977,6 +1128,11 @@ public void processEntry(MarshalledEntry marshalledEntry, AdvancedCacheLoader.Ta
             log.failedToInvalidateKeys(e);
          }
       }
+
+      if (dataContainer instanceof SegmentedDataContainer) {
+         // release the per-segment structures of the segments we no longer own
+         ((SegmentedDataContainer) dataContainer).removeSegments(removedSegments);
+      }
    }
 
    /**
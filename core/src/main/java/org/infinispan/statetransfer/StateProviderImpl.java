@@ -55,6 +55,8 @@ public class StateProviderImpl implements StateProvider {
    private InternalEntryFactory entryFactory;
    private long timeout;
    private int chunkSize;
+   private int maxChunksInFlight;
+   private int outboundParallelism;
 
    private StateConsumer stateConsumer;
 
@@ -95,6 +97,8 @@ public void init(Cache cache,
       timeout = configuration.clustering().stateTransfer().timeout();
 
       this.chunkSize = configuration.clustering().stateTransfer().chunkSize();
+      this.maxChunksInFlight = configuration.clustering().stateTransfer().maxChunksInFlight();
+      this.outboundParallelism = configuration.clustering().stateTransfer().outboundParallelism();
    }
 
    public boolean isStateTransferInProgress() {
@@ -271,10 +275,32 @@ public void startOutboundTransfer(Address destination, int requestTopologyId, Se
       final CacheTopology cacheTopology = getCacheTopology(requestTopologyId, destination, false);
 
       // the destination node must already have an InboundTransferTask waiting for these segments
-      OutboundTransferTask outboundTransfer = new OutboundTransferTask(destination, segments, chunkSize, requestTopologyId,
-            cacheTopology.getReadConsistentHash(), this, dataContainer, persistenceManager, rpcManager, commandsFactory, entryFactory, timeout, cacheName);
-      addTransfer(outboundTransfer);
-      outboundTransfer.execute(executorService);
+      for (Set<Integer> segmentGroup : splitSegments(segments)) {
+         OutboundTransferTask outboundTransfer = new OutboundTransferTask(destination, segmentGroup, chunkSize,
+               maxChunksInFlight, requestTopologyId, cacheTopology.getReadConsistentHash(), this, dataContainer,
+               persistenceManager, rpcManager, commandsFactory, entryFactory, timeout, cacheName);
+         addTransfer(outboundTransfer);
+         outboundTransfer.execute(executorService);
+      }
+   }
+
+   /**
+    * Splits the requested segments into at most {@code outboundParallelism} groups, each transferred by its own task.
+    */
+   private Collection<Set<Integer>> splitSegments(Set<Integer> segments) {
+      int numGroups = Math.min(outboundParallelism, segments.size());
+      if (numGroups <= 1)
+         return Collections.singleton(segments);
+
+      List<Set<Integer>> segmentGroups = new ArrayList<Set<Integer>>(numGroups);
+      for (int i = 0; i < numGroups; i++) {
+         segmentGroups.add(new HashSet<Integer>());
+      }
+      int i = 0;
+      for (Integer segment : segments) {
+         segmentGroups.get(i++ % numGroups).add(segment);
+      }
+      return segmentGroups;
    }
 
    private void addTransfer(OutboundTransferTask transferTask) {
@@ -4,6 +4,7 @@
 import org.infinispan.commands.TopologyAffectedCommand;
 import org.infinispan.commands.VisitableCommand;
 import org.infinispan.commands.control.LockControlCommand;
+import org.infinispan.commands.read.GetKeyValueCommand;
 import org.infinispan.commands.tx.CommitCommand;
 import org.infinispan.commands.tx.PrepareCommand;
 import org.infinispan.commands.tx.RollbackCommand;
@@ -12,23 +13,31 @@
 import org.infinispan.commands.write.*;
 import org.infinispan.commons.CacheException;
 import org.infinispan.commons.util.InfinispanCollections;
+import org.infinispan.commons.util.concurrent.NotifyingFuture;
 import org.infinispan.container.versioning.EntryVersionsMap;
 import org.infinispan.context.Flag;
 import org.infinispan.context.InvocationContext;
 import org.infinispan.context.impl.TxInvocationContext;
+import org.infinispan.factories.annotations.ComponentName;
 import org.infinispan.factories.annotations.Inject;
+import org.infinispan.interceptors.base.AsyncInvocationCallback;
 import org.infinispan.interceptors.base.BaseStateTransferInterceptor;
+import org.infinispan.interceptors.base.InvocationCallback;
 import org.infinispan.remoting.RemoteException;
 import org.infinispan.remoting.responses.Response;
 import org.infinispan.remoting.responses.SuccessfulResponse;
 import org.infinispan.remoting.transport.Address;
 import org.infinispan.remoting.transport.jgroups.SuspectException;
 import org.infinispan.transaction.xa.CacheTransaction;
+import org.infinispan.util.concurrent.CompletableNotifyingFuture;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+import static org.infinispan.factories.KnownComponentNames.ASYNC_TRANSPORT_EXECUTOR;
 
 //todo [anistor] command forwarding breaks the rule that we have only one originator for a command. this opens now the possibility to have two threads processing incoming remote commands for the same TX
 /**
@@ -57,6 +66,7 @@ public class StateTransferInterceptor extends BaseStateTransferInterceptor {
    private static boolean trace = log.isTraceEnabled();
 
    private StateTransferManager stateTransferManager;
+   private ExecutorService asyncExecutor;
 
    private final AffectedKeysVisitor affectedKeysVisitor = new AffectedKeysVisitor();
 
@@ -66,8 +76,10 @@ protected Log getLog() {
    }
 
    @Inject
-   public void init(StateTransferManager stateTransferManager) {
+   public void init(StateTransferManager stateTransferManager,
+                    @ComponentName(ASYNC_TRANSPORT_EXECUTOR) ExecutorService asyncExecutor) {
       this.stateTransferManager = stateTransferManager;
+      this.asyncExecutor = asyncExecutor;
    }
 
    @Override
@@ -172,21 +184,10 @@ private Object handleNonTxWriteCommand(InvocationContext ctx, WriteCommand comma
          localResult = invokeNextInterceptor(ctx, command);
          return localResult;
       } catch (CacheException e) {
-         Throwable ce = e;
-         while (ce instanceof RemoteException) {
-            ce = ce.getCause();
-         }
-         if (!(ce instanceof OutdatedTopologyException) && !(ce instanceof SuspectException))
+         if (!isCausedByTopologyChange(e))
             throw e;
 
-         if (trace) log.tracef("Retrying command because of topology change: %s", command);
-         // We increment the topology id so that updateTopologyIdAndWaitForTransactionData waits for the next topology.
-         // Without this, we could retry the command too fast and we could get the OutdatedTopologyException again.
-         int newTopologyId = Math.max(currentTopologyId(), commandTopologyId + 1);
-         command.setTopologyId(newTopologyId);
-         command.setFlags(Flag.COMMAND_RETRY);
-         waitForTransactionData(newTopologyId);
-         localResult = handleNonTxWriteCommand(ctx, command);
+         localResult = retryNonTxWriteCommand(ctx, command, commandTopologyId);
       }
 
       // We retry the command every time the topology changes, either in NonTxConcurrentDistributionInterceptor or in
@@ -195,6 +196,83 @@ private Object handleNonTxWriteCommand(InvocationContext ctx, WriteCommand comma
       return localResult;
    }
 
+   /**
+    * Same as {@link #handleNonTxWriteCommand(InvocationContext, WriteCommand)}, but the command is retried once the
+    * asynchronous invocation fails. The retry waits for the new topology, so it is executed by the async executor
+    * instead of the thread that received the failed response.
+    */
+   private NotifyingFuture<Object> handleNonTxWriteCommandAsync(final InvocationContext ctx,
+                                                                final WriteCommand command) throws Throwable {
+      if (trace) log.tracef("handleNonTxWriteCommandAsync for command %s", command);
+
+      if (isLocalOnly(ctx, command)) {
+         return invokeNextInterceptorAsync(ctx, command);
+      }
+
+      updateTopologyId(command);
+
+      // Only catch OutdatedTopologyExceptions on the originator
+      if (!ctx.isOriginLocal()) {
+         return invokeNextInterceptorAsync(ctx, command);
+      }
+
+      final int commandTopologyId = command.getTopologyId();
+      return whenCompleteAsync(invokeNextInterceptorAsync(ctx, command), new AsyncInvocationCallback() {
+         @Override
+         public NotifyingFuture<Object> apply(Object returnValue, Throwable throwable) throws Throwable {
+            if (throwable == null)
+               return CompletableNotifyingFuture.completedFuture(returnValue);
+            if (!isCausedByTopologyChange(throwable))
+               throw throwable;
+
+            return executeAsync(asyncExecutor, new InvocationCallback() {
+               @Override
+               public Object apply(Object returnValue, Throwable throwable) throws Throwable {
+                  return retryNonTxWriteCommand(ctx, command, commandTopologyId);
+               }
+            }, returnValue, throwable);
+         }
+      });
+   }
+
+   private Object retryNonTxWriteCommand(InvocationContext ctx, WriteCommand command,
+                                         int commandTopologyId) throws Throwable {
+      if (trace) log.tracef("Retrying command because of topology change: %s", command);
+      // We increment the topology id so that updateTopologyIdAndWaitForTransactionData waits for the next topology.
+      // Without this, we could retry the command too fast and we could get the OutdatedTopologyException again.
+      int newTopologyId = Math.max(currentTopologyId(), commandTopologyId + 1);
+      command.setTopologyId(newTopologyId);
+      command.setFlags(Flag.COMMAND_RETRY);
+      waitForTransactionData(newTopologyId);
+      return handleNonTxWriteCommand(ctx, command);
+   }
+
+   private static boolean isCausedByTopologyChange(Throwable t) {
+      if (!(t instanceof CacheException))
+         return false;
+
+      Throwable ce = t;
+      while (ce instanceof RemoteException) {
+         ce = ce.getCause();
+      }
+      return ce instanceof OutdatedTopologyException || ce instanceof SuspectException;
+   }
+
+   @Override
+   public NotifyingFuture<Object> visitCommandAsync(InvocationContext ctx, VisitableCommand command) throws Throwable {
+      if (command instanceof PutKeyValueCommand || command instanceof RemoveCommand ||
+            command instanceof ReplaceCommand) {
+         return handleNonTxWriteCommandAsync(ctx, (WriteCommand) command);
+      } else if (command instanceof GetKeyValueCommand) {
+         // Reads are not forwarded, see handleTopologyAffectedCommand
+         if (!isLocalOnly(ctx, command)) {
+            updateTopologyId((GetKeyValueCommand) command);
+         }
+         return invokeNextInterceptorAsync(ctx, command);
+      }
+      return super.visitCommandAsync(ctx, command);
+   }
+
    @Override
    protected Object handleDefault(InvocationContext ctx, VisitableCommand command) throws Throwable {
       if (command instanceof TopologyAffectedCommand) {
@@ -35,6 +35,20 @@ public interface StateTransferManager {
    @ManagedAttribute(description = "Checks whether there is a pending inbound state transfer on this cluster member.", displayName = "Is state transfer in progress?", dataType = DataType.TRAIT)
    boolean isStateTransferInProgress();
 
+   /**
+    * Returns the number of segments that change owners in the rebalance phase in progress, or 0 if there is no
+    * rebalance in progress. A large rebalance can be split into several phases, see
+    * {@link org.infinispan.configuration.cache.StateTransferConfiguration#maxSegmentsPerRebalance()}.
+    */
+   @ManagedAttribute(description = "The number of segments that change owners in the rebalance phase in progress.", displayName = "Number of rebalancing segments", dataType = DataType.MEASUREMENT)
+   int getRebalancingSegmentsCount();
+
+   /**
+    * Returns the number of segments this node is still receiving in the rebalance phase in progress.
+    */
+   @ManagedAttribute(description = "The number of segments this node is still receiving in the rebalance phase in progress.", displayName = "Number of inbound segments", dataType = DataType.MEASUREMENT)
+   int getInboundSegmentsCount();
+
    /**
     * Checks if an inbound state transfer is in progress for a given key.
     *
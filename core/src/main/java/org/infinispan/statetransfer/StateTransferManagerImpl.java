@@ -99,6 +99,7 @@ public void start() throws Exception {
             configuration.clustering().stateTransfer().timeout(),
             configuration.transaction().transactionProtocol().isTotalOrder(),
             configuration.clustering().cacheMode().isDistributed(),
+            configuration.clustering().stateTransfer().maxSegmentsPerRebalance(),
             configuration.clustering().hash().capacityFactor());
 
       CacheTopology initialTopology = localTopologyManager.join(cacheName, joinInfo, new CacheTopologyHandler() {
@@ -246,6 +247,27 @@ public boolean isStateTransferInProgress() {
       return stateConsumer.isStateTransferInProgress();
    }
 
+   @Override
+   public int getRebalancingSegmentsCount() {
+      CacheTopology cacheTopology = stateConsumer.getCacheTopology();
+      if (cacheTopology == null || cacheTopology.getPendingCH() == null)
+         return 0;
+      ConsistentHash currentCH = cacheTopology.getCurrentCH();
+      ConsistentHash pendingCH = cacheTopology.getPendingCH();
+      int count = 0;
+      for (int i = 0; i < pendingCH.getNumSegments(); i++) {
+         if (!currentCH.locateOwnersForSegment(i).equals(pendingCH.locateOwnersForSegment(i))) {
+            count++;
+         }
+      }
+      return count;
+   }
+
+   @Override
+   public int getInboundSegmentsCount() {
+      return stateConsumer.getInboundSegmentsCount();
+   }
+
    @Override
    public boolean isStateTransferInProgressForKey(Object key) {
       return stateConsumer.isStateTransferInProgressForKey(key);
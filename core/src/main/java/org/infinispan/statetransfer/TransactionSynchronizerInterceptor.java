@@ -1,9 +1,12 @@
 package org.infinispan.statetransfer;
 
+import org.infinispan.commands.VisitableCommand;
 import org.infinispan.commands.control.LockControlCommand;
 import org.infinispan.commands.tx.CommitCommand;
 import org.infinispan.commands.tx.PrepareCommand;
 import org.infinispan.commands.tx.RollbackCommand;
+import org.infinispan.commons.util.concurrent.NotifyingFuture;
+import org.infinispan.context.InvocationContext;
 import org.infinispan.context.impl.TxInvocationContext;
 import org.infinispan.interceptors.base.CommandInterceptor;
 import org.infinispan.transaction.xa.CacheTransaction;
@@ -78,4 +81,12 @@ public Object visitLockControlCommand(TxInvocationContext ctx, LockControlComman
          return super.visitLockControlCommand(ctx, command);
       }
    }
+
+   @Override
+   public NotifyingFuture<Object> visitCommandAsync(InvocationContext ctx, VisitableCommand command) throws Throwable {
+      if (ctx.isInTxScope())
+         return super.visitCommandAsync(ctx, command);
+
+      return invokeNextInterceptorAsync(ctx, command);
+   }
 }
@@ -26,12 +26,14 @@ public class CacheJoinInfo {
    private final long timeout;
    private final boolean totalOrder;
    private final boolean distributed;
+   private final int maxSegmentsPerRebalance;
 
    // Per-node configuration
    private final float capacityFactor;
 
    public CacheJoinInfo(ConsistentHashFactory consistentHashFactory, Hash hashFunction, int numSegments,
-                        int numOwners, long timeout, boolean totalOrder, boolean distributed, float capacityFactor) {
+                        int numOwners, long timeout, boolean totalOrder, boolean distributed, int maxSegmentsPerRebalance,
+                        float capacityFactor) {
       this.consistentHashFactory = consistentHashFactory;
       this.hashFunction = hashFunction;
       this.numSegments = numSegments;
@@ -39,6 +41,7 @@ public CacheJoinInfo(ConsistentHashFactory consistentHashFactory, Hash hashFunct
       this.timeout = timeout;
       this.totalOrder = totalOrder;
       this.distributed = distributed;
+      this.maxSegmentsPerRebalance = maxSegmentsPerRebalance;
       this.capacityFactor = capacityFactor;
    }
 
@@ -70,6 +73,13 @@ public boolean isDistributed() {
       return distributed;
    }
 
+   /**
+    * @return the maximum number of segments that change owners in a rebalance phase, or 0 if there is no limit
+    */
+   public int getMaxSegmentsPerRebalance() {
+      return maxSegmentsPerRebalance;
+   }
+
    public float getCapacityFactor() {
       return capacityFactor;
    }
@@ -84,6 +94,8 @@ public String toString() {
             ", timeout=" + timeout +
             ", totalOrder=" + totalOrder +
             ", distributed=" + distributed +
+            ", maxSegmentsPerRebalance=" + maxSegmentsPerRebalance +
+            ", capacityFactor=" + capacityFactor +
             '}';
    }
 
@@ -97,6 +109,7 @@ public void writeObject(ObjectOutput output, CacheJoinInfo cacheJoinInfo) throws
          output.writeLong(cacheJoinInfo.timeout);
          output.writeBoolean(cacheJoinInfo.totalOrder);
          output.writeBoolean(cacheJoinInfo.distributed);
+         output.writeInt(cacheJoinInfo.maxSegmentsPerRebalance);
          output.writeFloat(cacheJoinInfo.capacityFactor);
       }
 
@@ -109,9 +122,10 @@ public CacheJoinInfo readObject(ObjectInput unmarshaller) throws IOException, Cl
          long timeout = unmarshaller.readLong();
          boolean totalOrder = unmarshaller.readBoolean();
          boolean distributed = unmarshaller.readBoolean();
+         int maxSegmentsPerRebalance = unmarshaller.readInt();
          float capacityFactor = unmarshaller.readFloat();
          return new CacheJoinInfo(consistentHashFactory, hashFunction, numSegments, numOwners, timeout,
-               totalOrder, distributed, capacityFactor);
+               totalOrder, distributed, maxSegmentsPerRebalance, capacityFactor);
       }
 
       @Override
@@ -49,6 +49,8 @@ public class ClusterCacheStatus {
    private volatile CacheTopology cacheTopology;
 
    private volatile RebalanceConfirmationCollector rebalanceStatus;
+   // The balanced consistent hash of a rebalance split into several phases, null if there is no such rebalance
+   private volatile ConsistentHash rebalanceTarget;
 
    private Transport transport;
 
@@ -223,6 +225,23 @@ public boolean isRebalanceInProgress() {
       return rebalanceStatus != null;
    }
 
+   public ConsistentHash getRebalanceTarget() {
+      return rebalanceTarget;
+   }
+
+   public void setRebalanceTarget(ConsistentHash rebalanceTarget) {
+      this.rebalanceTarget = rebalanceTarget;
+   }
+
+   /**
+    * @return {@code true} if the rebalance was split into several phases and the current consistent hash did not reach
+    *    the balanced consistent hash yet
+    */
+   public boolean hasRemainingRebalancePhases() {
+      ConsistentHash target = rebalanceTarget;
+      return target != null && !target.equals(cacheTopology.getCurrentCH());
+   }
+
    /**
     * @return {@code true} if a rebalance was started, {@code false} if a rebalance was already in progress
     */
@@ -379,6 +398,8 @@ private boolean updateTopologyAfterMembershipChange() {
             List<Address> newPendingMembers = pruneInvalidMembers(pendingCH.getMembers());
             newPendingCH = consistentHashFactory.updateMembers(pendingCH, newPendingMembers, getCapacityFactors());
          }
+         // The members changed, the next rebalance must compute a new target
+         rebalanceTarget = null;
          boolean missingSegments = isDataLost(currentCH, members);
          log.tracef("Is missing segments? %s", missingSegments);
          CacheTopology newTopology = new CacheTopology(topologyId + 1, newCurrentCH, newPendingCH, missingSegments);
@@ -444,6 +465,7 @@ public synchronized void reconcileCacheTopology(List<Address> clusterMembers, Li
          if (isRebalanceInProgress()) {
             endRebalance();
          }
+         rebalanceTarget = null;
          updateCacheTopology(cacheTopology);
 
          // End any rebalance that was running in the other partitions
@@ -7,6 +7,7 @@
 import org.infinispan.configuration.global.GlobalConfiguration;
 import org.infinispan.distribution.ch.ConsistentHash;
 import org.infinispan.distribution.ch.ConsistentHashFactory;
+import org.infinispan.distribution.ch.impl.DefaultConsistentHash;
 import org.infinispan.factories.GlobalComponentRegistry;
 import org.infinispan.factories.annotations.ComponentName;
 import org.infinispan.factories.annotations.Inject;
@@ -133,6 +134,12 @@ public CacheTopology handleJoin(String cacheName, Address joiner, CacheJoinInfo
       CacheTopology topologyWithoutRebalance;
       synchronized (cacheStatus) {
          isFirstMember = cacheStatus.getCacheTopology().getMembers().isEmpty();
+         if (isFirstMember && joinInfo.getCapacityFactor() == 0f) {
+            // A node that can't own any segment can't create the initial CH, the joiner will retry until
+            // a node with a non-zero capacity factor joined the cache
+            throw new CacheException(String.format("Node %s cannot be the first member of cache %s, " +
+                  "its capacity factor is 0", joiner, cacheName));
+         }
          cacheStatus.addMember(joiner, joinInfo.getCapacityFactor());
          if (isFirstMember) {
             // This node was the first to join. We need to install the initial CH
@@ -302,12 +309,20 @@ private void startRebalance(String cacheName) throws Exception {
          ConsistentHashFactory chFactory = cacheStatus.getJoinInfo().getConsistentHashFactory();
          // This update will only add the joiners to the CH, we have already checked that we don't have leavers
          ConsistentHash updatedMembersCH = chFactory.updateMembers(currentCH, newMembers, cacheStatus.getCapacityFactors());
-         ConsistentHash balancedCH = chFactory.rebalance(updatedMembersCH);
+         // Keep moving towards the same balanced CH until all the phases of a rebalance are done
+         ConsistentHash balancedCH = cacheStatus.getRebalanceTarget();
+         if (balancedCH == null || !balancedCH.getMembers().equals(updatedMembersCH.getMembers())) {
+            balancedCH = chFactory.rebalance(updatedMembersCH);
+         }
          if (balancedCH.equals(currentCH)) {
             log.tracef("The balanced CH is the same as the current CH, not rebalancing");
+            cacheStatus.setRebalanceTarget(null);
             return;
          }
-         CacheTopology newTopology = new CacheTopology(newTopologyId, currentCH, balancedCH, cacheStatus.isMissingData());
+         ConsistentHash pendingCH = nextRebalancePhase(cacheName, updatedMembersCH, balancedCH,
+               cacheStatus.getJoinInfo().getMaxSegmentsPerRebalance());
+         cacheStatus.setRebalanceTarget(pendingCH != balancedCH ? balancedCH : null);
+         CacheTopology newTopology = new CacheTopology(newTopologyId, currentCH, pendingCH, cacheStatus.isMissingData());
          log.tracef("Updating cache %s topology for rebalance: %s", cacheName, newTopology);
          newTopology.logRoutingTableInformation();
          cacheStatus.startRebalance(newTopology);
@@ -317,6 +332,54 @@ private void startRebalance(String cacheName) throws Exception {
       broadcastRebalanceStart(cacheName, cacheStatus);
    }
 
+   /**
+    * Limits the number of segments that change owners in a rebalance phase. The segments that have fewer owners than in
+    * the balanced CH move first, then the others in segment order; the rest keep their current owners until the next
+    * phase.
+    *
+    * @return the balanced CH if it can be reached in a single phase, or an intermediate CH otherwise
+    */
+   @SuppressWarnings("unchecked")
+   private ConsistentHash nextRebalancePhase(String cacheName, ConsistentHash currentCH, ConsistentHash balancedCH,
+                                             int maxSegments) {
+      if (maxSegments <= 0 || !(currentCH instanceof DefaultConsistentHash)
+            || !(balancedCH instanceof DefaultConsistentHash))
+         return balancedCH;
+
+      int numSegments = balancedCH.getNumSegments();
+      List<Integer> underOwnedSegments = new ArrayList<Integer>();
+      List<Integer> movedSegments = new ArrayList<Integer>();
+      for (int i = 0; i < numSegments; i++) {
+         List<Address> currentOwners = currentCH.locateOwnersForSegment(i);
+         List<Address> balancedOwners = balancedCH.locateOwnersForSegment(i);
+         if (currentOwners.equals(balancedOwners))
+            continue;
+         if (currentOwners.size() < balancedOwners.size()) {
+            underOwnedSegments.add(i);
+         } else {
+            movedSegments.add(i);
+         }
+      }
+      int totalSegments = underOwnedSegments.size() + movedSegments.size();
+      if (totalSegments <= maxSegments)
+         return balancedCH;
+
+      List<Address>[] segmentOwners = new List[numSegments];
+      for (int i = 0; i < numSegments; i++) {
+         segmentOwners[i] = currentCH.locateOwnersForSegment(i);
+      }
+      underOwnedSegments.addAll(movedSegments);
+      for (int i = 0; i < maxSegments; i++) {
+         int segment = underOwnedSegments.get(i);
+         segmentOwners[segment] = balancedCH.locateOwnersForSegment(segment);
+      }
+      log.debugf("Rebalancing cache %s in phases, moving %d of the %d segments that need new owners", cacheName,
+            maxSegments, totalSegments);
+      DefaultConsistentHash dch = (DefaultConsistentHash) balancedCH;
+      return new DefaultConsistentHash(dch.getHashFunction(), dch.getNumOwners(), numSegments, dch.getMembers(),
+            dch.getCapacityFactors(), segmentOwners);
+   }
+
    private void broadcastRebalanceStart(String cacheName, ClusterCacheStatus cacheStatus) throws Exception {
       CacheTopology cacheTopology = cacheStatus.getCacheTopology();
       CLUSTER.startRebalance(cacheName, cacheTopology);
@@ -1,12 +1,15 @@
 package org.infinispan.topology;
 
 import org.infinispan.distribution.ch.ConsistentHash;
+import org.infinispan.distribution.ch.impl.DefaultConsistentHash;
 import org.infinispan.factories.annotations.Inject;
 import org.infinispan.registry.impl.ClusterRegistryImpl;
+import org.infinispan.remoting.transport.Address;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
 
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import static org.infinispan.util.logging.LogFactory.CLUSTER;
@@ -43,7 +46,8 @@ public void updateCacheStatus(String cacheName, ClusterCacheStatus cacheStatus)
          return;
       }
 
-      if (!cacheStatus.hasJoiners() && isBalanced(cacheStatus.getCacheTopology().getCurrentCH())) {
+      if (!cacheStatus.hasJoiners() && !cacheStatus.hasRemainingRebalancePhases()
+            && isBalanced(cacheStatus.getCacheTopology().getCurrentCH())) {
          log.tracef("Not triggering rebalance for cache %s, no joiners and the current consistent hash is already balanced",
                cacheName);
          return;
@@ -68,7 +72,7 @@ public void updateCacheStatus(String cacheName, ClusterCacheStatus cacheStatus)
 
    public boolean isBalanced(ConsistentHash ch) {
       int numSegments = ch.getNumSegments();
-      int actualNumOwners = Math.min(ch.getMembers().size(), ch.getNumOwners());
+      int actualNumOwners = Math.min(countMembersWithCapacity(ch), ch.getNumOwners());
       for (int i = 0; i < numSegments; i++) {
          if (ch.locateOwnersForSegment(i).size() != actualNumOwners) {
             return false;
@@ -77,6 +81,25 @@ public boolean isBalanced(ConsistentHash ch) {
       return true;
    }
 
+   /**
+    * Members with a capacity factor of 0 don't own any segment, so they don't count towards the number of owners.
+    */
+   private int countMembersWithCapacity(ConsistentHash ch) {
+      Map<Address, Float> capacityFactors = ch instanceof DefaultConsistentHash ?
+            ((DefaultConsistentHash) ch).getCapacityFactors() : null;
+      if (capacityFactors == null)
+         return ch.getMembers().size();
+
+      int count = 0;
+      for (Address member : ch.getMembers()) {
+         Float capacityFactor = capacityFactors.get(member);
+         if (capacityFactor == null || capacityFactor != 0f) {
+            count++;
+         }
+      }
+      return count;
+   }
+
    @Override
    public boolean isRebalancingEnabled() {
       synchronized (lock) {
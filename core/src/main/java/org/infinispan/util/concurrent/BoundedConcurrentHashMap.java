@@ -15,6 +15,7 @@
 import org.infinispan.commons.util.concurrent.ParallelIterableMap;
 import org.infinispan.commons.util.concurrent.jdk8backported.ForkJoinPool;
 import org.infinispan.container.entries.CacheEntry;
+import org.infinispan.eviction.EntrySizeCalculator;
 import org.infinispan.executors.ExecutorAllCompletionService;
 import org.infinispan.util.logging.Log;
 import org.infinispan.util.logging.LogFactory;
@@ -142,6 +143,12 @@
     */
    static final int MAX_SEGMENTS = 1 << 16; // slightly conservative
 
+   /**
+    * The expected average weight of an entry, used to size the tables when
+    * the map is bounded by weight rather than by the number of entries.
+    */
+   static final int ESTIMATED_ENTRY_WEIGHT = 256;
+
    /**
     * Number of unsynchronized retries in size and containsValue
     * methods before resorting to locking. This is used to avoid
@@ -178,7 +185,8 @@
    private transient final Equivalence<? super K> keyEquivalence;
    private transient final Equivalence<? super V> valueEquivalence;
    private transient final EvictionListener<? super K, ? super V> evictionListener;
-   private final int evictCap;
+   private transient final EntrySizeCalculator<? super K, ? super V> sizeCalculator;
+   private final long evictCap;
    
    private final ExecutorService executor;
 
@@ -211,6 +219,14 @@ final Segment<K,V> segmentFor(int hash) {
       return segments[hash >>> segmentShift & segmentMask];
    }
 
+   /**
+    * Returns the weight of an entry: 1 if the map is bounded by the number
+    * of entries, otherwise the size computed by the size calculator.
+    */
+   final long weigh(K key, V value) {
+      return sizeCalculator == null ? 1 : sizeCalculator.calculateSize(key, value);
+   }
+
    /* ---------------- Inner Classes -------------- */
 
    /**
@@ -225,11 +241,13 @@ final Segment<K,V> segmentFor(int hash) {
     * backup in case a null (pre-initialized) value is ever seen in
     * an unsynchronized access method.
     */
-   private static class HashEntry<K, V> {
+   static class HashEntry<K, V> {
       final K key;
       final int hash;
       volatile V value;
       final HashEntry<K, V> next;
+      // only accessed while holding the segment lock
+      long weight = 1;
 
       HashEntry(K key, int hash, HashEntry<K, V> next, V value) {
          this.key = key;
@@ -272,26 +290,37 @@ private enum Recency {
    public enum Eviction {
       NONE {
          @Override
-         public <K, V> EvictionPolicy<K, V> make(Segment<K, V> s, int capacity, float lf) {
+         public <K, V> EvictionPolicy<K, V> make(Segment<K, V> s, long capacity, float lf) {
             return new NullEvictionPolicy<K, V>();
          }
       },
       LRU {
          @Override
-         public <K, V> EvictionPolicy<K, V> make(Segment<K, V> s, int capacity, float lf) {
-            return new BatchWrapper<K, V>(s, capacity * 10,
+         public <K, V> EvictionPolicy<K, V> make(Segment<K, V> s, long capacity, float lf) {
+            return new BatchWrapper<K, V>(s, batchSize(capacity),
                    new LRU<K, V>(s, capacity, lf));
          }
       },
       LIRS {
          @Override
-         public <K, V> EvictionPolicy<K, V> make(Segment<K, V> s, int capacity, float lf) {
-            return new BatchWrapper<K, V>(s, capacity * 10,
+         public <K, V> EvictionPolicy<K, V> make(Segment<K, V> s, long capacity, float lf) {
+            return new BatchWrapper<K, V>(s, batchSize(capacity),
                    new LIRS<K, V>(s, capacity));
          }
+      },
+      TINY_LFU {
+         @Override
+         public <K, V> EvictionPolicy<K, V> make(Segment<K, V> s, long capacity, float lf) {
+            return new BatchWrapper<K, V>(s, batchSize(capacity),
+                   new TinyLFU<K, V>(s, capacity));
+         }
       };
 
-      abstract <K, V> EvictionPolicy<K, V> make(Segment<K, V> s, int capacity, float lf);
+      abstract <K, V> EvictionPolicy<K, V> make(Segment<K, V> s, long capacity, float lf);
+
+      private static int batchSize(long capacity) {
+         return capacity < BatchWrapper.MAX_BATCH_SIZE ? (int) capacity * 10 : BatchWrapper.MAX_BATCH_SIZE;
+      }
    }
 
    public interface EvictionListener<K, V> {
@@ -359,6 +388,33 @@ public void onEntryRemoved(Object key) {
        */
       void onEntryRemove(HashEntry<K, V> e);
 
+      /**
+       * Invoked to notify EvictionPolicy implementation that an entry in Segment has been
+       * replaced with a copy, because an entry following it in the same bucket was removed.
+       * The copy takes the place of the original entry: this is not an access, the weight
+       * doesn't change, and no entry is evicted.
+       *
+       * @param e
+       *            replaced entry in Segment
+       * @param copy
+       *            new entry in Segment, with the same key, value and weight
+       */
+      void onEntryCopied(HashEntry<K, V> e, HashEntry<K, V> copy);
+
+      /**
+       * Invoked to notify EvictionPolicy implementation that the value of an entry in Segment
+       * has been replaced with a value of a different weight. Like a hit, an update also counts
+       * as an access to the entry.
+       *
+       * @param e
+       *            updated entry in Segment, already holding the new value and weight
+       * @param oldWeight
+       *            the weight of the entry before the update
+       *
+       * @return non null set of evicted entries, never including e.
+       */
+      Set<HashEntry<K, V>> onEntryUpdate(HashEntry<K, V> e, long oldWeight);
+
       /**
        * Invoked to notify EvictionPolicy implementation that all Segment entries have been
        * cleared.
@@ -389,6 +445,16 @@ public void onEntryRemove(HashEntry<K, V> e) {
          // Do nothing.
       }
 
+      @Override
+      public void onEntryCopied(HashEntry<K, V> e, HashEntry<K, V> copy) {
+         // Do nothing.
+      }
+
+      @Override
+      public Set<HashEntry<K, V>> onEntryUpdate(HashEntry<K, V> e, long oldWeight) {
+         return InfinispanCollections.emptySet();
+      }
+
       @Override
       public HashEntry<K, V> createNewEntry(K key, int hash, HashEntry<K, V> next, V value) {
          return new HashEntry<K, V>(key, hash, next, value);
@@ -472,6 +538,19 @@ public void onEntryRemove(HashEntry<K, V> e) {
          eviction.onEntryRemove(e);
       }
 
+      @Override
+      public void onEntryCopied(HashEntry<K, V> e, HashEntry<K, V> copy) {
+         // the postponed hits may refer to the original entry
+         processEnqueuedHits();
+         eviction.onEntryCopied(e, copy);
+      }
+
+      @Override
+      public Set<HashEntry<K, V>> onEntryUpdate(HashEntry<K, V> e, long oldWeight) {
+         processEnqueuedHits();
+         return eviction.onEntryUpdate(e, oldWeight);
+      }
+
       @Override
       public void clear() {
          eviction.clear();
@@ -486,11 +565,14 @@ public void clear() {
       private static final long serialVersionUID = -7645068174197717838L;
 
       private final Segment<K,V> segment;
-      private final int trimDownSize;
+      private final long trimDownSize;
       private final Set<HashEntry<K, V>> evicted;
+      /** The total weight of the entries in the segment */
+      private long weight;
 
-      public LRU(final Segment<K,V> s, int capacity, float lf) {
-         super(capacity, lf, IterationOrder.ACCESS_ORDER, new Equivalence<HashEntry<K, V>>() {
+      public LRU(final Segment<K,V> s, long capacity, float lf) {
+         super(s.map.sizeCalculator == null ? (int) capacity : DEFAULT_MAXIMUM_CAPACITY, lf,
+               IterationOrder.ACCESS_ORDER, new Equivalence<HashEntry<K, V>>() {
             @Override
             public int hashCode(Object obj) {
                if (obj instanceof HashEntry<?, ?>) {
@@ -533,14 +615,8 @@ public int compare(HashEntry<K, V> obj, HashEntry<K, V> otherObj) {
       @Override
       public Set<HashEntry<K, V>> onEntryMiss(HashEntry<K, V> e) {
          put(e, e.value);
-         if (!evicted.isEmpty()) {
-            Set<HashEntry<K, V>> evictedCopy = new HashSet<HashEntry<K, V>>();
-            evictedCopy.addAll(evicted);
-            evicted.clear();
-            return evictedCopy;
-         } else {
-            return InfinispanCollections.emptySet();
-         }
+         weight += e.weight;
+         return trimDown(e);
       }
 
       @Override
@@ -550,27 +626,73 @@ public void onEntryHit(HashEntry<K, V> e) {
 
       @Override
       public void onEntryRemove(HashEntry<K, V> e) {
-         remove(e);
+         if (remove(e) != null) {
+            weight -= e.weight;
+         }
+      }
+
+      /**
+       * The map can't replace a key in place, so the copy becomes the most
+       * recently used entry.
+       */
+      @Override
+      public void onEntryCopied(HashEntry<K, V> e, HashEntry<K, V> copy) {
+         if (remove(e) != null) {
+            put(copy, copy.value);
+         }
+      }
+
+      @Override
+      public Set<HashEntry<K, V>> onEntryUpdate(HashEntry<K, V> e, long oldWeight) {
+         if (get(e) != null) {
+            weight += e.weight - oldWeight;
+         }
+         return trimDown(e);
       }
 
       @Override
       public void clear() {
          super.clear();
+         weight = 0;
       }
 
       protected boolean isAboveThreshold(){
-         return size() > trimDownSize;
+         return weight > trimDownSize;
       }
 
-      @Override
-      protected boolean removeEldestEntry(Map.Entry<HashEntry<K,V>,V> eldest) {
-         boolean aboveThreshold = isAboveThreshold();
-         if(aboveThreshold){
-            HashEntry<K, V> evictedEntry = eldest.getKey();
-            segment.remove(evictedEntry.key, evictedEntry.hash, null, true);
-            evicted.add(evictedEntry);
+      /**
+       * Evicts the least recently used entries, except the one just accessed,
+       * until the segment is no longer above its capacity.
+       */
+      private Set<HashEntry<K, V>> trimDown(HashEntry<K, V> accessed) {
+         while (isAboveThreshold()) {
+            HashEntry<K, V> eldest = eldestExcept(accessed);
+            if (eldest == null) {
+               break;
+            }
+            segment.removeEvicted(eldest);
+            // the segment normally notifies the removal already
+            onEntryRemove(eldest);
+            evicted.add(eldest);
+         }
+         if (!evicted.isEmpty()) {
+            Set<HashEntry<K, V>> evictedCopy = new HashSet<HashEntry<K, V>>();
+            evictedCopy.addAll(evicted);
+            evicted.clear();
+            return evictedCopy;
+         } else {
+            return InfinispanCollections.emptySet();
+         }
+      }
+
+      private HashEntry<K, V> eldestExcept(HashEntry<K, V> accessed) {
+         for (HashEntry<K, V> e : keySet()) {
+            // compare keys, as evictions may have replaced accessed with a copy
+            if (!segment.map.keyEquivalence.equals(e.key, accessed.key)) {
+               return e;
+            }
          }
-         return aboveThreshold;
+         return null;
       }
 
       @Override
@@ -722,17 +844,21 @@ private void coldHit() {
        * non-resident entry is re-computed.
        */
       private Set<HashEntry<K, V>> miss() {
-         Set<HashEntry<K, V>> evicted = InfinispanCollections.emptySet();
-        if (owner.hotSize < owner.maximumHotSize) {
+        if (owner.hotSize + weight <= owner.maximumHotSize) {
           warmupMiss();
         } else {
-          evicted = new HashSet<HashEntry<K,V>>(); 
-          fullMiss(evicted);
+          fullMiss();
         }
 
         // now the missed item is in the cache
-        owner.size++;
-        return evicted;
+        owner.size += weight;
+
+        // This condition is unspecified in the paper, but appears to be
+        // necessary.
+        // "We remove the HIR resident block at the front of list Q (it then
+        // becomes a non-resident block), and replace it out of the cache."
+        // With weighted entries more than one block may have to be replaced.
+        return owner.chooseForEviction(this);
       }
 
       /**
@@ -749,19 +875,12 @@ private void warmupMiss() {
       /**
        * Records a miss when the hot entry set is full.
        */
-      private void fullMiss(Set<HashEntry<K, V>> evicted) {
+      private void fullMiss() {
         // See section 3.3 case 3:
         // "Upon accessing an HIR non-resident block X:
         // This is a miss."
 
-        // This condition is unspecified in the paper, but appears to be
-        // necessary.
-        if (owner.size >= owner.maximumSize) {
-          // "We remove the HIR resident block at the front of list Q (it then
-          // becomes a non-resident block), and replace it out of the cache."
-          LIRSHashEntry<K, V> evictedNode = owner.queueFront();          
-          evicted.add(evictedNode);
-        }
+        // The blocks to replace are chosen by miss() once X is loaded
 
         // "Then we load the requested block X into the freed buffer and place
         // it on the top of stack S."
@@ -788,7 +907,7 @@ private void fullMiss(Set<HashEntry<K, V>> evicted) {
        */
       private void hot() {
         if (state != Recency.LIR_RESIDENT) {
-          owner.hotSize++;
+          owner.hotSize += weight;
         }
         state = Recency.LIR_RESIDENT;
       }
@@ -798,7 +917,7 @@ private void hot() {
        */
       private void cold() {
         if (state == Recency.LIR_RESIDENT) {
-          owner.hotSize--;
+          owner.hotSize -= weight;
         }
         state = Recency.HIR_RESIDENT;
         moveToQueueEnd();
@@ -811,10 +930,10 @@ private void cold() {
       private void nonResident() {
         switch (state) {
           case LIR_RESIDENT:
-            owner.hotSize--;
+            owner.hotSize -= weight;
             // fallthrough
           case HIR_RESIDENT:
-            owner.size--;
+            owner.size -= weight;
             break;
         }
         state = Recency.HIR_NONRESIDENT;
@@ -952,6 +1071,32 @@ private void evict() {
         owner = null;
       }
 
+      /**
+       * Puts the given copy of this entry in its place in the stack and in the
+       * queue, with the same status, and removes this entry from both without
+       * changing the weight of the cache.
+       */
+      private void replaceWith(LIRSHashEntry<K, V> copy) {
+        copy.owner = owner;
+        copy.state = state;
+        if (inStack()) {
+          copy.addToStackBefore(this);
+          removeFromStack();
+        } else {
+          copy.previousInStack = null;
+          copy.nextInStack = null;
+        }
+        if (inQueue()) {
+          copy.addToQueueBefore(this);
+          removeFromQueue();
+        } else {
+          copy.previousInQueue = null;
+          copy.nextInQueue = null;
+        }
+        state = Recency.HIR_NONRESIDENT;
+        owner = null;
+      }
+
       /**
        * Removes this entry from the cache. This operation is not specified in
        * the paper, which does not account for forced eviction.
@@ -985,8 +1130,8 @@ private V remove() {
       /** The owning segment */
       private final Segment<K,V> segment;
       
-      /** The number of LIRS entries in a segment */
-      private int size;
+      /** The total weight of the LIRS entries in a segment */
+      private long size;
       
       /**
        * This header encompasses two data structures:
@@ -1008,28 +1153,65 @@ private V remove() {
        */
       private final LIRSHashEntry<K,V> header = new LIRSHashEntry<K,V>(null, null,0,null,null);
 
-      /** The maximum number of hot entries (L_lirs in the paper). */
-      private final int maximumHotSize;
+      /** The maximum weight of hot entries (L_lirs in the paper). */
+      private final long maximumHotSize;
 
-      /** The maximum number of resident entries (L in the paper). */
-      private final int maximumSize ;
+      /** The maximum weight of resident entries (L in the paper). */
+      private final long maximumSize ;
 
-      /** The actual number of hot entries. */
-      private int hotSize = 0;
+      /** The actual weight of hot entries. */
+      private long hotSize = 0;
 
             
 
-      public LIRS(Segment<K,V> s, int capacity) {
+      public LIRS(Segment<K,V> s, long capacity) {
          this.segment = s;
          this.maximumSize = capacity;
          this.maximumHotSize = calculateLIRSize(capacity);
       }
       
-      private static int calculateLIRSize(int maximumSize) {
-         int result = (int) (L_LIRS * maximumSize);
+      private static long calculateLIRSize(long maximumSize) {
+         long result = (long) (L_LIRS * maximumSize);
          return (result == maximumSize) ? maximumSize - 1 : result;
        }
 
+      /**
+       * Evicts the cold entries at the front of the queue until the segment is
+       * back within its maximum size, never evicting the given entry. Entries
+       * heavier than the ones they replace can also push the hot entries over
+       * their maximum size, or leave too few cold entries to evict, in which
+       * case the least recent hot entries are made cold first.
+       */
+      private Set<HashEntry<K, V>> chooseForEviction(LIRSHashEntry<K, V> keep) {
+         while (hotSize > maximumHotSize && stackBottom() != null) {
+            stackBottom().migrateToQueue();
+            pruneStack();
+         }
+
+         Set<HashEntry<K, V>> evicted = InfinispanCollections.emptySet();
+         while (size > maximumSize) {
+            LIRSHashEntry<K, V> e = queueFront();
+            if (e == keep) {
+               e = e.nextInQueue == header ? null : e.nextInQueue;
+            }
+            if (e == null) {
+               LIRSHashEntry<K, V> bottom = stackBottom();
+               if (bottom == null) {
+                  break;
+               }
+               bottom.migrateToQueue();
+               pruneStack();
+               continue;
+            }
+            if (evicted.isEmpty()) {
+               evicted = new HashSet<HashEntry<K, V>>();
+            }
+            e.evict();
+            evicted.add(e);
+         }
+         return evicted;
+      }
+
       /**
        * Prunes HIR blocks in the bottom of the stack until an HOT block sits in
        * the stack bottom. If pruned blocks were resident, then they
@@ -1064,9 +1246,12 @@ public Set<HashEntry<K, V>> onEntryMiss(HashEntry<K, V> en) {
       }
      
       private void removeFromSegment(Set<HashEntry<K, V>> evicted) {
+         if (evicted.isEmpty()) {
+            return;
+         }
          for (HashEntry<K, V> e : evicted) {
             ((LIRSHashEntry<K, V>)e).evict();
-            segment.remove(e.key, e.hash, null, true);
+            segment.removeEvicted(e);
          }
       }
 
@@ -1083,6 +1268,29 @@ public void onEntryRemove(HashEntry<K, V> e) {
          ((LIRSHashEntry<K,V>)e).remove();
       }
 
+      @Override
+      public void onEntryCopied(HashEntry<K, V> e, HashEntry<K, V> copy) {
+         // an entry already chosen for eviction is replaced with a non-resident copy
+         ((LIRSHashEntry<K, V>) e).replaceWith((LIRSHashEntry<K, V>) copy);
+      }
+
+      @Override
+      public Set<HashEntry<K, V>> onEntryUpdate(HashEntry<K, V> en, long oldWeight) {
+         LIRSHashEntry<K, V> e = (LIRSHashEntry<K, V>) en;
+         if (!e.isResident()) {
+            return InfinispanCollections.emptySet();
+         }
+         long delta = e.weight - oldWeight;
+         size += delta;
+         if (e.state == Recency.LIR_RESIDENT) {
+            hotSize += delta;
+         }
+         e.hit();
+         Set<HashEntry<K, V>> evicted = chooseForEviction(e);
+         removeFromSegment(evicted);
+         return evicted;
+      }
+
       @Override
       public void clear() {
       }
@@ -1118,6 +1326,399 @@ public HashEntry<K, V> createNewEntry(K key, int hash, HashEntry<K, V> next, V v
       }
    }
 
+   /**
+    * A count-min sketch estimating the popularity of the keys of a segment
+    * within a time window, used by {@link TinyLFU} to decide which entries to
+    * admit. Each key is counted in 4 of the 4-bit counters packed in each
+    * long, and all the counters are halved once enough keys have been
+    * counted, so that the sketch forgets old accesses.
+    * <p>
+    * Not thread safe, only accessed while holding the segment lock.
+    * <p>
+    * See "TinyLFU: A Highly Efficient Cache Admission Policy" by Gil Einziger,
+    * Roy Friedman and Ben Manes.
+    */
+   static final class FrequencySketch {
+
+      private static final long[] SEED = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+      private static final long RESET_MASK = 0x7777777777777777L;
+      private static final long ONE_MASK = 0x1111111111111111L;
+
+      private final long[] table;
+      private final int tableMask;
+      private final int sampleSize;
+      private int size;
+
+      FrequencySketch(long expectedEntries) {
+         int maximum = (int) Math.min(Math.max(expectedEntries, 16), MAXIMUM_CAPACITY);
+         int length = 1;
+         while (length < maximum) {
+            length <<= 1;
+         }
+         this.table = new long[length];
+         this.tableMask = length - 1;
+         this.sampleSize = (int) Math.min(10L * maximum, Integer.MAX_VALUE);
+      }
+
+      /**
+       * Returns the estimated number of accesses to the key with the given
+       * hash, up to 15.
+       */
+      int frequency(int hash) {
+         int start = (hash & 3) << 2;
+         int frequency = Integer.MAX_VALUE;
+         for (int i = 0; i < 4; i++) {
+            int count = (int) ((table[indexOf(hash, i)] >>> ((start + i) << 2)) & 0xfL);
+            frequency = Math.min(frequency, count);
+         }
+         return frequency;
+      }
+
+      /**
+       * Records an access to the key with the given hash.
+       */
+      void increment(int hash) {
+         int start = (hash & 3) << 2;
+         boolean added = false;
+         for (int i = 0; i < 4; i++) {
+            added |= incrementAt(indexOf(hash, i), start + i);
+         }
+         if (added && ++size == sampleSize) {
+            reset();
+         }
+      }
+
+      private boolean incrementAt(int i, int j) {
+         int offset = j << 2;
+         long mask = 0xfL << offset;
+         if ((table[i] & mask) != mask) {
+            table[i] += 1L << offset;
+            return true;
+         }
+         return false;
+      }
+
+      private void reset() {
+         int count = 0;
+         for (int i = 0; i < table.length; i++) {
+            count += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+         }
+         size = (size >>> 1) - (count >>> 2);
+      }
+
+      private int indexOf(int hash, int i) {
+         long h = (hash + SEED[i]) * SEED[i];
+         h += h >>> 32;
+         return (int) h & tableMask;
+      }
+   }
+
+   enum Region {
+      WINDOW, PROBATION, PROTECTED
+   }
+
+   static final class TinyLFUHashEntry<K, V> extends HashEntry<K, V> {
+
+      private TinyLFUHashEntry<K, V> previousInRegion;
+      private TinyLFUHashEntry<K, V> nextInRegion;
+
+      /** The region the entry is in, or null once removed. */
+      Region region;
+
+      TinyLFUHashEntry(K key, int hash, HashEntry<K, V> next, V value) {
+         super(key, hash, next, value);
+         // initially point everything back to self
+         this.previousInRegion = this;
+         this.nextInRegion = this;
+      }
+
+      /**
+       * Inserts this entry before the specified header, i.e. as the most
+       * recently used entry of its list.
+       */
+      private void linkBefore(TinyLFUHashEntry<K, V> header) {
+         previousInRegion = header.previousInRegion;
+         nextInRegion = header;
+         previousInRegion.nextInRegion = this;
+         nextInRegion.previousInRegion = this;
+      }
+
+      /**
+       * Takes the place of the given entry in its region, and unlinks it.
+       */
+      private void replace(TinyLFUHashEntry<K, V> e) {
+         region = e.region;
+         linkBefore(e);
+         e.unlink();
+         e.region = null;
+      }
+
+      private void unlink() {
+         previousInRegion.nextInRegion = nextInRegion;
+         nextInRegion.previousInRegion = previousInRegion;
+         previousInRegion = null;
+         nextInRegion = null;
+      }
+   }
+
+   /**
+    * Window TinyLFU eviction policy.
+    * <p>
+    * New entries enter a small LRU window. Entries leaving the window are
+    * candidates for the main space, a segmented LRU split between a probation
+    * and a protected region: a candidate is only admitted if it has been
+    * accessed more often than the entry it would replace, according to a
+    * {@link FrequencySketch}. Hits on probation entries promote them to the
+    * protected region. Since the frequency of a key survives its eviction,
+    * scans of keys that are accessed only once do not flush the entries that
+    * are accessed frequently.
+    * <p>
+    * See "TinyLFU: A Highly Efficient Cache Admission Policy" by Gil Einziger,
+    * Roy Friedman and Ben Manes.
+    */
+   static final class TinyLFU<K, V> implements EvictionPolicy<K, V> {
+
+      /** The percentage of the cache which is dedicated to the window. */
+      private static final float WINDOW_PERCENTAGE = 0.01f;
+
+      /** The percentage of the main space which is dedicated to the protected region. */
+      private static final float PROTECTED_PERCENTAGE = 0.8f;
+
+      /** The owning segment */
+      private final Segment<K, V> segment;
+
+      private final FrequencySketch sketch;
+
+      private final TinyLFUHashEntry<K, V> windowHeader = new TinyLFUHashEntry<K, V>(null, 0, null, null);
+      private final TinyLFUHashEntry<K, V> probationHeader = new TinyLFUHashEntry<K, V>(null, 0, null, null);
+      private final TinyLFUHashEntry<K, V> protectedHeader = new TinyLFUHashEntry<K, V>(null, 0, null, null);
+
+      private final long maximumSize;
+      private final long maximumWindowSize;
+      private final long maximumMainSize;
+      private final long maximumProtectedSize;
+
+      /** The actual weight of the entries in each region. */
+      private long windowSize;
+      private long probationSize;
+      private long protectedSize;
+
+      public TinyLFU(Segment<K, V> s, long capacity) {
+         this.segment = s;
+         this.maximumSize = capacity;
+         this.maximumWindowSize = Math.max(1, (long) (WINDOW_PERCENTAGE * capacity));
+         this.maximumMainSize = Math.max(0, capacity - maximumWindowSize);
+         this.maximumProtectedSize = (long) (PROTECTED_PERCENTAGE * maximumMainSize);
+         this.sketch = new FrequencySketch(s.map.sizeCalculator == null ? capacity : capacity / ESTIMATED_ENTRY_WEIGHT);
+      }
+
+      @Override
+      public HashEntry<K, V> createNewEntry(K key, int hash, HashEntry<K, V> next, V value) {
+         return new TinyLFUHashEntry<K, V>(key, hash, next, value);
+      }
+
+      @Override
+      public Set<HashEntry<K, V>> onEntryMiss(HashEntry<K, V> en) {
+         TinyLFUHashEntry<K, V> e = (TinyLFUHashEntry<K, V>) en;
+         e.region = Region.WINDOW;
+         e.linkBefore(windowHeader);
+         windowSize += e.weight;
+         sketch.increment(e.hash);
+         return evict(e);
+      }
+
+      @Override
+      public void onEntryHit(HashEntry<K, V> en) {
+         TinyLFUHashEntry<K, V> e = (TinyLFUHashEntry<K, V>) en;
+         if (e.region == null) {
+            return;
+         }
+         sketch.increment(e.hash);
+         switch (e.region) {
+            case WINDOW:
+               e.unlink();
+               e.linkBefore(windowHeader);
+               break;
+            case PROBATION:
+               e.unlink();
+               probationSize -= e.weight;
+               e.region = Region.PROTECTED;
+               e.linkBefore(protectedHeader);
+               protectedSize += e.weight;
+               demoteProtectedEntries();
+               break;
+            case PROTECTED:
+               e.unlink();
+               e.linkBefore(protectedHeader);
+               break;
+         }
+      }
+
+      @Override
+      public void onEntryRemove(HashEntry<K, V> en) {
+         TinyLFUHashEntry<K, V> e = (TinyLFUHashEntry<K, V>) en;
+         if (e.region != null) {
+            unlink(e);
+         }
+      }
+
+      @Override
+      public void onEntryCopied(HashEntry<K, V> en, HashEntry<K, V> copy) {
+         TinyLFUHashEntry<K, V> e = (TinyLFUHashEntry<K, V>) en;
+         if (e.region != null) {
+            // the frequency is kept by the sketch, by hash
+            ((TinyLFUHashEntry<K, V>) copy).replace(e);
+         }
+      }
+
+      @Override
+      public Set<HashEntry<K, V>> onEntryUpdate(HashEntry<K, V> en, long oldWeight) {
+         TinyLFUHashEntry<K, V> e = (TinyLFUHashEntry<K, V>) en;
+         if (e.region == null) {
+            return InfinispanCollections.emptySet();
+         }
+         addToRegionSize(e.region, e.weight - oldWeight);
+         onEntryHit(e);
+         return evict(e);
+      }
+
+      @Override
+      public void clear() {
+         for (TinyLFUHashEntry<K, V> header : Arrays.asList(windowHeader, probationHeader, protectedHeader)) {
+            header.previousInRegion = header;
+            header.nextInRegion = header;
+         }
+         windowSize = 0;
+         probationSize = 0;
+         protectedSize = 0;
+      }
+
+      /**
+       * Moves the entries that overflow the window to the main space if they
+       * are more popular than the entries they would replace, and evicts the
+       * least recently used entries if entries grew beyond the capacity. The
+       * given entry, which has just been accessed, is always admitted and is
+       * never evicted.
+       */
+      private Set<HashEntry<K, V>> evict(TinyLFUHashEntry<K, V> keep) {
+         Set<HashEntry<K, V>> evicted = InfinispanCollections.emptySet();
+         while (windowSize > maximumWindowSize) {
+            TinyLFUHashEntry<K, V> candidate = first(windowHeader, null);
+            if (candidate == null) {
+               break;
+            }
+            unlink(candidate);
+            boolean admit = true;
+            while (probationSize + protectedSize + candidate.weight > maximumMainSize) {
+               TinyLFUHashEntry<K, V> victim = first(probationHeader, keep);
+               if (victim == null) {
+                  victim = first(protectedHeader, keep);
+               }
+               if (victim == null) {
+                  break;
+               }
+               if (candidate != keep && sketch.frequency(candidate.hash) <= sketch.frequency(victim.hash)) {
+                  admit = false;
+                  break;
+               }
+               unlink(victim);
+               evicted = addEvicted(evicted, victim);
+            }
+            if (admit) {
+               candidate.region = Region.PROBATION;
+               candidate.linkBefore(probationHeader);
+               probationSize += candidate.weight;
+            } else {
+               evicted = addEvicted(evicted, candidate);
+            }
+         }
+
+         // entries that grew after being admitted may still exceed the capacity
+         while (windowSize + probationSize + protectedSize > maximumSize) {
+            TinyLFUHashEntry<K, V> victim = first(probationHeader, keep);
+            if (victim == null) {
+               victim = first(protectedHeader, keep);
+            }
+            if (victim == null) {
+               victim = first(windowHeader, keep);
+            }
+            if (victim == null) {
+               break;
+            }
+            unlink(victim);
+            evicted = addEvicted(evicted, victim);
+         }
+
+         removeFromSegment(evicted);
+         return evicted;
+      }
+
+      private void demoteProtectedEntries() {
+         while (protectedSize > maximumProtectedSize) {
+            TinyLFUHashEntry<K, V> demoted = first(protectedHeader, null);
+            if (demoted == null) {
+               break;
+            }
+            demoted.unlink();
+            protectedSize -= demoted.weight;
+            demoted.region = Region.PROBATION;
+            demoted.linkBefore(probationHeader);
+            probationSize += demoted.weight;
+         }
+      }
+
+      private void removeFromSegment(Set<HashEntry<K, V>> evicted) {
+         if (evicted.isEmpty()) {
+            return;
+         }
+         for (HashEntry<K, V> e : evicted) {
+            segment.removeEvicted(e);
+         }
+      }
+
+      /**
+       * Returns the least recently used entry of a region other than the
+       * given one, or null if there is none.
+       */
+      private TinyLFUHashEntry<K, V> first(TinyLFUHashEntry<K, V> header, TinyLFUHashEntry<K, V> except) {
+         TinyLFUHashEntry<K, V> e = header.nextInRegion;
+         if (e == except) {
+            e = e.nextInRegion;
+         }
+         return e == header ? null : e;
+      }
+
+      private void unlink(TinyLFUHashEntry<K, V> e) {
+         e.unlink();
+         addToRegionSize(e.region, -e.weight);
+         e.region = null;
+      }
+
+      private void addToRegionSize(Region region, long delta) {
+         switch (region) {
+            case WINDOW:
+               windowSize += delta;
+               break;
+            case PROBATION:
+               probationSize += delta;
+               break;
+            case PROTECTED:
+               protectedSize += delta;
+               break;
+         }
+      }
+
+      private static <K, V> Set<HashEntry<K, V>> addEvicted(Set<HashEntry<K, V>> evicted, HashEntry<K, V> e) {
+         if (evicted.isEmpty()) {
+            evicted = new HashSet<HashEntry<K, V>>();
+         }
+         evicted.add(e);
+         return evicted;
+      }
+   }
+
    /**
     * Segments are specialized versions of hash tables.  This
     * subclasses from ReentrantLock opportunistically, just to
@@ -1320,6 +1921,7 @@ boolean containsValue(Object value) {
 
       boolean replace(K key, int hash, V oldValue, V newValue) {
          lock();
+         Set<HashEntry<K, V>> evicted = null;
          try {
             HashEntry<K, V> e = getFirst(hash);
             while (e != null && (e.hash != hash || !map.keyEquivalence.equals(key, e.key))) {
@@ -1329,17 +1931,18 @@ boolean replace(K key, int hash, V oldValue, V newValue) {
             boolean replaced = false;
             if (e != null && map.valueEquivalence.equals(oldValue, e.value)) {
                replaced = true;
-               e.value = newValue;
-               eviction.onEntryHit(e);
+               evicted = update(e, newValue);
             }
             return replaced;
          } finally {
             unlock();
+            notifyEvictionListener(evicted);
          }
       }
 
       V replace(K key, int hash, V newValue) {
          lock();
+         Set<HashEntry<K, V>> evicted = null;
          try {
             HashEntry<K, V> e = getFirst(hash);
             while (e != null && (e.hash != hash || !key.equals(e.key))) {
@@ -1349,12 +1952,12 @@ V replace(K key, int hash, V newValue) {
             V oldValue = null;
             if (e != null) {
                oldValue = e.value;
-               e.value = newValue;
-               eviction.onEntryHit(e);
+               evicted = update(e, newValue);
             }
             return oldValue;
          } finally {
             unlock();
+            notifyEvictionListener(evicted);
          }
       }
 
@@ -1378,15 +1981,16 @@ V put(K key, int hash, V value, boolean onlyIfAbsent) {
             if (e != null) {
                oldValue = e.value;
                if (!onlyIfAbsent) {
-                  e.value = value;
-                  eviction.onEntryHit(e);
+                  evicted = update(e, value);
                }
             } else {
                oldValue = null;
                ++modCount;
                count = c; // write-volatile
                // add a new entry
-               tab[index] = eviction.createNewEntry(key, hash, first, value);
+               HashEntry<K, V> newEntry = eviction.createNewEntry(key, hash, first, value);
+               newEntry.weight = map.weigh(key, value);
+               tab[index] = newEntry;
                // notify a miss
                evicted = eviction.onEntryMiss(tab[index]);
                // When entry not present, attempt to activate if necessary
@@ -1399,6 +2003,20 @@ V put(K key, int hash, V value, boolean onlyIfAbsent) {
          }
       }
 
+      /**
+       * Replaces the value of an existing entry. Call only while holding lock.
+       */
+      private Set<HashEntry<K, V>> update(HashEntry<K, V> e, V value) {
+         long oldWeight = e.weight;
+         e.value = value;
+         e.weight = map.weigh(e.key, value);
+         if (e.weight == oldWeight) {
+            eviction.onEntryHit(e);
+            return null;
+         }
+         return eviction.onEntryUpdate(e, oldWeight);
+      }
+
       void rehash() {
          HashEntry<K,V>[] oldTable = table;
          int oldCapacity = oldTable.length;
@@ -1455,6 +2073,7 @@ void rehash() {
                      int k = p.hash & sizeMask;
                      HashEntry<K,V> n = newTable[k];
                      newTable[k] = eviction.createNewEntry(p.key, p.hash, n, p.value);
+                     newTable[k].weight = p.weight;
                   }
                }
             }
@@ -1498,12 +2117,10 @@ V remove(Object key, int hash, Object value, boolean isEvict) {
 
                   HashEntry<K, V> newFirst = e.next;
                   for (HashEntry<K, V> p = first; p != e; p = p.next) {
-                     // TODO A remove operation makes the map behave like all the other keys in the bucket were just added???
-                     // allow p to be GC-ed
-                     eviction.onEntryRemove(p);
                      newFirst = eviction.createNewEntry(p.key, p.hash, newFirst, p.value);
-                     // and notify eviction algorithm about new hash entries
-                     eviction.onEntryMiss(newFirst);
+                     newFirst.weight = p.weight;
+                     // the copy keeps the position of p in the eviction order, and allows p to be GC-ed
+                     eviction.onEntryCopied(p, newFirst);
                   }
 
                   tab[index] = newFirst;
@@ -1525,6 +2142,13 @@ V remove(Object key, int hash, Object value, boolean isEvict) {
          }
       }
 
+      /**
+       * Removes an entry chosen for eviction by the eviction policy.
+       */
+      void removeEvicted(HashEntry<K, V> e) {
+         remove(e.key, e.hash, null, true);
+      }
+
       private boolean isEvictionRemoval(boolean isEvict, V oldValue) {
          return isEvict ||
                ((oldValue instanceof CacheEntry) && ((CacheEntry) oldValue).isEvicted());
@@ -1594,18 +2218,48 @@ private void notifyEvictionListener(Set<HashEntry<K, V>> evicted) {
    public BoundedConcurrentHashMap(int capacity, int concurrencyLevel,
          Eviction evictionStrategy, EvictionListener<? super K, ? super V> evictionListener,
          Equivalence<? super K> keyEquivalence, Equivalence<? super V> valueEquivalence) {
+      this(capacity, concurrencyLevel, evictionStrategy, evictionListener, null, keyEquivalence, valueEquivalence);
+   }
+
+   /**
+    * Creates a new, empty map bounded by the total weight of its entries rather than by their number.
+    *
+    * @param maxWeight
+    *            is the upper bound for the sum of the weights of the elements in this map
+    *
+    * @param concurrencyLevel
+    *            the estimated number of concurrently updating threads. The implementation performs
+    *            internal sizing to try to accommodate this many threads.
+    *
+    * @param evictionStrategy
+    *            the algorithm used to evict elements from this map
+    *
+    * @param evictionListener
+    *            the evicton listener callback to be notified about evicted elements
+    *
+    * @param sizeCalculator
+    *            calculates the weight of each element
+    *
+    * @throws IllegalArgumentException
+    *             if the maximum weight is negative or the concurrencyLevel is nonpositive.
+    */
+   public BoundedConcurrentHashMap(long maxWeight, int concurrencyLevel,
+         Eviction evictionStrategy, EvictionListener<? super K, ? super V> evictionListener,
+         EntrySizeCalculator<? super K, ? super V> sizeCalculator,
+         Equivalence<? super K> keyEquivalence, Equivalence<? super V> valueEquivalence) {
       this.keyEquivalence = keyEquivalence;
       this.valueEquivalence = valueEquivalence;
+      this.sizeCalculator = sizeCalculator;
 
-      if (capacity < 0 || concurrencyLevel <= 0) {
+      if (maxWeight < 0 || concurrencyLevel <= 0) {
          throw new IllegalArgumentException();
       }
 
-      concurrencyLevel = Math.min(capacity / 2, concurrencyLevel); // concurrencyLevel cannot be > capacity/2
+      concurrencyLevel = (int) Math.min(maxWeight / 2, concurrencyLevel); // concurrencyLevel cannot be > capacity/2
       concurrencyLevel = Math.max(concurrencyLevel, 1); // concurrencyLevel cannot be less than 1
 
       // minimum two elements per segment
-      if (capacity < concurrencyLevel * 2 && capacity != 1) {
+      if (maxWeight < concurrencyLevel * 2 && maxWeight != 1) {
          throw new IllegalArgumentException("Maximum capacity has to be at least twice the concurrencyLevel");
       }
 
@@ -1632,16 +2286,19 @@ public BoundedConcurrentHashMap(int capacity, int concurrencyLevel,
       segmentMask = ssize - 1;
       this.segments = Segment.newArray(ssize);
 
+      // the number of entries is only known when bounded by count, otherwise
+      // estimate it, as the tables are not rehashed when eviction is enabled
+      long capacity = sizeCalculator == null ? maxWeight : maxWeight / ESTIMATED_ENTRY_WEIGHT;
       if (capacity > MAXIMUM_CAPACITY) {
          capacity = MAXIMUM_CAPACITY;
       }
-      int c = capacity / ssize;
+      int c = (int) (capacity / ssize);
       int cap = 1;
       while (cap < c) {
          cap <<= 1;
       }
 
-      this.evictCap = c;
+      this.evictCap = sizeCalculator == null ? c : maxWeight / ssize;
 
       for (int i = 0; i < this.segments.length; ++i) {
          this.segments[i] = new Segment<K, V>(cap, DEFAULT_LOAD_FACTOR, evictionStrategy, this);
@@ -0,0 +1,145 @@
+package org.infinispan.util.concurrent;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.infinispan.commons.util.concurrent.BaseNotifyingFuture;
+import org.infinispan.commons.util.concurrent.FutureListener;
+import org.infinispan.commons.util.concurrent.NotifyingFuture;
+
+/**
+ * A {@link org.infinispan.commons.util.concurrent.NotifyingFuture} which is completed explicitly, by calling {@link
+ * #complete(Object)} or {@link #completeExceptionally(Throwable)}, instead of wrapping the future of a task.
+ * <p/>
+ * Only the first completion is taken into account. The listeners are notified by the thread completing the future,
+ * so they should not block.
+ *
+ * @since 7.0
+ */
+public class CompletableNotifyingFuture<T> extends BaseNotifyingFuture<T> {
+
+   private final AtomicBoolean completed = new AtomicBoolean();
+   private final CountDownLatch latch = new CountDownLatch(1);
+   private volatile T value;
+   private volatile Throwable exception;
+   private volatile boolean cancelled;
+
+   /**
+    * @return a future which is already completed with the given value
+    */
+   public static <T> CompletableNotifyingFuture<T> completedFuture(T value) {
+      CompletableNotifyingFuture<T> future = new CompletableNotifyingFuture<T>();
+      future.complete(value);
+      return future;
+   }
+
+   /**
+    * @return a future which is already completed with the given exception
+    */
+   public static <T> CompletableNotifyingFuture<T> failedFuture(Throwable exception) {
+      CompletableNotifyingFuture<T> future = new CompletableNotifyingFuture<T>();
+      future.completeExceptionally(exception);
+      return future;
+   }
+
+   /**
+    * Completes the future with the given value, unless it is already completed.
+    *
+    * @return {@code true} if this call completed the future
+    */
+   public boolean complete(T value) {
+      if (!completed.compareAndSet(false, true))
+         return false;
+
+      this.value = value;
+      done();
+      return true;
+   }
+
+   /**
+    * Completes the future with the given exception, unless it is already completed.
+    *
+    * @return {@code true} if this call completed the future
+    */
+   public boolean completeExceptionally(Throwable exception) {
+      if (!completed.compareAndSet(false, true))
+         return false;
+
+      this.exception = exception;
+      done();
+      return true;
+   }
+
+   /**
+    * Completes the future with the value or the exception of the given future, once it is done, unless this future is
+    * already completed.
+    */
+   public void completeWith(NotifyingFuture<T> future) {
+      future.attachListener(new FutureListener<T>() {
+         @Override
+         public void futureDone(Future<T> other) {
+            try {
+               complete(other.get());
+            } catch (ExecutionException e) {
+               completeExceptionally(e.getCause());
+            } catch (CancellationException e) {
+               cancel(false);
+            } catch (InterruptedException e) {
+               // The other future is done, get() doesn't wait
+               completeExceptionally(e);
+            }
+         }
+      });
+   }
+
+   @Override
+   public boolean cancel(boolean mayInterruptIfRunning) {
+      if (!completed.compareAndSet(false, true))
+         return false;
+
+      cancelled = true;
+      done();
+      return true;
+   }
+
+   @Override
+   public boolean isCancelled() {
+      return cancelled;
+   }
+
+   @Override
+   public boolean isDone() {
+      return latch.getCount() == 0;
+   }
+
+   @Override
+   public T get() throws InterruptedException, ExecutionException {
+      latch.await();
+      return getResult();
+   }
+
+   @Override
+   public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException,
+                                                   java.util.concurrent.TimeoutException {
+      if (!latch.await(timeout, unit))
+         throw new java.util.concurrent.TimeoutException();
+      return getResult();
+   }
+
+   private void done() {
+      latch.countDown();
+      fireListeners();
+   }
+
+   private T getResult() throws ExecutionException {
+      if (cancelled)
+         throw new CancellationException();
+      if (exception != null)
+         throw new ExecutionException(exception);
+      return value;
+   }
+}
@@ -104,6 +104,14 @@ public boolean isLocked(Object key) {
 
    @Override
    public Object getOwner(Object key) {
+      if (lockContainer instanceof PooledPerEntryLockContainer) {
+         // The pooled locks are recycled, so the owner must be read while the container still maps the lock to the key
+         Object owner = ((PooledPerEntryLockContainer) lockContainer).getOwner(key);
+         if (owner != null)
+            return owner;
+         // The owner is only set after the lock is acquired
+         return lockContainer.isLocked(key) ? ANOTHER_THREAD : null;
+      }
       if (lockContainer.isLocked(key)) {
          Lock l = lockContainer.getLock(key);
 
@@ -0,0 +1,420 @@
+package org.infinispan.util.concurrent.locks.containers;
+
+import net.jcip.annotations.ThreadSafe;
+import org.infinispan.commons.equivalence.Equivalence;
+import org.infinispan.commons.util.Util;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.AbstractQueuedSynchronizer;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+
+import static org.infinispan.commons.util.Util.toStr;
+
+/**
+ * A per-entry lock container that recycles its locks instead of creating a new lock for every key it locks.
+ * <p/>
+ * Keys are hashed into a fixed table of buckets. Each bucket keeps the locks of its locked keys in a short chain, and
+ * a small pool of released locks that are reused for the next keys hashing to the same bucket. The bucket's monitor is
+ * only held while the lock of a key is looked up and its reference counter is updated, never while waiting for the
+ * lock, so unlike lock striping, keys sharing a bucket never wait for each other.
+ * <p/>
+ * The locks are reentrant per owner, like {@link org.infinispan.util.concurrent.locks.OwnableReentrantLock}, and fair:
+ * owners waiting for a key acquire its lock in the order they requested it. Once the pool is warm, acquiring and
+ * releasing an uncontended lock doesn't allocate anything.
+ *
+ * @since 7.0
+ */
+@ThreadSafe
+public class PooledPerEntryLockContainer extends AbstractLockContainer<PooledPerEntryLockContainer.EntryLock> {
+
+   private static final Log log = LogFactory.getLog(PooledPerEntryLockContainer.class);
+
+   private static final int MAX_BUCKETS = 1 << 16;
+   private static final int MAX_POOLED_LOCKS_PER_BUCKET = 4;
+
+   private final Bucket[] buckets;
+   private final int bucketMask;
+   private final Equivalence<Object> keyEquivalence;
+
+   public PooledPerEntryLockContainer(int concurrencyLevel, Equivalence<Object> keyEquivalence) {
+      this.keyEquivalence = keyEquivalence;
+      // A few buckets per concurrent thread keep the chains short
+      int numBuckets = 1;
+      while (numBuckets < MAX_BUCKETS && numBuckets < 4L * concurrencyLevel) {
+         numBuckets <<= 1;
+      }
+      buckets = new Bucket[numBuckets];
+      for (int i = 0; i < numBuckets; i++) buckets[i] = new Bucket();
+      bucketMask = numBuckets - 1;
+   }
+
+   @Override
+   protected Log getLog() {
+      return log;
+   }
+
+   @Override
+   public EntryLock getLock(Object key) {
+      int hash = hash(key);
+      Bucket bucket = bucketFor(hash);
+      synchronized (bucket) {
+         return find(bucket, key, hash);
+      }
+   }
+
+   @Override
+   public boolean ownsLock(Object key, Object owner) {
+      int hash = hash(key);
+      Bucket bucket = bucketFor(hash);
+      // The lock is checked under the bucket's monitor, otherwise it could be recycled for another key in the meantime
+      synchronized (bucket) {
+         EntryLock lock = find(bucket, key, hash);
+         return lock != null && owner.equals(lock.getOwner());
+      }
+   }
+
+   @Override
+   public boolean isLocked(Object key) {
+      int hash = hash(key);
+      Bucket bucket = bucketFor(hash);
+      synchronized (bucket) {
+         EntryLock lock = find(bucket, key, hash);
+         return lock != null && lock.isLocked();
+      }
+   }
+
+   /**
+    * @return the owner of the key's lock, or null if the key is not locked. Unlike {@link #getLock(Object)} followed by
+    *         {@link EntryLock#getOwner()}, the owner can't belong to another key the lock was recycled for.
+    */
+   public Object getOwner(Object key) {
+      int hash = hash(key);
+      Bucket bucket = bucketFor(hash);
+      synchronized (bucket) {
+         EntryLock lock = find(bucket, key, hash);
+         return lock != null ? lock.getOwner() : null;
+      }
+   }
+
+   @Override
+   public int getNumLocksHeld() {
+      int locksHeld = 0;
+      for (Bucket bucket : buckets) {
+         synchronized (bucket) {
+            locksHeld += bucket.activeCount;
+         }
+      }
+      return locksHeld;
+   }
+
+   @Override
+   public int size() {
+      return getNumLocksHeld();
+   }
+
+   @Override
+   public EntryLock acquireLock(Object lockOwner, Object key, long timeout, TimeUnit unit) throws InterruptedException {
+      int hash = hash(key);
+      Bucket bucket = bucketFor(hash);
+      EntryLock lock;
+      synchronized (bucket) {
+         lock = find(bucket, key, hash);
+         if (lock == null) {
+            if (log.isTraceEnabled())
+               log.tracef("Assigning a lock instance to key %s", toStr(key));
+            lock = activate(bucket, key, hash);
+         }
+         lock.references++;
+      }
+
+      boolean acquired = false;
+      try {
+         acquired = tryLock(lock, timeout, unit, lockOwner);
+      } finally {
+         if (!acquired) {
+            // We still hold a reference, so the lock can't have been recycled in the meantime
+            synchronized (bucket) {
+               dereference(bucket, lock);
+            }
+         }
+      }
+
+      if (acquired)
+         return lock;
+
+      log.tracef("Timed out attempting to acquire lock for key %s after %s", key, Util.prettyPrintTime(timeout, unit));
+      return null;
+   }
+
+   @Override
+   public void releaseLock(Object lockOwner, Object key) {
+      int hash = hash(key);
+      Bucket bucket = bucketFor(hash);
+      synchronized (bucket) {
+         EntryLock lock = find(bucket, key, hash);
+         if (lock == null)
+            return;
+
+         if (log.isTraceEnabled())
+            log.tracef("Unlocking lock instance for key %s", toStr(key));
+
+         // If the owner doesn't hold the lock, the exception propagates and the reference count is not changed
+         unlock(lock, lockOwner);
+         dereference(bucket, lock);
+      }
+   }
+
+   @Override
+   public int getLockId(Object key) {
+      EntryLock lock = getLock(key);
+      return lock == null ? -1 : System.identityHashCode(lock);
+   }
+
+   @Override
+   protected boolean tryLock(EntryLock lock, long timeout, TimeUnit unit, Object lockOwner) throws InterruptedException {
+      return lock.tryLock(lockOwner, timeout, unit);
+   }
+
+   @Override
+   protected void lock(EntryLock lock, Object lockOwner) {
+      lock.lock(lockOwner);
+   }
+
+   @Override
+   protected void unlock(EntryLock lock, Object lockOwner) {
+      lock.unlock(lockOwner);
+   }
+
+   @Override
+   public String toString() {
+      return "PooledPerEntryLockContainer{" +
+            "buckets=" + buckets.length +
+            ", locksHeld=" + getNumLocksHeld() +
+            '}';
+   }
+
+   private int hash(Object key) {
+      return AbstractStripedLockContainer.hash(keyEquivalence.hashCode(key));
+   }
+
+   private Bucket bucketFor(int hash) {
+      return buckets[hash & bucketMask];
+   }
+
+   // Must be called while holding the bucket's monitor
+   private EntryLock find(Bucket bucket, Object key, int hash) {
+      for (EntryLock lock = bucket.active; lock != null; lock = lock.next) {
+         if (lock.hash == hash && keyEquivalence.equals(lock.key, key))
+            return lock;
+      }
+      return null;
+   }
+
+   // Must be called while holding the bucket's monitor
+   private EntryLock activate(Bucket bucket, Object key, int hash) {
+      EntryLock lock = bucket.pooled;
+      if (lock != null) {
+         bucket.pooled = lock.next;
+         bucket.pooledCount--;
+      } else {
+         lock = new EntryLock();
+      }
+      lock.key = key;
+      lock.hash = hash;
+      lock.next = bucket.active;
+      bucket.active = lock;
+      bucket.activeCount++;
+      return lock;
+   }
+
+   // Must be called while holding the bucket's monitor
+   private void dereference(Bucket bucket, EntryLock lock) {
+      int references = --lock.references;
+      if (references > 0)
+         return;
+      if (references < 0)
+         throw new IllegalStateException("Negative reference count for lock " + toStr(lock.key) + ": " + lock);
+
+      // Nobody owns or waits for the lock any more, unlink it and return it to the pool
+      if (bucket.active == lock) {
+         bucket.active = lock.next;
+      } else {
+         EntryLock previous = bucket.active;
+         while (previous.next != lock) previous = previous.next;
+         previous.next = lock.next;
+      }
+      bucket.activeCount--;
+      lock.key = null;
+      if (bucket.pooledCount < MAX_POOLED_LOCKS_PER_BUCKET) {
+         lock.next = bucket.pooled;
+         bucket.pooled = lock;
+         bucket.pooledCount++;
+      } else {
+         lock.next = null;
+      }
+   }
+
+   /**
+    * A bucket of the lock table. All the fields are guarded by the bucket's monitor.
+    */
+   private static final class Bucket {
+      EntryLock active;
+      EntryLock pooled;
+      int activeCount;
+      int pooledCount;
+   }
+
+   /**
+    * A fair lock, reentrant per owner. The owner is either a {@link org.infinispan.transaction.xa.GlobalTransaction}
+    * or the current thread, see {@link org.infinispan.context.InvocationContext#getLockOwner()}.
+    * <p/>
+    * The key, hash, chain link and reference counter are managed by the container, while holding the monitor of the
+    * lock's bucket.
+    */
+   public static final class EntryLock extends AbstractQueuedSynchronizer implements Lock {
+
+      private static final long serialVersionUID = -2843637372393745574L;
+
+      // Shared by all the locks, so that passing the requestor to the synchronizer doesn't allocate
+      private static final ThreadLocal<Object> requestorOnStack = new ThreadLocal<Object>();
+
+      private transient Object owner;
+      private transient Object key;
+      private transient int hash;
+      private transient EntryLock next;
+      private transient int references;
+
+      void lock(Object requestor) {
+         if (!fastAcquire(requestor)) {
+            requestorOnStack.set(requestor);
+            try {
+               acquire(1);
+            } finally {
+               requestorOnStack.set(null);
+            }
+         }
+      }
+
+      boolean tryLock(Object requestor, long time, TimeUnit unit) throws InterruptedException {
+         if (fastAcquire(requestor))
+            return true;
+
+         requestorOnStack.set(requestor);
+         try {
+            return tryAcquireNanos(1, unit.toNanos(time));
+         } finally {
+            requestorOnStack.set(null);
+         }
+      }
+
+      void unlock(Object requestor) {
+         requestorOnStack.set(requestor);
+         try {
+            release(1);
+         } finally {
+            requestorOnStack.set(null);
+         }
+      }
+
+      private boolean fastAcquire(Object requestor) {
+         if (getState() == 0 && !hasQueuedPredecessors() && compareAndSetState(0, 1)) {
+            owner = requestor;
+            return true;
+         }
+         return false;
+      }
+
+      @Override
+      protected boolean tryAcquire(int acquires) {
+         Object requestor = requestorOnStack.get();
+         int c = getState();
+         if (c == 0) {
+            if (!hasQueuedPredecessors() && compareAndSetState(0, acquires)) {
+               owner = requestor;
+               return true;
+            }
+         } else if (requestor.equals(owner)) {
+            setState(c + acquires);
+            return true;
+         }
+         return false;
+      }
+
+      @Override
+      protected boolean tryRelease(int releases) {
+         Object requestor = requestorOnStack.get();
+         if (getState() == 0 || !requestor.equals(owner)) {
+            throw new IllegalMonitorStateException(this.toString() + "[Requestor is " + requestor + "]");
+         }
+         int c = getState() - releases;
+         boolean free = false;
+         if (c == 0) {
+            free = true;
+            owner = null;
+         }
+         setState(c);
+         return free;
+      }
+
+      @Override
+      protected boolean isHeldExclusively() {
+         Object requestor = requestorOnStack.get();
+         return getState() != 0 && requestor != null && requestor.equals(owner);
+      }
+
+      /**
+       * @return the owner of the lock, or null if it is currently unlocked.
+       */
+      public Object getOwner() {
+         int c = getState();
+         Object o = owner;
+         return (c == 0) ? null : o;
+      }
+
+      /**
+       * @return true if the lock is locked, false otherwise
+       */
+      public boolean isLocked() {
+         return getState() != 0;
+      }
+
+      @Override
+      public void lock() {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public void lockInterruptibly() {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public boolean tryLock() {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public boolean tryLock(long time, TimeUnit unit) {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public void unlock() {
+         throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public Condition newCondition() {
+         throw new UnsupportedOperationException("Not supported in this implementation!");
+      }
+
+      @Override
+      public String toString() {
+         Object owner = getOwner();
+         return super.toString() + ((owner == null) ? "[Unlocked]" : "[Locked by " + owner + "]");
+      }
+   }
+}
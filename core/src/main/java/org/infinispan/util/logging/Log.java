@@ -1145,4 +1145,16 @@ void asyncStoreShutdownTimeoutTooHigh(long configuredAsyncStopTimeout,
    @LogMessage(level = DEBUG)
    @Message(value = "Received a command from an outdated topology, returning the exception to caller", id = 311)
    void outdatedTopology(@Cause Throwable oe);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Unable to send %d event(s) to the cluster listeners on node %s", id = 312)
+   void unableToSendClusterEvents(int count, Address target, @Cause Throwable t);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Failed to compact the file store %s", id = 313)
+   void errorCompactingFileStore(String path, @Cause Throwable t);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Failed to write %d entries of segment %d received by state transfer to the cache stores", id = 314)
+   void failedWritingStateToStores(int count, int segmentId, @Cause Throwable t);
 }
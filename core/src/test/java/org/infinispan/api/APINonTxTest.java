@@ -68,6 +68,27 @@ public void testConvenienceMethods() {
       assert cache.values().contains(value);
    }
 
+   public void testGetAll() {
+      cache.put("k1", "v1");
+      cache.put("k2", "v2");
+      cache.put("k3", "v3");
+      cache.remove("k3");
+
+      Set<Object> keys = new HashSet<Object>();
+      keys.add("k1");
+      keys.add("k2");
+      keys.add("k3");
+      keys.add("k4");
+      Map<Object, Object> values = cache.getAdvancedCache().getAll(keys);
+
+      assertEquals(2, values.size());
+      assertEquals("v1", values.get("k1"));
+      assertEquals("v2", values.get("k2"));
+      assertFalse(values.containsKey("k3"));
+      assertFalse(values.containsKey("k4"));
+      assertTrue(cache.getAdvancedCache().getAll(new HashSet<Object>()).isEmpty());
+   }
+
       public void testStopClearsData() throws Exception {
       String key = "key", value = "value";
       int size = 0;
@@ -0,0 +1,123 @@
+package org.infinispan.api;
+
+import org.infinispan.Cache;
+import org.infinispan.commands.CommandsFactory;
+import org.infinispan.commands.read.GetKeyValueCommand;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.context.Flag;
+import org.infinispan.context.InvocationContext;
+import org.infinispan.interceptors.InterceptorChain;
+import org.infinispan.interceptors.base.CommandInterceptor;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryVisited;
+import org.infinispan.notifications.cachelistener.event.CacheEntryVisitedEvent;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.CleanupAfterMethod;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.transaction.TransactionMode;
+import org.mockito.Mockito;
+import org.testng.annotations.Test;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+/**
+ * Tests the reads served straight from the data container, without invoking the interceptor chain.
+ *
+ * @since 7.0
+ */
+@Test(groups = "functional", testName = "api.DirectReadTest")
+@CleanupAfterMethod
+public class DirectReadTest extends SingleCacheManagerTest {
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.jmxStatistics().enable();
+      return TestCacheManagerFactory.createCacheManager(builder);
+   }
+
+   public void testCustomInterceptorSeesEveryRead() {
+      InterceptorChain chain = TestingUtil.extractComponent(cache, InterceptorChain.class);
+      assertTrue(chain.allowsDirectReads());
+      cache.put("k", "v");
+
+      GetCountingInterceptor interceptor = new GetCountingInterceptor();
+      cache.getAdvancedCache().addInterceptor(interceptor, 0);
+      assertFalse(chain.allowsDirectReads());
+      assertEquals("v", cache.get("k"));
+      assertEquals(1, interceptor.gets.get());
+
+      cache.getAdvancedCache().removeInterceptor(GetCountingInterceptor.class);
+      assertTrue(chain.allowsDirectReads());
+      assertEquals("v", cache.get("k"));
+      assertEquals(1, interceptor.gets.get());
+   }
+
+   public void testListenersAndStatistics() {
+      VisitedListener listener = new VisitedListener();
+      cache.addListener(listener);
+      cache.put("k", "v");
+
+      assertEquals("v", cache.get("k"));
+      assertNull(cache.get("missing"));
+
+      assertEquals(2, listener.events.get());
+      assertEquals(1, cache.getAdvancedCache().getStats().getHits());
+      assertEquals(1, cache.getAdvancedCache().getStats().getMisses());
+   }
+
+   public void testNoCommandWithoutVisitedListeners() {
+      cache.put("k", "v");
+      CommandsFactory commandsFactory = spy(TestingUtil.extractComponent(cache, CommandsFactory.class));
+      TestingUtil.replaceComponent(cache, CommandsFactory.class, commandsFactory, true);
+
+      assertEquals("v", cache.get("k"));
+      verify(commandsFactory, never()).buildGetKeyValueCommand(Mockito.any(), Mockito.<Set<Flag>>any(), Mockito.anyBoolean());
+   }
+
+   public void testExpiredEntryIsNotReturned() {
+      cache.put("k", "v", 10, TimeUnit.MILLISECONDS);
+      TestingUtil.sleepThread(100);
+      assertNull(cache.get("k"));
+   }
+
+   public void testTransactionalCacheDoesNotReadDirectly() {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.transaction().transactionMode(TransactionMode.TRANSACTIONAL);
+      cacheManager.defineConfiguration("tx", builder.build());
+      Cache<Object, Object> txCache = cacheManager.getCache("tx");
+      assertFalse(TestingUtil.extractComponent(txCache, InterceptorChain.class).allowsDirectReads());
+   }
+
+   static class GetCountingInterceptor extends CommandInterceptor {
+      final AtomicInteger gets = new AtomicInteger();
+
+      @Override
+      public Object visitGetKeyValueCommand(InvocationContext ctx, GetKeyValueCommand command) throws Throwable {
+         gets.incrementAndGet();
+         return super.visitGetKeyValueCommand(ctx, command);
+      }
+   }
+
+   @Listener
+   public static class VisitedListener {
+      final AtomicInteger events = new AtomicInteger();
+
+      @CacheEntryVisited
+      public void entryVisited(CacheEntryVisitedEvent<Object, Object> event) {
+         events.incrementAndGet();
+      }
+   }
+}
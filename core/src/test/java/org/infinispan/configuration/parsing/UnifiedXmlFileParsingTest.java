@@ -231,6 +231,9 @@ public void call() {
             assertTrue(c.clustering().hash().consistentHashFactory() instanceof SyncConsistentHashFactory);
             assertFalse(c.clustering().async().asyncMarshalling());
             assertTrue(c.clustering().partitionHandling().enabled());
+            assertTrue(c.clustering().clusterListener().async());
+            assertEquals(200, c.clustering().clusterListener().maxBatchSize());
+            assertEquals(5, c.clustering().clusterListener().maxBatchLatency());
             assertTrue(c.jmxStatistics().enabled());
             assertEquals(31500, c.locking().lockAcquisitionTimeout());
             assertEquals(3500, c.locking().concurrencyLevel());
@@ -0,0 +1,142 @@
+package org.infinispan.container;
+
+import org.infinispan.commons.equivalence.AnyEquivalence;
+import org.infinispan.commons.hash.MurmurHash3;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.distribution.ch.impl.HashFunctionPartitioner;
+import org.infinispan.eviction.ActivationManager;
+import org.infinispan.eviction.PassivationManager;
+import org.infinispan.metadata.EmbeddedMetadata;
+import org.infinispan.util.TimeService;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+@Test(groups = "unit", testName = "container.SegmentedDataContainerTest")
+public class SegmentedDataContainerTest extends SimpleDataContainerTest {
+
+   private static final int NUM_SEGMENTS = 16;
+   private final KeyPartitioner partitioner = new HashFunctionPartitioner(new MurmurHash3(), NUM_SEGMENTS);
+
+   @Override
+   protected DataContainer createContainer(TimeService timeService) {
+      DefaultSegmentedDataContainer dc = new DefaultSegmentedDataContainer<Object, String>(16,
+            AnyEquivalence.getInstance(), partitioner);
+      InternalEntryFactoryImpl internalEntryFactory = new InternalEntryFactoryImpl();
+      internalEntryFactory.injectTimeService(timeService);
+      ActivationManager activationManager = mock(ActivationManager.class);
+      doNothing().when(activationManager).onUpdate(Mockito.anyObject(), Mockito.anyBoolean());
+      dc.initialize(mock(PassivationManager.class), internalEntryFactory, activationManager, timeService);
+      return dc;
+   }
+
+   @Override
+   protected int expirationIndexSize() {
+      return ((DefaultSegmentedDataContainer) dc).getExpirationIndex().size();
+   }
+
+   public void testSegmentIteration() {
+      SegmentedDataContainer<Object, String> sdc = (SegmentedDataContainer<Object, String>) dc;
+      for (int i = 0; i < 100; i++) {
+         sdc.put(i, "v" + i, new EmbeddedMetadata.Builder().build());
+      }
+
+      int segment = partitioner.getSegment(0);
+      Set<Object> expected = new HashSet<Object>();
+      for (int i = 0; i < 100; i++) {
+         if (partitioner.getSegment(i) == segment) {
+            expected.add(i);
+         }
+      }
+
+      Set<Object> actual = new HashSet<Object>();
+      for (Iterator<InternalCacheEntry<Object, String>> it = sdc.iterator(Collections.singleton(segment)); it.hasNext(); ) {
+         InternalCacheEntry<Object, String> entry = it.next();
+         assertEquals(segment, sdc.getSegment(entry.getKey()));
+         actual.add(entry.getKey());
+      }
+      assertEquals(expected, actual);
+      assertEquals(expected.size(), sdc.size(Collections.singleton(segment)));
+      assertEquals(100, sdc.size());
+   }
+
+   public void testRemoveSegments() {
+      SegmentedDataContainer<Object, String> sdc = (SegmentedDataContainer<Object, String>) dc;
+      for (int i = 0; i < 100; i++) {
+         sdc.put(i, "v" + i, new EmbeddedMetadata.Builder().build());
+      }
+
+      int segment = partitioner.getSegment(0);
+      int removed = sdc.size(Collections.singleton(segment));
+      sdc.removeSegments(Collections.singleton(segment));
+
+      assertEquals(0, sdc.size(Collections.singleton(segment)));
+      assertEquals(100 - removed, sdc.size());
+      assertNull(sdc.get(0));
+      assertFalse(sdc.containsKey(0));
+      assertFalse(sdc.iterator(Collections.singleton(segment)).hasNext());
+
+      // the segment is re-created on the next write
+      sdc.put(0, "v0", new EmbeddedMetadata.Builder().build());
+      assertTrue(sdc.containsKey(0));
+      assertEquals(1, sdc.size(Collections.singleton(segment)));
+   }
+
+   public void testAddSegments() {
+      SegmentedDataContainer<Object, String> sdc = (SegmentedDataContainer<Object, String>) dc;
+      Set<Integer> segments = new HashSet<Integer>();
+      for (int i = 0; i < NUM_SEGMENTS; i++) {
+         segments.add(i);
+      }
+      sdc.addSegments(segments);
+      assertEquals(0, sdc.size());
+      assertFalse(sdc.iterator(segments).hasNext());
+
+      sdc.put("k", "v", new EmbeddedMetadata.Builder().build());
+      sdc.addSegments(segments);
+      assertEquals("v", sdc.get("k").getValue());
+   }
+
+   public void testPutRacingWithRemoveSegments() {
+      final DefaultSegmentedDataContainer<Object, String> sdc = new DefaultSegmentedDataContainer<Object, String>(16,
+            AnyEquivalence.getInstance(), partitioner);
+      InternalEntryFactoryImpl internalEntryFactory = new InternalEntryFactoryImpl();
+      internalEntryFactory.injectTimeService(TIME_SERVICE);
+      final Set<Integer> segment = Collections.singleton(partitioner.getSegment("k"));
+      final AtomicBoolean removed = new AtomicBoolean();
+      ActivationManager activationManager = mock(ActivationManager.class);
+      // discard the segment while the first write is being applied to its map
+      doAnswer(new Answer<Void>() {
+         @Override
+         public Void answer(InvocationOnMock invocation) {
+            if (removed.compareAndSet(false, true)) {
+               sdc.removeSegments(segment);
+            }
+            return null;
+         }
+      }).when(activationManager).onUpdate(Mockito.anyObject(), Mockito.anyBoolean());
+      sdc.initialize(null, internalEntryFactory, activationManager, TIME_SERVICE);
+
+      sdc.put("k", "v", new EmbeddedMetadata.Builder().build());
+
+      assertTrue(removed.get());
+      assertEquals("v", sdc.get("k").getValue());
+      assertEquals(1, sdc.size(segment));
+   }
+}
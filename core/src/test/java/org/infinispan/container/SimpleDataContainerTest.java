@@ -1,6 +1,7 @@
 package org.infinispan.container;
 
 import org.infinispan.eviction.ActivationManager;
+import org.infinispan.eviction.PassivationManager;
 import org.infinispan.metadata.EmbeddedMetadata;
 import org.infinispan.commons.equivalence.AnyEquivalence;
 import org.infinispan.container.entries.ImmortalCacheEntry;
@@ -8,8 +9,10 @@
 import org.infinispan.container.entries.MortalCacheEntry;
 import org.infinispan.container.entries.TransientCacheEntry;
 import org.infinispan.container.entries.TransientMortalCacheEntry;
+import org.infinispan.persistence.BaseStoreTest.ControlledTimeService;
 import org.infinispan.test.AbstractInfinispanTest;
 import org.infinispan.util.CoreImmutables;
+import org.infinispan.util.TimeService;
 import org.mockito.Mockito;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
@@ -26,11 +29,11 @@
 
 @Test(groups = "unit", testName = "container.SimpleDataContainerTest")
 public class SimpleDataContainerTest extends AbstractInfinispanTest {
-   DataContainer<Object, String> dc;
+   protected DataContainer<Object, String> dc;
 
    @BeforeMethod
    public void setUp() {
-      dc = createContainer();
+      dc = createContainer(TIME_SERVICE);
    }
 
    @AfterMethod
@@ -38,16 +41,23 @@ public void tearDown() {
       dc = null;
    }
 
-   protected DataContainer createContainer() {
+   protected DataContainer createContainer(TimeService timeService) {
       DefaultDataContainer dc = new DefaultDataContainer<Object, String>(16, AnyEquivalence.getInstance());
       InternalEntryFactoryImpl internalEntryFactory = new InternalEntryFactoryImpl();
-      internalEntryFactory.injectTimeService(TIME_SERVICE);
+      internalEntryFactory.injectTimeService(timeService);
       ActivationManager activationManager = mock(ActivationManager.class);
       doNothing().when(activationManager).onUpdate(Mockito.anyObject(), Mockito.anyBoolean());
-      dc.initialize(null, null, internalEntryFactory, activationManager, null, TIME_SERVICE);
+      dc.initialize(null, mock(PassivationManager.class), internalEntryFactory, activationManager, null, timeService);
       return dc;
    }
 
+   /**
+    * @return the number of keys in the expiration index of the container
+    */
+   protected int expirationIndexSize() {
+      return ((DefaultDataContainer) dc).getExpirationIndex().size();
+   }
+
    public void testExpiredData() throws InterruptedException {
       dc.put("k", "v", new EmbeddedMetadata.Builder().maxIdle(100, TimeUnit.MINUTES).build());
       Thread.sleep(100);
@@ -83,6 +93,68 @@ public void testExpiredData() throws InterruptedException {
       assert dc.size() == 0;
    }
    
+   public void testPurgeExpiredOnlyRemovesExpiredEntries() {
+      ControlledTimeService timeService = new ControlledTimeService(System.currentTimeMillis());
+      dc = createContainer(timeService);
+      dc.put("immortal", "v", new EmbeddedMetadata.Builder().build());
+      dc.put("mortal", "v", new EmbeddedMetadata.Builder().lifespan(100, TimeUnit.MINUTES).build());
+      dc.put("expired", "v", new EmbeddedMetadata.Builder().lifespan(1, TimeUnit.SECONDS).build());
+      // Indexed as expiring, then updated
+      dc.put("madeImmortal", "v", new EmbeddedMetadata.Builder().lifespan(1, TimeUnit.SECONDS).build());
+      dc.put("madeImmortal", "v", new EmbeddedMetadata.Builder().build());
+      dc.put("extended", "v", new EmbeddedMetadata.Builder().lifespan(1, TimeUnit.SECONDS).build());
+      dc.put("extended", "v", new EmbeddedMetadata.Builder().lifespan(100, TimeUnit.MINUTES).build());
+
+      timeService.advance(999);
+      dc.purgeExpired();
+      assertEquals(5, dc.size());
+
+      timeService.advance(2);
+      dc.purgeExpired();
+      assertEquals(4, dc.size());
+      assert dc.peek("expired") == null;
+      assert dc.peek("immortal") != null;
+      assert dc.peek("mortal") != null;
+      assert dc.peek("madeImmortal") != null;
+      assert dc.peek("extended") != null;
+
+      dc.put("extended", "v", new EmbeddedMetadata.Builder().lifespan(1, TimeUnit.SECONDS).build());
+      timeService.advance(1001);
+      dc.purgeExpired();
+      assertEquals(3, dc.size());
+      assert dc.peek("extended") == null;
+
+      dc.clear();
+      dc.purgeExpired();
+      assertEquals(0, dc.size());
+   }
+
+   public void testExpirationIndexHoldsEachKeyOnce() {
+      ControlledTimeService timeService = new ControlledTimeService(System.currentTimeMillis());
+      dc = createContainer(timeService);
+      for (int i = 0; i < 100; i++) {
+         dc.put("k", "v", new EmbeddedMetadata.Builder().lifespan(1, TimeUnit.HOURS).build());
+         dc.put("other", "v", new EmbeddedMetadata.Builder().lifespan(1, TimeUnit.HOURS).build());
+         timeService.advance(ExpirationIndex.RESOLUTION);
+      }
+      assertEquals(2, expirationIndexSize());
+
+      dc.remove("k");
+      assertEquals(1, expirationIndexSize());
+
+      dc.evict("other");
+      assertEquals(0, expirationIndexSize());
+
+      dc.put("k", "v", new EmbeddedMetadata.Builder().lifespan(1, TimeUnit.HOURS).build());
+      dc.put("k", "v", new EmbeddedMetadata.Builder().build());
+      assertEquals(0, expirationIndexSize());
+
+      dc.put("k", "v", new EmbeddedMetadata.Builder().lifespan(1, TimeUnit.SECONDS).build());
+      timeService.advance(1001);
+      assert dc.get("k") == null;
+      assertEquals(0, expirationIndexSize());
+   }
+
    public void testResetOfCreationTime() throws Exception {
       long now = System.currentTimeMillis();
       dc.put("k", "v", new EmbeddedMetadata.Builder().lifespan(1000, TimeUnit.SECONDS).build());
@@ -0,0 +1,245 @@
+package org.infinispan.container.offheap;
+
+import org.infinispan.container.DataContainer;
+import org.infinispan.container.InternalEntryFactoryImpl;
+import org.infinispan.container.SimpleDataContainerTest;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.eviction.ActivationManager;
+import org.infinispan.eviction.EvictionManager;
+import org.infinispan.eviction.PassivationManager;
+import org.infinispan.marshall.TestObjectStreamMarshaller;
+import org.infinispan.metadata.EmbeddedMetadata;
+import org.infinispan.util.TimeService;
+import org.mockito.Mockito;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+@Test(groups = "unit", testName = "container.offheap.OffHeapDataContainerTest")
+public class OffHeapDataContainerTest extends SimpleDataContainerTest {
+
+   private TestObjectStreamMarshaller marshaller;
+   private PassivationManager passivationManager;
+   private EvictionManager evictionManager;
+
+   @BeforeClass
+   public void createMarshaller() {
+      marshaller = new TestObjectStreamMarshaller();
+   }
+
+   @AfterClass
+   public void stopMarshaller() {
+      marshaller.stop();
+   }
+
+   @Override
+   protected DataContainer createContainer(TimeService timeService) {
+      // Some tests replace the container created for them
+      releaseMemory();
+      return createContainer(-1, -1, timeService);
+   }
+
+   private OffHeapDataContainer<Object, String> createContainer(int maxEntries, long maxMemory) {
+      return createContainer(maxEntries, maxMemory, TIME_SERVICE);
+   }
+
+   private OffHeapDataContainer<Object, String> createContainer(int maxEntries, long maxMemory, TimeService timeService) {
+      OffHeapDataContainer<Object, String> dc = new OffHeapDataContainer<Object, String>(16, maxEntries, maxMemory);
+      InternalEntryFactoryImpl internalEntryFactory = new InternalEntryFactoryImpl();
+      internalEntryFactory.injectTimeService(timeService);
+      ActivationManager activationManager = mock(ActivationManager.class);
+      doNothing().when(activationManager).onUpdate(Mockito.anyObject(), Mockito.anyBoolean());
+      passivationManager = mock(PassivationManager.class);
+      evictionManager = mock(EvictionManager.class);
+      dc.initialize(evictionManager, passivationManager, internalEntryFactory, activationManager, timeService, marshaller);
+      return dc;
+   }
+
+   @AfterMethod
+   public void releaseMemory() {
+      if (dc != null) {
+         ((OffHeapDataContainer) dc).stop();
+      }
+   }
+
+   @Override
+   public void testExpirationIndexHoldsEachKeyOnce() {
+      // The off-heap container scans its buckets for expired entries, it has no expiration index
+   }
+
+   /**
+    * Entries are copied out of the container, so unlike the heap container a new get is needed to see the updated
+    * last used time.
+    */
+   @Override
+   public void testUpdatingLastUsed() throws Exception {
+      long idle = 600000;
+      dc.put("k", "v", new EmbeddedMetadata.Builder().maxIdle(idle, TimeUnit.MILLISECONDS).build());
+      InternalCacheEntry ice = dc.get("k");
+      assertEquals(transienttype(), ice.getClass());
+      long lastUsed = ice.getLastUsed();
+      Thread.sleep(100); // for time calc granularity
+      ice = dc.get("k");
+      assertTrue(ice.getLastUsed() > lastUsed);
+      assertEquals(idle, ice.getMaxIdle());
+      assertEquals(-1, ice.getLifespan());
+
+      // peek does not update the last used time
+      lastUsed = ice.getLastUsed();
+      Thread.sleep(100);
+      assertEquals(lastUsed, dc.peek("k").getLastUsed());
+   }
+
+   /**
+    * Cache entries use identity equality, and the container returns new copies, so compare keys and values instead.
+    */
+   @Override
+   public void testEntrySet() {
+      dc.put("k1", "v1", new EmbeddedMetadata.Builder().lifespan(100, TimeUnit.MINUTES).build());
+      dc.put("k2", "v2", new EmbeddedMetadata.Builder().build());
+      dc.put("k3", "v3", new EmbeddedMetadata.Builder().maxIdle(100, TimeUnit.MINUTES).build());
+      dc.put("k4", "v4", new EmbeddedMetadata.Builder()
+            .maxIdle(100, TimeUnit.MINUTES).lifespan(100, TimeUnit.MINUTES).build());
+
+      Map<Object, Object> expected = new HashMap<Object, Object>();
+      expected.put("k1", "v1");
+      expected.put("k2", "v2");
+      expected.put("k3", "v3");
+      expected.put("k4", "v4");
+
+      Map<Object, Object> actual = new HashMap<Object, Object>();
+      for (InternalCacheEntry<Object, String> e : dc.entrySet()) {
+         assertTrue(dc.entrySet().contains(e));
+         actual.put(e.getKey(), e.getValue());
+      }
+
+      assertEquals(expected, actual);
+   }
+
+   public void testRemove() {
+      dc.put("k1", "v1", new EmbeddedMetadata.Builder().build());
+      dc.put("k2", "v2", new EmbeddedMetadata.Builder().build());
+      long usedMemory = ((OffHeapDataContainer) dc).getUsedMemory();
+
+      assertEquals("v1", dc.remove("k1").getValue());
+      assertNull(dc.remove("k1"));
+      assertFalse(dc.containsKey("k1"));
+      assertEquals(1, dc.size());
+      assertTrue(((OffHeapDataContainer) dc).getUsedMemory() < usedMemory);
+
+      dc.clear();
+      assertEquals(0, dc.size());
+      assertEquals(0, ((OffHeapDataContainer) dc).getUsedMemory());
+   }
+
+   public void testReplaceDoesNotLeakMemory() {
+      dc.put("k", "v", new EmbeddedMetadata.Builder().build());
+      long usedMemory = ((OffHeapDataContainer) dc).getUsedMemory();
+      for (int i = 0; i < 100; i++) {
+         dc.put("k", "v", new EmbeddedMetadata.Builder().build());
+      }
+      assertEquals(1, dc.size());
+      assertEquals(usedMemory, ((OffHeapDataContainer) dc).getUsedMemory());
+   }
+
+   public void testEvictionByMaxEntries() {
+      releaseMemory();
+      dc = createContainer(10, -1);
+      for (int i = 0; i < 100; i++) {
+         dc.put(i, "v" + i, new EmbeddedMetadata.Builder().build());
+      }
+      assertEquals(10, dc.size());
+      // the most recently written entries are kept
+      for (int i = 90; i < 100; i++) {
+         assertNotNull(dc.peek(i));
+      }
+      verify(passivationManager, Mockito.times(90)).passivate(Mockito.any(InternalCacheEntry.class));
+      verify(evictionManager, Mockito.times(90)).onEntryEviction(Mockito.any(Map.class));
+   }
+
+   public void testEvictionByMaxMemory() {
+      releaseMemory();
+      OffHeapDataContainer<Object, String> container = createContainer(-1, 10000);
+      dc = container;
+      for (int i = 0; i < 1000; i++) {
+         dc.put(i, "value" + i, new EmbeddedMetadata.Builder().build());
+      }
+      assertTrue(container.getUsedMemory() <= 10000);
+      assertTrue(dc.size() < 1000);
+      verify(evictionManager, atLeastOnce()).onEntryEviction(Mockito.any(Map.class));
+   }
+
+   public void testReadsUpdateRecency() {
+      releaseMemory();
+      dc = createContainer(3, -1);
+      dc.put("k1", "v1", new EmbeddedMetadata.Builder().build());
+      dc.put("k2", "v2", new EmbeddedMetadata.Builder().build());
+      dc.put("k3", "v3", new EmbeddedMetadata.Builder().build());
+      dc.get("k1");
+      dc.put("k4", "v4", new EmbeddedMetadata.Builder().build());
+
+      assertTrue(dc.containsKey("k1"));
+      assertFalse(dc.containsKey("k2"));
+      assertTrue(dc.containsKey("k3"));
+      assertTrue(dc.containsKey("k4"));
+   }
+
+   public void testConcurrentEviction() throws Exception {
+      releaseMemory();
+      final OffHeapDataContainer<Object, String> container = createContainer(50, -1);
+      dc = container;
+      List<Future<?>> futures = new ArrayList<Future<?>>();
+      for (int t = 0; t < 4; t++) {
+         final Random random = new Random(t);
+         futures.add(fork(new Runnable() {
+            @Override
+            public void run() {
+               for (int i = 0; i < 10000; i++) {
+                  int key = random.nextInt(200);
+                  if (random.nextInt(4) == 0) {
+                     container.remove(key);
+                  } else {
+                     container.put(key, "v" + key, new EmbeddedMetadata.Builder().build());
+                  }
+               }
+            }
+         }));
+      }
+      for (Future<?> future : futures) {
+         future.get(30, TimeUnit.SECONDS);
+      }
+
+      // evicting an entry whose memory was reused by another one would corrupt the LRU list and the counters
+      assertTrue(container.size() <= 50);
+      int entries = 0;
+      for (InternalCacheEntry<Object, String> entry : container) {
+         assertEquals("v" + entry.getKey(), entry.getValue());
+         entries++;
+      }
+      assertEquals(entries, container.size());
+      for (int i = 0; i < 200; i++) {
+         container.remove(i);
+      }
+      assertEquals(0, container.size());
+      assertEquals(0, container.getUsedMemory());
+   }
+}
@@ -0,0 +1,72 @@
+package org.infinispan.distribution;
+
+import org.testng.annotations.Test;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+/**
+ * Tests {@link org.infinispan.AdvancedCache#getAll(java.util.Set)} with keys owned by several nodes.
+ *
+ * @since 7.0
+ */
+@Test(groups = "functional", testName = "distribution.GetAllDistTest")
+public class GetAllDistTest extends BaseDistFunctionalTest<Object, String> {
+
+   public void testGetAllFromSeveralOwners() {
+      MagicKey k1 = new MagicKey("k1", c1, c2);
+      MagicKey k2 = new MagicKey("k2", c2, c3);
+      MagicKey k3 = new MagicKey("k3", c3, c1);
+      MagicKey local = new MagicKey("local", c4, c1);
+      MagicKey missing = new MagicKey("missing", c2, c3);
+
+      c1.put(k1, "v1");
+      c1.put(k2, "v2");
+      c1.put(k3, "v3");
+      c1.put(local, "local");
+
+      Set<Object> keys = new HashSet<Object>();
+      keys.add(k1);
+      keys.add(k2);
+      keys.add(k3);
+      keys.add(local);
+      keys.add(missing);
+      Map<Object, String> values = c4.getAdvancedCache().getAll(keys);
+
+      assertEquals(4, values.size());
+      assertEquals("v1", values.get(k1));
+      assertEquals("v2", values.get(k2));
+      assertEquals("v3", values.get(k3));
+      assertEquals("local", values.get(local));
+      assertFalse(values.containsKey(missing));
+
+      if (l1CacheEnabled) {
+         assertIsInL1(c4, k1);
+         assertIsInL1(c4, k2);
+         assertIsInL1(c4, k3);
+         assertIsNotInL1(c4, missing);
+      }
+   }
+
+   public void testGetAllOnOwner() {
+      MagicKey k1 = new MagicKey("k1", c1, c2);
+      MagicKey k2 = new MagicKey("k2", c1, c3);
+      c2.put(k1, "v1");
+      c2.put(k2, "v2");
+
+      Set<Object> keys = new HashSet<Object>();
+      keys.add(k1);
+      keys.add(k2);
+      Map<Object, String> values = c1.getAdvancedCache().getAll(keys);
+
+      assertEquals(2, values.size());
+      assertEquals("v1", values.get(k1));
+      assertEquals("v2", values.get(k2));
+      assertTrue(c1.getAdvancedCache().getAll(new HashSet<Object>()).isEmpty());
+   }
+}
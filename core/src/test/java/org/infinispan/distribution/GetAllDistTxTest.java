@@ -0,0 +1,14 @@
+package org.infinispan.distribution;
+
+import org.testng.annotations.Test;
+
+/**
+ * @since 7.0
+ */
+@Test(groups = "functional", testName = "distribution.GetAllDistTxTest")
+public class GetAllDistTxTest extends GetAllDistTest {
+
+   public GetAllDistTxTest() {
+      tx = true;
+   }
+}
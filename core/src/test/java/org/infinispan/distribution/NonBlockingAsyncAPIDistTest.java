@@ -0,0 +1,142 @@
+package org.infinispan.distribution;
+
+import org.infinispan.Cache;
+import org.infinispan.commands.VisitableCommand;
+import org.infinispan.commands.write.PutKeyValueCommand;
+import org.infinispan.commons.util.concurrent.NotifyingFuture;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.context.InvocationContext;
+import org.infinispan.interceptors.InterceptorChain;
+import org.infinispan.interceptors.base.CommandInterceptor;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.TestingUtil;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertNotSame;
+import static org.testng.AssertJUnit.assertTrue;
+
+/**
+ * Tests that the asynchronous operations of a non-transactional distributed cache are started by the async executor
+ * and complete when the owners reply, without blocking the executor thread until then.
+ *
+ * @since 7.0
+ */
+@Test(groups = "functional", testName = "distribution.NonBlockingAsyncAPIDistTest")
+public class NonBlockingAsyncAPIDistTest extends MultipleCacheManagersTest {
+
+   private ThreadRecordingInterceptor recordingInterceptor;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      createClusteredCaches(2, getDefaultClusteredCacheConfig(CacheMode.DIST_SYNC, false));
+   }
+
+   @BeforeMethod
+   public void addRecordingInterceptor() {
+      cache(0).getAdvancedCache().removeInterceptor(ThreadRecordingInterceptor.class);
+      recordingInterceptor = new ThreadRecordingInterceptor();
+      cache(0).getAdvancedCache().addInterceptor(recordingInterceptor, 0);
+   }
+
+   public void testInterceptorChainSupportsAsyncInvocation() {
+      InterceptorChain chain = TestingUtil.extractComponent(cache(0), InterceptorChain.class);
+      assertTrue(chain.supportsAsyncInvocation());
+   }
+
+   public void testPutAsyncDoesNotWaitForPrimaryOwner() throws Exception {
+      Cache<Object, String> originator = cache(0);
+      Cache<Object, String> primaryOwner = cache(1);
+      MagicKey key = new MagicKey("k1", primaryOwner);
+
+      CyclicBarrier barrier = new CyclicBarrier(2);
+      primaryOwner.getAdvancedCache().addInterceptor(
+            new BlockingInterceptor(barrier, PutKeyValueCommand.class, false), 0);
+      try {
+         NotifyingFuture<String> future = originator.putAsync(key, "v1");
+
+         // Wait for the put to reach the primary owner
+         barrier.await(10, TimeUnit.SECONDS);
+         assertNotSame(Thread.currentThread(), recordingInterceptor.thread);
+         // The executor thread doesn't wait for the primary owner
+         eventually(new Condition() {
+            @Override
+            public boolean isSatisfied() throws Exception {
+               return recordingInterceptor.invocationReturned;
+            }
+         });
+         assertFalse(future.isDone());
+
+         // Let the primary owner apply it
+         barrier.await(10, TimeUnit.SECONDS);
+         assertNull(future.get(10, TimeUnit.SECONDS));
+      } finally {
+         primaryOwner.getAdvancedCache().removeInterceptor(BlockingInterceptor.class);
+      }
+
+      assertEquals("v1", primaryOwner.get(key));
+      assertEquals("v1", originator.get(key));
+   }
+
+   public void testGetAsyncFromRemoteOwner() throws Exception {
+      Cache<Object, String> originator = cache(0);
+      Cache<Object, String> owner = cache(1);
+      MagicKey key = new MagicKey("k2", owner);
+      owner.put(key, "v2");
+
+      NotifyingFuture<String> future = originator.getAsync(key);
+      assertEquals("v2", future.get(10, TimeUnit.SECONDS));
+      assertNotSame(Thread.currentThread(), recordingInterceptor.thread);
+
+      MagicKey missingKey = new MagicKey("k3", owner);
+      assertNull(originator.getAsync(missingKey).get(10, TimeUnit.SECONDS));
+   }
+
+   public void testConditionalWritesAsync() throws Exception {
+      Cache<Object, String> originator = cache(0);
+      Cache<Object, String> primaryOwner = cache(1);
+      MagicKey key = new MagicKey("k4", primaryOwner);
+
+      assertNull(originator.putIfAbsentAsync(key, "v1").get(10, TimeUnit.SECONDS));
+      assertEquals("v1", originator.putIfAbsentAsync(key, "v2").get(10, TimeUnit.SECONDS));
+      assertFalse(originator.replaceAsync(key, "v2", "v3").get(10, TimeUnit.SECONDS));
+      assertTrue(originator.replaceAsync(key, "v1", "v3").get(10, TimeUnit.SECONDS));
+      assertEquals("v3", originator.replaceAsync(key, "v4").get(10, TimeUnit.SECONDS));
+      assertFalse(originator.removeAsync(key, "v3").get(10, TimeUnit.SECONDS));
+      assertEquals("v4", originator.removeAsync(key).get(10, TimeUnit.SECONDS));
+
+      assertNull(primaryOwner.get(key));
+      assertNotSame(Thread.currentThread(), recordingInterceptor.thread);
+   }
+
+   public void testPutAsyncOnPrimaryOwner() throws Exception {
+      Cache<Object, String> originator = cache(0);
+      MagicKey key = new MagicKey("k5", originator);
+
+      assertNull(originator.putAsync(key, "v5").get(10, TimeUnit.SECONDS));
+      assertEquals("v5", cache(1).get(key));
+   }
+
+   /**
+    * Records the thread invoking the chain asynchronously, and whether the invocation returned.
+    */
+   static class ThreadRecordingInterceptor extends CommandInterceptor {
+      volatile Thread thread;
+      volatile boolean invocationReturned;
+
+      @Override
+      public NotifyingFuture<Object> visitCommandAsync(InvocationContext ctx, VisitableCommand command) throws Throwable {
+         thread = Thread.currentThread();
+         invocationReturned = false;
+         NotifyingFuture<Object> future = invokeNextInterceptorAsync(ctx, command);
+         invocationReturned = true;
+         return future;
+      }
+   }
+}
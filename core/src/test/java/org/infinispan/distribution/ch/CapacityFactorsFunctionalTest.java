@@ -1,5 +1,6 @@
 package org.infinispan.distribution.ch;
 
+import org.infinispan.Cache;
 import org.infinispan.configuration.cache.CacheMode;
 import org.infinispan.configuration.cache.ConfigurationBuilder;
 import org.infinispan.distribution.ch.impl.DefaultConsistentHash;
@@ -9,6 +10,9 @@
 import org.testng.annotations.Test;
 
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.testng.AssertJUnit.assertEquals;
 
@@ -23,6 +27,10 @@ public class CapacityFactorsFunctionalTest extends MultipleCacheManagersTest {
 
    public static final int NUM_SEGMENTS = 60;
 
+   public CapacityFactorsFunctionalTest() {
+      cleanup = CleanupPhase.AFTER_METHOD;
+   }
+
    @Override
    protected void createCacheManagers() throws Throwable {
       // Do nothing here, create the cache managers in the test
@@ -62,6 +70,34 @@ public void testCapacityFactors() {
       assertOwned(20, 60, 0, 40);
    }
 
+   public void testZeroCapacityNodeStartsFirst() throws Exception {
+      ConfigurationBuilder cb = new ConfigurationBuilder();
+      cb.clustering().cacheMode(CacheMode.DIST_SYNC);
+      cb.clustering().hash().numSegments(NUM_SEGMENTS);
+
+      // The zero capacity node keeps retrying to join until a node that can own data joins
+      cb.clustering().hash().capacityFactor(0.0f);
+      addClusterEnabledCacheManager(cb);
+      Future<Cache<Object, Object>> zeroCapacityCache = fork(new Callable<Cache<Object, Object>>() {
+         @Override
+         public Cache<Object, Object> call() throws Exception {
+            return manager(0).getCache();
+         }
+      });
+
+      cb.clustering().hash().capacityFactor(1.0f);
+      addClusterEnabledCacheManager(cb);
+      manager(1).getCache();
+      zeroCapacityCache.get(30, TimeUnit.SECONDS);
+      waitForClusterToForm();
+      assertCapacityFactors(0.0f, 1.0f);
+      assertPrimaryOwned(0, NUM_SEGMENTS);
+      assertOwned(0, NUM_SEGMENTS);
+
+      cache(0).put("k", "v");
+      assertEquals("v", cache(1).get("k"));
+   }
+
    private void assertCapacityFactors(float... expectedCapacityFactors) {
       DefaultConsistentHash ch = (DefaultConsistentHash) cache(0).getAdvancedCache().getDistributionManager().getReadConsistentHash();
       int numNodes = expectedCapacityFactors.length;
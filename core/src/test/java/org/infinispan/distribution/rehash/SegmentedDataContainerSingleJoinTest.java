@@ -0,0 +1,20 @@
+package org.infinispan.distribution.rehash;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.testng.annotations.Test;
+
+/**
+ * Tests a single join with a {@link org.infinispan.container.SegmentedDataContainer}.
+ *
+ * @since 7.0
+ */
+@Test(groups = "functional", testName = "distribution.rehash.SegmentedDataContainerSingleJoinTest")
+public class SegmentedDataContainerSingleJoinTest extends SingleJoinTest {
+
+   @Override
+   protected ConfigurationBuilder buildConfiguration() {
+      ConfigurationBuilder builder = super.buildConfiguration();
+      builder.dataContainer().segmented(true);
+      return builder;
+   }
+}
@@ -0,0 +1,30 @@
+package org.infinispan.eviction.impl;
+
+import static org.mockito.Mockito.mock;
+import static org.testng.AssertJUnit.assertEquals;
+
+import org.infinispan.commons.marshall.StreamingMarshaller;
+import org.infinispan.marshall.core.MarshalledValue;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.testng.annotations.Test;
+
+@Test(groups = "unit", testName = "eviction.MarshalledSizeCalculatorTest")
+public class MarshalledSizeCalculatorTest extends AbstractInfinispanTest {
+
+   private MarshalledSizeCalculator calculator(StreamingMarshaller marshaller) {
+      MarshalledSizeCalculator calculator = new MarshalledSizeCalculator();
+      calculator.inject(marshaller);
+      return calculator;
+   }
+
+   public void testMarshalledValueSizedFromItsBytes() {
+      StreamingMarshaller marshaller = mock(StreamingMarshaller.class);
+      MarshalledValue value = new MarshalledValue(new byte[100], 0, marshaller);
+      assertEquals(100, calculator(marshaller).calculateSize(null, value));
+   }
+
+   public void testMarshalledValueWithoutBytes() {
+      MarshalledSizeCalculator calculator = calculator(mock(StreamingMarshaller.class));
+      assertEquals(MarshalledSizeCalculator.UNKNOWN_SIZE, calculator.calculateSize(null, new MarshalledValue()));
+   }
+}
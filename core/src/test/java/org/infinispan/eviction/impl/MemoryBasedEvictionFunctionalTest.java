@@ -0,0 +1,103 @@
+package org.infinispan.eviction.impl;
+
+import org.infinispan.Cache;
+import org.infinispan.commons.marshall.StreamingMarshaller;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.eviction.EntrySizeCalculator;
+import org.infinispan.eviction.EvictionStrategy;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.SingleCacheManagerTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+import static org.infinispan.factories.KnownComponentNames.CACHE_MARSHALLER;
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
+
+/**
+ * Tests eviction bounded by the size of the entries rather than by their number, with the default heap storage.
+ *
+ * @since 7.0
+ */
+@Test(groups = "functional", testName = "eviction.MemoryBasedEvictionFunctionalTest")
+public class MemoryBasedEvictionFunctionalTest extends SingleCacheManagerTest {
+
+   private static final long MAX_MEMORY = 1024 * 1024;
+   private static final int VALUE_SIZE = 1024;
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder builder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      builder.eviction().maxMemory(MAX_MEMORY);
+      EmbeddedCacheManager cm = TestCacheManagerFactory.createCacheManager(builder);
+
+      ConfigurationBuilder lirs = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      lirs.eviction().maxMemory(MAX_MEMORY).strategy(EvictionStrategy.LIRS);
+      cm.defineConfiguration("lirs", lirs.build());
+
+      ConfigurationBuilder custom = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      custom.eviction().maxMemory(100 * 1000).sizeCalculator(new ValueInKilobytesCalculator())
+            .locking().concurrencyLevel(1);
+      cm.defineConfiguration("custom", custom.build());
+      return cm;
+   }
+
+   public void testLRUEvictionMaxMemory() {
+      testEvictionMaxMemory(cache);
+   }
+
+   public void testLIRSEvictionMaxMemory() {
+      testEvictionMaxMemory(cacheManager.<Object, Object>getCache("lirs"));
+   }
+
+   private void testEvictionMaxMemory(Cache<Object, Object> cache) {
+      for (int i = 0; i < 2000; i++) {
+         cache.put(i, new byte[VALUE_SIZE]);
+      }
+      int size = cache.getAdvancedCache().getDataContainer().size();
+      assertTrue("Cache size too big: " + size, size * VALUE_SIZE <= MAX_MEMORY);
+      assertTrue("Cache size too small: " + size, size * VALUE_SIZE > MAX_MEMORY / 2);
+   }
+
+   public void testEvictionMaxMemoryWithMarshalledSize() throws Exception {
+      cache.clear();
+      StringBuilder sb = new StringBuilder();
+      for (int i = 0; i < VALUE_SIZE; i++) {
+         sb.append((char) ('a' + i % 26));
+      }
+      for (int i = 0; i < 2000; i++) {
+         cache.put(i, sb.toString() + i);
+      }
+
+      StreamingMarshaller marshaller = TestingUtil.extractComponentRegistry(cache)
+            .getComponent(StreamingMarshaller.class, CACHE_MARSHALLER);
+      long memory = 0;
+      for (InternalCacheEntry entry : cache.getAdvancedCache().getDataContainer()) {
+         memory += marshaller.objectToByteBuffer(entry.getKey()).length;
+         memory += marshaller.objectToByteBuffer(entry.getValue()).length;
+      }
+      assertTrue("Memory bound exceeded: " + memory, memory <= MAX_MEMORY);
+      assertTrue("Memory in use too small: " + memory, memory > MAX_MEMORY / 2);
+   }
+
+   public void testEvictionWithCustomSizeCalculator() {
+      Cache<String, Integer> custom = cacheManager.getCache("custom");
+      custom.put("a", 40);
+      custom.put("b", 40);
+      custom.put("c", 90);
+      assertNull(custom.get("a"));
+      assertNull(custom.get("b"));
+      assertEquals(90, custom.get("c").intValue());
+      assertEquals(1, custom.getAdvancedCache().getDataContainer().size());
+   }
+
+   public static class ValueInKilobytesCalculator implements EntrySizeCalculator<String, Integer> {
+      @Override
+      public long calculateSize(String key, Integer value) {
+         return value * 1000;
+      }
+   }
+}
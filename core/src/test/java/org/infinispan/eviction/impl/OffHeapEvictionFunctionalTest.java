@@ -0,0 +1,63 @@
+package org.infinispan.eviction.impl;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.StorageType;
+import org.infinispan.container.offheap.OffHeapDataContainer;
+import org.infinispan.eviction.EvictionStrategy;
+import org.infinispan.manager.EmbeddedCacheManager;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+@Test(groups = "functional", testName = "eviction.OffHeapEvictionFunctionalTest")
+public class OffHeapEvictionFunctionalTest extends BaseEvictionFunctionalTest {
+
+   private static final int CACHE_SIZE = 128;
+   private static final long MAX_MEMORY = 16 * 1024;
+
+   @Override
+   protected EvictionStrategy getEvictionStrategy() {
+      return EvictionStrategy.LRU;
+   }
+
+   @Override
+   protected EmbeddedCacheManager createCacheManager() throws Exception {
+      ConfigurationBuilder builder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      builder.dataContainer().storageType(StorageType.OFF_HEAP)
+            .eviction().maxEntries(CACHE_SIZE)
+            .strategy(getEvictionStrategy()).expiration().wakeUpInterval(100L).locking()
+            .useLockStriping(false) // to minimize chances of deadlock in the unit test
+            .invocationBatching();
+      EmbeddedCacheManager cm = TestCacheManagerFactory.createCacheManager(builder);
+      cache = cm.getCache();
+      cache.addListener(new EvictionListener());
+
+      ConfigurationBuilder memoryBounded = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      memoryBounded.dataContainer().storageType(StorageType.OFF_HEAP)
+            .eviction().maxMemory(MAX_MEMORY);
+      cm.defineConfiguration("memory-bounded", memoryBounded.build());
+      return cm;
+   }
+
+   public void testDataContainerIsOffHeap() {
+      assertTrue(cache.getAdvancedCache().getDataContainer() instanceof OffHeapDataContainer);
+      cache.put("k", "v");
+      assertEquals("v", cache.get("k"));
+      assertEquals("v", cache.remove("k"));
+      assertEquals(0, cache.size());
+   }
+
+   public void testEvictionMaxMemory() {
+      Cache<Object, Object> memoryBounded = cacheManager.getCache("memory-bounded");
+      for (int i = 0; i < 1000; i++) {
+         memoryBounded.put("key-" + i, "value-" + i);
+      }
+      OffHeapDataContainer dataContainer = (OffHeapDataContainer) memoryBounded.getAdvancedCache().getDataContainer();
+      assertTrue("Memory used too big: " + dataContainer.getUsedMemory(), dataContainer.getUsedMemory() <= MAX_MEMORY);
+      assertTrue(memoryBounded.size() < 1000);
+      assertEquals("value-999", memoryBounded.get("key-999"));
+   }
+}
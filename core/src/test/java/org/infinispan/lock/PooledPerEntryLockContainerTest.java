@@ -0,0 +1,151 @@
+package org.infinispan.lock;
+
+import org.infinispan.commons.equivalence.AnyEquivalence;
+import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.util.concurrent.locks.containers.PooledPerEntryLockContainer;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertSame;
+import static org.testng.AssertJUnit.assertTrue;
+
+/**
+ * Tests the {@link PooledPerEntryLockContainer}.
+ *
+ * @since 7.0
+ */
+@Test(groups = "unit", testName = "lock.PooledPerEntryLockContainerTest")
+public class PooledPerEntryLockContainerTest extends AbstractInfinispanTest {
+
+   public void testReentrantAcquireAndRelease() throws Exception {
+      PooledPerEntryLockContainer lc = new PooledPerEntryLockContainer(16, AnyEquivalence.getInstance());
+      Object owner = new Object();
+      PooledPerEntryLockContainer.EntryLock lock = lc.acquireLock(owner, "k", 0, TimeUnit.MILLISECONDS);
+      assertNotNull(lock);
+      assertSame(lock, lc.acquireLock(owner, "k", 0, TimeUnit.MILLISECONDS));
+      assertTrue(lc.ownsLock("k", owner));
+      assertFalse(lc.ownsLock("k", new Object()));
+      assertEquals(1, lc.getNumLocksHeld());
+
+      lc.releaseLock(owner, "k");
+      assertTrue(lc.isLocked("k"));
+      lc.releaseLock(owner, "k");
+      assertFalse(lc.isLocked("k"));
+      assertNull(lc.getLock("k"));
+      assertEquals(0, lc.getNumLocksHeld());
+   }
+
+   public void testReleasedLocksAreRecycled() throws Exception {
+      PooledPerEntryLockContainer lc = new PooledPerEntryLockContainer(16, AnyEquivalence.getInstance());
+      Object owner = new Object();
+      PooledPerEntryLockContainer.EntryLock lock = lc.acquireLock(owner, "k", 0, TimeUnit.MILLISECONDS);
+      lc.releaseLock(owner, "k");
+
+      assertSame(lock, lc.acquireLock(owner, "k", 0, TimeUnit.MILLISECONDS));
+      lc.releaseLock(owner, "k");
+   }
+
+   public void testTimeoutReleasesReference() throws Exception {
+      final PooledPerEntryLockContainer lc = new PooledPerEntryLockContainer(16, AnyEquivalence.getInstance());
+      Object owner = new Object();
+      assertNotNull(lc.acquireLock(owner, "k", 0, TimeUnit.MILLISECONDS));
+
+      fork(new Callable<Void>() {
+         @Override
+         public Void call() throws Exception {
+            assertNull(lc.acquireLock(new Object(), "k", 10, TimeUnit.MILLISECONDS));
+            return null;
+         }
+      }).get(10, TimeUnit.SECONDS);
+
+      lc.releaseLock(owner, "k");
+      assertNull(lc.getLock("k"));
+      assertEquals(0, lc.getNumLocksHeld());
+   }
+
+   public void testWaitersAcquireInOrder() throws Exception {
+      final PooledPerEntryLockContainer lc = new PooledPerEntryLockContainer(16, AnyEquivalence.getInstance());
+      Object owner = new Object();
+      assertNotNull(lc.acquireLock(owner, "k", 0, TimeUnit.MILLISECONDS));
+
+      final Object firstOwner = new Object();
+      final CountDownLatch firstAcquired = new CountDownLatch(1);
+      final CountDownLatch firstRelease = new CountDownLatch(1);
+      Future<Void> first = fork(new Callable<Void>() {
+         @Override
+         public Void call() throws Exception {
+            assertNotNull(lc.acquireLock(firstOwner, "k", 10, TimeUnit.SECONDS));
+            firstAcquired.countDown();
+            firstRelease.await(10, TimeUnit.SECONDS);
+            lc.releaseLock(firstOwner, "k");
+            return null;
+         }
+      });
+      eventually(new Condition() {
+         @Override
+         public boolean isSatisfied() throws Exception {
+            return lc.getLock("k").hasQueuedThreads();
+         }
+      });
+
+      // The queued owner gets the lock as soon as it is released
+      lc.releaseLock(owner, "k");
+      firstAcquired.await(10, TimeUnit.SECONDS);
+      assertTrue(lc.ownsLock("k", firstOwner));
+      assertNull(lc.acquireLock(new Object(), "k", 0, TimeUnit.MILLISECONDS));
+
+      firstRelease.countDown();
+      first.get(10, TimeUnit.SECONDS);
+      assertFalse(lc.isLocked("k"));
+   }
+
+   @Test(expectedExceptions = IllegalMonitorStateException.class)
+   public void testReleaseByOtherOwner() throws Exception {
+      PooledPerEntryLockContainer lc = new PooledPerEntryLockContainer(16, AnyEquivalence.getInstance());
+      assertNotNull(lc.acquireLock(new Object(), "k", 0, TimeUnit.MILLISECONDS));
+      lc.releaseLock(new Object(), "k");
+   }
+
+   public void testOwnerWhileLocksAreRecycled() throws Exception {
+      // With the lowest concurrency level there are only a few buckets, so the keys share buckets and pooled locks
+      final PooledPerEntryLockContainer lc = new PooledPerEntryLockContainer(1, AnyEquivalence.getInstance());
+      final AtomicBoolean done = new AtomicBoolean();
+      Future<Void> locker = fork(new Callable<Void>() {
+         @Override
+         public Void call() throws Exception {
+            while (!done.get()) {
+               assertNotNull(lc.acquireLock("o1", "a", 10, TimeUnit.SECONDS));
+               lc.releaseLock("o1", "a");
+               for (int i = 0; i < 16; i++) {
+                  assertNotNull(lc.acquireLock("o2", "b" + i, 10, TimeUnit.SECONDS));
+                  lc.releaseLock("o2", "b" + i);
+               }
+            }
+            return null;
+         }
+      });
+
+      try {
+         for (int i = 0; i < 100000; i++) {
+            String key = "b" + (i % 16);
+            // o1 only ever locks "a", even if its lock instance is recycled for another key
+            assertFalse(lc.ownsLock(key, "o1"));
+            assertFalse("o1".equals(lc.getOwner(key)));
+         }
+      } finally {
+         done.set(true);
+      }
+      locker.get(10, TimeUnit.SECONDS);
+      assertFalse(lc.isLocked("a"));
+      assertEquals(0, lc.getNumLocksHeld());
+   }
+}
@@ -27,6 +27,8 @@
 import org.infinispan.commands.write.WriteCommand;
 import org.infinispan.commons.equivalence.AnyEquivalence;
 import org.infinispan.commons.hash.MurmurHash3;
+import org.infinispan.commons.io.ByteBuffer;
+import org.infinispan.commons.io.OutputBufferPool;
 import org.infinispan.commons.marshall.NotSerializableException;
 import org.infinispan.commons.marshall.PojoWithJBossExternalize;
 import org.infinispan.commons.marshall.PojoWithSerializeWith;
@@ -566,6 +568,19 @@ public void testByteArray() throws Exception {
       marshallAndAssertByteArrayEquality(bytes);
    }
 
+   public void testMarshalledBuffersAreNotReused() throws Exception {
+      ByteBuffer first = marshaller.objectToBuffer("first value");
+      ByteBuffer second = marshaller.objectToBuffer(new byte[2 * OutputBufferPool.DEFAULT_MAX_RETAINED_SIZE]);
+      ByteBuffer third = marshaller.objectToBuffer("third");
+
+      assertEquals(first.getLength(), first.getBuf().length);
+      assertEquals(third.getLength(), third.getBuf().length);
+      assertEquals("first value", marshaller.objectFromByteBuffer(first.getBuf(), first.getOffset(), first.getLength()));
+      assertEquals(2 * OutputBufferPool.DEFAULT_MAX_RETAINED_SIZE,
+                   ((byte[]) marshaller.objectFromByteBuffer(second.getBuf(), second.getOffset(), second.getLength())).length);
+      assertEquals("third", marshaller.objectFromByteBuffer(third.getBuf(), third.getOffset(), third.getLength()));
+   }
+
    protected void marshallAndAssertEquality(Object writeObj) throws Exception {
       byte[] bytes = marshaller.objectToByteBuffer(writeObj);
       log.debugf("Payload size for object=%s : %s", writeObj, bytes.length);
@@ -59,6 +59,8 @@ public void setUp() throws Exception {
       cache = cm.getCache();
       skipListenerCache = cm.getCache().getAdvancedCache().withFlags(Flag.SKIP_LISTENER_NOTIFICATION);
       mockNotifier = mock(CacheNotifier.class);
+      // the cache only notifies the visits served from the data container if there are listeners for them
+      when(mockNotifier.hasCacheEntryVisitedListeners()).thenReturn(true);
       origNotifier = TestingUtil.replaceComponent(cache, CacheNotifier.class, mockNotifier, true);
    }
 
@@ -0,0 +1,148 @@
+package org.infinispan.notifications.cachelistener.cluster;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.distribution.MagicKey;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryCreated;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
+import org.infinispan.notifications.cachelistener.event.CacheEntryEvent;
+import org.infinispan.remoting.transport.Address;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.TestingUtil;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+/**
+ * Tests the asynchronous, batched delivery of the events to the cluster listeners.
+ *
+ * @since 7.0
+ */
+@Test(groups = "functional", testName = "notifications.cachelistener.cluster.ClusterListenerAsyncTest")
+public class ClusterListenerAsyncTest extends MultipleCacheManagersTest {
+   private static final String CACHE_NAME = "cluster-listener";
+
+   public ClusterListenerAsyncTest() {
+      cleanup = CleanupPhase.AFTER_METHOD;
+   }
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      ConfigurationBuilder builder = new ConfigurationBuilder();
+      builder.clustering().cacheMode(CacheMode.DIST_SYNC)
+            .clusterListener().async(true).maxBatchSize(10).maxBatchLatency(5);
+      createClusteredCaches(3, CACHE_NAME, builder);
+   }
+
+   public void testEventsDeliveredInOrder() {
+      Cache<Object, Integer> cache0 = cache(0, CACHE_NAME);
+      Cache<Object, Integer> cache1 = cache(1, CACHE_NAME);
+
+      final BlockingClusterListener listener = new BlockingClusterListener(null);
+      cache0.addListener(listener);
+
+      MagicKey key = new MagicKey(cache1, cache(2, CACHE_NAME));
+      final int updates = 100;
+      for (int i = 0; i < updates; i++) {
+         cache1.put(key, i);
+      }
+
+      eventually(new Condition() {
+         @Override
+         public boolean isSatisfied() throws Exception {
+            return listener.events.size() == updates;
+         }
+      });
+      for (int i = 0; i < updates; i++) {
+         CacheEntryEvent event = listener.events.get(i);
+         assertEquals(key, event.getKey());
+         assertEquals(i, event.getValue());
+      }
+   }
+
+   public void testWriteDoesNotWaitForClusterListener() throws InterruptedException {
+      Cache<Object, Integer> cache0 = cache(0, CACHE_NAME);
+      Cache<Object, Integer> cache1 = cache(1, CACHE_NAME);
+
+      CountDownLatch latch = new CountDownLatch(1);
+      final BlockingClusterListener listener = new BlockingClusterListener(latch);
+      cache0.addListener(listener);
+
+      MagicKey key = new MagicKey(cache1, cache(2, CACHE_NAME));
+      try {
+         // The listener doesn't return until the latch is released, but the writes must not wait for it
+         cache1.put(key, 1);
+         cache1.put(key, 2);
+         assertEquals(0, listener.events.size());
+      } finally {
+         latch.countDown();
+      }
+
+      eventually(new Condition() {
+         @Override
+         public boolean isSatisfied() throws Exception {
+            return listener.events.size() == 2;
+         }
+      });
+      assertEquals(1, listener.events.get(0).getValue());
+      assertEquals(2, listener.events.get(1).getValue());
+   }
+
+   public void testQueueRemovedWhenTargetLeaves() {
+      Cache<Object, Integer> cache0 = cache(0, CACHE_NAME);
+      Cache<Object, Integer> cache1 = cache(1, CACHE_NAME);
+
+      final BlockingClusterListener listener = new BlockingClusterListener(null);
+      cache0.addListener(listener);
+      cache1.put(new MagicKey(cache1, cache(2, CACHE_NAME)), 1);
+      eventually(new Condition() {
+         @Override
+         public boolean isSatisfied() throws Exception {
+            return listener.events.size() == 1;
+         }
+      });
+
+      ClusterEventSender sender = TestingUtil.extractComponent(cache1, ClusterEventSender.class);
+      final Map<Address, ?> queues = (Map<Address, ?>) TestingUtil.extractField(sender, "queues");
+      final Address leaver = address(0);
+      assertTrue(queues.containsKey(leaver));
+
+      TestingUtil.killCacheManagers(manager(0));
+      cacheManagers.remove(0);
+      eventually(new Condition() {
+         @Override
+         public boolean isSatisfied() throws Exception {
+            return !queues.containsKey(leaver);
+         }
+      });
+   }
+
+   @Listener(clustered = true)
+   public static class BlockingClusterListener {
+      final List<CacheEntryEvent> events = Collections.synchronizedList(new ArrayList<CacheEntryEvent>());
+      private final CountDownLatch latch;
+
+      BlockingClusterListener(CountDownLatch latch) {
+         this.latch = latch;
+      }
+
+      @CacheEntryCreated
+      @CacheEntryModified
+      public void onCacheEvent(CacheEntryEvent event) throws InterruptedException {
+         if (latch != null) {
+            latch.await(10, TimeUnit.SECONDS);
+         }
+         events.add(event);
+      }
+   }
+}
@@ -5,10 +5,12 @@
 import static org.testng.AssertJUnit.*;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.infinispan.filter.CollectionKeyFilter;
@@ -22,11 +24,14 @@
 import org.infinispan.marshall.core.MarshalledEntry;
 import org.infinispan.marshall.core.MarshalledEntryImpl;
 import org.infinispan.marshall.core.MarshalledValue;
+import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.metadata.InternalMetadata;
+import org.infinispan.persistence.spi.AdvancedCacheLoader;
 import org.infinispan.persistence.spi.AdvancedCacheWriter;
 import org.infinispan.persistence.spi.AdvancedLoadWriteStore;
 import org.infinispan.persistence.spi.InitializationContext;
 import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.persistence.spi.SegmentedAdvancedLoadWriteStore;
 import org.infinispan.test.AbstractInfinispanTest;
 import org.infinispan.test.TestingUtil;
 import org.infinispan.test.fwk.TestInternalCacheEntryFactory;
@@ -52,6 +57,7 @@ public abstract class BaseStoreTest extends AbstractInfinispanTest {
    protected AdvancedLoadWriteStore<Object, Object> cl;
    protected ControlledTimeService timeService;
    private InternalEntryFactory factory;
+   private KeyPartitioner keyPartitioner;
 
    //alwaysRun = true otherwise, when we run unstable tests, this method is not invoked (because it belongs to the unit group)
    @BeforeMethod(alwaysRun = true)
@@ -379,6 +385,85 @@ public void testStoreAndRemove() throws PersistenceException {
       assertEquals("k4", set.iterator().next().getKey());
    }
 
+   public void testWriteAndDeleteBatch() throws PersistenceException {
+      assertIsEmpty();
+
+      List<MarshalledEntry<?, ?>> entries = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+         entries.add(marshalledEntry("k" + i, "v" + i, null));
+      }
+      PersistenceUtil.writeBatch(cl, entries);
+
+      Set<MarshalledEntry> set = TestingUtil.allEntries(cl);
+      assertSize(set, 10);
+      for (int i = 0; i < 10; i++) {
+         assertEquals("v" + i, cl.load("k" + i).getValue());
+      }
+
+      PersistenceUtil.deleteBatch(cl, Arrays.<Object>asList("k0", "k1", "k2", "k3", "k4", "k5", "k6", "k7", "k8"));
+
+      set = TestingUtil.allEntries(cl);
+      assertSize(set, 1);
+      assertEquals("k9", set.iterator().next().getKey());
+   }
+
+   public void testWriteBatchUpdatesExistingEntries() throws PersistenceException {
+      assertIsEmpty();
+
+      for (int i = 0; i < 5; i++) {
+         cl.write(marshalledEntry("k" + i, "v" + i, null));
+      }
+      List<MarshalledEntry<?, ?>> entries = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+         entries.add(marshalledEntry("k" + i, "v" + i + "-2", null));
+      }
+      PersistenceUtil.writeBatch(cl, entries);
+
+      assertSize(TestingUtil.allEntries(cl), 10);
+      for (int i = 0; i < 10; i++) {
+         assertEquals("v" + i + "-2", cl.load("k" + i).getValue());
+      }
+   }
+
+   public void testProcessSizeAndClearBySegments() throws PersistenceException {
+      // only applies to segmented stores initialized with createContext()
+      if (!(cl instanceof SegmentedAdvancedLoadWriteStore) || keyPartitioner == null)
+         return;
+      SegmentedAdvancedLoadWriteStore<Object, Object> store = (SegmentedAdvancedLoadWriteStore<Object, Object>) cl;
+      assertIsEmpty();
+
+      Set<Integer> segments = new HashSet<>();
+      for (int i = 0; i < 20; i++) {
+         cl.write(marshalledEntry("k" + i, "v" + i, null));
+         if (i < 5)
+            segments.add(keyPartitioner.getSegment("k" + i));
+      }
+      Set<Object> expectedKeys = new HashSet<>();
+      for (int i = 0; i < 20; i++) {
+         if (segments.contains(keyPartitioner.getSegment("k" + i)))
+            expectedKeys.add("k" + i);
+      }
+
+      assertEquals(expectedKeys.size(), store.size(segments));
+      final Set<Object> processedKeys = Collections.synchronizedSet(new HashSet<>());
+      store.process(segments, null, new AdvancedCacheLoader.CacheLoaderTask<Object, Object>() {
+         @Override
+         public void processEntry(MarshalledEntry<Object, Object> marshalledEntry, AdvancedCacheLoader.TaskContext taskContext) {
+            String key = (String) marshalledEntry.getKey();
+            assertEquals("v" + key.substring(1), unwrap(marshalledEntry.getValue()));
+            processedKeys.add(key);
+         }
+      }, new WithinThreadExecutor(), true, true);
+      assertEquals(expectedKeys, processedKeys);
+
+      store.clear(segments);
+      assertEquals(0, store.size(segments));
+      assertEquals(20 - expectedKeys.size(), cl.size());
+      for (int i = 0; i < 20; i++) {
+         assertContains("k" + i, !expectedKeys.contains("k" + i));
+      }
+   }
+
    public void testPurgeExpired() throws Exception {
       assertIsEmpty();
       // Increased lifespan and idle timeouts to accommodate slower cache stores
@@ -482,7 +567,10 @@ public void testLoadAndStoreMarshalledValues() throws PersistenceException {
 
 
    protected final InitializationContext createContext(Configuration configuration) {
-      return PersistenceMockUtil.createContext(getClass().getSimpleName(), configuration, getMarshaller(), timeService);
+      InitializationContext ctx = PersistenceMockUtil.createContext(getClass().getSimpleName(), configuration,
+                                                                    getMarshaller(), timeService);
+      keyPartitioner = ctx.getKeyPartitioner();
+      return ctx;
    }
 
    protected final void assertContains(Object k, boolean expected) {
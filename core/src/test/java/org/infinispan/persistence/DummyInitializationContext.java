@@ -4,10 +4,15 @@
 import org.infinispan.commons.io.ByteBufferFactory;
 import org.infinispan.commons.marshall.StreamingMarshaller;
 import org.infinispan.configuration.cache.StoreConfiguration;
+import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.marshall.core.MarshalledEntryFactory;
 import org.infinispan.persistence.spi.InitializationContext;
 import org.infinispan.util.TimeService;
 
+import java.util.concurrent.Executor;
+
+import static org.infinispan.factories.KnownComponentNames.PERSISTENCE_EXECUTOR;
+
 /**
  * @author Mircea Markus
  * @since 6.0
@@ -61,4 +66,14 @@ public ByteBufferFactory getByteBufferFactory() {
    public MarshalledEntryFactory getMarshalledEntryFactory() {
       return marshalledEntryFactory;
    }
+
+   @Override
+   public KeyPartitioner getKeyPartitioner() {
+      return cache.getAdvancedCache().getComponentRegistry().getComponent(KeyPartitioner.class);
+   }
+
+   @Override
+   public Executor getExecutor() {
+      return cache.getAdvancedCache().getComponentRegistry().getComponent(Executor.class, PERSISTENCE_EXECUTOR);
+   }
 }
@@ -71,20 +71,20 @@ public void tearDown() throws PersistenceException {
    }
 
    public void testStoreSizeExceeded() throws Exception {
-      assertStoreSize(0, 0);
+      assertStoreSize(0, false);
       TestObjectStreamMarshaller sm = new TestObjectStreamMarshaller();
       try {
          store.write(new MarshalledEntryImpl(1, "v1", null, sm));
          store.write(new MarshalledEntryImpl(2, "v2", null, sm));
-         assertStoreSize(1, 1);
+         assertStoreSize(1, true);
       } finally {
          sm.stop();
       }
    }
 
-   private void assertStoreSize(int expectedEntries, int expectedFree) {
+   private void assertStoreSize(int expectedEntries, boolean expectFreeSpace) {
       assertEquals("Entries: " + store.getEntries(), expectedEntries, store.getEntries().size());
-      assertEquals("Free: " + store.getFreeList(), expectedFree, store.getFreeList().size());
+      assertEquals("Free: " + store.getFreeSpace(), expectFreeSpace, store.getFreeSpace() > 0);
    }
 
 }
@@ -0,0 +1,96 @@
+package org.infinispan.persistence.file;
+
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.SingleFileStoreConfigurationBuilder;
+import org.infinispan.persistence.spi.AdvancedLoadWriteStore;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+import java.nio.MappedByteBuffer;
+import java.util.Arrays;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertSame;
+
+/**
+ * Runs the single-file cache store tests with the entries read from memory-mapped regions of the file.
+ *
+ * @since 7.0
+ */
+@Test(groups = "unit", testName = "persistence.file.MemoryMappedSingleFileStoreTest")
+public class MemoryMappedSingleFileStoreTest extends SingleFileStoreTest {
+
+   @Override
+   protected AdvancedLoadWriteStore createStore() throws Exception {
+      clearTempDir();
+      SingleFileStore store = new SingleFileStore();
+      ConfigurationBuilder configurationBuilder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      configurationBuilder
+            .persistence()
+               .addStore(SingleFileStoreConfigurationBuilder.class)
+                  .location(this.tmpDirectory)
+                  .memoryMapped(true);
+      store.init(createContext(configurationBuilder.build()));
+      return store;
+   }
+
+   public void testLoadAfterFileGrowsAndIsCleared() throws Exception {
+      char[] chars = new char[1024];
+      Arrays.fill(chars, 'x');
+      String value = new String(chars);
+
+      cl.write(marshalledEntry("k0", value + 0, null));
+      assertEquals(value + 0, cl.load("k0").getValue());
+
+      // the region mapped by the first load ends before the entries written now
+      for (int i = 1; i < 100; i++) {
+         cl.write(marshalledEntry("k" + i, value + i, null));
+      }
+      for (int i = 0; i < 100; i++) {
+         assertEquals(value + i, cl.load("k" + i).getValue());
+      }
+
+      cl.write(marshalledEntry("k0", "v0", null));
+      assertEquals("v0", cl.load("k0").getValue());
+
+      cl.clear();
+      assertNull(cl.load("k1"));
+      cl.write(marshalledEntry("k1", "v1", null));
+      assertEquals("v1", cl.load("k1").getValue());
+   }
+
+   public void testRegionOnlyRemappedAfterLargeGrowth() throws Exception {
+      char[] chars = new char[1024];
+      Arrays.fill(chars, 'x');
+      String value = new String(chars);
+
+      // a small file is read from the channel
+      cl.write(marshalledEntry("k0", value + 0, null));
+      assertEquals(value + 0, cl.load("k0").getValue());
+      assertEquals(0, mappedRegions().length);
+
+      // once the file is larger than 1MB, it is mapped
+      for (int i = 1; i < 2000; i++) {
+         cl.write(marshalledEntry("k" + i, value + i, null));
+      }
+      assertEquals(value + 1999, cl.load("k1999").getValue());
+      MappedByteBuffer region = mappedRegions()[0];
+      assertNotNull(region);
+
+      // the entries written after the mapping are read from the channel, without remapping
+      for (int i = 2000; i < 2100; i++) {
+         cl.write(marshalledEntry("k" + i, value + i, null));
+      }
+      for (int i = 0; i < 2100; i++) {
+         assertEquals(value + i, cl.load("k" + i).getValue());
+      }
+      assertSame(region, mappedRegions()[0]);
+   }
+
+   private MappedByteBuffer[] mappedRegions() {
+      return (MappedByteBuffer[]) TestingUtil.extractField(cl, "mappedRegions");
+   }
+}
@@ -192,6 +192,40 @@ public void testSpaceOptimization() throws ExecutionException, InterruptedExcept
       }
    }
 
+   public void testBackgroundCompaction() throws Exception {
+      final int NUM_KEYS = 10;
+      final int TIMES = 300;
+
+      Cache<String, String> cache = cacheManager.getCache(CACHE_NAME);
+      PersistenceManager persistenceManager = TestingUtil.extractComponent(cache, PersistenceManager.class);
+      final SingleFileStore store = persistenceManager.getStores(SingleFileStore.class).iterator().next();
+      final StreamingMarshaller marshaller = TestingUtil.extractComponentRegistry(cache).getCacheMarshaller();
+      store.clear();
+
+      // Overwrite the same keys with 10KB values, the file would grow to 30MB without compaction
+      for (int i = 0; i < TIMES; i++) {
+         for (int j = 0; j < NUM_KEYS; j++) {
+            String key = "key" + j;
+            String value = key + "_value_" + i + "_" + times("123456789_", 1000);
+            store.write(new MarshalledEntryImpl<String, String>(key, value, null, marshaller));
+         }
+      }
+
+      final File file = new File(location, CACHE_NAME + ".dat");
+      eventually(new Condition() {
+         @Override
+         public boolean isSatisfied() throws Exception {
+            return file.length() < 3 * 1024 * 1024;
+         }
+      });
+      assertEquals(NUM_KEYS, store.size());
+      for (int j = 0; j < NUM_KEYS; j++) {
+         String key = "key" + j;
+         String value = (String) store.load(key).getValue();
+         assertTrue(value, value.startsWith(key + "_value_" + (TIMES - 1) + "_"));
+      }
+   }
+
    public void testFileTruncation() throws ExecutionException, InterruptedException {
       final int NUM_WRITER_THREADS = 2;
       final int NUM_READER_THREADS = 2;
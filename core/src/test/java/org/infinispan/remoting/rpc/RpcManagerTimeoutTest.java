@@ -1,5 +1,6 @@
 package org.infinispan.remoting.rpc;
 
+import org.infinispan.commons.util.concurrent.NotifyingFuture;
 import org.infinispan.configuration.cache.CacheMode;
 import org.infinispan.configuration.cache.ConfigurationBuilder;
 import org.infinispan.remoting.responses.Response;
@@ -12,6 +13,7 @@
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -70,6 +72,23 @@ public void testTimeoutWithTotalOrderAnycast() {
       doTest(null, true, false);
    }
 
+   @Test(expectedExceptions = TimeoutException.class)
+   public void testTimeoutWithAsyncInvocation() throws Throwable {
+      RpcManager rpcManager = advancedCache(0, CACHE_NAME).getRpcManager();
+      RpcOptions options = rpcManager.getRpcOptionsBuilder(ResponseMode.SYNCHRONOUS)
+            .timeout(1000, TimeUnit.MILLISECONDS).build();
+      List<Address> members = rpcManager.getMembers();
+      NotifyingFuture<Map<Address, Response>> future = rpcManager.invokeRemotelyAsync(
+            members.subList(2, 4), new SleepingCacheRpcCommand(CACHE_NAME, 5000), options);
+      Assert.assertFalse(future.isDone());
+      try {
+         future.get(10, TimeUnit.SECONDS);
+      } catch (ExecutionException e) {
+         throw e.getCause();
+      }
+      Assert.fail("Timeout exception wasn't thrown");
+   }
+
    @Override
    protected void createCacheManagers() throws Throwable {
       ConfigurationBuilder builder = getDefaultClusteredCacheConfig(CacheMode.REPL_SYNC, true);
@@ -420,6 +420,16 @@ public void testPutAll_Map(SecureCache<String, String> cache) {
       cache.putAll(Collections.singletonMap("a", "a"));
    }
 
+   @TestCachePermission(AuthorizationPermission.WRITE)
+   public void testPutAll_Map_Metadata(SecureCache<String, String> cache) {
+      cache.putAll(Collections.singletonMap("a", "a"), metadata);
+   }
+
+   @TestCachePermission(AuthorizationPermission.READ)
+   public void testGetAll_Set(SecureCache<String, String> cache) {
+      cache.getAll(Collections.singleton("a"));
+   }
+
    @TestCachePermission(AuthorizationPermission.NONE)
    public void testEquals_Object(SecureCache<String, String> cache) {
       cache.equals(cache);
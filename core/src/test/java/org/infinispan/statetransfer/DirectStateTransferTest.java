@@ -0,0 +1,94 @@
+package org.infinispan.statetransfer;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.distribution.DistributionManager;
+import org.infinispan.interceptors.InterceptorChain;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryCreated;
+import org.infinispan.notifications.cachelistener.event.CacheEntryCreatedEvent;
+import org.infinispan.persistence.dummy.DummyInMemoryStore;
+import org.infinispan.persistence.dummy.DummyInMemoryStoreConfigurationBuilder;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertTrue;
+
+/**
+ * Tests that the state received by a non-transactional cache is applied without invoking the interceptor chain, while
+ * still notifying the listeners and writing the entries to the private stores.
+ *
+ * @since 7.0
+ */
+@Test(groups = "functional", testName = "statetransfer.DirectStateTransferTest")
+public class DirectStateTransferTest extends MultipleCacheManagersTest {
+
+   private static final int NUM_KEYS = 100;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      for (int i = 0; i < 3; i++) {
+         ConfigurationBuilder builder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+         builder.clustering().cacheMode(CacheMode.DIST_SYNC)
+               .l1().disable()
+               .hash().numOwners(2);
+         builder.persistence().addStore(DummyInMemoryStoreConfigurationBuilder.class)
+               .storeName(getClass().getSimpleName() + i);
+         addClusterEnabledCacheManager(builder);
+      }
+      waitForClusterToForm();
+   }
+
+   public void testLeaverStateIsAppliedDirectly() throws Exception {
+      for (Cache<Object, Object> c : this.<Object, Object>caches()) {
+         InterceptorChain chain = c.getAdvancedCache().getComponentRegistry().getComponent(InterceptorChain.class);
+         assertTrue(chain.allowsDirectStateTransfer());
+      }
+
+      CreatedKeysListener listener = new CreatedKeysListener();
+      cache(0).addListener(listener);
+      for (int i = 0; i < NUM_KEYS; i++) {
+         cache(2).put("k" + i, "v" + i);
+      }
+
+      TestingUtil.killCacheManagers(manager(2));
+      cacheManagers.remove(2);
+      waitForClusterToForm();
+
+      Cache<Object, Object> c = cache(0);
+      DistributionManager dm = c.getAdvancedCache().getDistributionManager();
+      DummyInMemoryStore store = (DummyInMemoryStore) TestingUtil.getFirstWriter(c);
+      int ownedKeys = 0;
+      for (int i = 0; i < NUM_KEYS; i++) {
+         String key = "k" + i;
+         if (!dm.getLocality(key).isLocal())
+            continue;
+
+         ownedKeys++;
+         assertEquals("v" + i, c.getAdvancedCache().getDataContainer().get(key).getValue());
+         assertTrue(store.contains(key));
+         assertTrue(listener.createdKeys.contains(key));
+      }
+      assertTrue(ownedKeys > 0);
+   }
+
+   @Listener
+   public static class CreatedKeysListener {
+      final Set<Object> createdKeys = Collections.newSetFromMap(new ConcurrentHashMap<Object, Boolean>());
+
+      @CacheEntryCreated
+      public void entryCreated(CacheEntryCreatedEvent<Object, Object> event) {
+         if (!event.isPre()) {
+            createdKeys.add(event.getKey());
+         }
+      }
+   }
+}
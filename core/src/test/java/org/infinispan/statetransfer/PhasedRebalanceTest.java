@@ -0,0 +1,125 @@
+package org.infinispan.statetransfer;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.distribution.DistributionManager;
+import org.infinispan.distribution.ch.ConsistentHash;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.TopologyChanged;
+import org.infinispan.notifications.cachelistener.event.TopologyChangedEvent;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.topology.ClusterCacheStatus;
+import org.infinispan.topology.ClusterTopologyManager;
+import org.infinispan.topology.ClusterTopologyManagerImpl;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
+
+/**
+ * Tests that a rebalance moving more than {@code maxSegmentsPerRebalance} segments is split into several phases, and
+ * that the cache reaches a balanced consistent hash with all the entries in place at the end.
+ *
+ * @since 7.0
+ */
+@Test(groups = "functional", testName = "statetransfer.PhasedRebalanceTest")
+public class PhasedRebalanceTest extends MultipleCacheManagersTest {
+
+   private static final int NUM_KEYS = 200;
+   private static final int MAX_SEGMENTS_PER_REBALANCE = 4;
+
+   private ConfigurationBuilder builder;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      builder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      builder.clustering().cacheMode(CacheMode.DIST_SYNC)
+            .l1().disable()
+            .hash().numOwners(2).numSegments(40)
+            .stateTransfer().maxSegmentsPerRebalance(MAX_SEGMENTS_PER_REBALANCE);
+      createCluster(builder, 2);
+      waitForClusterToForm();
+   }
+
+   public void testJoinerRebalancesInPhases() throws Exception {
+      for (int i = 0; i < NUM_KEYS; i++) {
+         cache(0).put("k" + i, "v" + i);
+      }
+
+      RebalancePhaseListener listener = new RebalancePhaseListener(cache(0));
+      cache(0).addListener(listener);
+
+      addClusterEnabledCacheManager(builder);
+      waitForClusterToForm();
+      waitForRebalancePhasesToComplete();
+
+      assertTrue(listener.maxRebalancingSegments.get() > 0);
+      assertTrue(listener.maxRebalancingSegments.get() <= MAX_SEGMENTS_PER_REBALANCE);
+      assertTrue(listener.phases.size() > 1);
+
+      for (Cache<Object, Object> c : this.<Object, Object>caches()) {
+         StateTransferManager stm = TestingUtil.extractComponent(c, StateTransferManager.class);
+         ConsistentHash ch = stm.getCacheTopology().getCurrentCH();
+         assertEquals(0, stm.getRebalancingSegmentsCount());
+         assertFalse(ch.getPrimarySegmentsForOwner(c.getCacheManager().getAddress()).isEmpty());
+
+         DistributionManager dm = c.getAdvancedCache().getDistributionManager();
+         for (int i = 0; i < NUM_KEYS; i++) {
+            String key = "k" + i;
+            assertEquals("v" + i, c.get(key));
+            if (dm.getLocality(key).isLocal()) {
+               assertEquals("v" + i, c.getAdvancedCache().getDataContainer().get(key).getValue());
+            }
+         }
+      }
+   }
+
+   private void waitForRebalancePhasesToComplete() {
+      ClusterTopologyManager ctm = TestingUtil.extractGlobalComponent(manager(0), ClusterTopologyManager.class);
+      Map<String, ClusterCacheStatus> cacheStatusMap =
+            (Map<String, ClusterCacheStatus>) TestingUtil.extractField(ClusterTopologyManagerImpl.class, ctm, "cacheStatusMap");
+      final ClusterCacheStatus cacheStatus = cacheStatusMap.get(cache(0).getName());
+      eventually(new Condition() {
+         @Override
+         public boolean isSatisfied() throws Exception {
+            return !cacheStatus.isRebalanceInProgress() && !cacheStatus.hasRemainingRebalancePhases();
+         }
+      });
+      TestingUtil.waitForRehashToComplete(caches());
+   }
+
+   @Listener
+   public static class RebalancePhaseListener {
+      final StateTransferManager stateTransferManager;
+      final AtomicInteger maxRebalancingSegments = new AtomicInteger();
+      final Set<Integer> phases = new ConcurrentSkipListSet<Integer>();
+
+      RebalancePhaseListener(Cache<?, ?> cache) {
+         stateTransferManager = TestingUtil.extractComponent(cache, StateTransferManager.class);
+      }
+
+      @TopologyChanged
+      public void topologyChanged(TopologyChangedEvent<Object, Object> event) {
+         if (event.isPre())
+            return;
+
+         int rebalancingSegments = stateTransferManager.getRebalancingSegmentsCount();
+         if (rebalancingSegments > 0) {
+            phases.add(event.getNewTopologyId());
+         }
+         int max;
+         do {
+            max = maxRebalancingSegments.get();
+         } while (rebalancingSegments > max && !maxRebalancingSegments.compareAndSet(max, rebalancingSegments));
+      }
+   }
+}
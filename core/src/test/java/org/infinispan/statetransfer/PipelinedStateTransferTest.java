@@ -0,0 +1,65 @@
+package org.infinispan.statetransfer;
+
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.CacheMode;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.distribution.DistributionManager;
+import org.infinispan.test.MultipleCacheManagersTest;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.testng.annotations.Test;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+/**
+ * Tests that the state is transferred completely when several small chunks are in flight and each state request is
+ * split into several outbound transfers.
+ *
+ * @since 7.0
+ */
+@Test(groups = "functional", testName = "statetransfer.PipelinedStateTransferTest")
+public class PipelinedStateTransferTest extends MultipleCacheManagersTest {
+
+   private static final int NUM_KEYS = 1000;
+
+   private ConfigurationBuilder builder;
+
+   @Override
+   protected void createCacheManagers() throws Throwable {
+      builder = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      builder.clustering().cacheMode(CacheMode.DIST_SYNC)
+            .l1().disable()
+            .hash().numOwners(2).numSegments(40)
+            .stateTransfer().chunkSize(10).maxChunksInFlight(4).outboundParallelism(3);
+      createCluster(builder, 2);
+      waitForClusterToForm();
+   }
+
+   public void testJoinAndLeave() {
+      for (int i = 0; i < NUM_KEYS; i++) {
+         cache(0).put("k" + i, "v" + i);
+      }
+
+      addClusterEnabledCacheManager(builder);
+      addClusterEnabledCacheManager(builder);
+      waitForClusterToForm();
+      assertOwnedEntries();
+
+      TestingUtil.killCacheManagers(manager(0));
+      cacheManagers.remove(0);
+      waitForClusterToForm();
+      assertOwnedEntries();
+   }
+
+   private void assertOwnedEntries() {
+      for (Cache<Object, Object> c : this.<Object, Object>caches()) {
+         DistributionManager dm = c.getAdvancedCache().getDistributionManager();
+         for (int i = 0; i < NUM_KEYS; i++) {
+            String key = "k" + i;
+            if (dm.getLocality(key).isLocal()) {
+               assertEquals("v" + i, c.getAdvancedCache().getDataContainer().get(key).getValue());
+            }
+         }
+      }
+   }
+}
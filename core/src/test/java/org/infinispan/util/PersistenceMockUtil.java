@@ -7,6 +7,7 @@
 import org.infinispan.configuration.cache.Configuration;
 import org.infinispan.configuration.global.GlobalConfiguration;
 import org.infinispan.configuration.global.GlobalConfigurationBuilder;
+import org.infinispan.distribution.ch.impl.HashFunctionPartitioner;
 import org.infinispan.factories.ComponentRegistry;
 import org.infinispan.factories.GlobalComponentRegistry;
 import org.infinispan.lifecycle.ComponentStatus;
@@ -15,6 +16,7 @@
 import org.infinispan.persistence.InitializationContextImpl;
 import org.infinispan.persistence.spi.InitializationContext;
 import org.infinispan.test.AbstractInfinispanTest;
+import org.infinispan.util.concurrent.WithinThreadExecutor;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -39,7 +41,10 @@ public static InitializationContext createContext(String cacheName, Configuratio
    public static InitializationContext createContext(String cacheName, Configuration configuration, StreamingMarshaller marshaller, TimeService timeService) {
       Cache mockCache = mockCache(cacheName, configuration, timeService);
       return new InitializationContextImpl(configuration.persistence().stores().get(0), mockCache, marshaller,
-                                           timeService, new ByteBufferFactoryImpl(), new MarshalledEntryFactoryImpl(marshaller));
+                                           timeService, new ByteBufferFactoryImpl(), new MarshalledEntryFactoryImpl(marshaller),
+                                           new HashFunctionPartitioner(configuration.clustering().hash().hash(),
+                                                                       configuration.clustering().hash().numSegments()),
+                                           new WithinThreadExecutor());
    }
 
    public static Cache mockCache(String name, Configuration configuration) {
@@ -1,14 +1,24 @@
 package org.infinispan.util.concurrent;
 
 import org.infinispan.commons.equivalence.AnyEquivalence;
+import org.infinispan.commons.equivalence.Equivalence;
+import org.infinispan.eviction.EntrySizeCalculator;
 import org.infinispan.util.EquivalentHashMapTest;
 import org.infinispan.util.concurrent.BoundedConcurrentHashMap.Eviction;
+import org.infinispan.util.concurrent.BoundedConcurrentHashMap.HashEntry;
 import org.infinispan.util.concurrent.BoundedConcurrentHashMap.EvictionListener;
 import org.infinispan.util.concurrent.BoundedConcurrentHashMap.NullEvictionListener;
+import org.infinispan.util.concurrent.BoundedConcurrentHashMap.Region;
+import org.infinispan.util.concurrent.BoundedConcurrentHashMap.TinyLFUHashEntry;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -230,4 +240,212 @@ public void onEntryChosenForEviction(Integer internalCacheEntry) {
       bchm.put(3, 3); // evict 1, LRU: 0, 2, 3
       bchm.put(4, 4); // evict 0, LRU: 2, 3, 4
    }
+
+   public void testLRUWeightedEviction() {
+      final List<Integer> chosen = new ArrayList<Integer>();
+      Map<Integer, Integer> bchm = createWeightedMap(100, Eviction.LRU, chosen);
+
+      bchm.put(0, 40);
+      bchm.put(1, 40);
+      bchm.get(0);
+      bchm.put(2, 40); // evict 1
+      assertEquals(Arrays.asList(40), chosen);
+      assertEquals(2, bchm.size());
+      assertFalse(bchm.containsKey(1));
+
+      bchm.put(3, 90); // evict 0 and 2
+      assertEquals(Arrays.asList(40, 40, 40), chosen);
+      assertEquals(1, bchm.size());
+      assertEquals(90, bchm.get(3).intValue());
+   }
+
+   public void testLRUWeightedUpdate() {
+      final List<Integer> chosen = new ArrayList<Integer>();
+      Map<Integer, Integer> bchm = createWeightedMap(100, Eviction.LRU, chosen);
+
+      bchm.put(0, 30);
+      bchm.put(1, 30);
+      bchm.put(2, 30);
+      bchm.put(0, 50); // grows, evict 1 but not the updated entry
+      assertEquals(Arrays.asList(30), chosen);
+      assertEquals(50, bchm.get(0).intValue());
+      assertTrue(bchm.containsKey(2));
+
+      bchm.replace(2, 10); // shrinks, nothing to evict
+      bchm.put(3, 40);
+      assertEquals(Arrays.asList(30), chosen);
+      assertEquals(3, bchm.size());
+   }
+
+   public void testLIRSWeightedEviction() {
+      testWeightedEvictionBound(Eviction.LIRS);
+   }
+
+   public void testLRUWeightedEvictionBound() {
+      testWeightedEvictionBound(Eviction.LRU);
+   }
+
+   public void testTinyLFUWeightedEvictionBound() {
+      testWeightedEvictionBound(Eviction.TINY_LFU);
+   }
+
+   public void testTinyLFUEvictionBound() {
+      Map<Integer, Integer> bchm = new BoundedConcurrentHashMap<Integer, Integer>(
+            100, 1, Eviction.TINY_LFU, AnyEquivalence.INT, AnyEquivalence.INT);
+      Random random = new Random(42);
+      for (int i = 0; i < 10000; i++) {
+         int key = random.nextInt(1000);
+         bchm.put(key, key);
+         bchm.get(random.nextInt(1000));
+         assertTrue("Size too big: " + bchm.size(), bchm.size() <= 100);
+      }
+      assertEquals(100, bchm.size());
+   }
+
+   public void testTinyLFUScanResistance() {
+      assertTrue(hotEntriesAfterScan(Eviction.TINY_LFU) >= 40);
+      assertEquals(0, hotEntriesAfterScan(Eviction.LRU));
+   }
+
+   public void testTinyLFURemoveFromSharedBucket() {
+      final List<Integer> chosen = new ArrayList<Integer>();
+      final Map<Integer, Integer> evicted = new HashMap<Integer, Integer>();
+      EvictionListener<Integer, Integer> l = new NullEvictionListener<Integer, Integer>() {
+         @Override
+         public void onEntryEviction(Map<Integer, Integer> entries) {
+            evicted.putAll(entries);
+         }
+
+         @Override
+         public void onEntryChosenForEviction(Integer internalCacheEntry) {
+            chosen.add(internalCacheEntry);
+         }
+      };
+      BoundedConcurrentHashMap<Integer, Integer> bchm = new BoundedConcurrentHashMap<Integer, Integer>(
+            10, 1, Eviction.TINY_LFU, l, new SameHashEquivalence(), AnyEquivalence.INT);
+
+      // fill the segment: window 9, probation 0..8
+      for (int i = 0; i < 10; i++)
+         bchm.put(i, i);
+      // protected 1..3, once the hits are processed
+      for (int i = 0; i < 4; i++)
+         bchm.get(i);
+
+      // all the other entries precede 0 in the bucket, so they are all copied
+      bchm.remove(0);
+      assertEquals(9, bchm.size());
+      assertTrue(chosen.isEmpty());
+      assertTrue(evicted.isEmpty());
+      for (int i = 1; i < 10; i++) {
+         Region expected = i <= 3 ? Region.PROTECTED : i <= 8 ? Region.PROBATION : Region.WINDOW;
+         assertEquals("Region of " + i, expected, tinyLFUEntry(bchm, i).region);
+      }
+
+      // 9 moves to the main space, which is now full
+      bchm.put(10, 10);
+      assertTrue(chosen.isEmpty());
+      assertEquals(Region.PROBATION, tinyLFUEntry(bchm, 9).region);
+
+      // all the keys have the same frequency, so 10 is not admitted
+      bchm.put(11, 11);
+      assertEquals(Arrays.asList(10), chosen);
+      assertEquals(Collections.singletonMap(10, 10), evicted);
+      assertEquals(10, bchm.size());
+      assertEquals(Region.WINDOW, tinyLFUEntry(bchm, 11).region);
+      assertEquals(Region.PROBATION, tinyLFUEntry(bchm, 4).region);
+   }
+
+   private TinyLFUHashEntry<Integer, Integer> tinyLFUEntry(BoundedConcurrentHashMap<Integer, Integer> bchm, int key) {
+      for (HashEntry<Integer, Integer> first : bchm.segments[0].table) {
+         for (HashEntry<Integer, Integer> e = first; e != null; e = e.next) {
+            if (e.key == key)
+               return (TinyLFUHashEntry<Integer, Integer>) e;
+         }
+      }
+      throw new AssertionError("Key " + key + " not found");
+   }
+
+   private static class SameHashEquivalence implements Equivalence<Integer> {
+      @Override
+      public int hashCode(Object obj) {
+         return 0;
+      }
+
+      @Override
+      public boolean equals(Integer obj, Object otherObj) {
+         return obj.equals(otherObj);
+      }
+
+      @Override
+      public String toString(Object obj) {
+         return String.valueOf(obj);
+      }
+
+      @Override
+      public boolean isComparable(Object obj) {
+         return false;
+      }
+
+      @Override
+      public int compare(Integer obj, Integer otherObj) {
+         return 0;
+      }
+   }
+
+   private int hotEntriesAfterScan(Eviction eviction) {
+      Map<Integer, Integer> bchm = new BoundedConcurrentHashMap<Integer, Integer>(
+            100, 1, eviction, AnyEquivalence.INT, AnyEquivalence.INT);
+      for (int round = 0; round < 5; round++) {
+         for (int i = 0; i < 50; i++) {
+            if (bchm.get(i) == null)
+               bchm.put(i, i);
+         }
+      }
+      // keys only accessed once
+      for (int i = 1000; i < 5000; i++) {
+         bchm.put(i, i);
+      }
+      int hot = 0;
+      for (int i = 0; i < 50; i++) {
+         if (bchm.containsKey(i))
+            hot++;
+      }
+      return hot;
+   }
+
+   private void testWeightedEvictionBound(Eviction eviction) {
+      final List<Integer> chosen = new ArrayList<Integer>();
+      Map<Integer, Integer> bchm = createWeightedMap(1000, eviction, chosen);
+      Random random = new Random(42);
+      for (int i = 0; i < 2000; i++) {
+         int key = random.nextInt(200);
+         if (random.nextBoolean()) {
+            bchm.put(key, 1 + random.nextInt(100));
+         } else {
+            bchm.get(key);
+         }
+         int weight = 0;
+         for (Integer value : bchm.values())
+            weight += value;
+         assertTrue("Total weight too big: " + weight, weight <= 1000);
+      }
+      assertFalse(chosen.isEmpty());
+   }
+
+   private Map<Integer, Integer> createWeightedMap(long maxWeight, Eviction eviction, final List<Integer> chosen) {
+      EvictionListener<Integer, Integer> l = new NullEvictionListener<Integer, Integer>() {
+         @Override
+         public void onEntryChosenForEviction(Integer internalCacheEntry) {
+            chosen.add(internalCacheEntry);
+         }
+      };
+      EntrySizeCalculator<Integer, Integer> valueWeight = new EntrySizeCalculator<Integer, Integer>() {
+         @Override
+         public long calculateSize(Integer key, Integer value) {
+            return value;
+         }
+      };
+      return new BoundedConcurrentHashMap<Integer, Integer>(
+            maxWeight, 1, eviction, l, valueWeight, AnyEquivalence.INT, AnyEquivalence.INT);
+   }
 }
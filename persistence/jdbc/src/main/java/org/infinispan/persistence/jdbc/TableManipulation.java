@@ -99,11 +99,28 @@ public void createTable(Connection conn) throws PersistenceException {
       String createTableDdl = "CREATE TABLE " + getTableName() + "(" + config.idColumnName() + " " + config.idColumnType()
             + " NOT NULL, " + config.dataColumnName() + " " + config.dataColumnType() + ", "
             + config.timestampColumnName() + " " + config.timestampColumnType() +
+            (isSegmented() ? ", " + config.segmentColumnName() + " " + config.segmentColumnType() : "") +
             ", PRIMARY KEY (" + config.idColumnName() + "))";
       if (log.isTraceEnabled()) {
          log.tracef("Creating table with following DDL: '%s'.", createTableDdl);
       }
       executeUpdateSql(conn, createTableDdl);
+      if (isSegmented()) {
+         String quote = getIdentifierQuoteString();
+         String createIndexDdl = "CREATE INDEX " + quote + getTableName().getName() + "_SEGMENT_IDX" + quote + " ON "
+               + getTableName() + " (" + config.segmentColumnName() + ")";
+         if (log.isTraceEnabled()) {
+            log.tracef("Creating segment index with following DDL: '%s'.", createIndexDdl);
+         }
+         executeUpdateSql(conn, createIndexDdl);
+      }
+   }
+
+   /**
+    * @return {@code true} if the table has a column storing the segment of each key
+    */
+   public boolean isSegmented() {
+      return config.segmentColumnName() != null;
    }
 
    private void assertMandatoryElementsPresent() throws PersistenceException {
@@ -168,7 +185,11 @@ public void stop() throws PersistenceException {
 
    public String getInsertRowSql() {
       if (insertRowSql == null) {
-         insertRowSql = "INSERT INTO " + getTableName() + " (" + config.dataColumnName() + ", " + config.timestampColumnName() + ", " + config.idColumnName() + ") VALUES(?,?,?)";
+         if (isSegmented()) {
+            insertRowSql = "INSERT INTO " + getTableName() + " (" + config.dataColumnName() + ", " + config.timestampColumnName() + ", " + config.idColumnName() + ", " + config.segmentColumnName() + ") VALUES(?,?,?,?)";
+         } else {
+            insertRowSql = "INSERT INTO " + getTableName() + " (" + config.dataColumnName() + ", " + config.timestampColumnName() + ", " + config.idColumnName() + ") VALUES(?,?,?)";
+         }
       }
       return insertRowSql;
    }
@@ -224,6 +245,31 @@ public String getSelectIdRowSql() {
       return selectIdRowSql;
    }
 
+   /**
+    * Selects the ids of the rows matching any of the given number of ids, passed as parameters.
+    */
+   public String getSelectIdRowsSql(int numIds) {
+      String id;
+      switch(getDialect()) {
+         case SYBASE:
+            id = "convert(" + config.idColumnType() + ",?)";
+            break;
+         case POSTGRES:
+            id = "cast(? as " + config.idColumnType() + ")";
+            break;
+         default:
+            id = "?";
+            break;
+      }
+      StringBuilder sb = new StringBuilder("SELECT ").append(config.idColumnName()).append(" FROM ").append(getTableName())
+            .append(" WHERE ").append(config.idColumnName()).append(" IN (");
+      for (int i = 0; i < numIds; i++) {
+         if (i > 0) sb.append(",");
+         sb.append(id);
+      }
+      return sb.append(")").toString();
+   }
+
    public String getCountRowsSql() {
       if (countRowsSql == null) {
          countRowsSql = "SELECT COUNT(*) FROM " + getTableName();
@@ -284,6 +330,39 @@ public String getDeleteExpiredRowsSql() {
       return deleteExpiredRowsSql;
    }
 
+   /**
+    * Selects the non expired rows of the given number of segments: the current time is the first parameter and the
+    * segments are the following ones. Only supported if the table {@link #isSegmented()}.
+    */
+   public String getLoadNonExpiredRowsForSegmentsSql(int numSegments) {
+      return "SELECT " + config.dataColumnName() + "," + config.idColumnName() + ", " + config.timestampColumnName() + " FROM " + getTableName() + " WHERE (" +
+            config.timestampColumnName() + " > ? OR " + config.timestampColumnName() + " < 0) AND " + segmentsInClause(numSegments);
+   }
+
+   /**
+    * Counts the rows of the given number of segments, passed as parameters. Only supported if the table
+    * {@link #isSegmented()}.
+    */
+   public String getCountRowsForSegmentsSql(int numSegments) {
+      return getCountRowsSql() + " WHERE " + segmentsInClause(numSegments);
+   }
+
+   /**
+    * Deletes the rows of the given number of segments, passed as parameters. Only supported if the table
+    * {@link #isSegmented()}.
+    */
+   public String getDeleteRowsForSegmentsSql(int numSegments) {
+      return getDeleteAllRowsSql() + " WHERE " + segmentsInClause(numSegments);
+   }
+
+   private String segmentsInClause(int numSegments) {
+      StringBuilder sb = new StringBuilder(config.segmentColumnName()).append(" IN (");
+      for (int i = 0; i < numSegments; i++) {
+         sb.append(i == 0 ? "?" : ",?");
+      }
+      return sb.append(")").toString();
+   }
+
    @Override
    public TableManipulation clone() {
       try {
@@ -313,6 +313,17 @@ private void parseTableElements(XMLExtendedStreamReader reader, TableManipulatio
                builder.timestampColumnType(column.type);
                break;
             }
+            case SEGMENT_COLUMN: {
+               if (!(builder instanceof JdbcStringBasedStoreConfigurationBuilder.StringTableManipulationConfigurationBuilder)) {
+                  throw ParseUtils.unexpectedElement(reader);
+               }
+               Column column = parseTableElementAttributes(reader);
+               JdbcStringBasedStoreConfigurationBuilder.StringTableManipulationConfigurationBuilder stringTable =
+                     (JdbcStringBasedStoreConfigurationBuilder.StringTableManipulationConfigurationBuilder) builder;
+               stringTable.segmentColumnName(column.name);
+               stringTable.segmentColumnType(column.type);
+               break;
+            }
             default: {
                throw ParseUtils.unexpectedElement(reader);
             }
@@ -92,6 +92,24 @@ public StringTableManipulationConfigurationBuilder self() {
          return this;
       }
 
+      /**
+       * The name of the database column used to store the segment of each key. This is an optional parameter: when
+       * it is set, the rows of a segment can be selected, counted and removed without reading the whole table, which
+       * is what state transfer does when segments move between nodes.
+       */
+      public StringTableManipulationConfigurationBuilder segmentColumnName(String segmentColumnName) {
+         this.segmentColumnName = segmentColumnName;
+         return this;
+      }
+
+      /**
+       * The type of the database column used to store the segment of each key, e.g. INT
+       */
+      public StringTableManipulationConfigurationBuilder segmentColumnType(String segmentColumnType) {
+         this.segmentColumnType = segmentColumnType;
+         return this;
+      }
+
       @Override
       public PooledConnectionFactoryConfigurationBuilder<JdbcStringBasedStoreConfigurationBuilder> connectionPool() {
          return JdbcStringBasedStoreConfigurationBuilder.this.connectionPool();
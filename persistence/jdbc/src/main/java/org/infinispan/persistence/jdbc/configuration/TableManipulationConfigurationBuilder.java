@@ -28,6 +28,9 @@
    private String dataColumnType;
    private String timestampColumnName;
    private String timestampColumnType;
+   // Only exposed by the string-keyed table builder, the binary tables store buckets that span several segments
+   String segmentColumnName;
+   String segmentColumnType;
 
    // Needs package access for validate() in JdbcMixedCacheStoreConfigurationBuilder
    String tableNamePrefix;
@@ -136,6 +139,10 @@ public void validate() {
       validateIfSet("timestampColumnName", timestampColumnName);
       validateIfSet("timestampColumnType", timestampColumnType);
       validateIfSet("tableNamePrefix", tableNamePrefix);
+      if (segmentColumnName != null || segmentColumnType != null) {
+         validateIfSet("segmentColumnName", segmentColumnName);
+         validateIfSet("segmentColumnType", segmentColumnType);
+      }
    }
 
    @Override
@@ -151,7 +158,7 @@ private void validateIfSet(String name, String value) {
    @Override
    public TableManipulationConfiguration create() {
       return new TableManipulationConfiguration(idColumnName, idColumnType, tableNamePrefix, cacheName, dataColumnName, dataColumnType, timestampColumnName, timestampColumnType,
-               fetchSize, batchSize, createOnStart, dropOnExit);
+               segmentColumnName, segmentColumnType, fetchSize, batchSize, createOnStart, dropOnExit);
    }
 
    @Override
@@ -166,6 +173,8 @@ public Builder<?> read(TableManipulationConfiguration template) {
       this.dataColumnType = template.dataColumnType();
       this.timestampColumnName = template.timestampColumnName();
       this.timestampColumnType = template.timestampColumnType();
+      this.segmentColumnName = template.segmentColumnName();
+      this.segmentColumnType = template.segmentColumnType();
       this.cacheName = template.cacheName();
       this.tableNamePrefix = template.tableNamePrefix();
 
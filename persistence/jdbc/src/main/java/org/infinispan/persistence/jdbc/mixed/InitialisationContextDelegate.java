@@ -4,10 +4,13 @@
 import org.infinispan.commons.io.ByteBufferFactory;
 import org.infinispan.commons.marshall.StreamingMarshaller;
 import org.infinispan.configuration.cache.StoreConfiguration;
+import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.marshall.core.MarshalledEntryFactory;
 import org.infinispan.persistence.spi.InitializationContext;
 import org.infinispan.util.TimeService;
 
+import java.util.concurrent.Executor;
+
 /**
  * // TODO: Document this
  *
@@ -55,4 +58,14 @@ public ByteBufferFactory getByteBufferFactory() {
    public MarshalledEntryFactory getMarshalledEntryFactory() {
       return actual.getMarshalledEntryFactory();
    }
+
+   @Override
+   public KeyPartitioner getKeyPartitioner() {
+      return actual.getKeyPartitioner();
+   }
+
+   @Override
+   public Executor getExecutor() {
+      return actual.getExecutor();
+   }
 }
@@ -8,16 +8,24 @@
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.infinispan.commons.configuration.ConfiguredBy;
 import org.infinispan.commons.io.ByteBuffer;
 import org.infinispan.commons.util.Util;
 import org.infinispan.configuration.global.GlobalConfiguration;
+import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.filter.KeyFilter;
 import org.infinispan.marshall.core.MarshalledEntry;
 import org.infinispan.persistence.TaskContextImpl;
@@ -30,10 +38,12 @@
 import org.infinispan.persistence.keymappers.Key2StringMapper;
 import org.infinispan.persistence.keymappers.TwoWayKey2StringMapper;
 import org.infinispan.persistence.keymappers.UnsupportedKeyTypeException;
-import org.infinispan.persistence.spi.AdvancedLoadWriteStore;
+import org.infinispan.persistence.spi.BatchingCacheWriter;
 import org.infinispan.persistence.spi.InitializationContext;
 import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.persistence.spi.SegmentedAdvancedLoadWriteStore;
 import org.infinispan.util.KeyValuePair;
+import org.infinispan.util.concurrent.WithinThreadExecutor;
 import org.infinispan.util.logging.LogFactory;
 
 /**
@@ -65,16 +75,23 @@
  * <b>Rehashing</b>. When a node leaves/joins, Infinispan moves around persistent state as part of rehashing process.
  * For this it needs access to the underlaying key objects, so if distribution is used, the mapper needs to be an
  * {@link org.infinispan.persistence.keymappers.TwoWayKey2StringMapper} otherwise the cache won't start (same constraint as with preloading).
+ * If the table is configured with a segment column, the segment of each key is stored next to it and the entries of the
+ * segments that move are selected, counted or removed with a single statement instead of reading the whole table.
  *
  * @author Mircea.Markus@jboss.com
  * @see org.infinispan.persistence.keymappers.Key2StringMapper
  * @see org.infinispan.persistence.keymappers.DefaultTwoWayKey2StringMapper
  */
 @ConfiguredBy(JdbcStringBasedStoreConfiguration.class)
-public class JdbcStringBasedStore implements AdvancedLoadWriteStore {
+public class JdbcStringBasedStore implements SegmentedAdvancedLoadWriteStore, BatchingCacheWriter {
 
    private static final Log log = LogFactory.getLog(JdbcStringBasedStore.class, Log.class);
 
+   /**
+    * Oracle doesn't allow more than 1000 expressions in an IN list.
+    */
+   private static final int MAX_IDS_PER_QUERY = 1000;
+
    private JdbcStringBasedStoreConfiguration configuration;
 
    private Key2StringMapper key2StringMapper;
@@ -83,6 +100,7 @@ public class JdbcStringBasedStore implements AdvancedLoadWriteStore {
    private InitializationContext ctx;
    private String cacheName;
    private GlobalConfiguration globalConfiguration;
+   private KeyPartitioner keyPartitioner;
 
 
    @Override
@@ -90,6 +108,7 @@ public void init(InitializationContext ctx) {
       this.configuration = ctx.getConfiguration();
       this.ctx = ctx;
       cacheName = ctx.getCache().getName();
+      keyPartitioner = ctx.getKeyPartitioner();
       globalConfiguration = ctx.getCache().getCacheManager().getCacheManagerConfiguration();
    }
 
@@ -159,10 +178,11 @@ public void write(MarshalledEntry entry) {
          ps = connection.prepareStatement(sql);
          ps.setString(1, keyStr);
          ResultSet rs = ps.executeQuery();
-         if (rs.next()) {
-            sql = tableManipulation.getUpdateRowSql();
-         } else {
+         boolean insert = !rs.next();
+         if (insert) {
             sql = tableManipulation.getInsertRowSql();
+         } else {
+            sql = tableManipulation.getUpdateRowSql();
          }
          JdbcUtil.safeClose(rs);
          JdbcUtil.safeClose(ps);
@@ -171,6 +191,9 @@ public void write(MarshalledEntry entry) {
          }
          ps = connection.prepareStatement(sql);
          updateStatement(entry, keyStr, ps);
+         if (insert) {
+            setSegment(entry.getKey(), ps);
+         }
          ps.executeUpdate();
       } catch (SQLException ex) {
          log.sqlFailureStoringKey(keyStr, ex);
@@ -186,6 +209,96 @@ public void write(MarshalledEntry entry) {
       }
    }
 
+   /**
+    * Stores all the entries using a single connection and two JDBC batch statements, one for the rows that need to be
+    * inserted and one for the rows that need to be updated. The existing rows are found with one query for every
+    * {@link #MAX_IDS_PER_QUERY} entries.
+    */
+   @Override
+   public void writeBatch(Iterable entries) {
+      Map<String, MarshalledEntry> entriesByKey = new LinkedHashMap<String, MarshalledEntry>();
+      for (Object o : entries) {
+         MarshalledEntry entry = (MarshalledEntry) o;
+         entriesByKey.put(key2Str(entry.getKey()), entry);
+      }
+      if (entriesByKey.isEmpty())
+         return;
+
+      Connection connection = null;
+      PreparedStatement insertPs = null;
+      PreparedStatement updatePs = null;
+      try {
+         connection = connectionFactory.getConnection();
+         Set<String> existingKeys = selectExistingKeys(connection, new ArrayList<String>(entriesByKey.keySet()));
+         insertPs = connection.prepareStatement(tableManipulation.getInsertRowSql());
+         updatePs = connection.prepareStatement(tableManipulation.getUpdateRowSql());
+         int inserts = 0, updates = 0;
+         for (Map.Entry<String, MarshalledEntry> e : entriesByKey.entrySet()) {
+            String keyStr = e.getKey();
+            boolean insert = !existingKeys.contains(keyStr);
+            PreparedStatement ps;
+            if (insert) {
+               ps = insertPs;
+               inserts++;
+            } else {
+               ps = updatePs;
+               updates++;
+            }
+            updateStatement(e.getValue(), keyStr, ps);
+            if (insert) {
+               setSegment(e.getValue().getKey(), ps);
+            }
+            ps.addBatch();
+         }
+         if (log.isTraceEnabled()) {
+            log.tracef("Running batch of %d inserts and %d updates", inserts, updates);
+         }
+         if (inserts > 0)
+            insertPs.executeBatch();
+         if (updates > 0)
+            updatePs.executeBatch();
+      } catch (SQLException ex) {
+         log.sqlFailureStoringKeys(ex);
+         throw new PersistenceException("Error while storing string keys to database", ex);
+      } catch (InterruptedException e) {
+         if (log.isTraceEnabled()) {
+            log.trace("Interrupted while marshalling to store");
+         }
+         Thread.currentThread().interrupt();
+      } finally {
+         JdbcUtil.safeClose(insertPs);
+         JdbcUtil.safeClose(updatePs);
+         connectionFactory.releaseConnection(connection);
+      }
+   }
+
+   private Set<String> selectExistingKeys(Connection connection, List<String> keys) throws SQLException {
+      Set<String> existingKeys = new HashSet<String>();
+      for (int from = 0; from < keys.size(); from += MAX_IDS_PER_QUERY) {
+         List<String> chunk = keys.subList(from, Math.min(keys.size(), from + MAX_IDS_PER_QUERY));
+         String sql = tableManipulation.getSelectIdRowsSql(chunk.size());
+         if (log.isTraceEnabled()) {
+            log.tracef("Running sql '%s' on %d keys", sql, chunk.size());
+         }
+         PreparedStatement ps = null;
+         ResultSet rs = null;
+         try {
+            ps = connection.prepareStatement(sql);
+            for (int i = 0; i < chunk.size(); i++) {
+               ps.setString(i + 1, chunk.get(i));
+            }
+            rs = ps.executeQuery();
+            while (rs.next()) {
+               existingKeys.add(rs.getString(1));
+            }
+         } finally {
+            JdbcUtil.safeClose(rs);
+            JdbcUtil.safeClose(ps);
+         }
+      }
+      return existingKeys;
+   }
+
    @Override
    public MarshalledEntry load(Object key) {
       String lockingKey = key2Str(key);
@@ -244,6 +357,34 @@ public boolean delete(Object key) {
       }
    }
 
+   @Override
+   public void deleteBatch(Iterable keys) {
+      Connection connection = null;
+      PreparedStatement ps = null;
+      try {
+         String sql = tableManipulation.getDeleteRowSql();
+         connection = connectionFactory.getConnection();
+         ps = connection.prepareStatement(sql);
+         int count = 0;
+         for (Object key : keys) {
+            ps.setString(1, key2Str(key));
+            ps.addBatch();
+            count++;
+         }
+         if (log.isTraceEnabled()) {
+            log.tracef("Running sql '%s' on %d keys", sql, count);
+         }
+         if (count > 0)
+            ps.executeBatch();
+      } catch (SQLException ex) {
+         log.sqlFailureRemovingKeys(ex);
+         throw new PersistenceException("Error while removing string keys from database", ex);
+      } finally {
+         JdbcUtil.safeClose(ps);
+         connectionFactory.releaseConnection(connection);
+      }
+   }
+
    @Override
    public void clear() throws PersistenceException {
       Connection conn = null;
@@ -312,7 +453,20 @@ public boolean contains(Object key) {
 
    @Override
    public void process(final KeyFilter filter, final CacheLoaderTask task, Executor executor, final boolean fetchValue, final boolean fetchMetadata) {
+      process(null, filter, task, executor, fetchValue, fetchMetadata);
+   }
 
+   /**
+    * If the table has no segment column, all the rows are read and the keys outside of the segments are skipped.
+    */
+   @SuppressWarnings("unchecked")
+   @Override
+   public void process(Set segments, final KeyFilter filter, final CacheLoaderTask task, Executor executor,
+                       final boolean fetchValue, final boolean fetchMetadata) {
+      final Set<Integer> processedSegments = (Set<Integer>) segments;
+      if (processedSegments != null && processedSegments.isEmpty())
+         return;
+      final boolean selectSegments = processedSegments != null && tableManipulation.isSegmented();
       ExecutorCompletionService<Void> ecs = new ExecutorCompletionService<Void>(executor);
       Future<Void> future = ecs.submit(new Callable<Void>() {
          @Override
@@ -321,13 +475,17 @@ public Void call() throws Exception {
             PreparedStatement ps = null;
             ResultSet rs = null;
             try {
-               String sql = tableManipulation.getLoadNonExpiredAllRowsSql();
+               String sql = selectSegments ? tableManipulation.getLoadNonExpiredRowsForSegmentsSql(processedSegments.size())
+                     : tableManipulation.getLoadNonExpiredAllRowsSql();
                if (log.isTraceEnabled()) {
                   log.tracef("Running sql %s", sql);
                }
                conn = connectionFactory.getConnection();
                ps = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
                ps.setLong(1, ctx.getTimeService().wallClockTime());
+               if (selectSegments) {
+                  setSegments(processedSegments, ps, 2);
+               }
                ps.setFetchSize(tableManipulation.getFetchSize());
                rs = ps.executeQuery();
 
@@ -336,6 +494,8 @@ public Void call() throws Exception {
                   String keyStr = rs.getString(2);
                   Object key = ((TwoWayKey2StringMapper) key2StringMapper).getKeyMapping(keyStr);
                   if (taskContext.isStopped()) break;
+                  if (processedSegments != null && !selectSegments && !processedSegments.contains(keyPartitioner.getSegment(key)))
+                     continue;
                   if (filter != null && !filter.accept(key))
                      continue;
                   InputStream inputStream = rs.getBinaryStream(1);
@@ -392,6 +552,91 @@ public int size() {
       }
    }
 
+   @SuppressWarnings("unchecked")
+   @Override
+   public int size(Set segments) {
+      if (segments.isEmpty())
+         return 0;
+      if (!tableManipulation.isSegmented()) {
+         final AtomicInteger count = new AtomicInteger();
+         process(segments, null, new CacheLoaderTask() {
+            @Override
+            public void processEntry(MarshalledEntry marshalledEntry, TaskContext taskContext) {
+               count.incrementAndGet();
+            }
+         }, new WithinThreadExecutor(), false, false);
+         return count.get();
+      }
+      Connection conn = null;
+      PreparedStatement ps = null;
+      ResultSet rs = null;
+      try {
+         conn = connectionFactory.getConnection();
+         String sql = tableManipulation.getCountRowsForSegmentsSql(segments.size());
+         ps = conn.prepareStatement(sql);
+         setSegments((Set<Integer>) segments, ps, 1);
+         rs = ps.executeQuery();
+         rs.next();
+         return rs.getInt(1);
+      } catch (SQLException e) {
+         log.sqlFailureIntegratingState(e);
+         throw new PersistenceException("SQL failure while integrating state into store", e);
+      } finally {
+         JdbcUtil.safeClose(rs);
+         JdbcUtil.safeClose(ps);
+         connectionFactory.releaseConnection(conn);
+      }
+   }
+
+   @SuppressWarnings("unchecked")
+   @Override
+   public void clear(Set segments) {
+      if (segments.isEmpty())
+         return;
+      if (!tableManipulation.isSegmented()) {
+         final List<Object> keys = new ArrayList<Object>();
+         process(segments, null, new CacheLoaderTask() {
+            @Override
+            public void processEntry(MarshalledEntry marshalledEntry, TaskContext taskContext) {
+               keys.add(marshalledEntry.getKey());
+            }
+         }, new WithinThreadExecutor(), false, false);
+         deleteBatch(keys);
+         return;
+      }
+      Connection conn = null;
+      PreparedStatement ps = null;
+      try {
+         String sql = tableManipulation.getDeleteRowsForSegmentsSql(segments.size());
+         conn = connectionFactory.getConnection();
+         ps = conn.prepareStatement(sql);
+         setSegments((Set<Integer>) segments, ps, 1);
+         int result = ps.executeUpdate();
+         if (log.isTraceEnabled()) {
+            log.tracef("Successfully removed %d rows of segments %s.", result, segments);
+         }
+      } catch (SQLException ex) {
+         log.failedClearingJdbcCacheStore(ex);
+         throw new PersistenceException("Failed clearing cache store", ex);
+      } finally {
+         JdbcUtil.safeClose(ps);
+         connectionFactory.releaseConnection(conn);
+      }
+   }
+
+   private void setSegment(Object key, PreparedStatement ps) throws SQLException {
+      if (tableManipulation.isSegmented()) {
+         ps.setInt(4, keyPartitioner.getSegment(key));
+      }
+   }
+
+   private void setSegments(Set<Integer> segments, PreparedStatement ps, int firstIndex) throws SQLException {
+      int index = firstIndex;
+      for (Integer segment : segments) {
+         ps.setInt(index++, segment);
+      }
+   }
+
    private void updateStatement(MarshalledEntry entry, String key, PreparedStatement ps) throws InterruptedException, SQLException {
       ByteBuffer byteBuffer = JdbcUtil.marshall(ctx.getMarshaller(), new KeyValuePair(entry.getValueBytes(), entry.getMetadataBytes()));
       ps.setBinaryStream(1, new ByteArrayInputStream(byteBuffer.getBuf(), byteBuffer.getOffset(), byteBuffer.getLength()), byteBuffer.getLength());
@@ -7,6 +7,7 @@
 import org.infinispan.commons.marshall.StreamingMarshaller;
 import org.infinispan.configuration.cache.ConfigurationBuilder;
 import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.manager.EmbeddedCacheManager;
 import org.infinispan.marshall.core.MarshalledEntryFactoryImpl;
 import org.infinispan.marshall.core.MarshalledEntryImpl;
@@ -18,6 +19,7 @@
 import org.infinispan.test.fwk.TestCacheManagerFactory;
 import org.infinispan.test.fwk.TestInternalCacheEntryFactory;
 import org.infinispan.util.DefaultTimeService;
+import org.infinispan.util.concurrent.WithinThreadExecutor;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 
@@ -57,7 +59,9 @@ protected AdvancedLoadWriteStore createCacheStore() {
 
       JpaStore store = new JpaStore();
       store.init(new InitializationContextImpl(builder.persistence().stores().get(0).create(), cm.getCache(),
-            getMarshaller(), new DefaultTimeService(), null, new MarshalledEntryFactoryImpl(getMarshaller())));
+            getMarshaller(), new DefaultTimeService(), null, new MarshalledEntryFactoryImpl(getMarshaller()),
+            cm.getCache().getAdvancedCache().getComponentRegistry().getComponent(KeyPartitioner.class),
+            new WithinThreadExecutor()));
       store.start();
 
       assertNotNull(store.getEntityManagerFactory());
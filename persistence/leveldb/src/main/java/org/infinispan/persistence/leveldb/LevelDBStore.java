@@ -2,20 +2,27 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.Executor;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.infinispan.commons.CacheConfigurationException;
 import org.infinispan.commons.configuration.ConfiguredBy;
 import org.infinispan.commons.util.Util;
+import org.infinispan.distribution.ch.KeyPartitioner;
 import org.infinispan.executors.ExecutorAllCompletionService;
 import org.infinispan.filter.KeyFilter;
 import org.infinispan.marshall.core.MarshalledEntry;
@@ -24,9 +31,11 @@
 import org.infinispan.persistence.TaskContextImpl;
 import org.infinispan.persistence.leveldb.configuration.LevelDBStoreConfiguration;
 import org.infinispan.persistence.leveldb.logging.Log;
-import org.infinispan.persistence.spi.AdvancedLoadWriteStore;
+import org.infinispan.persistence.spi.BatchingCacheWriter;
 import org.infinispan.persistence.spi.InitializationContext;
 import org.infinispan.persistence.spi.PersistenceException;
+import org.infinispan.persistence.spi.SegmentedAdvancedLoadWriteStore;
+import org.infinispan.util.concurrent.WithinThreadExecutor;
 import org.infinispan.util.logging.LogFactory;
 import org.iq80.leveldb.CompressionType;
 import org.iq80.leveldb.DB;
@@ -34,14 +43,28 @@
 import org.iq80.leveldb.DBIterator;
 import org.iq80.leveldb.Options;
 import org.iq80.leveldb.ReadOptions;
-
+import org.iq80.leveldb.WriteBatch;
+
+/**
+ * A cache store backed by a LevelDB database.
+ * <p/>
+ * If {@link LevelDBStoreConfiguration#segmented()} is enabled, each key is stored prefixed with its hash space segment
+ * as a 4-byte big-endian integer. The entries of a segment are then contiguous in the database, so the segment-based
+ * operations of {@link SegmentedAdvancedLoadWriteStore} only read the requested segments. Otherwise these operations
+ * iterate over the whole database and filter the keys by segment.
+ * <p/>
+ * The number of segments used for the prefixes (0 if the keys are not prefixed) is kept in a metadata file in the
+ * database directory, and the store refuses to start if it doesn't match the configuration.
+ */
 @ConfiguredBy(LevelDBStoreConfiguration.class)
-public class LevelDBStore implements AdvancedLoadWriteStore {
+public class LevelDBStore implements SegmentedAdvancedLoadWriteStore, BatchingCacheWriter {
    private static final Log log = LogFactory.getLog(LevelDBStore.class, Log.class);
 
    private static final String JNI_DB_FACTORY_CLASS_NAME = "org.fusesource.leveldbjni.JniDBFactory";
    private static final String JAVA_DB_FACTORY_CLASS_NAME = "org.iq80.leveldb.impl.Iq80DBFactory";
    private static final String[] DB_FACTORY_CLASS_NAMES = new String[] { JNI_DB_FACTORY_CLASS_NAME, JAVA_DB_FACTORY_CLASS_NAME };
+   private static final int SEGMENT_PREFIX_LENGTH = 4;
+   private static final String METADATA_FILE_NAME = "infinispan.metadata";
 
    private LevelDBStoreConfiguration configuration;
    private BlockingQueue<ExpiryEntry> expiryEntryQueue;
@@ -51,12 +74,16 @@ public class LevelDBStore implements AdvancedLoadWriteStore {
    private InitializationContext ctx;
    private Semaphore semaphore;
    private volatile boolean stopped = true;
+   private KeyPartitioner keyPartitioner;
+   private boolean segmented;
 
    @Override
    public void init(InitializationContext ctx) {
       this.configuration = ctx.getConfiguration();
       this.dbFactory = newDbFactory();
       this.ctx = ctx;
+      this.keyPartitioner = ctx.getKeyPartitioner();
+      this.segmented = configuration.segmented();
       this.semaphore = new Semaphore(Integer.MAX_VALUE, true);
 
       if (this.dbFactory == null) {
@@ -98,6 +125,16 @@ public void start()  {
 
       try {
          db = openDatabase(getQualifiedLocation(), dataDbOptions());
+         try {
+            checkKeySegments();
+         } catch (RuntimeException e) {
+            try {
+               db.close();
+            } catch (IOException ce) {
+               log.warnUnableToCloseDb(ce);
+            }
+            throw e;
+         }
          expiredDb = openDatabase(getQualifiedExpiredLocation(), expiredDbOptions());
          stopped = false;
       } catch (IOException e) {
@@ -105,6 +142,41 @@ public void start()  {
       }
    }
 
+   /**
+    * Fails if the keys in the database were written with a different number of segments, and records the number of
+    * segments otherwise. A database without metadata was written before the keys could be prefixed, so its keys are
+    * not prefixed unless it is empty.
+    */
+   private void checkKeySegments() throws IOException {
+      int numSegments = segmented ? keyPartitioner.getNumSegments() : 0;
+      File metadataFile = new File(getQualifiedLocation(), METADATA_FILE_NAME);
+      if (metadataFile.exists()) {
+         int storedSegments = ByteBuffer.wrap(Files.readAllBytes(metadataFile.toPath())).getInt();
+         if (storedSegments != numSegments)
+            throw log.keySegmentsMismatch(getQualifiedLocation(), storedSegments, numSegments);
+         return;
+      }
+      if (numSegments != 0 && !isEmpty(db))
+         throw log.keySegmentsMismatch(getQualifiedLocation(), 0, numSegments);
+      writeKeySegments();
+   }
+
+   private void writeKeySegments() throws IOException {
+      int numSegments = segmented ? keyPartitioner.getNumSegments() : 0;
+      File metadataFile = new File(getQualifiedLocation(), METADATA_FILE_NAME);
+      Files.write(metadataFile.toPath(), ByteBuffer.allocate(4).putInt(numSegments).array());
+   }
+
+   private static boolean isEmpty(DB db) throws IOException {
+      DBIterator it = db.iterator(new ReadOptions().fillCache(false));
+      try {
+         it.seekToFirst();
+         return !it.hasNext();
+      } finally {
+         it.close();
+      }
+   }
+
    private String sanitizedCacheName() {
       String cacheFileName = ctx.getCache().getName().replaceAll("[^a-zA-Z0-9-_\\.]", "_");
       return cacheFileName;
@@ -181,6 +253,8 @@ protected void reinitAllDatabases() throws IOException {
          }
          db = reinitDatabase(getQualifiedLocation(), dataDbOptions());
          expiredDb = reinitDatabase(getQualifiedExpiredLocation(), expiredDbOptions());
+         // destroying the database may have removed the metadata file
+         writeKeySegments();
       } finally {
          semaphore.release(Integer.MAX_VALUE);
       }
@@ -265,6 +339,61 @@ public int size() {
       return PersistenceUtil.count(this, null);
    }
 
+   @Override
+   public int size(Set segments) {
+      final AtomicInteger count = new AtomicInteger();
+      process(segments, null, new CacheLoaderTask() {
+         @Override
+         public void processEntry(MarshalledEntry marshalledEntry, TaskContext taskContext) {
+            count.incrementAndGet();
+         }
+      }, new WithinThreadExecutor(), false, false);
+      return count.get();
+   }
+
+   @SuppressWarnings("unchecked")
+   @Override
+   public void clear(Set segments) {
+      try {
+         semaphore.acquire();
+      } catch (InterruptedException e) {
+         throw new PersistenceException("Cannot acquire semaphore", e);
+      }
+      try {
+         if (stopped) {
+            throw new PersistenceException("LevelDB is stopped");
+         }
+         DBIterator it = db.iterator(new ReadOptions().fillCache(false));
+         try {
+            WriteBatch batch = db.createWriteBatch();
+            try {
+               for (byte[] prefix : segmentPrefixes((Set<Integer>) segments)) {
+                  for (seek(it, prefix); it.hasNext(); ) {
+                     byte[] dbKey = it.next().getKey();
+                     if (prefix != null && !hasPrefix(dbKey, prefix))
+                        break;
+                     if (segmented || segments.contains(keyPartitioner.getSegment(unmarshallKey(dbKey))))
+                        batch.delete(dbKey);
+                  }
+               }
+               db.write(batch);
+            } finally {
+               batch.close();
+            }
+         } catch (Exception e) {
+            throw new PersistenceException(e);
+         } finally {
+            try {
+               it.close();
+            } catch (IOException e) {
+               log.warnUnableToCloseDbIterator(e);
+            }
+         }
+      } finally {
+         semaphore.release();
+      }
+   }
+
    @Override
    public boolean contains(Object key) {
       try {
@@ -274,9 +403,24 @@ public boolean contains(Object key) {
       }
    }
 
-   @SuppressWarnings("unchecked")
    @Override
    public void process(KeyFilter keyFilter, CacheLoaderTask cacheLoaderTask, Executor executor, boolean loadValues, boolean loadMetadata) {
+      process(null, keyFilter, cacheLoaderTask, executor, loadValues, loadMetadata);
+   }
+
+   @SuppressWarnings("unchecked")
+   @Override
+   public void process(final Set segments, KeyFilter keyFilter, CacheLoaderTask cacheLoaderTask, Executor executor, boolean loadValues, boolean loadMetadata) {
+      if (segments != null && !segmented) {
+         // the keys of all the segments are mixed, filter them after reading them
+         final KeyFilter filter = keyFilter;
+         keyFilter = new KeyFilter() {
+            @Override
+            public boolean accept(Object key) {
+               return segments.contains(keyPartitioner.getSegment(key)) && (filter == null || filter.accept(key));
+            }
+         };
+      }
 
       int batchSize = 100;
       ExecutorAllCompletionService eacs = new ExecutorAllCompletionService(executor);
@@ -294,13 +438,17 @@ public void process(KeyFilter keyFilter, CacheLoaderTask cacheLoaderTask, Execut
          }
          DBIterator it = db.iterator(new ReadOptions().fillCache(false));
          try {
-            for (it.seekToFirst(); it.hasNext(); ) {
-               Map.Entry<byte[], byte[]> entry = it.next();
-               entries.add(entry);
-               if (entries.size() == batchSize) {
-                  final List<Map.Entry<byte[], byte[]>> batch = entries;
-                  entries = new ArrayList<Map.Entry<byte[], byte[]>>(batchSize);
-                  submitProcessTask(cacheLoaderTask, keyFilter, eacs, taskContext, batch, loadValues, loadMetadata);
+            for (byte[] prefix : segmentPrefixes((Set<Integer>) segments)) {
+               for (seek(it, prefix); it.hasNext(); ) {
+                  Map.Entry<byte[], byte[]> entry = it.next();
+                  if (prefix != null && !hasPrefix(entry.getKey(), prefix))
+                     break;
+                  entries.add(entry);
+                  if (entries.size() == batchSize) {
+                     final List<Map.Entry<byte[], byte[]>> batch = entries;
+                     entries = new ArrayList<Map.Entry<byte[], byte[]>>(batchSize);
+                     submitProcessTask(cacheLoaderTask, keyFilter, eacs, taskContext, batch, loadValues, loadMetadata);
+                  }
                }
             }
             if (!entries.isEmpty()) {
@@ -336,7 +484,7 @@ public Void call() throws Exception {
                long now = ctx.getTimeService().wallClockTime();
                for (Map.Entry<byte[], byte[]> pair : batch) {
                   if (taskContext.isStopped()) {break;}
-                  Object key = unmarshall(pair.getKey());
+                  Object key = unmarshallKey(pair.getKey());
                   if (filter == null || filter.accept(key)) {
                      MarshalledEntry entry = loadValues || loadMetadata ? (MarshalledEntry) unmarshall(pair.getValue()) : null;
                      boolean isExpired = entry != null && entry.getMetadata() != null && entry.getMetadata().isExpired(now);
@@ -361,7 +509,7 @@ public Void call() throws Exception {
    @Override
    public boolean delete(Object key)  {
       try {
-         byte[] keyBytes = marshall(key);
+         byte[] keyBytes = marshallKey(key);
          semaphore.acquire();
          try {
             if (stopped) {
@@ -383,7 +531,7 @@ public boolean delete(Object key)  {
    @Override
    public void write(MarshalledEntry me)  {
       try {
-         byte[] marshelledKey = marshall(me.getKey());
+         byte[] marshelledKey = marshallKey(me.getKey());
          byte[] marshalledEntry = marshall(me);
          semaphore.acquire();
          try {
@@ -403,6 +551,71 @@ public void write(MarshalledEntry me)  {
       }
    }
 
+   /**
+    * Stores all the entries with a single atomic {@link WriteBatch}.
+    */
+   @Override
+   public void writeBatch(Iterable entries) {
+      try {
+         List<MarshalledEntry> expiring = new ArrayList<MarshalledEntry>();
+         semaphore.acquire();
+         try {
+            if (stopped) {
+               throw new PersistenceException("LevelDB is stopped");
+            }
+            WriteBatch batch = db.createWriteBatch();
+            try {
+               for (Object o : entries) {
+                  MarshalledEntry me = (MarshalledEntry) o;
+                  batch.put(marshallKey(me.getKey()), marshall(me));
+                  InternalMetadata meta = me.getMetadata();
+                  if (meta != null && meta.expiryTime() > -1) {
+                     expiring.add(me);
+                  }
+               }
+               db.write(batch);
+            } finally {
+               batch.close();
+            }
+         } finally {
+            semaphore.release();
+         }
+         for (MarshalledEntry me : expiring) {
+            addNewExpiry(me);
+         }
+      } catch (Exception e) {
+         throw new PersistenceException(e);
+      }
+   }
+
+   /**
+    * Removes all the keys with a single atomic {@link WriteBatch}.
+    */
+   @Override
+   public void deleteBatch(Iterable keys) {
+      try {
+         semaphore.acquire();
+         try {
+            if (stopped) {
+               throw new PersistenceException("LevelDB is stopped");
+            }
+            WriteBatch batch = db.createWriteBatch();
+            try {
+               for (Object key : keys) {
+                  batch.delete(marshallKey(key));
+               }
+               db.write(batch);
+            } finally {
+               batch.close();
+            }
+         } finally {
+            semaphore.release();
+         }
+      } catch (Exception e) {
+         throw new PersistenceException(e);
+      }
+   }
+
    @Override
    public MarshalledEntry load(Object key)  {
       try {
@@ -412,7 +625,7 @@ public MarshalledEntry load(Object key)  {
             if (stopped) {
                throw new PersistenceException("LevelDB is stopped");
             }
-            marshalledEntry = db.get(marshall(key));
+            marshalledEntry = db.get(marshallKey(key));
          } finally {
             semaphore.release();
          }
@@ -493,7 +706,7 @@ public void purge(Executor executor, PurgeListener purgeListener) {
                log.debugf("purge (up to) %d entries", keys.size());
             int count = 0;
             for (Object key : keys) {
-               byte[] keyBytes = marshall(key);
+               byte[] keyBytes = marshallKey(key);
 
                byte[] b = db.get(keyBytes);
                if (b == null)
@@ -539,6 +752,58 @@ private Object unmarshall(byte[] bytes) throws IOException, ClassNotFoundExcepti
       return ctx.getMarshaller().objectFromByteBuffer(bytes);
    }
 
+   /**
+    * Marshalls a key of the data database, prefixed with its segment if the store is segmented.
+    */
+   private byte[] marshallKey(Object key) throws IOException, InterruptedException {
+      byte[] keyBytes = marshall(key);
+      if (!segmented)
+         return keyBytes;
+
+      return ByteBuffer.allocate(SEGMENT_PREFIX_LENGTH + keyBytes.length)
+            .putInt(keyPartitioner.getSegment(key)).put(keyBytes).array();
+   }
+
+   private Object unmarshallKey(byte[] bytes) throws IOException, ClassNotFoundException {
+      if (!segmented)
+         return unmarshall(bytes);
+
+      return ctx.getMarshaller().objectFromByteBuffer(bytes, SEGMENT_PREFIX_LENGTH, bytes.length - SEGMENT_PREFIX_LENGTH);
+   }
+
+   /**
+    * @return the key prefixes of the given segments in ascending order, or a single {@code null} prefix if the whole
+    *         database must be iterated over
+    */
+   private List<byte[]> segmentPrefixes(Set<Integer> segments) {
+      if (segments == null || !segmented)
+         return Collections.singletonList(null);
+
+      List<byte[]> prefixes = new ArrayList<byte[]>(segments.size());
+      for (int segment : new TreeSet<Integer>(segments)) {
+         prefixes.add(ByteBuffer.allocate(SEGMENT_PREFIX_LENGTH).putInt(segment).array());
+      }
+      return prefixes;
+   }
+
+   private static void seek(DBIterator it, byte[] prefix) {
+      if (prefix == null) {
+         it.seekToFirst();
+      } else {
+         it.seek(prefix);
+      }
+   }
+
+   private static boolean hasPrefix(byte[] bytes, byte[] prefix) {
+      if (bytes.length < prefix.length)
+         return false;
+      for (int i = 0; i < prefix.length; i++) {
+         if (bytes[i] != prefix[i])
+            return false;
+      }
+      return true;
+   }
+
    private void addNewExpiry(MarshalledEntry entry) throws IOException {
       long expiry = entry.getMetadata().expiryTime();
       long maxIdle = entry.getMetadata().maxIdle();
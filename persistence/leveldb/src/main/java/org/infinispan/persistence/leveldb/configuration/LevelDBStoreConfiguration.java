@@ -30,9 +30,10 @@ public enum ImplementationType {
    final private Long cacheSize;
    final private int expiryQueueSize;
    final private int clearThreshold;
+   final private boolean segmented;
 
 
-   public LevelDBStoreConfiguration(boolean purgeOnStartup, boolean fetchPersistentState, boolean ignoreModifications, AsyncStoreConfiguration async, SingletonStoreConfiguration singletonStore, boolean preload, boolean shared, Properties properties, String location, String expiredLocation, ImplementationType implementationType, CompressionType compressionType, Integer blockSize, Long cacheSize, int expiryQueueSize, int clearThreshold) {
+   public LevelDBStoreConfiguration(boolean purgeOnStartup, boolean fetchPersistentState, boolean ignoreModifications, AsyncStoreConfiguration async, SingletonStoreConfiguration singletonStore, boolean preload, boolean shared, Properties properties, String location, String expiredLocation, ImplementationType implementationType, CompressionType compressionType, Integer blockSize, Long cacheSize, int expiryQueueSize, int clearThreshold, boolean segmented) {
       super(purgeOnStartup, fetchPersistentState, ignoreModifications, async, singletonStore, preload, shared, properties);
       this.location = location;
       this.expiredLocation = expiredLocation;
@@ -42,6 +43,7 @@ public LevelDBStoreConfiguration(boolean purgeOnStartup, boolean fetchPersistent
       this.cacheSize = cacheSize;
       this.expiryQueueSize = expiryQueueSize;
       this.clearThreshold = clearThreshold;
+      this.segmented = segmented;
    }
 
    public String location() {
@@ -75,4 +77,8 @@ public int expiryQueueSize() {
    public int clearThreshold() {
       return clearThreshold;
    }
+
+   public boolean segmented() {
+      return segmented;
+   }
 }
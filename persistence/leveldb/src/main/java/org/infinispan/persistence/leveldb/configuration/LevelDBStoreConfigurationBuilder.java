@@ -20,6 +20,7 @@ public class LevelDBStoreConfigurationBuilder extends AbstractStoreConfiguration
 
    protected int expiryQueueSize = 10000;
    protected int clearThreshold = 10000;
+   protected boolean segmented = false;
 
    public LevelDBStoreConfigurationBuilder(PersistenceConfigurationBuilder builder) {
       super(builder);
@@ -60,6 +61,17 @@ public LevelDBStoreConfigurationBuilder clearThreshold(int clearThreshold) {
       return self();
    }
 
+   /**
+    * If true, the keys are stored prefixed with their hash space segment, so that the entries of a few segments can be
+    * iterated over or removed without reading the whole database, e.g. during state transfer. The key format is
+    * different, so the store fails to start on a database written with a different setting or a different number of
+    * segments. Defaults to false.
+    */
+   public LevelDBStoreConfigurationBuilder segmented(boolean segmented) {
+      this.segmented = segmented;
+      return self();
+   }
+
    public LevelDBStoreConfigurationBuilder compressionType(CompressionType compressionType) {
       this.compressionType = compressionType;
       return self();
@@ -76,7 +88,7 @@ public LevelDBStoreConfiguration create() {
       return new LevelDBStoreConfiguration(purgeOnStartup, fetchPersistentState, ignoreModifications, async.create(),
                                                 singletonStore.create(), preload, shared, properties,location,
                                                 expiredLocation, implementationType, compressionType,  blockSize,
-                                                cacheSize, expiryQueueSize, clearThreshold);
+                                                cacheSize, expiryQueueSize, clearThreshold, segmented);
    }
 
    @Override
@@ -95,6 +107,7 @@ public Builder<?> read(LevelDBStoreConfiguration template) {
 
       expiryQueueSize = template.expiryQueueSize();
       clearThreshold = template.clearThreshold();
+      segmented = template.segmented();
 
       return self();
    }
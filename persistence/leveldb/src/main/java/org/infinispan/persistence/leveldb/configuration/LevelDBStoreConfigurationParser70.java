@@ -75,6 +75,10 @@ private void parseLevelDBCacheStore(XMLExtendedStreamReader reader, LevelDBStore
                builder.cacheSize(Long.valueOf(value));
                break;
             }
+            case SEGMENTED: {
+               builder.segmented(Boolean.parseBoolean(value));
+               break;
+            }
             default: {
                Parser70.parseStoreAttribute(reader, i, builder);
             }
@@ -1,5 +1,6 @@
 package org.infinispan.persistence.leveldb.logging;
 
+import org.infinispan.commons.CacheConfigurationException;
 import org.infinispan.persistence.spi.PersistenceException;
 import org.jboss.logging.annotations.Cause;
 import org.jboss.logging.annotations.LogMessage;
@@ -44,4 +45,8 @@ public interface Log extends org.infinispan.util.logging.Log {
 
    @Message(value = "Could not load any LevelDB Factories: : %s", id = 23007)
    PersistenceException cannotLoadlevelDBFactories(String formattedArrayOfClassNames);
+
+   @Message(value = "The keys of the database %s were written with %d segments (0 means not segmented), " +
+         "but the store is configured with %d segments", id = 23008)
+   CacheConfigurationException keySegmentsMismatch(String location, int storedSegments, int configuredSegments);
 }
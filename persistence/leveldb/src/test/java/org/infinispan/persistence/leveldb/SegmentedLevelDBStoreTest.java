@@ -0,0 +1,67 @@
+package org.infinispan.persistence.leveldb;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+import org.infinispan.commons.CacheConfigurationException;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.configuration.cache.PersistenceConfigurationBuilder;
+import org.infinispan.persistence.leveldb.configuration.LevelDBStoreConfiguration;
+import org.infinispan.persistence.leveldb.configuration.LevelDBStoreConfigurationBuilder;
+import org.infinispan.test.TestingUtil;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.test.fwk.TestInternalCacheEntryFactory;
+import org.testng.annotations.Test;
+
+/**
+ * Runs the LevelDB store tests with the keys prefixed with their segment.
+ *
+ * @since 7.0
+ */
+@Test(groups = "unit", testName = "persistence.leveldb.SegmentedLevelDBStoreTest")
+public class SegmentedLevelDBStoreTest extends LevelDBStoreTest {
+
+   protected LevelDBStoreConfigurationBuilder createCacheStoreConfig(PersistenceConfigurationBuilder lcb) {
+      LevelDBStoreConfigurationBuilder builder = super.createCacheStoreConfig(lcb);
+      builder.implementationType(LevelDBStoreConfiguration.ImplementationType.JAVA);
+      builder.segmented(true);
+      return builder;
+   }
+
+   public void testStartFailsWithDifferentSegments() throws Exception {
+      cl.write(TestingUtil.marshalledEntry(TestInternalCacheEntryFactory.create("k", "v"), getMarshaller()));
+      cl.stop();
+      cl = null;
+
+      assertStartFails(createStoreOnSameDatabase(true, 7));
+      assertStartFails(createStoreOnSameDatabase(false, 0));
+
+      // the original configuration can still read the entry
+      cl = createStoreOnSameDatabase(true, 0);
+      cl.start();
+      assertEquals(cl.load("k").getValue(), "v");
+   }
+
+   /**
+    * @param numSegments the number of segments, or 0 to keep the default
+    */
+   private LevelDBStore createStoreOnSameDatabase(boolean segmented, int numSegments) {
+      LevelDBStore store = new LevelDBStore();
+      ConfigurationBuilder cb = TestCacheManagerFactory.getDefaultCacheConfiguration(false);
+      if (numSegments > 0)
+         cb.clustering().hash().numSegments(numSegments);
+      createCacheStoreConfig(cb.persistence()).segmented(segmented);
+      store.init(createContext(cb.build()));
+      return store;
+   }
+
+   private void assertStartFails(LevelDBStore store) {
+      try {
+         store.start();
+         store.stop();
+         fail("The store should not start on a database written with different segments");
+      } catch (CacheConfigurationException e) {
+         // expected
+      }
+   }
+}
@@ -81,4 +81,19 @@ public void testXmlConfig() throws IOException {
       TestingUtil.recursiveFileRemove("/tmp/leveldb/60");
    }
 
+   public void testSegmentedXmlConfig() throws IOException {
+      EmbeddedCacheManager cacheManager = new DefaultCacheManager("config/leveldb-config-segmented.xml");
+
+      Cache<String, String> cache = cacheManager.getCache("testCache");
+      LevelDBStoreConfiguration leveldbConfig =
+            (LevelDBStoreConfiguration) cache.getCacheConfiguration().persistence().stores().get(0);
+      assertTrue(leveldbConfig.segmented());
+
+      cache.put("hello", "there segmented xml");
+      cache.stop();
+      cacheManager.stop();
+
+      TestingUtil.recursiveFileRemove("/tmp/leveldb/53");
+   }
+
 }
@@ -25,6 +25,7 @@
 import org.infinispan.persistence.remote.logging.Log;
 import org.infinispan.persistence.remote.wrapper.HotRodEntryMarshaller;
 import org.infinispan.persistence.spi.AdvancedLoadWriteStore;
+import org.infinispan.persistence.spi.BatchingCacheWriter;
 import org.infinispan.persistence.spi.InitializationContext;
 import org.infinispan.marshall.core.MarshalledEntry;
 import org.infinispan.metadata.EmbeddedMetadata;
@@ -33,7 +34,14 @@
 import org.infinispan.metadata.impl.InternalMetadataImpl;
 import org.infinispan.util.logging.LogFactory;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -53,7 +61,7 @@
  */
 @ThreadSafe
 @ConfiguredBy(RemoteStoreConfiguration.class)
-public class RemoteStore implements AdvancedLoadWriteStore {
+public class RemoteStore implements AdvancedLoadWriteStore, BatchingCacheWriter {
 
    private static final Log log = LogFactory.getLog(RemoteStore.class, Log.class);
 
@@ -169,6 +177,35 @@ public void write(MarshalledEntry entry) throws PersistenceException {
       remoteCache.put(entry.getKey(), configuration.rawValues() ? entry.getValue() : entry, toSeconds(lifespan, entry.getKey(), LIFESPAN), TimeUnit.SECONDS, toSeconds(maxIdle, entry.getKey(), MAXIDLE), TimeUnit.SECONDS);
    }
 
+   /**
+    * Entries sharing the same lifespan and max idle time are sent together with a single
+    * {@link RemoteCache#putAll(java.util.Map, long, TimeUnit, long, TimeUnit)} invocation.
+    */
+   @Override
+   public void writeBatch(Iterable entries) {
+      Map<List<Long>, Map<Object, Object>> entriesByExpiration = new HashMap<List<Long>, Map<Object, Object>>();
+      for (Object o : entries) {
+         MarshalledEntry entry = (MarshalledEntry) o;
+         InternalMetadata metadata = entry.getMetadata();
+         long lifespan = toSeconds(metadata != null ? metadata.lifespan() : -1, entry.getKey(), LIFESPAN);
+         long maxIdle = toSeconds(metadata != null ? metadata.maxIdle() : -1, entry.getKey(), MAXIDLE);
+         List<Long> expiration = Arrays.asList(lifespan, maxIdle);
+         Map<Object, Object> group = entriesByExpiration.get(expiration);
+         if (group == null) {
+            group = new HashMap<Object, Object>();
+            entriesByExpiration.put(expiration, group);
+         }
+         group.put(entry.getKey(), configuration.rawValues() ? entry.getValue() : entry);
+      }
+      for (Map.Entry<List<Long>, Map<Object, Object>> group : entriesByExpiration.entrySet()) {
+         if (log.isTraceEnabled()) {
+            log.tracef("Adding %d entries", group.getValue().size());
+         }
+         List<Long> expiration = group.getKey();
+         remoteCache.putAll(group.getValue(), expiration.get(0), TimeUnit.SECONDS, expiration.get(1), TimeUnit.SECONDS);
+      }
+   }
+
    @Override
    public void clear() throws PersistenceException {
       remoteCache.clear();
@@ -182,6 +219,31 @@ public boolean delete(Object key) throws PersistenceException {
       return remoteCache.withFlags(Flag.FORCE_RETURN_VALUE).remove(key) != null;
    }
 
+   /**
+    * Sends all the removals before waiting for any of them, so that they are pipelined over the client connections.
+    */
+   @Override
+   public void deleteBatch(Iterable keys) {
+      // The previous values are not needed, so don't ask the server to return them
+      List<Future<Object>> futures = new ArrayList<Future<Object>>();
+      for (Object key : keys) {
+         futures.add(remoteCache.removeAsync(key));
+      }
+      if (log.isTraceEnabled()) {
+         log.tracef("Removing %d entries", futures.size());
+      }
+      try {
+         for (Future<Object> future : futures) {
+            future.get();
+         }
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new PersistenceException("Interrupted while removing entries", e);
+      } catch (ExecutionException e) {
+         throw new PersistenceException("Error while removing entries", e.getCause());
+      }
+   }
+
    private long toSeconds(long millis, Object key, String desc) {
       if (millis > 0 && millis < 1000) {
          if (log.isTraceEnabled()) {
@@ -253,19 +253,25 @@ abstract class AbstractProtocolDecoder[K, V](secure: Boolean, transport: NettyTr
       createSuccessResponse(prev)
    }
 
-   protected def buildMetadata(): Metadata = {
+   protected def buildMetadata(): Metadata = buildMetadata(params.lifespan, params.maxIdle)
+
+   /**
+    * Builds the metadata for an entry being stored by the current request, generating a new version for it. Used
+    * by operations that write several entries at once and hence don't go through the per-key parameters.
+    */
+   def buildMetadata(lifespan: Int, maxIdle: Int): Metadata = {
       val metadata = new EmbeddedMetadata.Builder
       metadata.version(generateVersion(cache))
-      (params.lifespan, params.maxIdle) match {
+      (lifespan, maxIdle) match {
          case (EXPIRATION_DEFAULT, EXPIRATION_DEFAULT) =>
             metadata.lifespan(defaultLifespanTime)
                     .maxIdle(defaultMaxIdleTime)
          case (_, EXPIRATION_DEFAULT) =>
-            metadata.lifespan(toMillis(params.lifespan))
+            metadata.lifespan(toMillis(lifespan))
                     .maxIdle(defaultMaxIdleTime)
          case (_, _) =>
-            metadata.lifespan(toMillis(params.lifespan))
-                    .maxIdle(toMillis(params.maxIdle))
+            metadata.lifespan(toMillis(lifespan))
+                    .maxIdle(toMillis(maxIdle))
       }
       metadata.build()
    }
@@ -9,6 +9,7 @@ import javax.management.{ObjectName, MBeanServer}
 import org.infinispan.server.core.transport.TimeoutEnabledChannelInitializer
 import org.infinispan.server.core.transport.NettyChannelInitializer
 import io.netty.channel.{Channel, ChannelInitializer}
+import io.netty.util.concurrent.{DefaultEventExecutorGroup, DefaultThreadFactory, EventExecutorGroup}
 
 /**
  * A common protocol server dealing with common property parameter validation and assignment and transport lifecycle.
@@ -18,6 +19,7 @@ import io.netty.channel.{Channel, ChannelInitializer}
  */
 abstract class AbstractProtocolServer(protocolName: String) extends ProtocolServer with Log {
    protected var transport: NettyTransport = _
+   protected var invocationGroup: EventExecutorGroup = _
    protected var cacheManager: EmbeddedCacheManager = _
    protected var configuration: SuitableConfiguration = null.asInstanceOf[SuitableConfiguration]
    private var transportObjName: ObjectName = _
@@ -52,6 +54,11 @@ abstract class AbstractProtocolServer(protocolName: String) extends ProtocolServ
 
    def startTransport() {
       val address = new InetSocketAddress(configuration.host, configuration.port)
+      // Requests are decoded and executed off the I/O threads, so that blocking cache operations only delay the
+      // connections bound to the same invocation thread
+      if (configuration.invocationThreads > 0)
+         invocationGroup = new DefaultEventExecutorGroup(configuration.invocationThreads,
+            new DefaultThreadFactory(getQualifiedName() + "ServerInvocation"))
       transport = new NettyTransport(this, getInitializer, address, configuration, getQualifiedName(), cacheManager)
 
       // Register transport MBean regardless
@@ -62,9 +69,9 @@ abstract class AbstractProtocolServer(protocolName: String) extends ProtocolServ
 
    override def getInitializer: ChannelInitializer[Channel] = {
       if (configuration.idleTimeout > 0)
-         new TimeoutEnabledChannelInitializer(this, getEncoder)
+         new TimeoutEnabledChannelInitializer(this, getEncoder, invocationGroup)
       else // Idle timeout logic is disabled with -1 or 0 values
-         new NettyChannelInitializer(this, getEncoder)
+         new NettyChannelInitializer(this, getEncoder, invocationGroup)
    }
 
    protected def registerTransportMBean() {
@@ -103,6 +110,11 @@ abstract class AbstractProtocolServer(protocolName: String) extends ProtocolServ
       if (transport != null)
          transport.stop()
 
+      if (invocationGroup != null) {
+         invocationGroup.shutdownGracefully()
+         invocationGroup = null
+      }
+
       unregisterTransportMBean()
 
       if (isDebug)
@@ -58,6 +58,14 @@
     */
    S workerThreads(int workerThreads);
 
+   /**
+    * Sets the number of threads which decode the requests and invoke the cache operations, so that operations which
+    * block (e.g. waiting for a lock, a cache store or a remote node) do not hold up the worker threads handling the
+    * network I/O of other connections. The requests of each connection are still processed in order, by a single
+    * thread at a time. If set to 0, the requests are processed by the worker threads.
+    */
+   S invocationThreads(int invocationThreads);
+
    /**
     * Builds a configuration object
     */
@@ -83,4 +83,7 @@ public interface JavaLog extends org.infinispan.util.logging.Log {
 
    @Message(value = "Cannot configure custom KeyStore and/or TrustStore when specifying a SSLContext", id = 5018)
    CacheConfigurationException xorSSLContext();
+
+   @Message(value = "Illegal number of invocationThreads: %d", id = 5019)
+   IllegalArgumentException illegalInvocationThreads(int invocationThreads);
 }
@@ -6,17 +6,23 @@ import javax.net.ssl.SSLEngine
 import org.infinispan.commons.util.SslContextFactory
 import io.netty.channel.{ChannelInitializer, Channel, ChannelOutboundHandler}
 import io.netty.handler.ssl.SslHandler
+import io.netty.util.concurrent.EventExecutorGroup
 
 /**
  * Pipeline factory for Netty based channels. For each pipeline created, a new decoder is created which means that
  * each incoming connection deals with a unique decoder instance. Since the encoder does not maintain any state,
  * a single encoder instance is shared by all incoming connections, if and only if, the protocol mandates an encoder.
+ * <p/>
+ * If an invocation group is given, the decoder, which also executes the cache operations, runs in one of its threads
+ * instead of the I/O thread of the channel. Netty binds each channel to a single thread of the group, so the requests
+ * of a connection are still processed and answered in order.
  *
  * @author Galder Zamarreño
  * @since 4.1
  */
 class NettyChannelInitializer(server: ProtocolServer,
-                                  encoder: ChannelOutboundHandler)
+                                  encoder: ChannelOutboundHandler,
+                                  invocationGroup: EventExecutorGroup = null)
       extends ChannelInitializer[Channel] {
 
    override def initChannel(ch: Channel): Unit = {
@@ -24,7 +30,7 @@ class NettyChannelInitializer(server: ProtocolServer,
       val ssl = server.getConfiguration.ssl
       if (ssl.enabled())
          pipeline.addLast("ssl", new SslHandler(createSslEngine(ssl)))
-      pipeline.addLast("decoder", server.getDecoder)
+      pipeline.addLast(invocationGroup, "decoder", server.getDecoder)
       if (encoder != null)
          pipeline.addLast("encoder", encoder)
    }
@@ -4,6 +4,7 @@ import org.infinispan.server.core.ProtocolServer
 import org.infinispan.server.core.configuration.SslConfiguration
 import io.netty.channel.{Channel, ChannelOutboundHandler}
 import io.netty.handler.timeout.IdleStateHandler
+import io.netty.util.concurrent.EventExecutorGroup
 
 /**
  * A channel pipeline factory for environments where idle timeout is enabled.
@@ -12,8 +13,9 @@ import io.netty.handler.timeout.IdleStateHandler
  * @since 5.1
  */
 class TimeoutEnabledChannelInitializer(server: ProtocolServer,
-                                           encoder: ChannelOutboundHandler)
-      extends NettyChannelInitializer(server, encoder) {
+                                           encoder: ChannelOutboundHandler,
+                                           invocationGroup: EventExecutorGroup = null)
+      extends NettyChannelInitializer(server, encoder, invocationGroup) {
 
    override def initChannel(ch: Channel): Unit = {
       super.initChannel(ch)
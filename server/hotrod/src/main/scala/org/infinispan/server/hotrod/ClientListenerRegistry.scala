@@ -1,10 +1,10 @@
 package org.infinispan.server.hotrod
 
 import java.io.{ObjectInput, ObjectOutput}
-import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.{AtomicBoolean, AtomicLong}
 
 import io.netty.channel.Channel
-import org.infinispan.commons.equivalence.{AnyEquivalence, ByteArrayEquivalence}
+import org.infinispan.commons.equivalence.{AnyEquivalence, ByteArrayEquivalence, EquivalentHashMap}
 import org.infinispan.commons.marshall.{AbstractExternalizer, Marshaller}
 import org.infinispan.commons.util.CollectionFactory
 import org.infinispan.commons.util.concurrent.jdk8backported.EquivalentConcurrentHashMapV8
@@ -116,21 +116,60 @@ class ClientListenerRegistry(configuration: HotRodServerConfiguration) extends L
    }
 
    def removeClientListener(listenerId: Array[Byte], cache: Cache): Boolean = {
-      val sender = eventSenders.get(listenerId)
+      val sender = eventSenders.remove(listenerId)
       if (sender != null) {
          cache.removeListener(sender)
+         clientEventSender(sender).discardEvents()
          true
       } else false
    }
 
+   /**
+    * Resumes writing the queued events of the client listeners registered
+    * through the given channel, once it has become writable again.
+    */
+   def findAndWriteEvents(ch: Channel): Unit = {
+      eventSenders.values().foreach { sender =>
+         val eventSender = clientEventSender(sender)
+         if (eventSender.ch == ch) eventSender.scheduleWrite()
+      }
+   }
+
+   private def clientEventSender(sender: AnyRef): ClientEventSender = sender match {
+      case compatSender: CompatibilityClientEventSender => compatSender.delegate
+      case eventSender: ClientEventSender => eventSender
+   }
+
    def stop(): Unit = {
       eventSenders.clear()
       keyValueFilterFactories.clear()
       converterFactories.clear()
    }
 
+   /**
+    * Queues the events for a client listener, and writes them from the
+    * channel's event loop while the channel is writable, flushing once per
+    * drained batch. Raising an event never blocks, so that a slow client
+    * cannot stall the threads delivering the events, e.g. the threads
+    * delivering cluster listener events. With event coalescing enabled, an
+    * event replaces the queued event for the same key, if any. When the queue
+    * is full anyway, further events are dropped until it has room again, and
+    * the connection stays open: the client is not told about the events it
+    * missed, but the server logs when it starts dropping events and how many
+    * it dropped once events are queued again.
+    */
    @Listener(clustered = true, includeCurrentState = true)
-   private class ClientEventSender(ch: Channel, listenerId: Bytes, version: Byte, isCustom: Boolean) {
+   private class ClientEventSender(val ch: Channel, listenerId: Bytes, version: Byte, isCustom: Boolean) {
+      private val eventQueue = new java.util.ArrayDeque[QueuedEvent]()
+      private val queuedEvents = new EquivalentHashMap[Bytes, QueuedEvent](
+         ByteArrayEquivalence.INSTANCE, AnyEquivalence.getInstance())
+      // Guarded by eventQueue
+      private var droppedEvents = 0L
+      private val writeScheduled = new AtomicBoolean()
+      private val writeTask = new Runnable {
+         override def run(): Unit = writeEvents()
+      }
+
       @CacheEntryCreated
       @CacheEntryModified
       @CacheEntryRemoved
@@ -141,6 +180,7 @@ class ClientListenerRegistry(configuration: HotRodServerConfiguration) extends L
          } else {
             log.debug("Channel disconnected, remove event sender listener")
             event.getCache.removeListener(this)
+            discardEvents()
          }
       }
 
@@ -149,9 +189,79 @@ class ClientListenerRegistry(configuration: HotRodServerConfiguration) extends L
       def sendEvent(key: Bytes, value: Bytes, dataVersion: Long, event: CacheEntryEvent[_, _]) {
          val remoteEvent = createRemoteEvent(key, value, dataVersion, event)
          if (isTraceEnabled)
-            log.tracef("Send %s to remote clients", remoteEvent)
+            log.tracef("Queue %s for remote clients", remoteEvent)
 
-         ch.writeAndFlush(remoteEvent)
+         if (queueEvent(key, remoteEvent))
+            scheduleWrite()
+      }
+
+      /**
+       * Drops the event if the queue is full. The first dropped event and the
+       * number of events dropped, once the queue has room again, are logged.
+       *
+       * @return false if the event was dropped
+       */
+      private def queueEvent(key: Bytes, remoteEvent: AnyRef): Boolean = eventQueue.synchronized {
+         if (configuration.eventCoalescing()) {
+            val queued = queuedEvents.get(key)
+            if (queued != null) {
+               queued.event = remoteEvent
+               return true
+            }
+         }
+         if (eventQueue.size() >= configuration.eventQueueSize()) {
+            if (droppedEvents == 0)
+               logEventQueueFull(ch.remoteAddress(), configuration.eventQueueSize())
+            droppedEvents += 1
+            return false
+         }
+         if (droppedEvents > 0) {
+            logEventsDropped(droppedEvents, ch.remoteAddress())
+            droppedEvents = 0
+         }
+
+         val queued = new QueuedEvent(key, remoteEvent)
+         eventQueue.add(queued)
+         if (configuration.eventCoalescing())
+            queuedEvents.put(key, queued)
+         true
+      }
+
+      def scheduleWrite(): Unit = {
+         if (writeScheduled.compareAndSet(false, true))
+            ch.eventLoop().execute(writeTask)
+      }
+
+      private def writeEvents(): Unit = {
+         writeScheduled.set(false)
+         var written = 0
+         var next = if (ch.isWritable) pollEvent() else null
+         while (next != null) {
+            ch.write(next)
+            written += 1
+            next = if (ch.isWritable) pollEvent() else null
+         }
+         if (written > 0) {
+            if (isTraceEnabled)
+               log.tracef("Flush %d events to remote clients", written)
+            ch.flush()
+         }
+         // Writing resumes when the channel becomes writable again
+      }
+
+      private def pollEvent(): AnyRef = eventQueue.synchronized {
+         val queued = eventQueue.poll()
+         if (queued == null) null
+         else {
+            if (configuration.eventCoalescing())
+               queuedEvents.remove(queued.key)
+            queued.event
+         }
+      }
+
+      def discardEvents(): Unit = eventQueue.synchronized {
+         eventQueue.clear()
+         queuedEvents.clear()
       }
 
       private def createRemoteEvent(key: Bytes, value: Bytes, dataVersion: Long, event: CacheEntryEvent[_, _]): AnyRef = {
@@ -185,7 +295,7 @@ class ClientListenerRegistry(configuration: HotRodServerConfiguration) extends L
    }
 
    @Listener(clustered = true, includeCurrentState = true)
-   private class CompatibilityClientEventSender(delegate: ClientEventSender, converter: HotRodTypeConverter) {
+   private class CompatibilityClientEventSender(val delegate: ClientEventSender, converter: HotRodTypeConverter) {
       @CacheEntryCreated
       @CacheEntryModified
       @CacheEntryRemoved
@@ -200,10 +310,13 @@ class ClientListenerRegistry(configuration: HotRodServerConfiguration) extends L
          } else {
             log.debug("Channel disconnected, remove event sender listener")
             event.getCache.removeListener(this)
+            delegate.discardEvents()
          }
       }
    }
 
+   private class QueuedEvent(val key: Bytes, @volatile var event: AnyRef)
+
    private class BinaryFilterFactory(filterFactory: KeyValueFilterFactory, marshallerClass: Class[_ <: Marshaller])
            extends KeyValueFilterFactory {
       override def getKeyValueFilter[K, V](params: Array[AnyRef]): KeyValueFilter[K, V] = {
@@ -38,6 +38,7 @@ import org.infinispan.server.core.security.InetAddressPrincipal
 import java.net.InetSocketAddress
 import org.infinispan.server.core.security.simple.SimpleUserPrincipal
 import java.util.HashMap
+import java.util.HashSet
 import scala.collection.immutable
 import scala.collection.mutable
 import scala.collection.mutable.ListBuffer
@@ -80,6 +81,8 @@ object Decoder2x extends AbstractVersionedDecoder with ServerConstants with Log
          case 0x23 => (AuthRequest, true)
          case 0x25 => (AddClientListenerRequest, false)
          case 0x27 => (RemoveClientListenerRequest, false)
+         case 0x29 => (GetAllRequest, false)
+         case 0x2B => (PutAllRequest, false)
          case _ => throw new HotRodUnknownOperationException(
             "Unknown operation: " + streamOp, version, messageId)
       }
@@ -323,6 +326,24 @@ object Decoder2x extends AbstractVersionedDecoder with ServerConstants with Log
                createSuccessResponse(h, null)
             else
                createNotExecutedResponse(h, null)
+         case GetAllRequest =>
+            val count = readUnsignedInt(buffer)
+            val keys = new HashSet[Bytes](count)
+            for (i <- 0 until count) keys.add(readKey(buffer))
+            if (isTrace) trace("About to create get all response, count = %d", count)
+            new GetAllResponse(h.version, h.messageId, h.cacheName, h.clientIntel,
+               h.topologyId, cache.getAll(keys))
+         case PutAllRequest =>
+            val lifespan = readLifespanOrMaxIdle(buffer, hasFlag(h, ProtocolFlag.DefaultLifespan))
+            val maxIdle = readLifespanOrMaxIdle(buffer, hasFlag(h, ProtocolFlag.DefaultMaxIdle))
+            val count = readUnsignedInt(buffer)
+            val entries = new HashMap[Bytes, Bytes](count)
+            for (i <- 0 until count) entries.put(readKey(buffer), readRangedBytes(buffer))
+            if (isTrace) trace("About to put all %d entries", count)
+            val decoder = ch.pipeline.get("decoder").asInstanceOf[HotRodDecoder]
+            cache.putAll(entries, decoder.buildMetadata(lifespan, maxIdle))
+            new Response(h.version, h.messageId, h.cacheName, h.clientIntel,
+               PutAllResponse, Success, h.topologyId)
       }
    }
 
@@ -415,7 +436,9 @@ object Decoder2x extends AbstractVersionedDecoder with ServerConstants with Log
                  | ContainsKeyRequest
                  | BulkGetRequest
                  | GetWithMetadataRequest
-                 | BulkGetKeysRequest =>
+                 | BulkGetKeysRequest
+                 | GetAllRequest
+                 | PutAllRequest =>
                optCache = optCache.withFlags(SKIP_CACHE_LOAD)
             case _ =>
          }
@@ -423,7 +446,8 @@ object Decoder2x extends AbstractVersionedDecoder with ServerConstants with Log
       if (!hasFlag(h, ForceReturnPreviousValue)) {
          h.op match {
             case PutRequest
-                 | PutIfAbsentRequest =>
+                 | PutIfAbsentRequest
+                 | PutAllRequest =>
                optCache = optCache.withFlags(IGNORE_RETURN_VALUES)
             case _ =>
          }
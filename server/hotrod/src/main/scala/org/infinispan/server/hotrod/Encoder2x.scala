@@ -237,6 +237,12 @@ object Encoder2x extends AbstractVersionedEncoder with Constants with Log {
             if (g.status == Success) writeRangedBytes(g.data.get, buf)
          case q: QueryResponse =>
             writeRangedBytes(q.result, buf)
+         case g: GetAllResponse =>
+            writeUnsignedInt(g.entries.size, buf)
+            for ((key, value) <- g.entries) {
+               writeRangedBytes(key, buf)
+               writeRangedBytes(value, buf)
+            }
          case a: AuthMechListResponse => {
             writeUnsignedInt(a.mechs.size, buf)
             for(mech <- a.mechs) {
@@ -207,6 +207,15 @@ class HotRodDecoder(cacheManager: EmbeddedCacheManager, transport: NettyTranspor
       }
    }
 
+   override def channelWritabilityChanged(ctx: ChannelHandlerContext) {
+      val ch = ctx.channel
+      if (ch.isWritable) {
+         // Resume writing the client listener events queued while the channel was not writable
+         server.getClientListenerRegistry.findAndWriteEvents(ch)
+      }
+      super.channelWritabilityChanged(ctx)
+   }
+
 }
 
 class UnknownVersionException(reason: String, val version: Byte, val messageId: Long)
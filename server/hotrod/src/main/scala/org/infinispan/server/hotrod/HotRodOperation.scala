@@ -22,4 +22,6 @@ object HotRodOperation extends Enumeration(20) {
    val AuthRequest = Value
    val AddClientListenerRequest = Value
    val RemoveClientListenerRequest = Value
+   val GetAllRequest = Value
+   val PutAllRequest = Value
 }
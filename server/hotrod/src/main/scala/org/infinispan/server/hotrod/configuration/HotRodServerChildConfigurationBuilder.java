@@ -45,4 +45,17 @@ public interface HotRodServerChildConfigurationBuilder {
     */
    HotRodServerChildConfigurationBuilder topologyStateTransfer(boolean topologyStateTransfer);
 
+   /**
+    * Sets the maximum number of events queued for each client listener. When a client doesn't read its events fast
+    * enough for the queue to hold them, further events are dropped until the queue has room again, and the server logs
+    * how many events were dropped. Defaults to 1000.
+    */
+   HotRodServerChildConfigurationBuilder eventQueueSize(int eventQueueSize);
+
+   /**
+    * Configures whether an event queued for a client listener is replaced by a later event for the same key, so that
+    * only the latest event for each key is delivered to a client which doesn't keep up. Defaults to false.
+    */
+   HotRodServerChildConfigurationBuilder eventCoalescing(boolean eventCoalescing);
+
 }
@@ -19,11 +19,13 @@ public class HotRodServerConfiguration extends ProtocolServerConfiguration {
    private final boolean topologyStateTransfer;
    private final AuthenticationConfiguration authentication;
    private final Class<? extends Marshaller> marshallerClass;
+   private final int eventQueueSize;
+   private final boolean eventCoalescing;
 
    HotRodServerConfiguration(String defaultCacheName, String proxyHost, int proxyPort, long topologyLockTimeout, long topologyReplTimeout, boolean topologyAwaitInitialTransfer, boolean topologyStateTransfer,
-         String name, String host, int port, int idleTimeout, int recvBufSize, int sendBufSize, SslConfiguration ssl, boolean tcpNoDelay, int workerThreads, AuthenticationConfiguration authentication,
-         Class<? extends Marshaller> marshallerClass) {
-      super(defaultCacheName, name, host, port, idleTimeout, recvBufSize, sendBufSize, ssl, tcpNoDelay, workerThreads);
+         String name, String host, int port, int idleTimeout, int recvBufSize, int sendBufSize, SslConfiguration ssl, boolean tcpNoDelay, int workerThreads, int invocationThreads, AuthenticationConfiguration authentication,
+         Class<? extends Marshaller> marshallerClass, int eventQueueSize, boolean eventCoalescing) {
+      super(defaultCacheName, name, host, port, idleTimeout, recvBufSize, sendBufSize, ssl, tcpNoDelay, workerThreads, invocationThreads);
       this.proxyHost = proxyHost;
       this.proxyPort = proxyPort;
       this.topologyCacheName = TOPOLOGY_CACHE_NAME_PREFIX + (name.length() > 0 ? "_" + name : name);
@@ -33,6 +35,8 @@ public class HotRodServerConfiguration extends ProtocolServerConfiguration {
       this.topologyAwaitInitialTransfer = topologyAwaitInitialTransfer;
       this.authentication = authentication;
       this.marshallerClass = marshallerClass;
+      this.eventQueueSize = eventQueueSize;
+      this.eventCoalescing = eventCoalescing;
    }
 
    public String proxyHost() {
@@ -71,13 +75,22 @@ public Class<? extends Marshaller> marshallerClass() {
       return marshallerClass;
    }
 
+   public int eventQueueSize() {
+      return eventQueueSize;
+   }
+
+   public boolean eventCoalescing() {
+      return eventCoalescing;
+   }
+
    @Override
    public String toString() {
       return "HotRodServerConfiguration [proxyHost=" + proxyHost + ", proxyPort=" + proxyPort + ", topologyCacheName="
             + topologyCacheName + ", topologyLockTimeout=" + topologyLockTimeout + ", topologyReplTimeout="
             + topologyReplTimeout + ", topologyAwaitInitialTransfer=" + topologyAwaitInitialTransfer
             + ", topologyStateTransfer=" + topologyStateTransfer + ", authentication=" + authentication
-            + ", marshallerClass=" + marshallerClass
+            + ", marshallerClass=" + marshallerClass + ", eventQueueSize=" + eventQueueSize
+            + ", eventCoalescing=" + eventCoalescing
             + ", " + super.toString() + "]";
    }
 }
@@ -1,12 +1,14 @@
 package org.infinispan.server.hotrod.configuration;
 
 import org.infinispan.commons.configuration.Builder;
+import org.infinispan.commons.logging.LogFactory;
 import org.infinispan.commons.marshall.Marshaller;
 import org.infinispan.commons.marshall.jboss.GenericJBossMarshaller;
 import org.infinispan.configuration.cache.LockingConfigurationBuilder;
 import org.infinispan.configuration.cache.StateTransferConfigurationBuilder;
 import org.infinispan.configuration.cache.SyncConfigurationBuilder;
 import org.infinispan.server.core.configuration.ProtocolServerConfigurationBuilder;
+import org.infinispan.server.hotrod.logging.JavaLog;
 
 /**
  * HotRodServerConfigurationBuilder.
@@ -16,6 +18,7 @@
  */
 public class HotRodServerConfigurationBuilder extends ProtocolServerConfigurationBuilder<HotRodServerConfiguration, HotRodServerConfigurationBuilder> implements
       Builder<HotRodServerConfiguration>, HotRodServerChildConfigurationBuilder {
+   private static final JavaLog log = LogFactory.getLog(HotRodServerConfigurationBuilder.class, JavaLog.class);
    private final AuthenticationConfigurationBuilder authentication = new AuthenticationConfigurationBuilder(this);
    private String proxyHost;
    private int proxyPort = -1;
@@ -24,6 +27,8 @@ public class HotRodServerConfigurationBuilder extends ProtocolServerConfiguratio
    private boolean topologyAwaitInitialTransfer = true;
    private boolean topologyStateTransfer = true;
    private Class<? extends Marshaller> marshallerClass = GenericJBossMarshaller.class;
+   private int eventQueueSize = 1000;
+   private boolean eventCoalescing = false;
 
    public HotRodServerConfigurationBuilder() {
       super(11222);
@@ -94,6 +99,27 @@ public HotRodServerConfigurationBuilder topologyStateTransfer(boolean topologySt
       return this;
    }
 
+   /**
+    * Sets the maximum number of events queued for each client listener. When a client doesn't read its events fast
+    * enough for the queue to hold them, further events are dropped until the queue has room again, and the server logs
+    * how many events were dropped. Defaults to 1000.
+    */
+   @Override
+   public HotRodServerConfigurationBuilder eventQueueSize(int eventQueueSize) {
+      this.eventQueueSize = eventQueueSize;
+      return this;
+   }
+
+   /**
+    * Configures whether an event queued for a client listener is replaced by a later event for the same key, so that
+    * only the latest event for each key is delivered to a client which doesn't keep up. Defaults to false.
+    */
+   @Override
+   public HotRodServerConfigurationBuilder eventCoalescing(boolean eventCoalescing) {
+      this.eventCoalescing = eventCoalescing;
+      return this;
+   }
+
    /**
     * Marshaller used to unmarshall key/value pairs when passed onto filter
     * and converter callbacks. If no marshaller configured,
@@ -112,8 +138,8 @@ public HotRodServerConfigurationBuilder marshallerClass(Class<? extends Marshall
    @Override
    public HotRodServerConfiguration create() {
       return new HotRodServerConfiguration(defaultCacheName, proxyHost, proxyPort, topologyLockTimeout, topologyReplTimeout, topologyAwaitInitialTransfer, topologyStateTransfer, name, host, port, idleTimeout,
-            recvBufSize, sendBufSize, ssl.create(), tcpNoDelay, workerThreads, authentication.create(),
-            marshallerClass);
+            recvBufSize, sendBufSize, ssl.create(), tcpNoDelay, workerThreads, invocationThreads, authentication.create(),
+            marshallerClass, eventQueueSize, eventCoalescing);
    }
 
    @Override
@@ -125,6 +151,8 @@ public HotRodServerConfigurationBuilder read(HotRodServerConfiguration template)
       this.topologyReplTimeout = template.topologyReplTimeout();
       this.topologyAwaitInitialTransfer = template.topologyAwaitInitialTransfer();
       this.topologyStateTransfer = template.topologyStateTransfer();
+      this.eventQueueSize = template.eventQueueSize();
+      this.eventCoalescing = template.eventCoalescing();
       return this;
    }
 
@@ -137,6 +165,9 @@ public void validate() {
       if (proxyPort < 0) {
          proxyPort = port;
       }
+      if (eventQueueSize < 1) {
+         throw log.illegalEventQueueSize(eventQueueSize);
+      }
       authentication.validate();
    }
 
@@ -1,5 +1,6 @@
 package org.infinispan.server.hotrod.logging;
 
+import java.net.SocketAddress;
 import java.util.Set;
 
 import org.infinispan.commons.CacheConfigurationException;
@@ -63,4 +64,15 @@ public interface JavaLog extends org.infinispan.util.logging.Log {
    @Message(value = "Operation '%s' forced to return previous value should be used on transactional caches, otherwise data inconsistency issues could arise under failure situations", id = 6011)
    void warnForceReturnPreviousNonTransactional(String op);
 
+   @Message(value = "The event queue size must be greater than 0: %d", id = 6012)
+   CacheConfigurationException illegalEventQueueSize(int eventQueueSize);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Dropping the events for a listener of client %s, which already has %d events waiting to be sent", id = 6013)
+   void eventQueueFull(SocketAddress client, int eventQueueSize);
+
+   @LogMessage(level = WARN)
+   @Message(value = "Dropped %d events for a listener of client %s because its event queue was full", id = 6014)
+   void eventsDropped(long droppedEvents, SocketAddress client);
+
 }
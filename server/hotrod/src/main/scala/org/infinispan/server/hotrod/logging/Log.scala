@@ -1,5 +1,7 @@
 package org.infinispan.server.hotrod.logging
 
+import java.net.SocketAddress
+
 import org.infinispan.util.logging.LogFactory
 import org.infinispan.notifications.cachelistener.event.Event
 
@@ -24,4 +26,8 @@ trait Log extends org.infinispan.server.core.logging.Log {
    def warnConditionalOperationNonTransactional(op: String) = log.warnConditionalOperationNonTransactional(op)
 
    def warnForceReturnPreviousNonTransactional(op: String) = log.warnForceReturnPreviousNonTransactional(op)
+
+   def logEventQueueFull(client: SocketAddress, eventQueueSize: Int) = log.eventQueueFull(client, eventQueueSize)
+
+   def logEventsDropped(droppedEvents: Long, client: SocketAddress) = log.eventsDropped(droppedEvents, client)
 }
\ No newline at end of file
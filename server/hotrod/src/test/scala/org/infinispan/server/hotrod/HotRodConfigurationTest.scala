@@ -56,6 +56,11 @@ class HotRodConfigurationTest {
       validateIsolationLevel(IsolationLevel.SERIALIZABLE)
    }
 
+   @Test(expectedExceptions = Array(classOf[CacheConfigurationException]))
+   def testEventQueueSizeValidation() {
+      new HotRodServerConfigurationBuilder().eventQueueSize(0).build()
+   }
+
    private def withClusteredServer(builder: HotRodServerConfigurationBuilder) (assert: (Configuration, Long) => Unit) {
       Stoppable.useCacheManager(TestCacheManagerFactory.createClusteredCacheManager(hotRodCacheConfiguration())) { cm =>
          Stoppable.useServer(startHotRodServer(cm, UniquePortThreadLocal.get.intValue, builder)) { server =>
@@ -0,0 +1,165 @@
+package org.infinispan.server.hotrod.event
+
+import java.util.concurrent.ConcurrentLinkedQueue
+
+import io.netty.channel.{Channel, EventLoop}
+import org.infinispan.container.versioning.NumericVersion
+import org.infinispan.manager.EmbeddedCacheManager
+import org.infinispan.metadata.EmbeddedMetadata
+import org.infinispan.server.hotrod.Events.KeyWithVersionEvent
+import org.infinispan.server.hotrod.configuration.HotRodServerConfigurationBuilder
+import org.infinispan.server.hotrod.test.HotRodTestingUtil._
+import org.infinispan.server.hotrod.{Bytes, Cache, ClientListenerRegistry, Constants, HotRodHeader}
+import org.infinispan.test.SingleCacheManagerTest
+import org.infinispan.test.fwk.TestCacheManagerFactory
+import org.mockito.Matchers.{any, anyObject}
+import org.mockito.Mockito.{doAnswer, doReturn, mock}
+import org.mockito.invocation.InvocationOnMock
+import org.mockito.stubbing.Answer
+import org.testng.Assert._
+import org.testng.annotations.Test
+
+import scala.collection.JavaConversions._
+
+/**
+ * Tests the queueing of the events sent to a client listener, with a mock channel whose writability is controlled by
+ * the test, and whose event loop tasks are run by the test.
+ *
+ * @since 7.0
+ */
+@Test(groups = Array("functional"), testName = "server.hotrod.event.HotRodEventQueueTest")
+class HotRodEventQueueTest extends SingleCacheManagerTest {
+
+   private val listenerId: Bytes = Array[Byte](1, 2, 3)
+   private var advancedCache: Cache = _
+
+   override def createCacheManager: EmbeddedCacheManager = {
+      val cm = TestCacheManagerFactory.createCacheManager(hotRodCacheConfiguration())
+      advancedCache = cm.getCache[Bytes, Bytes]().getAdvancedCache
+      cm
+   }
+
+   def testEventsWrittenInOneBatch() {
+      val ch = new ChannelMock
+      withClientListener(new HotRodServerConfigurationBuilder, ch) { registry =>
+         put(1, 1)
+         put(2, 2)
+         ch.runTasks()
+         assertEquals(ch.writtenVersions, List(1L, 2L))
+         assertEquals(ch.flushes, 1)
+      }
+   }
+
+   def testEventsQueuedWhileNotWritable() {
+      val ch = new ChannelMock
+      withClientListener(new HotRodServerConfigurationBuilder, ch) { registry =>
+         ch.writable = false
+         put(1, 1)
+         put(2, 2)
+         ch.runTasks()
+         assertTrue(ch.writtenVersions.isEmpty)
+
+         ch.writable = true
+         registry.findAndWriteEvents(ch.channel)
+         ch.runTasks()
+         assertEquals(ch.writtenVersions, List(1L, 2L))
+         assertTrue(ch.open)
+      }
+   }
+
+   def testOverflowDropsEvents() {
+      val ch = new ChannelMock
+      val listeners = advancedCache.getListeners.size()
+      withClientListener(new HotRodServerConfigurationBuilder().eventQueueSize(2), ch) { registry =>
+         ch.writable = false
+         put(1, 1)
+         put(2, 2)
+         // Doesn't wait for the queue to drain
+         put(3, 3)
+         assertTrue(ch.open)
+
+         ch.writable = true
+         registry.findAndWriteEvents(ch.channel)
+         ch.runTasks()
+         assertEquals(ch.writtenVersions, List(1L, 2L))
+
+         // The listener keeps receiving the events that fit in the queue
+         put(4, 4)
+         ch.runTasks()
+         assertEquals(ch.writtenVersions, List(1L, 2L, 4L))
+         assertTrue(ch.open)
+         assertEquals(advancedCache.getListeners.size(), listeners + 1)
+      }
+   }
+
+   def testCoalescing() {
+      val ch = new ChannelMock
+      withClientListener(new HotRodServerConfigurationBuilder().eventQueueSize(2).eventCoalescing(true), ch) { registry =>
+         ch.writable = false
+         put(1, 1)
+         put(1, 2)
+         put(2, 3)
+         put(2, 4)
+         assertTrue(ch.open)
+
+         ch.writable = true
+         registry.findAndWriteEvents(ch.channel)
+         ch.runTasks()
+         assertEquals(ch.writtenVersions, List(2L, 4L))
+      }
+   }
+
+   private def put(key: Int, version: Long) {
+      advancedCache.put(Array[Byte](key.toByte), Array[Byte](version.toByte),
+         new EmbeddedMetadata.Builder().version(new NumericVersion(version)).build())
+   }
+
+   private def withClientListener(builder: HotRodServerConfigurationBuilder, ch: ChannelMock)
+           (test: ClientListenerRegistry => Unit) {
+      advancedCache.clear()
+      val registry = new ClientListenerRegistry(builder.build())
+      val header = new HotRodHeader
+      header.version = Constants.VERSION_20
+      registry.addClientListener(ch.channel, header, listenerId, advancedCache, None, None)
+      try {
+         test(registry)
+      } finally {
+         registry.removeClientListener(listenerId, advancedCache)
+      }
+   }
+
+   private class ChannelMock {
+      @volatile var writable = true
+      @volatile var open = true
+      @volatile var flushes = 0
+      private val written = new ConcurrentLinkedQueue[AnyRef]
+      private val tasks = new ConcurrentLinkedQueue[Runnable]
+      private val eventLoop = mock(classOf[EventLoop])
+      val channel = mock(classOf[Channel])
+
+      doAnswer(answer(i => tasks.add(i.getArguments()(0).asInstanceOf[Runnable])))
+         .when(eventLoop).execute(any(classOf[Runnable]))
+      doReturn(eventLoop).when(channel).eventLoop()
+      doAnswer(answer(_ => writable)).when(channel).isWritable
+      doAnswer(answer(_ => open)).when(channel).isOpen
+      doAnswer(answer { _ => open = false; null }).when(channel).close()
+      doAnswer(answer(i => written.add(i.getArguments()(0)))).when(channel).write(anyObject[AnyRef]())
+      doAnswer(answer { _ => flushes += 1; channel }).when(channel).flush()
+
+      def runTasks() {
+         var task = tasks.poll()
+         while (task != null) {
+            task.run()
+            task = tasks.poll()
+         }
+      }
+
+      def writtenVersions: List[Long] =
+         written.toList.map(_.asInstanceOf[KeyWithVersionEvent].dataVersion)
+   }
+
+   private def answer(f: InvocationOnMock => Any): Answer[AnyRef] = new Answer[AnyRef] {
+      override def answer(invocation: InvocationOnMock): AnyRef = f(invocation).asInstanceOf[AnyRef]
+   }
+
+}